@@ -0,0 +1,118 @@
+package app.ec2prices;
+
+import pfatool.forecaster.CategoryDictionary;
+import pfatool.forecaster.PriceData;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.services.ec2.Ec2AsyncClient;
+import software.amazon.awssdk.services.ec2.Ec2AsyncClientBuilder;
+import software.amazon.awssdk.services.ec2.model.DescribeSpotPriceHistoryRequest;
+import software.amazon.awssdk.services.ec2.model.SpotPrice;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fetches live spot prices using the asynchronous Amazon AWS EC2 SDK, on Netty NIO,
+ * so no thread is held while waiting for EC2.
+ * <p>
+ * All pages of the history are fetched, following the nextToken of each response.
+ * Each page is a request throttled by EC2, so each takes its own permit and token of the
+ * {@link FetchLimiter}.
+ */
+public class AsyncSpotPrices implements PriceHistorySource, Closeable {
+
+    private final Ec2AsyncClient ec2;
+    private final FetchLimiter limiter;
+
+    /**
+     * Create a new instance of AsyncSpotPrices with the credentials of {@link CredentialsProvider}.
+     *
+     * @param endpoint - EC2 endpoint to use instead of the one of the region, or null
+     * @param limiter - limits of the fetches, usually shared by all instances
+     */
+    public AsyncSpotPrices(URI endpoint, FetchLimiter limiter) {
+        this(buildClient(endpoint, CredentialsProvider.create()), limiter);
+    }
+
+    /**
+     * Create a new instance of AsyncSpotPrices using the given client, which is closed
+     * when this instance is closed.
+     *
+     * @param ec2 - asynchronous client for the EC2 API
+     * @param limiter - limits of the fetches, usually shared by all instances
+     */
+    public AsyncSpotPrices(Ec2AsyncClient ec2, FetchLimiter limiter) {
+        this.ec2 = ec2;
+        this.limiter = limiter;
+    }
+
+    /**
+     * Build an asynchronous client for the EC2 API of the default region
+     *
+     * @param endpoint - EC2 endpoint to use instead of the one of the region, or null
+     * @param credentials - credentials of the account
+     */
+    public static Ec2AsyncClient buildClient(URI endpoint, AwsCredentialsProvider credentials) {
+        Ec2AsyncClientBuilder builder = Ec2AsyncClient.builder()
+                .region(LiveSpotPrices.DEFAULT_REGION)
+                .credentialsProvider(credentials)
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder())
+                .overrideConfiguration(x ->
+                        x.apiCallAttemptTimeout(Duration.ofMillis(1000)));
+        if (endpoint != null) {
+            builder.endpointOverride(endpoint);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Fetch spot price history from Amazon API, all pages.
+     * @param category - instance type, product description and availability zone
+     * @param startTime - time of the oldest prices to fetch
+     * @return future of the historical prices, failed with IllegalStateException if the
+     * fetch had to wait too long for the limiter
+     */
+    @Override
+    public CompletableFuture<List<PriceData>> fetchPriceHistory(CategoryDictionary.Category category,
+                                                                Instant startTime) {
+        DescribeSpotPriceHistoryRequest request = DescribeSpotPriceHistoryRequest.builder()
+                .startTime(startTime)
+                .instanceTypesWithStrings(category.instanceType())
+                .productDescriptions(category.instanceDescription())
+                .availabilityZone(category.regionZone())
+                .build();
+        return fetchPages(request, new ArrayList<>());
+    }
+
+    /**
+     * Fetch the page of the request and those after it, adding their prices in order
+     */
+    private CompletableFuture<List<PriceData>> fetchPages(DescribeSpotPriceHistoryRequest request,
+                                                          List<PriceData> prices) {
+        return limiter.callAsync(() -> ec2.describeSpotPriceHistory(request)).thenCompose(page -> {
+            for (SpotPrice info : page.spotPriceHistory()) {
+                prices.add(LiveSpotPrices.adaptData(info));
+            }
+            String nextToken = page.nextToken();
+            if (nextToken == null || nextToken.isEmpty()) {
+                return CompletableFuture.completedFuture(prices);
+            }
+            return fetchPages(request.toBuilder().nextToken(nextToken).build(), prices);
+        });
+    }
+
+    /**
+     * Allows auto-closing if used in try-with-resources statement.
+     */
+    @Override
+    public void close() {
+        ec2.close();
+    }
+
+}
@@ -0,0 +1,197 @@
+package app.ec2prices;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limits calls to the EC2 API in two ways: a number of permits bounds the calls in flight,
+ * and a token bucket bounds the rate of calls, allowing short bursts. EC2 throttles each
+ * account with a token bucket, for Describe actions a bucket of 100 refilled at 20 per second,
+ * so the limits should be at or below those of the account, less when the account is shared.
+ * <p>
+ * Callers wait for a permit and a token up to a maximum time, then fail rather than queue
+ * without bound. Blocking calls wait on their own thread, asynchronous calls wait without
+ * holding a thread. Instances are thread-safe and are shared by all fetches of an application.
+ */
+public final class FetchLimiter {
+
+    private final int maxConcurrent;
+    private final double tokensPerNano;
+    private final int burst;
+    private final long maxWaitNanos;
+    private final Queue<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private int available;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Create a limiter
+     *
+     * @param maxConcurrent maximum number of calls in flight
+     * @param callsPerSecond rate at which the token bucket is refilled
+     * @param burst size of the token bucket, the number of calls that can start at once
+     * @param maxWait longest time a call waits for a permit and a token
+     * @throws IllegalArgumentException if any limit is not positive
+     */
+    public FetchLimiter(int maxConcurrent,
+                        double callsPerSecond,
+                        int burst,
+                        Duration maxWait) {
+        if (maxConcurrent <= 0 || !(callsPerSecond > 0) || burst <= 0 || maxWait.isNegative()) {
+            throw new IllegalArgumentException("Invalid limits: maxConcurrent=%d, callsPerSecond=%s, burst=%d, maxWait=%s"
+                    .formatted(maxConcurrent, callsPerSecond, burst, maxWait));
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.tokensPerNano = callsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.available = maxConcurrent;
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Make a blocking call within the limits, waiting on the calling thread
+     *
+     * @param call the call to the EC2 API
+     * @return the result of the call
+     * @throws IllegalStateException if the limits were not met within the maximum wait,
+     * in which case the call is not made
+     */
+    public <T> T call(Supplier<T> call) {
+        CompletableFuture<Void> acquired = acquire();
+        try {
+            acquired.get();
+        } catch (InterruptedException e) {
+            // give back the permit if it is granted later
+            acquired.thenRun(this::release);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting to fetch", e);
+        } catch (ExecutionException e) {
+            throw (IllegalStateException) e.getCause();
+        }
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Make an asynchronous call within the limits. The call is started once there is a
+     * permit and a token, and the permit is held until the returned future completes.
+     *
+     * @param call starts the call to the EC2 API
+     * @return the result of the call, or failed with IllegalStateException if the limits
+     * were not met within the maximum wait, in which case the call is not made
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        return acquire().thenCompose(v -> {
+            CompletableFuture<T> result;
+            try {
+                result = call.get();
+            } catch (RuntimeException e) {
+                release();
+                throw e;
+            }
+            return result.whenComplete((r, e) -> release());
+        });
+    }
+
+    /**
+     * Returns a future completed once a permit and a token are taken
+     */
+    private CompletableFuture<Void> acquire() {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        return acquirePermit().thenCompose(v -> {
+            long delay = reserveToken(deadline);
+            if (delay < 0) {
+                release();
+                return CompletableFuture.failedFuture(
+                        new IllegalStateException("Timed out waiting for the rate limit of fetches"));
+            } else if (delay == 0) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return CompletableFuture.runAsync(() -> {},
+                    CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /**
+     * Returns a future completed once a permit is taken, permits are given in order of request
+     */
+    private CompletableFuture<Void> acquirePermit() {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        synchronized (this) {
+            if (available > 0) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            waiting.add(permit);
+        }
+        CompletableFuture.delayedExecutor(maxWaitNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            if (permit.completeExceptionally(new IllegalStateException(
+                    "Timed out waiting for one of " + maxConcurrent + " fetches in flight"))) {
+                synchronized (this) {
+                    waiting.remove(permit);
+                }
+            }
+        });
+        return permit;
+    }
+
+    /**
+     * Give the permit to the next caller still waiting, or back to the pool
+     */
+    private void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    available++;
+                    return;
+                }
+            }
+            // fails if the caller timed out, then try the next
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Take a token, going into debt if the bucket is empty so later callers wait longer.
+     * Returns the time to wait for the token, or -1 without taking it if that is past the deadline.
+     */
+    private synchronized long reserveToken(long deadline) {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+        long delay = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+        if (now + delay - deadline > 0) {
+            return -1;
+        }
+        tokens -= 1;
+        return delay;
+    }
+
+    /**
+     * Returns the number of calls that can start now without waiting for a permit
+     */
+    public synchronized int availablePermits() {
+        return available;
+    }
+
+    @Override
+    public String toString() {
+        return "FetchLimiter(maxConcurrent=%d, callsPerSecond=%s, burst=%d, maxWait=%s)".formatted(
+                maxConcurrent, tokensPerNano * TimeUnit.SECONDS.toNanos(1), burst, Duration.ofNanos(maxWaitNanos));
+    }
+
+}
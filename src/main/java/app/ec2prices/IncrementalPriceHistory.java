@@ -0,0 +1,153 @@
+package app.ec2prices;
+
+import pfatool.forecaster.CategoryDictionary;
+import pfatool.forecaster.PriceData;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PriceHistorySource that keeps the history of each category and fetches only the prices
+ * since the latest one seen.
+ * <p>
+ * The first fetch of a category, or one reaching further back than the kept history, fetches
+ * the whole window from the wrapped source. Later fetches ask for the prices since the time
+ * of the latest price kept, merge them with the kept ones and drop those older than the
+ * window, except the latest of those, which is the price in effect at the start of the
+ * window. The result is the same as fetching the whole window, sorted by date.
+ * <p>
+ * Failed fetches leave the kept history unchanged.
+ */
+public class IncrementalPriceHistory implements PriceHistorySource {
+
+    /**
+     * Prices by time, complete since the time from
+     */
+    private record History(NavigableMap<Instant, PriceData> prices, Instant from) {
+        Instant lastSeen() {
+            return prices.lastKey();
+        }
+    }
+
+    private final PriceHistorySource source;
+    private final Clock clock;
+    private final ConcurrentMap<CategoryDictionary.Category, History> histories = new ConcurrentHashMap<>();
+    private final LongAdder numFullFetches = new LongAdder();
+    private final LongAdder numDeltaFetches = new LongAdder();
+    private final LongAdder numFetchedPrices = new LongAdder();
+
+    /**
+     * Create a source keeping the history fetched from the given source
+     *
+     * @param source - source of the prices, such as {@link AsyncSpotPrices}
+     * @param clock - clock giving the current time, for the start of the window
+     */
+    public IncrementalPriceHistory(PriceHistorySource source, Clock clock) {
+        this.source = source;
+        this.clock = clock;
+    }
+
+    @Override
+    public CompletableFuture<List<PriceData>> fetchPriceHistory(CategoryDictionary.Category category,
+                                                                int numDays) {
+        return fetchPriceHistory(category, clock.instant().minus(Duration.ofDays(numDays)));
+    }
+
+    /**
+     * Fetch the prices since the latest one kept and return the window of the history.
+     *
+     * @param category - instance type, product description and availability zone
+     * @param startTime - start of the window
+     * @return future of the historical prices sorted by date, with the price in effect at
+     * startTime first if there is one
+     */
+    @Override
+    public CompletableFuture<List<PriceData>> fetchPriceHistory(CategoryDictionary.Category category,
+                                                                Instant startTime) {
+        History kept = histories.get(category);
+        Instant fetchFrom;
+        if (kept != null && !kept.from().isAfter(startTime)) {
+            numDeltaFetches.increment();
+            fetchFrom = kept.lastSeen();
+        } else {
+            numFullFetches.increment();
+            fetchFrom = startTime;
+        }
+        return source.fetchPriceHistory(category, fetchFrom).thenApply(fetched -> {
+            numFetchedPrices.add(fetched.size());
+            History merged = histories.compute(category,
+                    (k, old) -> merge(old, fetched, fetchFrom, startTime));
+            if (merged == null) {
+                return List.of();
+            }
+            return Collections.unmodifiableList(new ArrayList<>(merged.prices().values()));
+        });
+    }
+
+    /**
+     * Merge the fetched prices into the kept history and trim it to the window. The kept
+     * history is dropped if the fetched prices do not continue it, which can happen when
+     * another fetch replaced it meanwhile.
+     */
+    private static History merge(History old, List<PriceData> fetched, Instant fetchFrom, Instant startTime) {
+        NavigableMap<Instant, PriceData> prices = new TreeMap<>();
+        Instant from = fetchFrom;
+        if (old != null && !fetchFrom.isAfter(old.lastSeen())) {
+            prices.putAll(old.prices());
+            if (old.from().isBefore(from)) {
+                from = old.from();
+            }
+        }
+        // a price fetched again replaces the kept one with the same time
+        for (PriceData price : fetched) {
+            prices.put(price.date().toInstant(), price);
+        }
+        Map.Entry<Instant, PriceData> inEffect = prices.floorEntry(startTime);
+        NavigableMap<Instant, PriceData> window = new TreeMap<>(
+                prices.tailMap(inEffect == null ? startTime : inEffect.getKey(), true));
+        if (window.isEmpty()) {
+            return null;
+        }
+        return new History(window, from.isAfter(startTime) ? from : startTime);
+    }
+
+    /**
+     * Returns the number of categories with a kept history
+     */
+    public int size() {
+        return histories.size();
+    }
+
+    /**
+     * Returns the number of fetches of the whole window
+     */
+    public long getNumFullFetches() {
+        return numFullFetches.sum();
+    }
+
+    /**
+     * Returns the number of fetches of the prices since the latest one kept
+     */
+    public long getNumDeltaFetches() {
+        return numDeltaFetches.sum();
+    }
+
+    /**
+     * Returns the number of prices fetched from the wrapped source
+     */
+    public long getNumFetchedPrices() {
+        return numFetchedPrices.sum();
+    }
+
+}
@@ -1,76 +1,137 @@
 package app.ec2prices;
 
+import pfatool.forecaster.CategoryDictionary;
 import pfatool.forecaster.PriceData;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.ec2.Ec2Client;
+import software.amazon.awssdk.services.ec2.Ec2ClientBuilder;
+import software.amazon.awssdk.services.ec2.model.DescribeSpotPriceHistoryRequest;
 import software.amazon.awssdk.services.ec2.model.DescribeSpotPriceHistoryResponse;
 import software.amazon.awssdk.services.ec2.model.SpotPrice;
 
 import java.io.Closeable;
+import java.net.URI;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
 /**
  * Fetches live spot prices using the Amazon AWS EC2 SDK.
+ * <p>
+ * Fetches from many threads run in parallel, within the limits of a {@link FetchLimiter}
+ * so the account is not throttled by EC2. Each page of a fetch is a request to EC2 and
+ * takes its own permit and token.
  */
 public class LiveSpotPrices implements Closeable {
 
-    /**
-     * Lock is on the class as a whole so only one instance at a time can fetch prices.
-     */
-    private static final Class<LiveSpotPrices> lock = LiveSpotPrices.class;
+    public static final Region DEFAULT_REGION = Region.EU_WEST_1;
+
     private final Ec2Client ec2;
+    private final FetchLimiter limiter;
 
     /**
-     * Create a new instance of LiveSpotPrices. Although possible for multiple instances
-     * to exist, only one instance may query data at a time.
+     * Create a new instance of LiveSpotPrices with the credentials of {@link CredentialsProvider}
+     * and the default limits: 8 fetches in flight, 10 per second and bursts of 20.
      */
     public LiveSpotPrices() {
-        synchronized (lock) {
-            ec2 = Ec2Client.builder()
-                    .region(Region.EU_WEST_1)
-                    .credentialsProvider(CredentialsProvider.create())
-                    .overrideConfiguration(x ->
-                            x.apiCallAttemptTimeout(Duration.ofMillis(1000)))
-                    .build();
+        this((URI) null, new FetchLimiter(8, 10, 20, Duration.ofSeconds(5)));
+    }
+
+    /**
+     * Create a new instance of LiveSpotPrices with the credentials of {@link CredentialsProvider}.
+     *
+     * @param endpoint - EC2 endpoint to use instead of the one of the region, or null
+     * @param limiter - limits of the fetches, usually shared by all instances
+     */
+    public LiveSpotPrices(URI endpoint, FetchLimiter limiter) {
+        this(buildClient(endpoint, CredentialsProvider.create()), limiter);
+    }
+
+    /**
+     * Create a new instance of LiveSpotPrices using the given client, which is closed
+     * when this instance is closed.
+     *
+     * @param ec2 - client for the EC2 API
+     * @param limiter - limits of the fetches, usually shared by all instances
+     */
+    public LiveSpotPrices(Ec2Client ec2, FetchLimiter limiter) {
+        this.ec2 = ec2;
+        this.limiter = limiter;
+    }
+
+    /**
+     * Build a client for the EC2 API of the default region
+     *
+     * @param endpoint - EC2 endpoint to use instead of the one of the region, or null
+     * @param credentials - credentials of the account
+     */
+    public static Ec2Client buildClient(URI endpoint, AwsCredentialsProvider credentials) {
+        Ec2ClientBuilder builder = Ec2Client.builder()
+                .region(DEFAULT_REGION)
+                .credentialsProvider(credentials)
+                .overrideConfiguration(x ->
+                        x.apiCallAttemptTimeout(Duration.ofMillis(1000)));
+        if (endpoint != null) {
+            builder.endpointOverride(endpoint);
         }
+        return builder.build();
     }
 
     /**
-     * Fetch spot price history from Amazon API.
-     * This is synchronized so only one instance at a time can fetch data.
+     * Fetch spot price history from Amazon API, all pages.
      * @param category - category eg. c5d.xlarge__SUSE Linux__eu-west-1a
      * @param numDays - number of days of history to fetch
      * @return PriceData instance containing the historical prices
      */
     public List<PriceData> fetchPriceHistory(String category,
                                      int numDays) {
-        String[] cats = category.split("__");
-        if (cats.length != 3) {
+        CategoryDictionary.Category parts;
+        try {
+            parts = CategoryDictionary.Category.parse(category);
+        } catch (IllegalArgumentException e) {
             return List.of();
         }
-        // only allow one instance at a time to fetch data
-        synchronized (lock) {
-            DescribeSpotPriceHistoryResponse response = ec2.describeSpotPriceHistory(x -> x
-                    .startTime(Instant.now().minus(Duration.ofDays(numDays)))
-                    .instanceTypesWithStrings(cats[0])
-                    .productDescriptions(cats[1])
-                    .availabilityZone(cats[2])
-            );
-            return response.spotPriceHistory()
-                    .stream()
-                    .map(this::adaptData)
-                    .toList();
-        }
+        return fetchPriceHistory(parts, numDays);
+    }
+
+    /**
+     * Fetch spot price history from Amazon API for a category already split into its parts,
+     * such as from a {@link CategoryDictionary}, all pages.
+     * @param category - instance type, product description and availability zone
+     * @param numDays - number of days of history to fetch
+     * @return PriceData instance containing the historical prices
+     * @throws IllegalStateException if the fetch had to wait too long for the limiter
+     */
+    public List<PriceData> fetchPriceHistory(CategoryDictionary.Category category,
+                                             int numDays) {
+        DescribeSpotPriceHistoryRequest request = DescribeSpotPriceHistoryRequest.builder()
+                .startTime(Instant.now().minus(Duration.ofDays(numDays)))
+                .instanceTypesWithStrings(category.instanceType())
+                .productDescriptions(category.instanceDescription())
+                .availabilityZone(category.regionZone())
+                .build();
+        // every page is a request throttled by EC2, so each takes its own permit and token
+        List<PriceData> prices = new ArrayList<>();
+        String nextToken = null;
+        do {
+            DescribeSpotPriceHistoryRequest pageRequest = request.toBuilder().nextToken(nextToken).build();
+            DescribeSpotPriceHistoryResponse page = limiter.call(() -> ec2.describeSpotPriceHistory(pageRequest));
+            for (SpotPrice info : page.spotPriceHistory()) {
+                prices.add(adaptData(info));
+            }
+            nextToken = page.nextToken();
+        } while (nextToken != null && !nextToken.isEmpty());
+        return prices;
     }
 
     /**
      * Adapts data to match the public interface
      */
-    private PriceData adaptData(SpotPrice info) {
+    static PriceData adaptData(SpotPrice info) {
         return new PriceData(
                 info.timestamp().atOffset(ZoneOffset.UTC),
                 Double.parseDouble(info.spotPrice()),
@@ -85,9 +146,7 @@ public class LiveSpotPrices implements Closeable {
      */
     @Override
     public void close() {
-        synchronized (lock) {
-            ec2.close();
-        }
+        ec2.close();
     }
 
     public static void main(String[] args) {
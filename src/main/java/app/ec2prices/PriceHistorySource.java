@@ -0,0 +1,39 @@
+package app.ec2prices;
+
+import pfatool.forecaster.CategoryDictionary;
+import pfatool.forecaster.PriceData;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Source of the recent price history of a category, fetched without blocking the caller.
+ */
+public interface PriceHistorySource {
+
+    /**
+     * Fetch the price history of a category
+     *
+     * @param category - instance type, product description and availability zone
+     * @param numDays - number of days of history to fetch
+     * @return future of the historical prices, in the order given by the source
+     */
+    default CompletableFuture<List<PriceData>> fetchPriceHistory(CategoryDictionary.Category category,
+                                                                 int numDays) {
+        return fetchPriceHistory(category, Instant.now().minus(Duration.ofDays(numDays)));
+    }
+
+    /**
+     * Fetch the price history of a category since the given time. As with EC2, the history
+     * may also include the price in effect at startTime, which changed before it.
+     *
+     * @param category - instance type, product description and availability zone
+     * @param startTime - time of the oldest prices to fetch
+     * @return future of the historical prices, in the order given by the source
+     */
+    CompletableFuture<List<PriceData>> fetchPriceHistory(CategoryDictionary.Category category,
+                                                         Instant startTime);
+
+}
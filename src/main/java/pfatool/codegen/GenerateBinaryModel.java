@@ -0,0 +1,147 @@
+package pfatool.codegen;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pfatool.generated.FlatTree;
+import pfatool.generated.PfaDecisionTree;
+import pfatool.generated.TreeNode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Converts the decision tree of a PFA document into the compact binary format of
+ * {@link FlatTree#toByteBuffer()}, which loads much faster than the Avro JSON encoding.
+ * The output is written next to the PFA file, named the same way as the files of
+ * {@link GenerateJavaCode}: "name_01.pfa" -> "name_01_tree.bin".
+ * The binary file records the checksum and size of the data and schema files that
+ * {@link GenerateJavaCode} writes for the same cell, so run both after changing the model.
+ * Intended to be run via command line.
+ * Usage example: <pre>
+ * {@code
+ * java ... sourcePfaFile
+ * // ... is replaced by the necessary classpath dependencies and classname to define main method to run.
+ * }
+ * </pre>
+ */
+public class GenerateBinaryModel {
+
+    public static final String CELL_NAME = "tree";
+    private final Path basePath;
+    private final String srcFileName;
+    private final JsonNode rootNode;
+
+    /**
+     * Generator for the binary model using the given PFA file
+     * @param srcFileName Name of PFA source file
+     */
+    public GenerateBinaryModel(String srcFileName) throws IOException {
+        this.srcFileName = srcFileName;
+        this.basePath = FileSystems.getDefault().getPath("");
+        this.rootNode = new ObjectMapper().readTree(Files.readString(
+                basePath.resolve(srcFileName)
+        ));
+    }
+
+    /**
+     * Decode the tree cell of the PFA document and compile it into a FlatTree
+     *
+     * @return FlatTree instance
+     */
+    public FlatTree makeFlatTree() {
+        JsonNode cell = getCell();
+        TreeNode root = PfaDecisionTree.parseTreeNode(
+                cell.get("type").toString(),
+                cell.get("init").toString()
+        );
+        return FlatTree.compile(root);
+    }
+
+    /**
+     * Checksum of the data and schema files of the tree cell, as written by
+     * {@link GenerateJavaCode}, see {@link PfaDecisionTree#sourceChecksum(String, String)}
+     *
+     * @return checksum to record in the binary file
+     */
+    public int sourceChecksum() {
+        JsonNode cell = getCell();
+        return PfaDecisionTree.sourceChecksum(
+                cell.get("type").toString(),
+                cell.get("init").toString()
+        );
+    }
+
+    /**
+     * Size of the data and schema files of the tree cell, as written by
+     * {@link GenerateJavaCode}, see {@link PfaDecisionTree#sourceSize(String, String)}
+     *
+     * @return size to record in the binary file
+     */
+    public long sourceSize() {
+        JsonNode cell = getCell();
+        return PfaDecisionTree.sourceSize(
+                cell.get("type").toString(),
+                cell.get("init").toString()
+        );
+    }
+
+    /**
+     * Helper method to find the tree cell of the PFA document
+     */
+    private JsonNode getCell() {
+        JsonNode cell = rootNode.at(JsonPointer.compile("/cells/" + CELL_NAME));
+        if (cell.isMissingNode()) {
+            throw new IllegalStateException("no cell named: " + CELL_NAME);
+        }
+        return cell;
+    }
+
+    /**
+     * Write the binary model file
+     *
+     * @return path of file written
+     * @throws IOException if error writing the file
+     */
+    public Path writeBinary() throws IOException {
+        Path outputPath = basePath.resolve(makeOutputFilename());
+        ByteBuffer buffer = makeFlatTree().toByteBuffer(sourceChecksum(), sourceSize());
+        try (FileChannel channel = FileChannel.open(
+                outputPath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return outputPath;
+    }
+
+    /**
+     * Creates output filename from the source filename
+     * "name_01.pfa" -> "name_01_tree.bin"
+     */
+    String makeOutputFilename() {
+        String baseName = srcFileName.endsWith(".pfa")
+                ? srcFileName.substring(0, srcFileName.length() - ".pfa".length())
+                : srcFileName;
+        return baseName + "_" + CELL_NAME + PfaDecisionTree.BINARY_FILE_EXT;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.out.println("Need one argument:");
+            System.out.println("sourcePfaFile");
+        } else {
+            System.out.println("arg0: " + args[0]);
+            GenerateBinaryModel generator = new GenerateBinaryModel(args[0]);
+            System.out.println("wrote: " + generator.writeBinary());
+        }
+    }
+}
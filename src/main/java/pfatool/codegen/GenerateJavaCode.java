@@ -99,11 +99,17 @@ public class GenerateJavaCode {
      * Writes the final output file. Avro schemas use "namespace" to correspond
      * with the package declaration at the top of Java classes. So add a namespace
      * to the schema definitions if a package name is defined.
+     * Arrays such as the trees of an ensemble are not named types, so the
+     * namespace is added to the type of the array items instead.
      */
     private void insertNamespace(JsonNode node) {
         if (!packageName.isBlank()
                 && node instanceof ObjectNode objNode) {
-            objNode.put("namespace", packageName);
+            if (objNode.path("type").asText().equals("array")) {
+                insertNamespace(objNode.get("items"));
+            } else {
+                objNode.put("namespace", packageName);
+            }
         }
     }
 
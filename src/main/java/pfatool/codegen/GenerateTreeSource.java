@@ -0,0 +1,315 @@
+package pfatool.codegen;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Code generator makes a Java class with the decision tree of the PFA document hard-coded
+ * as nested if/else statements of constant comparisons. Unlike {@link GenerateJavaCode}, the
+ * tree does not need to be decoded and interpreted at runtime.
+ * Intended to be run via command line.
+ * Usage example: <pre>
+ * {@code
+ * java ... sourcePfaFile destinationPath packageName
+ * // ... is replaced by the necessary classpath dependencies and classname to define main method to run.
+ * }
+ * </pre>
+ * Generated class for "forecasting_01_y0.pfa" is named "Forecasting01Y0Tree".
+ */
+public class GenerateTreeSource {
+
+    /**
+     * Maximum number of decision nodes written into a single method. Larger trees are
+     * split into helper methods, keeping each method under the 8000 byte limit above which
+     * HotSpot does not JIT compile a method.
+     */
+    public static final int MAX_METHOD_NODES = 400;
+    public static final String CELL_NAME = "tree";
+    private static final String INDENT = "    ";
+    private final Path basePath;
+    private final Path destPath;
+    private final JsonNode rootNode;
+    private final String srcFileName;
+    private final String packageName;
+    private final String className;
+    private final Map<String, Integer> fieldIndex;
+    private final Map<JsonNode, Integer> sizes;
+
+    /**
+     * Generator for Java code using the given PFA file, and writing to the
+     * destination path.
+     * @param srcFileName Name of PFA source file
+     * @param destPath Destination to write code
+     * @param packageName Package name of destination eg "pfatool.generated"
+     *                    Can be empty string "" if not part of a package.
+     */
+    public GenerateTreeSource(String srcFileName,
+                              String destPath,
+                              String packageName) throws IOException {
+        this.srcFileName = srcFileName;
+        this.basePath = FileSystems.getDefault().getPath("");
+        this.destPath = basePath.resolve(destPath);
+        this.rootNode = new ObjectMapper().readTree(Files.readString(
+                basePath.resolve(srcFileName)
+        ));
+        this.packageName = packageName;
+        this.className = makeClassName(Path.of(srcFileName).getFileName().toString());
+        this.fieldIndex = makeFieldIndex();
+        this.sizes = new IdentityHashMap<>();
+    }
+
+    /**
+     * Returns the name of the class that will be generated
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * Write the generated class to the destination path, in the sub folder
+     * matching the package name.
+     *
+     * @return path of file written
+     * @throws IOException if error writing the file
+     */
+    public Path writeSource() throws IOException {
+        Path folder = destPath;
+        if (!packageName.isBlank()) {
+            folder = destPath.resolve(packageName.replace('.', '/'));
+        }
+        Files.createDirectories(folder);
+        Path outputPath = folder.resolve(className + ".java");
+        Files.writeString(outputPath, makeSource());
+        return outputPath;
+    }
+
+    /**
+     * Generate the source code of the class.
+     *
+     * @return Java source code
+     */
+    public String makeSource() {
+        JsonNode tree = rootNode.at(JsonPointer.compile("/cells/" + CELL_NAME + "/init"));
+        if (tree.isMissingNode()) {
+            throw new IllegalStateException("no cell named: " + CELL_NAME);
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("/**\n")
+                .append(" * Autogenerated by GenerateTreeSource from ")
+                .append(Path.of(srcFileName).getFileName())
+                .append("\n *\n * DO NOT EDIT DIRECTLY\n */\n");
+        if (!packageName.isBlank()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("public final class ").append(className).append(" {\n\n")
+                .append(INDENT).append("private ").append(className).append("() {}\n\n")
+                .append(INDENT).append("/**\n")
+                .append(INDENT).append(" * Make a prediction using the decision tree hard-coded in this class\n")
+                .append(INDENT).append(" *\n")
+                .append(INDENT).append(" * @param inputs array of pre-processed data\n")
+                .append(INDENT).append(" * @return prediction value as floating point number\n")
+                .append(INDENT).append(" */\n");
+
+        // methods are written in the order they are created
+        List<JsonNode> methods = new ArrayList<>();
+        methods.add(tree);
+        for (int m = 0; m < methods.size(); m++) {
+            if (m == 0) {
+                sb.append(INDENT).append("public static double predict(double[] inputs) {\n");
+            } else {
+                sb.append("\n").append(INDENT)
+                        .append("private static double ").append(methodName(m))
+                        .append("(double[] inputs) {\n");
+            }
+            int[] budget = {MAX_METHOD_NODES};
+            writeNode(sb, methods.get(m), 2, budget, methods);
+            sb.append(INDENT).append("}\n");
+        }
+        sb.append("\n}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Write a decision node as an if/else statement. Branches that do not fit in the
+     * remaining budget of the current method are moved into new helper methods.
+     */
+    private void writeNode(StringBuilder sb,
+                           JsonNode node,
+                           int depth,
+                           int[] budget,
+                           List<JsonNode> methods) {
+        String operator = node.get("operator").asText();
+        if (!operator.equals("<=")) {
+            throw new IllegalStateException("unknown comparison operator");
+        }
+        budget[0]--;
+        String indent = INDENT.repeat(depth);
+        sb.append(indent)
+                .append("if (inputs[").append(getFieldIndex(node.get("field").asText())).append("] <= ")
+                .append(formatDouble(node.get("value").asDouble())).append(") {\n");
+        writeBranch(sb, node.get("pass"), depth + 1, budget, methods);
+        sb.append(indent).append("} else {\n");
+        writeBranch(sb, node.get("fail"), depth + 1, budget, methods);
+        sb.append(indent).append("}\n");
+    }
+
+    /**
+     * Write a branch of the tree. Branches are Avro union values, either
+     * {"double": value} for a leaf or {"TreeNode": {...}} for another decision node.
+     */
+    private void writeBranch(StringBuilder sb,
+                             JsonNode branch,
+                             int depth,
+                             int[] budget,
+                             List<JsonNode> methods) {
+        String indent = INDENT.repeat(depth);
+        Map.Entry<String, JsonNode> entry = branch.fields().next();
+        if (entry.getKey().equals("double")) {
+            sb.append(indent)
+                    .append("return ").append(formatDouble(entry.getValue().asDouble())).append(";\n");
+        } else if (fitsInMethod(entry.getValue(), budget[0])) {
+            writeNode(sb, entry.getValue(), depth, budget, methods);
+        } else {
+            methods.add(entry.getValue());
+            sb.append(indent)
+                    .append("return ").append(methodName(methods.size() - 1)).append("(inputs);\n");
+        }
+    }
+
+    /**
+     * A subtree is written inline if it fits within the remaining budget. A subtree too
+     * big for any single method is also written inline, one node at a time, while there
+     * is budget left, so the top of a large tree stays in the first method.
+     */
+    private boolean fitsInMethod(JsonNode node, int budget) {
+        int size = countNodes(node);
+        return size <= budget || (size > MAX_METHOD_NODES && budget > 0);
+    }
+
+    /**
+     * Count the decision nodes in the subtree below and including the given node.
+     * Counts are cached so each subtree is only counted once.
+     */
+    private int countNodes(JsonNode node) {
+        Integer cached = sizes.get(node);
+        if (cached != null) {
+            return cached;
+        }
+        // iterative count to avoid deep recursion
+        int count = 0;
+        Deque<JsonNode> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            JsonNode n = stack.pop();
+            count++;
+            for (String name : List.of("pass", "fail")) {
+                Map.Entry<String, JsonNode> entry = n.get(name).fields().next();
+                if (!entry.getKey().equals("double")) {
+                    stack.push(entry.getValue());
+                }
+            }
+        }
+        sizes.put(node, count);
+        return count;
+    }
+
+    /**
+     * Look up the position of a field name within the input array.
+     */
+    private int getFieldIndex(String fieldName) {
+        Integer idx = fieldIndex.get(fieldName);
+        if (idx == null) {
+            throw new IllegalStateException("unknown field name: " + fieldName);
+        }
+        return idx;
+    }
+
+    /**
+     * Positions of the input fields are given by the order of the symbols in the
+     * enum type of the tree "field", which is the same order used by the ordinal()
+     * of the Avro generated enum.
+     */
+    private Map<String, Integer> makeFieldIndex() {
+        JsonNode fields = rootNode.at(JsonPointer.compile("/cells/" + CELL_NAME + "/type/fields"));
+        Map<String, Integer> out = new HashMap<>();
+        for (JsonNode field : fields) {
+            if (field.get("name").asText().equals("field")) {
+                JsonNode symbols = field.get("type").get("symbols");
+                for (int i = 0; i < symbols.size(); i++) {
+                    out.put(symbols.get(i).asText(), i);
+                }
+            }
+        }
+        if (out.isEmpty()) {
+            throw new IllegalStateException("no field symbols found in cell: " + CELL_NAME);
+        }
+        return out;
+    }
+
+    /**
+     * Name of helper method number m
+     */
+    private static String methodName(int m) {
+        return "predict%02d".formatted(m);
+    }
+
+    /**
+     * Format as a Java double literal that parses back to exactly the same value.
+     */
+    static String formatDouble(double value) {
+        if (Double.isNaN(value)) {
+            return "Double.NaN";
+        } else if (Double.isInfinite(value)) {
+            return value > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+        }
+        return Double.toString(value);
+    }
+
+    /**
+     * Creates a class name from the PFA filename and cell name
+     * "forecasting_01_y0.pfa" -> "Forecasting01Y0Tree"
+     */
+    static String makeClassName(String fileName) {
+        String baseName = fileName.contains(".")
+                ? fileName.substring(0, fileName.lastIndexOf('.'))
+                : fileName;
+        StringBuilder sb = new StringBuilder();
+        for (String part : (baseName + "_" + CELL_NAME).split("[^A-Za-z0-9]+")) {
+            if (!part.isEmpty()) {
+                sb.append(Character.toUpperCase(part.charAt(0)))
+                        .append(part.substring(1));
+            }
+        }
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.out.println("Need three arguments:");
+            System.out.println("sourcePfaFile destinationPath packageName");
+        } else {
+            System.out.println("arg0: " + args[0]);
+            System.out.println("arg1: " + args[1]);
+            System.out.println("arg2: " + args[2]);
+            GenerateTreeSource generator = new GenerateTreeSource(
+                    args[0],
+                    args[1],
+                    args[2]
+            );
+            System.out.println("wrote: " + generator.writeSource());
+        }
+    }
+}
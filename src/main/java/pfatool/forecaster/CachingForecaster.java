@@ -0,0 +1,230 @@
+package pfatool.forecaster;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * PriceForecaster that keeps the latest forecast of each category. A forecast is fresh while
+ * the model version and the resample bucket of the current time, eg. 4 hours starting at
+ * 00:00, 04:00, ... UTC, are the same as when it was made, as the forecast cannot change until
+ * a new bucket closes. This is the same as caching on (category, model version, bucket) and
+ * expiring at the end of the bucket, but keeps the old forecast to serve while stale.
+ * <p>
+ * A stale forecast of up to maxStaleBuckets buckets ago is returned immediately and a new one
+ * is made in the background, so once warm no request waits for historical prices.
+ * Older forecasts, forecasts of another model version, and categories without a forecast,
+ * wait for a new one.
+ * <p>
+ * At most maxEntries categories are kept, the least recently requested are evicted first.
+ */
+public class CachingForecaster implements PriceForecaster {
+
+    private static final Log logger = LogFactory.getLog(CachingForecaster.class);
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    private record Entry(PriceForecast forecast, String modelVersion, long bucket) {}
+
+    private final PriceForecaster delegate;
+    private final Supplier<String> modelVersion;
+    private final Clock clock;
+    private final long bucketSeconds;
+    private final int maxStaleBuckets;
+    private final Map<String, Entry> entries;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final LongAdder numHits = new LongAdder();
+    private final LongAdder numStaleHits = new LongAdder();
+    private final LongAdder numMisses = new LongAdder();
+    private final LongAdder numEvictions = new LongAdder();
+    private final LongAdder numRefreshFailures = new LongAdder();
+
+    /**
+     * Create a forecaster caching the forecasts of the given forecaster
+     *
+     * @param delegate - forecaster that makes the forecasts
+     * @param modelVersion - returns the version of the models in use
+     * @param clock - clock giving the current time
+     * @param bucketHours - hours of each resample bucket, eg. {@link ForecasterImpl#FREQ_HOURS}
+     * @param maxEntries - maximum number of categories kept
+     * @param maxStaleBuckets - maximum age in buckets of a stale forecast that is returned while refreshing
+     * @throws IllegalArgumentException if bucketHours or maxEntries is not positive, or maxStaleBuckets is negative
+     */
+    public CachingForecaster(PriceForecaster delegate,
+                             Supplier<String> modelVersion,
+                             Clock clock,
+                             int bucketHours,
+                             int maxEntries,
+                             int maxStaleBuckets) {
+        if (bucketHours <= 0 || maxEntries <= 0 || maxStaleBuckets < 0) {
+            throw new IllegalArgumentException("Invalid bucketHours, maxEntries or maxStaleBuckets: %d, %d, %d"
+                    .formatted(bucketHours, maxEntries, maxStaleBuckets));
+        }
+        this.delegate = delegate;
+        this.modelVersion = modelVersion;
+        this.clock = clock;
+        this.bucketSeconds = bucketHours * SECONDS_PER_HOUR;
+        this.maxStaleBuckets = maxStaleBuckets;
+        // in access order so the eldest entry is the least recently requested
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    numEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached forecast, or makes one if there is none fresh or recent enough.
+     *
+     * @param category The category of the forecast.
+     * @return PriceForecast containing the forecast information.
+     */
+    @Override
+    public PriceForecast makeForecast(String category) {
+        try {
+            return makeForecastAsync(category).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the cached forecast, or makes one if there is none fresh or recent enough.
+     *
+     * @param category The category of the forecast.
+     * @return future of the PriceForecast, already complete unless a new forecast is needed
+     */
+    @Override
+    public CompletableFuture<PriceForecast> makeForecastAsync(String category) {
+        String version = modelVersion.get();
+        long bucket = Math.floorDiv(clock.instant().getEpochSecond(), bucketSeconds);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(category);
+        }
+        // a forecast of other models is never returned, it waits for the new models
+        if (entry != null && !entry.modelVersion().equals(version)) {
+            entry = null;
+        }
+        if (entry != null && entry.bucket() == bucket) {
+            numHits.increment();
+            return CompletableFuture.completedFuture(entry.forecast());
+        } else if (entry != null && bucket - entry.bucket() <= maxStaleBuckets) {
+            numStaleHits.increment();
+            refresh(category, bucket);
+            return CompletableFuture.completedFuture(entry.forecast());
+        }
+        numMisses.increment();
+        return fetch(category, bucket);
+    }
+
+    /**
+     * Make a new forecast in the background, unless one is already being made
+     */
+    private void refresh(String category, long bucket) {
+        if (!refreshing.add(category)) {
+            return;
+        }
+        fetch(category, bucket).whenComplete((forecast, error) -> {
+            refreshing.remove(category);
+            if (error != null) {
+                numRefreshFailures.increment();
+                logger.warn("Failed to refresh forecast of " + category + ", keeping the stale forecast", error);
+            }
+        });
+    }
+
+    /**
+     * Make a new forecast and keep it with the version of the models that made it
+     */
+    private CompletableFuture<PriceForecast> fetch(String category, long bucket) {
+        CompletableFuture<PriceForecast> forecast;
+        try {
+            forecast = delegate.makeForecastAsync(category);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return forecast.thenApply(f -> {
+            synchronized (entries) {
+                Entry existing = entries.get(category);
+                // a slow forecast does not replace one of a later bucket
+                if (existing == null || existing.bucket() <= bucket) {
+                    entries.put(category, new Entry(f, f.modelVersion(), bucket));
+                }
+            }
+            return f;
+        });
+    }
+
+    @Override
+    public boolean isSupportedCategory(String category) {
+        return delegate.isSupportedCategory(category);
+    }
+
+    @Override
+    public List<String> getSupportedCategories() {
+        return delegate.getSupportedCategories();
+    }
+
+    /**
+     * Returns the number of categories with a cached forecast
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the number of requests answered with a fresh forecast
+     */
+    public long getNumHits() {
+        return numHits.sum();
+    }
+
+    /**
+     * Returns the number of requests answered with a stale forecast while a new one is made
+     */
+    public long getNumStaleHits() {
+        return numStaleHits.sum();
+    }
+
+    /**
+     * Returns the number of requests that waited for a new forecast
+     */
+    public long getNumMisses() {
+        return numMisses.sum();
+    }
+
+    /**
+     * Returns the number of forecasts evicted to keep within the maximum number of categories
+     */
+    public long getNumEvictions() {
+        return numEvictions.sum();
+    }
+
+    /**
+     * Returns the number of background refreshes that failed
+     */
+    public long getNumRefreshFailures() {
+        return numRefreshFailures.sum();
+    }
+
+}
@@ -0,0 +1,271 @@
+package pfatool.forecaster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Numbers a set of categories, and each of the instance types, instance descriptions
+ * and region zones they are made of, with compact int ids. Categories are numbered in
+ * order of name, the same order as the columns of {@link PreProcessor}, so ids can be
+ * used to index arrays and names are only needed for display.
+ * <p>
+ * Instances are never modified once created and can be shared between threads.
+ */
+public final class CategoryDictionary {
+
+    /**
+     * The three parts of a category
+     */
+    public record Category(String instanceType, String instanceDescription, String regionZone) {
+
+        /**
+         * Returns the category of a price record
+         */
+        public static Category of(PriceData d) {
+            return new Category(d.instanceType(), d.instanceDescription(), d.regionZone());
+        }
+
+        /**
+         * Returns true if the price record is of this category, without creating a Category
+         */
+        public boolean matches(PriceData d) {
+            return regionZone.equals(d.regionZone())
+                    && instanceType.equals(d.instanceType())
+                    && instanceDescription.equals(d.instanceDescription());
+        }
+
+        /**
+         * Split a category name into its three parts
+         *
+         * @param name category name, eg. c5d.xlarge__SUSE Linux__eu-west-1a
+         * @throws IllegalArgumentException if the name does not have 3 parts
+         */
+        public static Category parse(String name) {
+            String[] parts = name.split("__");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected category with 3 parts, got: " + name);
+            }
+            return new Category(parts[0], parts[1], parts[2]);
+        }
+
+        /**
+         * Create a category name by joining the three parts with double underscore
+         * eg. c5d.xlarge__SUSE Linux__eu-west-1a
+         */
+        public String name() {
+            return String.join("__", instanceType, instanceDescription, regionZone);
+        }
+    }
+
+    /**
+     * Numbers categories in order of first appearance from their three parts, such as while
+     * reading price records, then builds the dictionary. A category seen before is looked up
+     * without creating any object, so numbering each record costs no allocation.
+     * <p>
+     * Instances are not thread-safe.
+     */
+    public static final class Builder {
+        private final Map<String, Map<String, Map<String, Integer>>> ids = new HashMap<>();
+        private final List<Category> categories = new ArrayList<>();
+
+        /**
+         * Returns the id of the category in order of first appearance, adding it if it is new
+         */
+        public int add(String instanceType, String instanceDescription, String regionZone) {
+            Map<String, Integer> zones = ids
+                    .computeIfAbsent(instanceType, k -> new HashMap<>())
+                    .computeIfAbsent(instanceDescription, k -> new HashMap<>());
+            Integer id = zones.get(regionZone);
+            if (id == null) {
+                id = categories.size();
+                zones.put(regionZone, id);
+                categories.add(new Category(instanceType, instanceDescription, regionZone));
+            }
+            return id;
+        }
+
+        /**
+         * Returns the categories added, in order of first appearance
+         */
+        public List<Category> getCategories() {
+            return Collections.unmodifiableList(categories);
+        }
+
+        /**
+         * Returns the dictionary of the categories added, numbered in order of name
+         */
+        public CategoryDictionary build() {
+            return ofCategories(categories);
+        }
+
+        /**
+         * Returns the id in the given dictionary of each category, indexed by the id in order
+         * of first appearance
+         */
+        public int[] idsIn(CategoryDictionary dictionary) {
+            return categories.stream()
+                    .mapToInt(dictionary::idOf)
+                    .toArray();
+        }
+    }
+
+    private final Category[] categories;
+    private final List<String> names;
+    private final Map<String, Integer> idsByName;
+    private final Map<Category, Integer> idsByCategory;
+    private final Components instanceTypes;
+    private final Components instanceDescriptions;
+    private final Components regionZones;
+
+    private CategoryDictionary(Category[] categories) {
+        this.categories = categories;
+        this.names = Arrays.stream(categories).map(Category::name).toList();
+        this.idsByName = new HashMap<>();
+        this.idsByCategory = new HashMap<>();
+        for (int id = 0; id < categories.length; id++) {
+            idsByName.put(names.get(id), id);
+            idsByCategory.put(categories[id], id);
+        }
+        this.instanceTypes = new Components(categories, Category::instanceType);
+        this.instanceDescriptions = new Components(categories, Category::instanceDescription);
+        this.regionZones = new Components(categories, Category::regionZone);
+    }
+
+    /**
+     * Create a dictionary of the given category names, duplicates are ignored
+     *
+     * @param names category names, eg. c5d.xlarge__SUSE Linux__eu-west-1a
+     * @throws IllegalArgumentException if any name does not have 3 parts
+     */
+    public static CategoryDictionary ofNames(Collection<String> names) {
+        return ofCategories(names.stream().map(Category::parse).toList());
+    }
+
+    /**
+     * Create a dictionary of the given categories, duplicates are ignored
+     */
+    public static CategoryDictionary ofCategories(Collection<Category> categories) {
+        return new CategoryDictionary(categories.stream()
+                .distinct()
+                .sorted(Comparator.comparing(Category::name))
+                .toArray(Category[]::new));
+    }
+
+    /**
+     * Returns the number of categories
+     */
+    public int size() {
+        return categories.length;
+    }
+
+    /**
+     * Returns the id of the category name, or -1 if it is not in the dictionary
+     */
+    public int idOf(String name) {
+        return idsByName.getOrDefault(name, -1);
+    }
+
+    /**
+     * Returns the id of the category, or -1 if it is not in the dictionary
+     */
+    public int idOf(Category category) {
+        return idsByCategory.getOrDefault(category, -1);
+    }
+
+    /**
+     * Returns the category with the given id
+     */
+    public Category get(int id) {
+        return categories[id];
+    }
+
+    /**
+     * Returns the name of the category with the given id
+     */
+    public String getName(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * Returns the names of the categories in order of id
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Returns the id of the instance type of the category, an index into {@link #getInstanceTypes()}
+     */
+    public int getInstanceTypeId(int id) {
+        return instanceTypes.ids[id];
+    }
+
+    /**
+     * Returns the id of the instance description of the category, an index into
+     * {@link #getInstanceDescriptions()}
+     */
+    public int getInstanceDescriptionId(int id) {
+        return instanceDescriptions.ids[id];
+    }
+
+    /**
+     * Returns the id of the region zone of the category, an index into {@link #getRegionZones()}
+     */
+    public int getRegionZoneId(int id) {
+        return regionZones.ids[id];
+    }
+
+    /**
+     * Returns the distinct instance types in order of name
+     */
+    public List<String> getInstanceTypes() {
+        return instanceTypes.values;
+    }
+
+    /**
+     * Returns the distinct instance descriptions in order of name
+     */
+    public List<String> getInstanceDescriptions() {
+        return instanceDescriptions.values;
+    }
+
+    /**
+     * Returns the distinct region zones in order of name
+     */
+    public List<String> getRegionZones() {
+        return regionZones.values;
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryDictionary(categories=%d, instanceTypes=%d, instanceDescriptions=%d, regionZones=%d)"
+                .formatted(size(), instanceTypes.values.size(),
+                        instanceDescriptions.values.size(), regionZones.values.size());
+    }
+
+    /**
+     * Distinct values of one part of the categories in order of name,
+     * and the id of the value for each category
+     */
+    private static final class Components {
+        final List<String> values;
+        final int[] ids;
+
+        Components(Category[] categories, Function<Category, String> part) {
+            this.values = Arrays.stream(categories).map(part).distinct().sorted().toList();
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                index.put(values.get(i), i);
+            }
+            this.ids = Arrays.stream(categories).mapToInt(c -> index.get(part.apply(c))).toArray();
+        }
+    }
+
+}
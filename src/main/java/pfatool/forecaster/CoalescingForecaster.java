@@ -0,0 +1,118 @@
+package pfatool.forecaster;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PriceForecaster that shares one forecast between concurrent requests for the same category.
+ * <p>
+ * The first request for a category starts a forecast with the wrapped forecaster, requests
+ * that arrive before it completes get the same result, so a burst of requests costs one fetch
+ * of historical prices and one evaluation of the models. Once complete the forecast is
+ * forgotten, the next request starts a new one. Failures are shared the same way and are
+ * not remembered either.
+ */
+public class CoalescingForecaster implements PriceForecaster {
+
+    private final PriceForecaster delegate;
+    private final ConcurrentMap<String, CompletableFuture<PriceForecast>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder numRequests = new LongAdder();
+    private final LongAdder numCoalesced = new LongAdder();
+
+    /**
+     * Create a forecaster sharing the forecasts of the given forecaster
+     *
+     * @param delegate - forecaster that makes the forecasts
+     */
+    public CoalescingForecaster(PriceForecaster delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Make a forecast, or wait for the one in progress for the category.
+     *
+     * @param category The category of the forecast.
+     * @return PriceForecast containing the forecast information.
+     */
+    @Override
+    public PriceForecast makeForecast(String category) {
+        try {
+            return makeForecastAsync(category).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Make a forecast, or share the one in progress for the category.
+     *
+     * @param category The category of the forecast.
+     * @return future of the PriceForecast, each caller gets its own future so cancelling
+     * one does not affect the others
+     */
+    @Override
+    public CompletableFuture<PriceForecast> makeForecastAsync(String category) {
+        numRequests.increment();
+        CompletableFuture<PriceForecast> shared = new CompletableFuture<>();
+        CompletableFuture<PriceForecast> existing = inFlight.putIfAbsent(category, shared);
+        if (existing != null) {
+            numCoalesced.increment();
+            return existing.copy();
+        }
+        CompletableFuture<PriceForecast> forecast;
+        try {
+            forecast = delegate.makeForecastAsync(category);
+        } catch (RuntimeException e) {
+            forecast = CompletableFuture.failedFuture(e);
+        }
+        forecast.whenComplete((result, error) -> {
+            // removed first so requests after completion start a new forecast
+            inFlight.remove(category, shared);
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(result);
+            }
+        });
+        return shared.copy();
+    }
+
+    @Override
+    public boolean isSupportedCategory(String category) {
+        return delegate.isSupportedCategory(category);
+    }
+
+    @Override
+    public List<String> getSupportedCategories() {
+        return delegate.getSupportedCategories();
+    }
+
+    /**
+     * Returns the number of forecasts requested
+     */
+    public long getNumRequests() {
+        return numRequests.sum();
+    }
+
+    /**
+     * Returns the number of requests that shared a forecast already in progress
+     */
+    public long getNumCoalesced() {
+        return numCoalesced.sum();
+    }
+
+    /**
+     * Returns the number of forecasts in progress
+     */
+    public int getNumInFlight() {
+        return inFlight.size();
+    }
+
+}
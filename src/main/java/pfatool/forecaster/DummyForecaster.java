@@ -12,6 +12,7 @@ import java.util.List;
  * startDate: 2021-01-01T00:00:00.000+00:00"
  * forecastHorizon: 7
  * category: dummy__category
+ * modelVersion: dummy
  * }</pre>
  */
 public class DummyForecaster implements PriceForecaster {
@@ -24,7 +25,8 @@ public class DummyForecaster implements PriceForecaster {
                         0, 0, 0, 0,
                         ZoneOffset.UTC),
                 7,
-                category
+                category,
+                "dummy"
         );
     }
 
@@ -10,11 +10,13 @@ import java.time.OffsetDateTime;
  * @param startDate
  * @param forecastHorizon
  * @param category
+ * @param modelVersion
  */
 public record ForecastInfo(
         double mean,
         double stdDeviation,
         OffsetDateTime startDate,
         int forecastHorizon,
-        String category
+        String category,
+        String modelVersion
 ) implements PriceForecast {}
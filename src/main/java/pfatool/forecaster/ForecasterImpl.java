@@ -1,77 +1,109 @@
 package pfatool.forecaster;
 
-import app.ec2prices.LiveSpotPrices;
-import pfatool.generated.PfaDecisionTree;
+import app.ec2prices.PriceHistorySource;
+import pfatool.generated.PfaModelBundle;
 
 import java.time.Clock;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Implementation of PriceForecaster that:<pre>{@literal
  *     1. Fetches previous historical prices from Amazon AWS.
- *     2. Makes forecast using the PfaDecisionTree implementation.
+ *     2. Makes forecast using the current models of the ModelRegistry.
  *     3. Returns the forecasted prices.
  * }</pre>
- *
+ * The prices are fetched asynchronously, the forecast is made on the common ForkJoinPool
+ * once they arrive so threads of the AWS client are not used for computation.
  */
 public class ForecasterImpl implements PriceForecaster {
 
     public static final int HORIZON_DAYS = 7;
     public static final int FREQ_HOURS = 4;
     public static final int NUM_LAGS = 42;
-    private final PfaDecisionTree treeMeans;
-    private final PfaDecisionTree treeStdDev;
+    private final ModelRegistry modelRegistry;
     private final SupportedCategories supportedCategories;
-    private final LiveSpotPrices liveSpotPrices;
+    private final PriceHistorySource priceHistorySource;
 
     /**
      * Construct a new forecaster implementation
-     * @param treeMeans - Decision tree structure for predicting the future mean.
-     * @param treeStdDev - Decision tree structure for predicting the future standard deviation.
+     * @param modelRegistry - Registry holding a bundle of two decision trees, the first predicting
+     *                      the future mean and the second predicting the future standard deviation.
      * @param supportedCategories - List of all supported categories.
-     * @param liveSpotPrices - Instance from which to fetch historical prices.
+     * @param priceHistorySource - Source from which to fetch historical prices.
      */
-    public ForecasterImpl(PfaDecisionTree treeMeans,
-                          PfaDecisionTree treeStdDev,
-                          SupportedCategories supportedCategories, LiveSpotPrices liveSpotPrices) {
-        this.treeMeans = treeMeans;
-        this.treeStdDev = treeStdDev;
+    public ForecasterImpl(ModelRegistry modelRegistry,
+                          SupportedCategories supportedCategories, PriceHistorySource priceHistorySource) {
+        int numOutputs = modelRegistry.current().models().getNumOutputs();
+        if (numOutputs != 2) {
+            throw new IllegalArgumentException("Expected bundle of 2 trees, got: " + numOutputs);
+        }
+        this.modelRegistry = modelRegistry;
         this.supportedCategories = supportedCategories;
-        this.liveSpotPrices = liveSpotPrices;
+        this.priceHistorySource = priceHistorySource;
     }
 
     /**
-     * Make a forecast using the decision tree implementation.
+     * Make a forecast using the decision tree implementation, blocking until it is made.
      *
      * @param category The category of the forecast.
      * @return PriceForecast containing the forecast information.
+     * @throws IllegalArgumentException if the category is not supported
      */
     @Override
     public PriceForecast makeForecast(String category) {
-        List<PriceData> input = fetchFromAws(category);
+        try {
+            return makeForecastAsync(category).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Make a forecast using the decision tree implementation without blocking.
+     *
+     * @param category The category of the forecast.
+     * @return future of the PriceForecast, failed with IllegalArgumentException if
+     * the category is not supported
+     */
+    @Override
+    public CompletableFuture<PriceForecast> makeForecastAsync(String category) {
+        int id = supportedCategories.getDictionary().idOf(category);
+        if (id < 0) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unsupported category: " + category));
+        }
+        return fetchFromAws(supportedCategories.getDictionary().get(id))
+                .thenApplyAsync(input -> forecast(category, input));
+    }
+
+    private PriceForecast forecast(String category, List<PriceData> input) {
         PreProcessor pp = new PreProcessor(
                 input,
                 FREQ_HOURS,
                 NUM_LAGS
         );
-        PriceFrame f = pp.makeLags(category);
-        double[] lags = f.getValues(f.getNumRows() - 1);
-        double prevMean = pp.getRollingMean(category);
-        double meanRatio = treeMeans.predict(lags);
-        double std = treeStdDev.predict(lags);
+        PreProcessor.LatestLags latest = pp.makeLatestLags(category);
+        // read once so the whole forecast uses the same models
+        ModelRegistry.LoadedModels loaded = modelRegistry.current();
+        PfaModelBundle.PredictionPair prediction = loaded.models().predictPair(latest.lags());
         return new ForecastInfo(
-                meanRatio * prevMean,
-                std,
+                prediction.first() * latest.rollingMean(),
+                prediction.second(),
                 OffsetDateTime.now(Clock.systemUTC()),
                 HORIZON_DAYS,
-                category
+                category,
+                loaded.version()
         );
     }
 
     @Override
     public boolean isSupportedCategory(String category) {
-        return supportedCategories.getCategories().contains(category);
+        return supportedCategories.getDictionary().idOf(category) >= 0;
     }
 
     @Override
@@ -79,8 +111,8 @@ public class ForecasterImpl implements PriceForecaster {
         return supportedCategories.getCategories();
     }
 
-    private List<PriceData> fetchFromAws(String category) {
-        return liveSpotPrices.fetchPriceHistory(category, 1 + HORIZON_DAYS);
+    private CompletableFuture<List<PriceData>> fetchFromAws(CategoryDictionary.Category category) {
+        return priceHistorySource.fetchPriceHistory(category, 1 + HORIZON_DAYS);
     }
 
 }
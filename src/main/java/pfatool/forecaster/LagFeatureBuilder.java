@@ -0,0 +1,139 @@
+package pfatool.forecaster;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Builds the lag terms and rolling mean of one category from a stream of price records,
+ * so a forecast does not need to pre-process the whole history again.
+ * <p>
+ * Records are resampled the same way as {@link PreProcessor}: time steps start at 00:00 UTC
+ * of the date of the first record, and a step is closed, holding the last price seen for
+ * the category, when a record of any category arrives after it. Only the last
+ * numLags + 1 closed steps are kept, together with the running sum of the last numLags,
+ * so each record and each call of {@link #latest()} take a fixed amount of work.
+ * <p>
+ * Records must be given in date order. Methods are synchronized so records can be added
+ * while other threads read the lag terms.
+ */
+public class LagFeatureBuilder {
+    private static final long SECONDS_PER_HOUR = 3600;
+    private static final long SECONDS_PER_DAY = 24 * SECONDS_PER_HOUR;
+
+    private final CategoryDictionary.Category category;
+    private final int numLags;
+    private final long step;
+
+    // last numLags + 1 closed steps, next is the slot written next
+    private final double[] ring;
+    private int next;
+    private int count;
+    // sum of the last min(count, numLags) values in the ring
+    private double sum;
+
+    private boolean started;
+    private long curTime;
+    private long lastRecordTime;
+    private boolean seen;
+    private double price;
+
+    /**
+     * Create a builder for the given category
+     *
+     * @param category category name, eg. c5d.xlarge__SUSE Linux__eu-west-1a
+     * @param timeStepHours number of hours in each time step
+     * @param numLags number of lag terms
+     * @throws IllegalArgumentException if the category name does not have 3 parts
+     */
+    public LagFeatureBuilder(String category,
+                             int timeStepHours,
+                             int numLags) {
+        if (timeStepHours <= 0 || numLags <= 0) {
+            throw new IllegalArgumentException(
+                    "Expected positive timeStepHours and numLags, got: " + timeStepHours + " and " + numLags);
+        }
+        this.category = CategoryDictionary.Category.parse(category);
+        this.numLags = numLags;
+        this.step = timeStepHours * SECONDS_PER_HOUR;
+        this.ring = new double[numLags + 1];
+    }
+
+    /**
+     * Add a price record of any category. Records of other categories only close time steps.
+     *
+     * @param d price record, not before any record added earlier
+     * @throws IllegalArgumentException if the record is before the last record added
+     */
+    public synchronized void accept(PriceData d) {
+        // seconds rounded up, the same as PreProcessor
+        long t = d.date().toEpochSecond() + (d.date().getNano() > 0 ? 1 : 0);
+        if (!started) {
+            curTime = d.date().toLocalDate().toEpochDay() * SECONDS_PER_DAY;
+            started = true;
+        } else if (t < lastRecordTime) {
+            throw new IllegalArgumentException("Record out of date order: " + d);
+        }
+        lastRecordTime = t;
+        if (t > curTime) {
+            // close every time step before the record, only the last ring.length matter
+            long numSteps = (t - curTime - 1) / step + 1;
+            if (seen) {
+                for (long k = Math.min(numSteps, ring.length); k > 0; k--) {
+                    push(price);
+                }
+            }
+            curTime += numSteps * step;
+        }
+        if (category.matches(d)) {
+            price = d.price();
+            seen = true;
+        }
+    }
+
+    private void push(double value) {
+        if (count >= numLags) {
+            // value numLags steps back leaves the rolling window
+            sum -= ring[(next + 1) % ring.length];
+        }
+        ring[next] = value;
+        sum += value;
+        next = (next + 1) % ring.length;
+        count = Math.min(count + 1, ring.length);
+        if (next == 0) {
+            // add up again once per lap so rounding errors do not build up
+            sum = 0;
+            for (int k = 1; k <= numLags; k++) {
+                sum += ring[(next + k) % ring.length];
+            }
+        }
+    }
+
+    /**
+     * Returns true once numLags + 1 time steps have been closed since the category was first seen
+     */
+    public synchronized boolean isReady() {
+        return count == ring.length;
+    }
+
+    /**
+     * Returns the lag terms and rolling mean of the most recent closed time step.
+     * Gives the same lag terms as {@link PreProcessor#makeLatestLags(String)} for the same
+     * records, the rolling mean may differ by rounding.
+     *
+     * @throws IllegalStateException if fewer than numLags + 1 time steps have been closed
+     */
+    public synchronized PreProcessor.LatestLags latest() {
+        if (!isReady()) {
+            throw new IllegalStateException("Insufficient data. Need numRows at least: " + numLags);
+        }
+        // when full, next is the oldest value
+        double[] lags = new double[numLags];
+        for (int k = 0; k < numLags; k++) {
+            lags[k] = ring[(next + k + 1) % ring.length] / ring[(next + k) % ring.length];
+        }
+        OffsetDateTime date = OffsetDateTime.ofInstant(Instant.ofEpochSecond(curTime - step), ZoneOffset.UTC);
+        return new PreProcessor.LatestLags(date, lags, sum / numLags);
+    }
+
+}
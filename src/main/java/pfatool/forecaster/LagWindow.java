@@ -0,0 +1,108 @@
+package pfatool.forecaster;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Read-only view of the lag terms of a single column series. Row i holds the numLags
+ * ratios that end at row i + numLags of the series, oldest first, and has its date.
+ * Values are computed when read, so only the rows that are used are ever touched.
+ */
+public final class LagWindow {
+
+    private final PriceFrame series;
+    private final RatioColumn ratios;
+    private final int numLags;
+
+    /**
+     * Create a view of the lag terms of the series
+     *
+     * @param series frame with a single column of values
+     * @param numLags number of lag terms in each row
+     * @throws IllegalStateException if the series has numLags rows or fewer
+     */
+    public LagWindow(PriceFrame series, int numLags) {
+        if (series.getNumCols() != 1) {
+            throw new IllegalArgumentException("Expected 1 column, got: " + series.getNumCols());
+        } else if (series.getNumRows() <= numLags) {
+            throw new IllegalStateException("Insufficient data. Need numRows at least: " + numLags);
+        }
+        this.series = series;
+        this.ratios = new RatioColumn(series.getColumn(0));
+        this.numLags = numLags;
+    }
+
+    /**
+     * Returns the number of lag terms in each row
+     */
+    public int getNumLags() {
+        return numLags;
+    }
+
+    /**
+     * Returns the number of rows
+     */
+    public int getNumRows() {
+        return series.getNumRows() - numLags;
+    }
+
+    /**
+     * Returns the date of row i in UTC
+     */
+    public OffsetDateTime getDate(int i) {
+        Objects.checkIndex(i, getNumRows());
+        return series.getDate(i + numLags);
+    }
+
+    /**
+     * Returns the date of row i as seconds since 1970-01-01T00:00Z
+     */
+    public long getEpochSecond(int i) {
+        Objects.checkIndex(i, getNumRows());
+        return series.getEpochSecond(i + numLags);
+    }
+
+    /**
+     * Returns lag term k of row i
+     */
+    public double getValue(int i, int k) {
+        Objects.checkIndex(i, getNumRows());
+        Objects.checkIndex(k, numLags);
+        return ratios.get(i + k);
+    }
+
+    /**
+     * Returns the lag terms of row i, reading only numLags + 1 values of the series
+     */
+    public double[] getValues(int i) {
+        Objects.checkIndex(i, getNumRows());
+        double[] lags = new double[numLags];
+        RatioColumn window = ratios.slice(i, i + numLags);
+        for (int k = 0; k < numLags; k++) {
+            lags[k] = window.get(k);
+        }
+        return lags;
+    }
+
+    /**
+     * Returns a new PriceFrame holding every row, with columns named lag_00, lag_01, ...
+     */
+    public PriceFrame toPriceFrame() {
+        List<String> lagNames = IntStream.range(0, numLags)
+                .mapToObj("lag_%02d"::formatted)
+                .toList();
+        PriceFrame lagFrame = new PriceFrame(lagNames);
+        // rows are copied when added, so one array is reused for every row
+        double[] values = new double[numLags];
+        for (int i = 0; i < getNumRows(); i++) {
+            for (int k = 0; k < numLags; k++) {
+                values[k] = ratios.get(i + k);
+            }
+            lagFrame.add(getEpochSecond(i), values);
+        }
+        return lagFrame;
+    }
+
+}
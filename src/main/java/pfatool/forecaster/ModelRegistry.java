@@ -0,0 +1,199 @@
+package pfatool.forecaster;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import pfatool.generated.PfaModelBundle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Holds the current bundle of forecasting models and replaces it when the model files change.
+ * <p>
+ * New models are loaded and compiled on the thread doing the reload, never on the request path,
+ * and are then published with a single atomic swap. Forecasts read the current models once
+ * with {@link #current()}, which never blocks, so an in-flight forecast always uses one complete
+ * bundle even if a reload happens part way through.
+ * <p>
+ * Reloads are triggered by calling {@link #reload()}, for example from the actuator endpoint,
+ * or automatically when the registry watches a model directory.
+ */
+public final class ModelRegistry implements Closeable {
+
+    /**
+     * Time to wait for more changes to the model directory before reloading, so that
+     * a model written as several files is loaded once after all the files are written.
+     */
+    public static final long DEBOUNCE_MILLIS = 500;
+
+    private static final Log logger = LogFactory.getLog(ModelRegistry.class);
+
+    private final Supplier<PfaModelBundle> loader;
+    private final AtomicReference<LoadedModels> current;
+    private final Object reloadLock = new Object();
+    private long sequence;
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * Models published by the registry
+     *
+     * @param version version string "v[sequence]-[checksum]", changes each time new models are published
+     * @param models bundle of decision trees
+     * @param loadedAt time the models were published
+     */
+    public record LoadedModels(String version, PfaModelBundle models, OffsetDateTime loadedAt) {}
+
+    /**
+     * Create a registry that loads the models using the given loader. The first models are
+     * loaded immediately, so the registry always has models available.
+     *
+     * @param loader called each time the models are (re)loaded
+     */
+    public ModelRegistry(Supplier<PfaModelBundle> loader) {
+        this.loader = loader;
+        this.current = new AtomicReference<>();
+        reload();
+    }
+
+    /**
+     * Create a registry for models on the classpath, see {@link PfaModelBundle#load(String...)}
+     *
+     * @param dataFiles names of data files (without extension) in order of output
+     * @return ModelRegistry instance
+     */
+    public static ModelRegistry fromClasspath(String... dataFiles) {
+        return new ModelRegistry(() -> PfaModelBundle.load(dataFiles));
+    }
+
+    /**
+     * Create a registry for models in a directory, which reloads the models whenever a file
+     * in the directory changes. See {@link PfaModelBundle#loadPaths(Path...)}
+     *
+     * @param directory directory holding the model files
+     * @param dataFiles names of data files (without extension) relative to the directory
+     * @return ModelRegistry instance
+     * @throws IOException if the directory cannot be watched
+     */
+    public static ModelRegistry fromDirectory(Path directory, String... dataFiles) throws IOException {
+        Path[] paths = Arrays.stream(dataFiles)
+                .map(directory::resolve)
+                .toArray(Path[]::new);
+        ModelRegistry registry = new ModelRegistry(() -> PfaModelBundle.loadPaths(paths));
+        registry.watch(directory);
+        return registry;
+    }
+
+    /**
+     * Returns the models currently in use. Does not block.
+     */
+    public LoadedModels current() {
+        return current.get();
+    }
+
+    /**
+     * Load the models again and publish them if they differ from the current models.
+     * Concurrent reloads are run one at a time. If loading fails the current models
+     * are kept.
+     *
+     * @return the models in use after the reload
+     */
+    public LoadedModels reload() {
+        synchronized (reloadLock) {
+            PfaModelBundle models = loader.get();
+            LoadedModels previous = current.get();
+            long checksum = models.checksum();
+            if (previous != null) {
+                if (previous.models().getNumOutputs() != models.getNumOutputs()) {
+                    throw new IllegalStateException("Expected bundle of %d trees, got: %d".formatted(
+                            previous.models().getNumOutputs(), models.getNumOutputs()));
+                }
+                if (previous.models().checksum() == checksum) {
+                    return previous;
+                }
+            }
+            sequence++;
+            LoadedModels loaded = new LoadedModels(
+                    "v%d-%08x".formatted(sequence, checksum),
+                    models,
+                    OffsetDateTime.now(Clock.systemUTC())
+            );
+            current.set(loaded);
+            logger.info("published models " + loaded.version());
+            return loaded;
+        }
+    }
+
+    /**
+     * Start a daemon thread that reloads the models when files in the directory change
+     */
+    private void watch(Path directory) throws IOException {
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        watcher = new Thread(this::watchLoop, "model-registry-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Waits for changes, then waits until there are no more changes within the
+     * debounce time before reloading.
+     */
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                while (key != null) {
+                    drain(key);
+                    key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    // eg. files only partly written, keep the current models
+                    logger.warn("failed to reload models, keeping " + current().version(), e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // registry closed
+        }
+    }
+
+    /**
+     * Discard the events of a key and reset it to receive more events
+     */
+    private static void drain(WatchKey key) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                logger.debug("watch events overflowed");
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * Stop watching the model directory, if watching. The current models remain available.
+     */
+    @Override
+    public void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watcher.interrupt();
+        }
+    }
+
+}
@@ -7,17 +7,36 @@ import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.function.LongConsumer;
 
 /**
  * Implementation of pre-processing steps to prepare historical price data
- * for forecasting
+ * for forecasting. The resampled data is kept after the first use, so an
+ * instance is meant for one forecast and is not thread-safe.
  */
 public class PreProcessor {
+    private static final long SECONDS_PER_HOUR = 3600;
+    private static final long SECONDS_PER_DAY = 24 * SECONDS_PER_HOUR;
+
     private final List<PriceData> inputData;
+    private final long[] recordSeconds;
+    private final int[] categoryIds;
+    private final CategoryDictionary categories;
+    private final List<String> categoryNames;
     private final int numLags;
     private final int timeStepHours;
+    private PriceFrame resampled;
+    private final Map<Integer, PriceFrame> resampledSeries = new HashMap<>();
+
+    /**
+     * Lag terms of the most recent row together with the rolling mean, which is
+     * all that is needed to make a forecast.
+     *
+     * @param date date and time of the most recent row
+     * @param lags ratio of each value to the previous one, oldest first
+     * @param rollingMean mean of the last numLags values
+     */
+    public record LatestLags(OffsetDateTime date, double[] lags, double rollingMean) {}
 
     /**
      * Create a pre-processor instance based on the given data.
@@ -34,6 +53,28 @@ public class PreProcessor {
                 .toList();
         this.numLags = numLags;
         this.timeStepHours = timeStepHours;
+
+        // seconds rounded up, so a record is after a time step exactly when its rounded
+        // seconds are, even if the record has a fraction of a second
+        this.recordSeconds = this.inputData.stream()
+                .mapToLong(d -> d.date().toEpochSecond() + (d.date().getNano() > 0 ? 1 : 0))
+                .toArray();
+
+        // number the categories in order of first appearance, then renumber in order of
+        // name, the same as the columns of resampleTimes
+        CategoryDictionary.Builder builder = new CategoryDictionary.Builder();
+        int[] ids = new int[this.inputData.size()];
+        for (int i = 0; i < ids.length; i++) {
+            PriceData d = this.inputData.get(i);
+            ids[i] = builder.add(d.instanceType(), d.instanceDescription(), d.regionZone());
+        }
+        this.categories = builder.build();
+        int[] rename = builder.idsIn(categories);
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = rename[ids[i]];
+        }
+        this.categoryIds = ids;
+        this.categoryNames = categories.getNames();
     }
 
     /**
@@ -43,30 +84,18 @@ public class PreProcessor {
      * @return PriceFrame structure with the processed data.
      */
     public PriceFrame makeLags(String categoryName) {
-        PriceFrame resampled = resampleTimes();
-        if (resampled.getNumRows() <= numLags) {
-            throw new IllegalStateException("Insufficient data. Need numRows at least: " + numLags);
-        }
-        final int colIdx = resampled.getColumnNames().indexOf(categoryName);
-        if (colIdx == -1) {
-            throw new IllegalArgumentException("Could not find column name: " + categoryName);
-        }
-        List<String> lagNames = IntStream.range(0, numLags)
-                .mapToObj("lag_%02d"::formatted)
-                .toList();
-        PriceFrame lagFrame = new PriceFrame(lagNames);
-
-        for (int i = numLags; i < resampled.getNumRows(); i++) {
-            double[] values = IntStream.range(i - numLags, i)
-                    .mapToDouble(j -> resampled.getValue(j + 1, colIdx) /
-                            resampled.getValue(j, colIdx))
-                    .toArray();
-            lagFrame.add(
-                    resampled.getDate(i),
-                    values
-            );
-        }
-        return lagFrame;
+        return lagWindow(categoryName).toPriceFrame();
+    }
+
+    /**
+     * Create a view of the lag terms for the given category name. The same as
+     * {@link #makeLags(String)}, but the lag terms are only computed for rows that are read.
+     *
+     * @param categoryName category to process.
+     * @return read-only view of the lag terms
+     */
+    public LagWindow lagWindow(String categoryName) {
+        return new LagWindow(resampleCategory(categoryName), numLags);
     }
 
     /**
@@ -76,16 +105,27 @@ public class PreProcessor {
      * @return rolling mean
      */
     public double getRollingMean(String category) {
-        PriceFrame resampled = resampleTimes();
-        final int colIdx = resampled.getColumnNames().indexOf(category);
-        if (colIdx == -1) {
-            throw new IllegalArgumentException("Could not find column name: " + category);
-        }
-        int nRows = resampled.getNumRows();
-        double sum = IntStream.range(nRows - numLags, nRows)
-                .mapToDouble(i -> resampled.getValue(i, colIdx))
-                .sum();
-        return sum / numLags;
+        PriceColumn prices = resampleCategory(category).getColumn(0);
+        int nRows = prices.size();
+        return prices.sum(nRows - numLags, nRows) / numLags;
+    }
+
+    /**
+     * Create the lag terms of the most recent row and the rolling mean, reading only
+     * the last numLags + 1 values. Gives the same values as the last row of
+     * {@link #makeLags(String)} and {@link #getRollingMean(String)}.
+     *
+     * @param category category to process.
+     * @return lag terms and rolling mean
+     */
+    public LatestLags makeLatestLags(String category) {
+        LagWindow lags = lagWindow(category);
+        int last = lags.getNumRows() - 1;
+        return new LatestLags(
+                lags.getDate(last),
+                lags.getValues(last),
+                getRollingMean(category)
+        );
     }
 
     /**
@@ -102,88 +142,97 @@ public class PreProcessor {
      *         .ffill() \
      *         .dropna(axis=0)
      * }</pre>
+     * The data is resampled on the first call only, later calls return the same frame,
+     * which must not be modified.
      * @return resampled data
      */
     PriceFrame resampleTimes() {
-        // round start time to 00:00 of first day
-        OffsetDateTime firstDate = inputData.get(0).date();
-        OffsetDateTime startDate = OffsetDateTime.of(
-                firstDate.getYear(),
-                firstDate.getMonthValue(),
-                firstDate.getDayOfMonth(),
-                0, 0, 0, 0,
-                ZoneOffset.UTC
-        );
-
-        // temporary structure to hold
-        // i (column number)
-        // prev (last seen value) - used to forward fill when resampling
-        class ColumnData {
-            final int i;
-            double prev;
-            ColumnData(int i) {
-                this.i = i;
-                this.prev = -1;
-            }
-        }
-
-        // create map of column names
-        SortedSet<String> columnNames = makeColumnNames();
-        Map<String, ColumnData> categoryMap = new HashMap<>();
-        int i = 0;
-        for (String name : columnNames) {
-            categoryMap.put(name, new ColumnData(i));
-            i++;
-        }
-        PriceFrame resampled = new PriceFrame(columnNames);
-
-        // iterate through data and remember previously seen values
-        // to use for forward filling
-        int numCols = columnNames.size();
-        OffsetDateTime curDate = startDate;
-        boolean mapFilled = false;
-        for (PriceData d : inputData) {
-            if (!mapFilled) {
-                // only want to do the time-consuming check once
-                mapFilled = categoryMap.entrySet()
-                        .stream()
-                        .allMatch(x -> x.getValue().prev >= 0);
-            }
-            while (d.date().compareTo(curDate) > 0) {
-                if (mapFilled) {
-                    double[] values = new double[numCols];
-                    for (Map.Entry<String, ColumnData> e : categoryMap.entrySet()) {
-                        values[e.getValue().i] = e.getValue().prev;
-                    }
-                    resampled.add(curDate, values);
-                }
-                curDate = curDate.plusHours(timeStepHours);
-            }
-            categoryMap.get(makeCategoryName(d)).prev = d.price();
+        if (resampled == null) {
+            int numCols = categoryNames.size();
+            // last seen value of each column - used to forward fill when resampling
+            double[] prev = new double[numCols];
+            resampled = new PriceFrame(categoryNames);
+            resample(
+                    (i, id) -> prev[id] = inputData.get(i).price(),
+                    date -> resampled.add(date, prev)
+            );
         }
         return resampled;
     }
 
     /**
-     * Create a category name by joining the three parts with double underscore
-     * eg. c5d.xlarge__SUSE Linux__eu-west-1a
+     * Package private method for testing.
+     * Same as the column of {@link #resampleTimes()} for the given category, but only
+     * that column is tracked. Rows still start once every category has been seen and
+     * the time steps are still driven by the records of every category, so the rows
+     * match the wide frame exactly.
+     * The data is resampled on the first call for each category only, later calls
+     * return the same frame, which must not be modified.
+     *
+     * @param category category to process.
+     * @return resampled data with a single column
      */
-    private String makeCategoryName(PriceData d) {
-        return String.join(
-                "__",
-                d.instanceType(),
-                d.instanceDescription(),
-                d.regionZone()
-        );
+    PriceFrame resampleCategory(String category) {
+        int target = categories.idOf(category);
+        if (target < 0) {
+            throw new IllegalArgumentException("Could not find column name: " + category);
+        }
+        return resampledSeries.computeIfAbsent(target, t -> {
+            // last seen value of the category - used to forward fill when resampling
+            double[] prev = new double[1];
+            PriceFrame series = new PriceFrame(List.of(category));
+            resample(
+                    (i, id) -> {
+                        if (id == t) {
+                            prev[0] = inputData.get(i).price();
+                        }
+                    },
+                    date -> series.add(date, prev)
+            );
+            return series;
+        });
     }
 
     /**
-     * Create list of column names sorted into order
+     * Steps through the records in date order at regular intervals from 00:00 of the first
+     * day. Before a record is seen, a row is emitted for each time step that is before the
+     * record, once every category has been seen.
+     *
+     * @param onRecord called with the index and category id of each record
+     * @param onRow called with the date of each row in seconds since the epoch
      */
-    private SortedSet<String> makeColumnNames() {
-        return inputData.stream()
-                .map(this::makeCategoryName)
-                .collect(Collectors.toCollection(TreeSet::new));
+    private void resample(IntBinaryConsumer onRecord, LongConsumer onRow) {
+        // round start time to 00:00 UTC of the date of the first record
+        long curTime = inputData.get(0).date().toLocalDate().toEpochDay() * SECONDS_PER_DAY;
+        long step = timeStepHours * SECONDS_PER_HOUR;
+
+        int numCategories = categoryNames.size();
+        boolean[] seen = new boolean[numCategories];
+        int numSeen = 0;
+        for (int i = 0; i < recordSeconds.length; i++) {
+            long t = recordSeconds[i];
+            if (t > curTime) {
+                // number of time steps before the record
+                long numSteps = (t - curTime - 1) / step + 1;
+                if (numSeen == numCategories) {
+                    for (long k = 0; k < numSteps; k++) {
+                        onRow.accept(curTime + k * step);
+                    }
+                }
+                curTime += numSteps * step;
+            }
+            int id = categoryIds[i];
+            if (!seen[id]) {
+                seen[id] = true;
+                numSeen++;
+            }
+            onRecord.accept(i, id);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IntBinaryConsumer {
+        void accept(int a, int b);
     }
 
     public static void main(String[] args) throws IOException {
@@ -0,0 +1,70 @@
+package pfatool.forecaster;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Read-only view of a column of a {@link PriceFrame}. Shares storage with the frame,
+ * so making a view or a slice of a view does not copy any values.
+ */
+public final class PriceColumn {
+
+    private final double[] values;
+    private final int offset;
+    private final int size;
+
+    /**
+     * Package private constructor, use {@link PriceFrame#getColumn(int)} to create an instance.
+     */
+    PriceColumn(double[] values, int offset, int size) {
+        Objects.checkFromIndexSize(offset, size, values.length);
+        this.values = values;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of values in the column
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value at index i
+     */
+    public double get(int i) {
+        Objects.checkIndex(i, size);
+        return values[offset + i];
+    }
+
+    /**
+     * Returns a view of the values from start (inclusive) to stop (exclusive)
+     */
+    public PriceColumn slice(int start, int stop) {
+        Objects.checkFromToIndex(start, stop, size);
+        return new PriceColumn(values, offset + start, stop - start);
+    }
+
+    /**
+     * Returns the sum of the values from start (inclusive) to stop (exclusive),
+     * summed in the same way as {@link java.util.stream.DoubleStream#sum()}
+     */
+    public double sum(int start, int stop) {
+        Objects.checkFromToIndex(start, stop, size);
+        return Arrays.stream(values, offset + start, offset + stop).sum();
+    }
+
+    /**
+     * Returns a copy of the values
+     */
+    public double[] toArray() {
+        return Arrays.copyOfRange(values, offset, offset + size);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -1,9 +1,14 @@
 package pfatool.forecaster;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.OffsetDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Stream;
 
 /**
  * Data structure to hold the historical price records obtained from
@@ -15,47 +20,42 @@ public record PriceData(OffsetDateTime date,
                         String instanceDescription,
                         String regionZone) {
 
-    private static final String DOUBLE_QUOTE = "\"";
-
     /**
      * Load Price data from tab separated text. With fields:
      * omit, price, date, instance_type, instance_description, region_zone
-     * Must use \n as line separator and tab as field separator.
-     * Quoted values not supported.
+     * Must use \n, \r\n or \r as line separator and tab as field separator.
+     * Quoted values not supported. See {@link PriceTsvParser}.
      *
      * @param tsvData input as text
      * @return List of PriceData
      * @throws IllegalArgumentException if quotes exists in the input text
      */
     public static List<PriceData> loadFromTsv(String tsvData) {
-        return getRows(tsvData)
-                .map(PriceData::parseRow)
-                .toList();
+        return loadFromTsv(ByteBuffer.wrap(tsvData.getBytes(StandardCharsets.UTF_8)));
     }
 
     /**
-     * Helper method to split at line breaks.
+     * Load Price data from a tab separated file, in the same format as {@link #loadFromTsv(String)}.
+     * The bytes are parsed directly without decoding the file into a String first.
+     *
+     * @param tsvFile UTF-8 input file
+     * @return List of PriceData
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if quotes exists in the input text
      */
-    private static Stream<String> getRows(String tsvData) {
-        // \R matches different types of linebreak
-        return Arrays.stream(tsvData.split("\\R"));
+    public static List<PriceData> loadFromTsv(Path tsvFile) throws IOException {
+        return loadFromTsv(ByteBuffer.wrap(Files.readAllBytes(tsvFile)));
     }
 
-    /**
-     * Parse row by splitting at tabs.
-     */
-    private static PriceData parseRow(String row) {
-        if (row.contains(DOUBLE_QUOTE)) {
-            throw new IllegalArgumentException("Quoted strings not supported: " + row);
-        }
-        String[] parts = row.split("\\t");
-        return new PriceData(
-                OffsetDateTime.parse(parts[2]),
-                Double.parseDouble(parts[1]),
-                parts[3],
-                parts[4],
-                parts[5]
+    private static List<PriceData> loadFromTsv(ByteBuffer tsvData) {
+        List<PriceData> out = new ArrayList<>();
+        new PriceTsvParser().parse(
+                tsvData,
+                (date, price, instanceType, instanceDescription, regionZone) -> out.add(new PriceData(
+                        date, price, instanceType, instanceDescription, regionZone
+                ))
         );
+        return Collections.unmodifiableList(out);
     }
 
 }
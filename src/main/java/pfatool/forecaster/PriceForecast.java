@@ -50,4 +50,11 @@ public interface PriceForecast {
     @JsonGetter
     public String category();
 
+    /**
+     * Gets the version of the models that made the forecast, see {@link ModelRegistry}
+     * @return model version
+     */
+    @JsonGetter
+    String modelVersion();
+
 }
@@ -1,6 +1,7 @@
 package pfatool.forecaster;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface PriceForecaster {
 
@@ -11,6 +12,20 @@ public interface PriceForecaster {
      */
     PriceForecast makeForecast(String category);
 
+    /**
+     * Makes a forecast for the given category without blocking the caller while
+     * historical prices are fetched. By default makes the forecast on the calling thread.
+     * @param category The category of the forecast.
+     * @return future of the PriceForecast object, failed with the exceptions of makeForecast
+     */
+    default CompletableFuture<PriceForecast> makeForecastAsync(String category) {
+        try {
+            return CompletableFuture.completedFuture(makeForecast(category));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Checks if a category is supported by the forecaster
      * @param category The category of the forecast.
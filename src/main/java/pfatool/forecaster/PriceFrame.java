@@ -1,20 +1,32 @@
 package pfatool.forecaster;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
- * Data structure to hold tabular data with generic column names
+ * Data structure to hold tabular data with generic column names.
+ * Dates are held as seconds since the epoch and given as UTC dates by {@link #getDate(int)}.
+ * Each column is stored in its own array, so reading a column is a scan over contiguous memory.
+ * <p>
+ * Values are never changed once added, so {@link #subSet(int, int)} and {@link #getColumn(int)}
+ * return views that share the storage of this frame instead of copying.
  */
 public class PriceFrame {
 
+    private static final int INITIAL_CAPACITY = 16;
+
     private final List<String> columnNames;
-    private final List<OffsetDateTime> dates;
-    private final List<double[]> priceValues;
+    private long[] dates;
+    private double[][] columns;
     private final int numCols;
+    private final int offset;
+    private int numRows;
+    private final boolean readOnly;
 
     /**
      * Create a new PriceFrame based on the given column names.
@@ -23,9 +35,29 @@ public class PriceFrame {
      */
     public PriceFrame(Collection<String> columnNames) {
         this.columnNames = columnNames.stream().toList();
-        this.dates = new ArrayList<>();
-        this.priceValues = new ArrayList<>();
         this.numCols = columnNames.size();
+        this.dates = new long[INITIAL_CAPACITY];
+        this.columns = new double[numCols][INITIAL_CAPACITY];
+        this.offset = 0;
+        this.numRows = 0;
+        this.readOnly = false;
+    }
+
+    /**
+     * Private constructor for a read-only view of rows offset to offset + numRows
+     */
+    private PriceFrame(List<String> columnNames,
+                       long[] dates,
+                       double[][] columns,
+                       int offset,
+                       int numRows) {
+        this.columnNames = columnNames;
+        this.numCols = columnNames.size();
+        this.dates = dates;
+        this.columns = columns;
+        this.offset = offset;
+        this.numRows = numRows;
+        this.readOnly = true;
     }
 
     /**
@@ -36,13 +68,40 @@ public class PriceFrame {
      */
     public void add(OffsetDateTime dateTime,
                     double[] values) {
-        if (values.length != numCols) {
+        add(dateTime.toEpochSecond(), values);
+    }
+
+    /**
+     * Add a row of data to the table. The values are copied, so the array can be reused.
+     *
+     * @param epochSecond date and time of record as seconds since 1970-01-01T00:00Z
+     * @param values array of values comprising a single row in the table
+     * @throws IllegalStateException if this frame is a read-only view
+     */
+    public void add(long epochSecond,
+                    double[] values) {
+        if (readOnly) {
+            throw new IllegalStateException("Cannot add rows to a read-only view");
+        } else if (values.length != numCols) {
             throw new IllegalArgumentException(
                     "Mismatched number of columns: " + values.length + " and " + numCols
             );
         }
-        dates.add(dateTime);
-        priceValues.add(values);
+        if (numRows == dates.length) {
+            // views made earlier keep the old arrays, which still hold their rows
+            int capacity = numRows * 2;
+            dates = Arrays.copyOf(dates, capacity);
+            double[][] grown = new double[numCols][];
+            for (int j = 0; j < numCols; j++) {
+                grown[j] = Arrays.copyOf(columns[j], capacity);
+            }
+            columns = grown;
+        }
+        dates[numRows] = epochSecond;
+        for (int j = 0; j < numCols; j++) {
+            columns[j][numRows] = values[j];
+        }
+        numRows++;
     }
 
     /**
@@ -53,10 +112,18 @@ public class PriceFrame {
     }
 
     /**
-     * Returns the date at index i
+     * Returns the date at index i in UTC
      */
     public OffsetDateTime getDate(int i) {
-        return dates.get(i);
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(getEpochSecond(i)), ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the date at index i as seconds since 1970-01-01T00:00Z
+     */
+    public long getEpochSecond(int i) {
+        Objects.checkIndex(i, numRows);
+        return dates[offset + i];
     }
 
     /**
@@ -70,36 +137,87 @@ public class PriceFrame {
      * Returns the number of rows in the table
      */
     public int getNumRows() {
-        return dates.size();
+        return numRows;
     }
 
     /**
      * Returns the value at row i and column j of the table
      */
     public double getValue(int i, int j) {
-        return priceValues.get(i)[j];
+        Objects.checkIndex(i, numRows);
+        return columns[j][offset + i];
     }
 
     /**
      * Returns a copy of the entire row at row index i
      */
     public double[] getValues(int i) {
-        return Arrays.copyOf(priceValues.get(i), getNumCols());
+        Objects.checkIndex(i, numRows);
+        double[] row = new double[numCols];
+        for (int j = 0; j < numCols; j++) {
+            row[j] = columns[j][offset + i];
+        }
+        return row;
+    }
+
+    /**
+     * Returns a read-only view of column j that shares storage with this frame
+     */
+    public PriceColumn getColumn(int j) {
+        Objects.checkIndex(j, numCols);
+        return new PriceColumn(columns[j], offset, numRows);
     }
 
     /**
-     * Returns a subset of the PriceFrame. Makes a copy each time so is not very efficient.
+     * Copies rows from start (inclusive) to stop (exclusive) into a single row-major
+     * block, as used by the batch prediction methods of the decision tree.
+     *
      * @param start start index inclusive
      * @param stop stop index exclusive
-     * @return new PriceFrame
+     * @param dest destination array of at least (stop - start) * numCols values
+     */
+    public void copyValues(int start,
+                           int stop,
+                           double[] dest) {
+        Objects.checkFromToIndex(start, stop, numRows);
+        for (int j = 0; j < numCols; j++) {
+            double[] column = columns[j];
+            for (int i = start; i < stop; i++) {
+                dest[(i - start) * numCols + j] = column[offset + i];
+            }
+        }
+    }
+
+    /**
+     * Returns a subset of the rows of the PriceFrame. The subset is a read-only view that
+     * shares storage with this frame, so no values are copied.
+     * @param start start index inclusive
+     * @param stop stop index exclusive
+     * @return read-only PriceFrame
      */
     public PriceFrame subSet(int start,
                              int stop) {
-        PriceFrame out = new PriceFrame(columnNames);
-        for (int i = start; i < stop; i++) {
-            out.add(dates.get(i), priceValues.get(i));
-        }
-        return out;
+        Objects.checkFromToIndex(start, stop, numRows);
+        return new PriceFrame(columnNames, dates, columns, offset + start, stop - start);
+    }
+
+    /**
+     * Returns a subset of the columns of the PriceFrame. The subset is a read-only view that
+     * shares storage with this frame, so no values are copied.
+     * @param start start column index inclusive
+     * @param stop stop column index exclusive
+     * @return read-only PriceFrame
+     */
+    public PriceFrame selectColumns(int start,
+                                    int stop) {
+        Objects.checkFromToIndex(start, stop, numCols);
+        return new PriceFrame(
+                columnNames.subList(start, stop),
+                dates,
+                Arrays.copyOfRange(columns, start, stop),
+                offset,
+                numRows
+        );
     }
 
     /**
@@ -107,7 +225,7 @@ public class PriceFrame {
      */
     @Override
     public String toString() {
-        return IntStream.range(0, dates.size())
+        return IntStream.range(0, numRows)
                 .parallel()
                 .mapToObj(this::formatRow)
                 .collect(Collectors.joining(System.lineSeparator()));
@@ -134,11 +252,12 @@ public class PriceFrame {
                 colNameFormat,
                 fieldSeparator
         );
-        return headerRow + lineSeparator + IntStream.range(0, dates.size())
+        DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern(datePattern);
+        return headerRow + lineSeparator + IntStream.range(0, numRows)
                 .parallel()
                 .mapToObj(i -> formatRow(
                         i,
-                        datePattern,
+                        dateFormat,
                         valueFormat,
                         fieldSeparator
                 ))
@@ -150,15 +269,13 @@ public class PriceFrame {
      * Helper method to format the string output
      */
     private String formatRow(int i,
-                             String datePattern,
+                             DateTimeFormatter dateFormat,
                              String valueFormat,
                              String fieldSeparator) {
 
-        String dateText = DateTimeFormatter
-                .ofPattern(datePattern)
-                .format(dates.get(i));
+        String dateText = dateFormat.format(getDate(i));
 
-        double[] values = priceValues.get(i);
+        double[] values = getValues(i);
         String lagValues = Arrays.stream(values)
                 .parallel()
                 .mapToObj(valueFormat::formatted)
@@ -171,7 +288,7 @@ public class PriceFrame {
      * Helper method to provide a default string format
      */
     private String formatRow(int i) {
-        double[] values = priceValues.get(i);
+        double[] values = getValues(i);
         String lagValues = IntStream.range(0, numCols)
                 .parallel()
                 .mapToObj(x -> String.format("%s=%s", columnNames.get(x), values[x]))
@@ -179,7 +296,7 @@ public class PriceFrame {
 
         return String.format(
                 "(date=%s, %s)",
-                dates.get(i),
+                getDate(i),
                 lagValues
         );
     }
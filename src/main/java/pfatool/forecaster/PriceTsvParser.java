@@ -0,0 +1,290 @@
+package pfatool.forecaster;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Parser for price records in UTF-8 tab separated text, with fields:
+ * omit, price, date, instance_type, instance_description, region_zone
+ * <p>
+ * Scans the bytes directly instead of splitting strings. Dates in the form
+ * 2022-06-07T09:05:40+00:00 and prices of up to 15 significant digits are read
+ * without creating strings, other forms fall back to {@link OffsetDateTime#parse(CharSequence)}
+ * and {@link Double#parseDouble(String)}, so the values are always the same as theirs.
+ * The names of categories repeat on most rows, so the same String instance is reused.
+ * <p>
+ * An instance keeps caches between rows so is not thread-safe, use one per thread.
+ */
+public final class PriceTsvParser {
+
+    /**
+     * Receives the fields of each row
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        void accept(OffsetDateTime date,
+                    double price,
+                    String instanceType,
+                    String instanceDescription,
+                    String regionZone);
+    }
+
+    private static final int NUM_FIELDS = 6;
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final int STRING_CACHE_SIZE = 1024;
+
+    private final int[] tabs = new int[NUM_FIELDS];
+    private final String[] stringCache = new String[STRING_CACHE_SIZE];
+    private final byte[] prevDate = new byte[32];
+    private int prevDateLength = -1;
+    private OffsetDateTime prevDateValue;
+
+    /**
+     * Parse rows from the position to the limit of the buffer. Lines may end with \n, \r\n
+     * or \r, empty lines are skipped and fields after the sixth are ignored.
+     * Quoted values not supported.
+     *
+     * @param bytes UTF-8 text, the position of the buffer is not changed
+     * @param handler called for each row in order
+     * @throws IllegalArgumentException if a row has quotes, too few fields or a price that is not a number
+     * @throws java.time.DateTimeException if a date is not valid
+     */
+    public void parse(ByteBuffer bytes, RowHandler handler) {
+        int pos = bytes.position();
+        int end = bytes.limit();
+        while (pos < end) {
+            int lineEnd = pos;
+            int numTabs = 0;
+            boolean quoted = false;
+            for (; lineEnd < end; lineEnd++) {
+                byte b = bytes.get(lineEnd);
+                if (b == '\n' || b == '\r') {
+                    break;
+                } else if (b == '\t') {
+                    if (numTabs < NUM_FIELDS) {
+                        tabs[numTabs++] = lineEnd;
+                    }
+                } else if (b == '"') {
+                    quoted = true;
+                }
+            }
+            if (lineEnd > pos) {
+                parseRow(bytes, pos, lineEnd, numTabs, quoted, handler);
+            }
+            if (lineEnd < end && bytes.get(lineEnd) == '\r') {
+                lineEnd++;
+            }
+            if (lineEnd < end && bytes.get(lineEnd) == '\n') {
+                lineEnd++;
+            }
+            pos = lineEnd;
+        }
+    }
+
+    private void parseRow(ByteBuffer bytes,
+                          int start,
+                          int end,
+                          int numTabs,
+                          boolean quoted,
+                          RowHandler handler) {
+        if (quoted) {
+            throw new IllegalArgumentException("Quoted strings not supported: " + decode(bytes, start, end));
+        } else if (numTabs < NUM_FIELDS - 1) {
+            throw new IllegalArgumentException(
+                    "Expected " + NUM_FIELDS + " fields: " + decode(bytes, start, end));
+        }
+        // field k is from tabs[k - 1] + 1 to tabs[k]
+        int lastEnd = numTabs == NUM_FIELDS ? tabs[NUM_FIELDS - 1] : end;
+        handler.accept(
+                parseDate(bytes, tabs[1] + 1, tabs[2]),
+                parsePrice(bytes, tabs[0] + 1, tabs[1]),
+                cachedString(bytes, tabs[2] + 1, tabs[3]),
+                cachedString(bytes, tabs[3] + 1, tabs[4]),
+                cachedString(bytes, tabs[4] + 1, lastEnd)
+        );
+    }
+
+    /**
+     * Decimal numbers of up to 15 significant digits and at most 22 digits after the point
+     * are exact as a long and a power of ten, so one correctly rounded division gives the
+     * same double as {@link Double#parseDouble(String)}. Other numbers use parseDouble.
+     */
+    static double parsePrice(ByteBuffer bytes, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (bytes.get(i) == '-' || bytes.get(i) == '+')) {
+            negative = bytes.get(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int numDigits = 0;
+        int fractionDigits = 0;
+        boolean anyDigits = false;
+        boolean point = false;
+        for (; i < end; i++) {
+            byte b = bytes.get(i);
+            if (b >= '0' && b <= '9') {
+                anyDigits = true;
+                if (point) {
+                    fractionDigits++;
+                }
+                if (mantissa == 0 && b == '0') {
+                    // leading zeros are not significant
+                    continue;
+                } else if (++numDigits > MAX_FAST_DIGITS) {
+                    return slowParsePrice(bytes, start, end);
+                }
+                mantissa = mantissa * 10 + (b - '0');
+            } else if (b == '.' && !point) {
+                point = true;
+            } else {
+                return slowParsePrice(bytes, start, end);
+            }
+        }
+        if (!anyDigits || fractionDigits >= POWERS_OF_TEN.length) {
+            return slowParsePrice(bytes, start, end);
+        }
+        double value = (double) mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    private static double slowParsePrice(ByteBuffer bytes, int start, int end) {
+        return Double.parseDouble(decode(bytes, start, end));
+    }
+
+    /**
+     * Dates in the form yyyy-MM-ddTHH:mm:ss+HH:MM or yyyy-MM-ddTHH:mm:ssZ are read directly,
+     * other forms use {@link OffsetDateTime#parse(CharSequence)}. Records are grouped by date
+     * so the date of the previous row is reused when the bytes are the same.
+     */
+    private OffsetDateTime parseDate(ByteBuffer bytes, int start, int end) {
+        int length = end - start;
+        if (length == prevDateLength && sameBytes(bytes, start, prevDate, length)) {
+            return prevDateValue;
+        }
+        OffsetDateTime date = fastParseDate(bytes, start, end);
+        if (date == null) {
+            date = OffsetDateTime.parse(decode(bytes, start, end));
+        }
+        if (length <= prevDate.length) {
+            bytes.get(start, prevDate, 0, length);
+            prevDateLength = length;
+            prevDateValue = date;
+        }
+        return date;
+    }
+
+    private static OffsetDateTime fastParseDate(ByteBuffer bytes, int start, int end) {
+        int length = end - start;
+        if ((length != 20 && length != 25)
+                || bytes.get(start + 4) != '-' || bytes.get(start + 7) != '-'
+                || bytes.get(start + 10) != 'T' || bytes.get(start + 13) != ':'
+                || bytes.get(start + 16) != ':') {
+            return null;
+        }
+        int year = digits(bytes, start, 4);
+        int month = digits(bytes, start + 5, 2);
+        int day = digits(bytes, start + 8, 2);
+        int hour = digits(bytes, start + 11, 2);
+        int minute = digits(bytes, start + 14, 2);
+        int second = digits(bytes, start + 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+        ZoneOffset offset;
+        byte sign = bytes.get(start + 19);
+        if (length == 20) {
+            if (sign != 'Z') {
+                return null;
+            }
+            offset = ZoneOffset.UTC;
+        } else {
+            int offsetHours = digits(bytes, start + 20, 2);
+            int offsetMinutes = digits(bytes, start + 23, 2);
+            if ((sign != '+' && sign != '-') || bytes.get(start + 22) != ':'
+                    || (offsetHours | offsetMinutes) < 0) {
+                return null;
+            }
+            int offsetSeconds = (offsetHours * 60 + offsetMinutes) * 60;
+            offset = ZoneOffset.ofTotalSeconds(sign == '-' ? -offsetSeconds : offsetSeconds);
+        }
+        return OffsetDateTime.of(year, month, day, hour, minute, second, 0, offset);
+    }
+
+    /**
+     * Returns the value of n decimal digits, or -1 if any is not a digit
+     */
+    private static int digits(ByteBuffer bytes, int start, int n) {
+        int value = 0;
+        for (int i = start; i < start + n; i++) {
+            int d = bytes.get(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the string of the bytes, reusing an earlier instance when the bytes are
+     * plain ASCII and the same as a string seen before
+     */
+    private String cachedString(ByteBuffer bytes, int start, int end) {
+        int hash = 0;
+        boolean ascii = true;
+        for (int i = start; i < end; i++) {
+            byte b = bytes.get(i);
+            hash = 31 * hash + b;
+            ascii &= b >= 0;
+        }
+        if (!ascii) {
+            return decode(bytes, start, end);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (STRING_CACHE_SIZE - 1);
+        String cached = stringCache[slot];
+        if (cached != null && sameChars(bytes, start, end, cached)) {
+            return cached;
+        }
+        String s = decode(bytes, start, end);
+        stringCache[slot] = s;
+        return s;
+    }
+
+    private static boolean sameChars(ByteBuffer bytes, int start, int end, String s) {
+        if (s.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i - start) != bytes.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameBytes(ByteBuffer bytes, int start, byte[] other, int length) {
+        for (int i = 0; i < length; i++) {
+            if (bytes.get(start + i) != other[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String decode(ByteBuffer bytes, int start, int end) {
+        if (bytes.hasArray()) {
+            return new String(bytes.array(), bytes.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+        }
+        byte[] copy = new byte[end - start];
+        bytes.get(start, copy);
+        return new String(copy, StandardCharsets.UTF_8);
+    }
+
+}
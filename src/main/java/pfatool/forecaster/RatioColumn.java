@@ -0,0 +1,48 @@
+package pfatool.forecaster;
+
+import java.util.Objects;
+
+/**
+ * Read-only view of the ratio of each value of a {@link PriceColumn} to the value before it.
+ * Ratios are computed when read, value i is column[i + 1] / column[i].
+ */
+public final class RatioColumn {
+
+    private final PriceColumn column;
+
+    /**
+     * Create a view of the ratios of consecutive values of the column
+     *
+     * @param column column of at least one value
+     */
+    public RatioColumn(PriceColumn column) {
+        if (column.size() < 1) {
+            throw new IllegalArgumentException("Need at least 1 value, got: " + column.size());
+        }
+        this.column = column;
+    }
+
+    /**
+     * Returns the number of ratios, one less than the size of the column
+     */
+    public int size() {
+        return column.size() - 1;
+    }
+
+    /**
+     * Returns the ratio at index i
+     */
+    public double get(int i) {
+        Objects.checkIndex(i, size());
+        return column.get(i + 1) / column.get(i);
+    }
+
+    /**
+     * Returns a view of the ratios from start (inclusive) to stop (exclusive)
+     */
+    public RatioColumn slice(int start, int stop) {
+        Objects.checkFromToIndex(start, stop, size());
+        return new RatioColumn(column.slice(start, stop + 1));
+    }
+
+}
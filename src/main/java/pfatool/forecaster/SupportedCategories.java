@@ -11,6 +11,7 @@ import java.util.Scanner;
  */
 public class SupportedCategories {
     private final List<String> categories;
+    private final CategoryDictionary dictionary;
 
     /**
      * Load the list of supported categories from the data file.
@@ -19,6 +20,7 @@ public class SupportedCategories {
      */
     public SupportedCategories(String filename) {
         categories = readFile(filename);
+        dictionary = CategoryDictionary.ofNames(categories);
     }
 
     /**
@@ -28,6 +30,14 @@ public class SupportedCategories {
         return categories;
     }
 
+    /**
+     * Get the dictionary of the supported categories, to look up a category without
+     * searching the list or splitting its name.
+     */
+    CategoryDictionary getDictionary() {
+        return dictionary;
+    }
+
     /**
      * Helper method to read data from the given filename
      */
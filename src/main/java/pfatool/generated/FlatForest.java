@@ -0,0 +1,109 @@
+package pfatool.generated;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Several flattened trees copied into one shared set of arrays, so evaluating many trees
+ * walks a single contiguous structure. Used by {@link PfaModelBundle} and {@link PfaTreeEnsemble}.
+ * <p>
+ * The layout is the same as {@link FlatTree}, with child references shifted by the position of
+ * each tree in the shared arrays, and roots[t] the reference to the root of tree t.
+ */
+final class FlatForest {
+
+    final int[] roots;
+    final int[] featureIndex;
+    final double[] threshold;
+    final int[] left;
+    final int[] right;
+    final double[] leafValue;
+    /**
+     * One more than the largest input index used by any of the trees
+     */
+    final int numFeatures;
+
+    /**
+     * Copy the given trees into the shared arrays, in order
+     *
+     * @param flatTrees trees to copy
+     */
+    FlatForest(List<FlatTree> flatTrees) {
+        if (flatTrees.isEmpty()) {
+            throw new IllegalArgumentException("need at least one tree");
+        }
+        int numNodes = flatTrees.stream().mapToInt(FlatTree::getNumNodes).sum();
+        int numLeaves = flatTrees.stream().mapToInt(FlatTree::getNumLeaves).sum();
+        this.roots = new int[flatTrees.size()];
+        this.featureIndex = new int[numNodes];
+        this.threshold = new double[numNodes];
+        this.left = new int[numNodes];
+        this.right = new int[numNodes];
+        this.leafValue = new double[numLeaves];
+        this.numFeatures = flatTrees.stream().mapToInt(FlatTree::getNumFeatures).max().getAsInt();
+
+        // append each tree, shifting child references by the offsets
+        int nodeOffset = 0;
+        int leafOffset = 0;
+        for (int t = 0; t < flatTrees.size(); t++) {
+            FlatTree tree = flatTrees.get(t);
+            int n = tree.getNumNodes();
+            roots[t] = shift(tree.getRoot(), nodeOffset, leafOffset);
+            System.arraycopy(tree.getFeatureIndex(), 0, featureIndex, nodeOffset, n);
+            System.arraycopy(tree.getThreshold(), 0, threshold, nodeOffset, n);
+            for (int i = 0; i < n; i++) {
+                left[nodeOffset + i] = shift(tree.getLeft()[i], nodeOffset, leafOffset);
+                right[nodeOffset + i] = shift(tree.getRight()[i], nodeOffset, leafOffset);
+            }
+            System.arraycopy(tree.getLeafValue(), 0, leafValue, leafOffset, tree.getNumLeaves());
+            nodeOffset += n;
+            leafOffset += tree.getNumLeaves();
+        }
+    }
+
+    /**
+     * Returns the number of trees
+     */
+    int getNumTrees() {
+        return roots.length;
+    }
+
+    /**
+     * Walk a single tree
+     *
+     * @param t index of tree
+     * @param inputs array of pre-processed data
+     * @return prediction of the tree
+     */
+    double predict(int t, double[] inputs) {
+        int i = roots[t];
+        while (i >= 0) {
+            i = inputs[featureIndex[i]] <= threshold[i] ? left[i] : right[i];
+        }
+        return leafValue[~i];
+    }
+
+    /**
+     * Returns a CRC-32 checksum of the arrays
+     */
+    long checksum() {
+        ByteBuffer buf = ByteBuffer.allocate(
+                4 * (roots.length + 3 * featureIndex.length) + 8 * (threshold.length + leafValue.length)
+        );
+        buf.asIntBuffer().put(roots).put(featureIndex).put(left).put(right);
+        buf.position(4 * (roots.length + 3 * featureIndex.length));
+        buf.asDoubleBuffer().put(threshold).put(leafValue);
+        CRC32 crc = new CRC32();
+        crc.update(buf.position(0));
+        return crc.getValue();
+    }
+
+    /**
+     * Helper to move a node or leaf reference to its position in the combined arrays
+     */
+    private static int shift(int ref, int nodeOffset, int leafOffset) {
+        return ref >= 0 ? ref + nodeOffset : ~(~ref + leafOffset);
+    }
+
+}
@@ -0,0 +1,538 @@
+package pfatool.generated;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Compiled form of a decision tree held in parallel primitive arrays.
+ * Built once from the Avro TreeNode structure so that predictions avoid string
+ * comparisons, pointer chasing and unboxing of the leaf values.
+ * <p>
+ * Internal nodes are numbered breadth-first from the root. A child reference
+ * that is zero or positive is the index of another internal node. A negative
+ * child reference {@code c} refers to the leaf at index {@code ~c}.
+ */
+public final class FlatTree implements TreePredictor {
+
+    /**
+     * Number of rows that are stepped through the tree together in batch predictions
+     */
+    static final int BLOCK_ROWS = 64;
+
+    /**
+     * Batches smaller than this are not split across the ForkJoinPool
+     */
+    static final int PARALLEL_MIN_ROWS = 4096;
+
+    /**
+     * Binary format identifier, the ASCII characters "PFAT"
+     */
+    static final int BINARY_MAGIC = 0x50464154;
+    static final int BINARY_VERSION = 3;
+    static final int BINARY_HEADER_BYTES = 32;
+
+    private final int root;
+    private final int[] featureIndex;
+    private final double[] threshold;
+    private final int[] left;
+    private final int[] right;
+    private final double[] leafValue;
+    private final int numFeatures;
+
+    /**
+     * Package private constructor, use {@link #compile(TreeNode)} to create an instance.
+     */
+    FlatTree(int root,
+             int[] featureIndex,
+             double[] threshold,
+             int[] left,
+             int[] right,
+             double[] leafValue) {
+        this.root = root;
+        this.featureIndex = featureIndex;
+        this.threshold = threshold;
+        this.left = left;
+        this.right = right;
+        this.leafValue = leafValue;
+        this.numFeatures = Arrays.stream(featureIndex).max().orElse(-1) + 1;
+    }
+
+    /**
+     * Reads the nodes of a tree held in some other form, so that any form is flattened
+     * by the same {@link #compile(Object, NodeReader)}.
+     *
+     * @param <N> type of the internal nodes
+     */
+    public interface NodeReader<N> {
+
+        /**
+         * Returns the branch as an internal node, or null if it is a leaf
+         *
+         * @throws IllegalStateException if the node cannot be flattened
+         */
+        N asNode(Object branch);
+
+        /**
+         * Returns the value of a leaf
+         *
+         * @throws IllegalStateException if the branch is not a leaf value
+         */
+        double leafValue(Object branch);
+
+        /**
+         * Returns the index of the input compared by the node with "&lt;="
+         */
+        int featureIndex(N node);
+
+        /**
+         * Returns the threshold the input is compared with
+         */
+        double threshold(N node);
+
+        /**
+         * Returns the branch followed when the input is less than or equal to the threshold
+         */
+        Object pass(N node);
+
+        /**
+         * Returns the branch followed otherwise
+         */
+        Object fail(N node);
+    }
+
+    /**
+     * Reads the TreeNode records decoded from the Avro files
+     */
+    private static final NodeReader<TreeNode> TREE_NODES = new NodeReader<>() {
+        @Override
+        public TreeNode asNode(Object branch) {
+            if (!(branch instanceof TreeNode node)) {
+                return null;
+            }
+            if (!node.getOperator().toString().equals("<=")) {
+                throw new IllegalStateException("unknown comparison operator");
+            }
+            return node;
+        }
+
+        @Override
+        public double leafValue(Object branch) {
+            if (branch instanceof Double dbl) {
+                return dbl;
+            }
+            throw new IllegalStateException("unknown tree branch: " + branch);
+        }
+
+        @Override
+        public int featureIndex(TreeNode node) {
+            return node.getField().ordinal();
+        }
+
+        @Override
+        public double threshold(TreeNode node) {
+            return node.getValue();
+        }
+
+        @Override
+        public Object pass(TreeNode node) {
+            return node.getPass();
+        }
+
+        @Override
+        public Object fail(TreeNode node) {
+            return node.getFail();
+        }
+    };
+
+    /**
+     * Compile the tree starting at the given root node into the flattened form.
+     * Nodes are visited breadth-first, so the nodes near the root, which are
+     * visited by every prediction, are stored next to each other.
+     *
+     * @param rootNode root of the tree
+     * @return FlatTree instance
+     * @throws IllegalStateException if the tree uses an unknown comparison operator
+     */
+    public static FlatTree compile(TreeNode rootNode) {
+        return compile(rootNode, TREE_NODES);
+    }
+
+    /**
+     * Compile a tree held in another form into the flattened form, in the same order
+     * as {@link #compile(TreeNode)}. Does not recurse, so trees of any depth are compiled.
+     *
+     * @param root root of the tree, which may be a leaf
+     * @param reader reads the nodes of the tree
+     * @return FlatTree instance
+     * @throws IllegalStateException if the reader cannot read a node
+     */
+    public static <N> FlatTree compile(Object root, NodeReader<N> reader) {
+        List<N> nodes = new ArrayList<>();
+        List<Double> leaves = new ArrayList<>();
+        List<int[]> children = new ArrayList<>();
+
+        N rootNode = reader.asNode(root);
+        if (rootNode == null) {
+            return new FlatTree(~0, new int[0], new double[0], new int[0], new int[0],
+                    new double[] {reader.leafValue(root)});
+        }
+        // first pass numbers the nodes in breadth-first order
+        Deque<N> queue = new ArrayDeque<>();
+        queue.add(rootNode);
+        while (!queue.isEmpty()) {
+            N node = queue.remove();
+            int nextNode = nodes.size() + queue.size() + 1;
+            int[] refs = new int[2];
+            Object[] branches = {reader.pass(node), reader.fail(node)};
+            for (int k = 0; k < 2; k++) {
+                N child = reader.asNode(branches[k]);
+                if (child != null) {
+                    refs[k] = nextNode++;
+                    queue.add(child);
+                } else {
+                    refs[k] = ~leaves.size();
+                    leaves.add(reader.leafValue(branches[k]));
+                }
+            }
+            nodes.add(node);
+            children.add(refs);
+        }
+
+        // second pass copies into the parallel arrays
+        int n = nodes.size();
+        int[] featureIndex = new int[n];
+        double[] threshold = new double[n];
+        int[] left = new int[n];
+        int[] right = new int[n];
+        for (int i = 0; i < n; i++) {
+            N node = nodes.get(i);
+            featureIndex[i] = reader.featureIndex(node);
+            threshold[i] = reader.threshold(node);
+            left[i] = children.get(i)[0];
+            right[i] = children.get(i)[1];
+        }
+        double[] leafValue = leaves.stream()
+                .mapToDouble(Double::doubleValue)
+                .toArray();
+        return new FlatTree(0, featureIndex, threshold, left, right, leafValue);
+    }
+
+    /**
+     * Read a tree from the compact binary format written by {@link #toByteBuffer()}.
+     * The arrays are bulk copied from the buffer, which may be a memory-mapped file.
+     *
+     * @param buffer buffer positioned at the start of the tree
+     * @return FlatTree instance
+     * @throws IllegalArgumentException if the buffer is not in the binary format
+     */
+    public static FlatTree fromByteBuffer(ByteBuffer buffer) {
+        ByteBuffer buf = checkHeader(buffer);
+        int root = buf.getInt(8);
+        int n = buf.getInt(12);
+        int m = buf.getInt(16);
+        if (buf.remaining() != binarySize(n, m)) {
+            throw new IllegalArgumentException("binary tree has wrong length: " + buf.remaining());
+        }
+        double[] threshold = new double[n];
+        double[] leafValue = new double[m];
+        int[] featureIndex = new int[n];
+        int[] left = new int[n];
+        int[] right = new int[n];
+        buf.position(BINARY_HEADER_BYTES);
+        buf.asDoubleBuffer().get(threshold).get(leafValue);
+        buf.position(BINARY_HEADER_BYTES + 8 * (n + m));
+        buf.asIntBuffer().get(featureIndex).get(left).get(right);
+        return new FlatTree(root, featureIndex, threshold, left, right, leafValue);
+    }
+
+    /**
+     * Write the tree in a compact binary format. All values are little-endian.
+     * <pre>{@literal
+     * header:  int magic "PFAT", int version, int root, int numNodes, int numLeaves, int sourceChecksum,
+     *          long sourceSize
+     * doubles: threshold[numNodes], leafValue[numLeaves]
+     * ints:    featureIndex[numNodes], left[numNodes], right[numNodes]
+     * }</pre>
+     * The doubles come first so that they are 8-byte aligned.
+     *
+     * @return buffer holding the tree, positioned at zero
+     */
+    public ByteBuffer toByteBuffer() {
+        return toByteBuffer(0, 0);
+    }
+
+    /**
+     * Write the tree in the compact binary format of {@link #toByteBuffer()}, recording
+     * the checksum and size of the files the tree was compiled from in the header.
+     *
+     * @param sourceChecksum checksum of the source, see
+     * {@link PfaDecisionTree#sourceChecksum(String, String)}
+     * @param sourceSize size in bytes of the source, see
+     * {@link PfaDecisionTree#sourceSize(String, String)}
+     * @return buffer holding the tree, positioned at zero
+     */
+    public ByteBuffer toByteBuffer(int sourceChecksum, long sourceSize) {
+        int n = featureIndex.length;
+        int m = leafValue.length;
+        ByteBuffer buf = ByteBuffer.allocate(binarySize(n, m)).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(BINARY_MAGIC)
+                .putInt(BINARY_VERSION)
+                .putInt(root)
+                .putInt(n)
+                .putInt(m)
+                .putInt(sourceChecksum)
+                .putLong(sourceSize);
+        buf.asDoubleBuffer().put(threshold).put(leafValue);
+        buf.position(BINARY_HEADER_BYTES + 8 * (n + m));
+        buf.asIntBuffer().put(featureIndex).put(left).put(right);
+        return buf.position(0);
+    }
+
+    /**
+     * Read the checksum of the source files from the header of a tree in the binary format
+     *
+     * @param buffer buffer positioned at the start of the tree
+     * @return checksum written by {@link #toByteBuffer(int, long)}
+     * @throws IllegalArgumentException if the buffer is not in the binary format
+     */
+    public static int getSourceChecksum(ByteBuffer buffer) {
+        return checkHeader(buffer).getInt(20);
+    }
+
+    /**
+     * Read the size of the source files from the header of a tree in the binary format
+     *
+     * @param buffer buffer positioned at the start of the tree
+     * @return size written by {@link #toByteBuffer(int, long)}
+     * @throws IllegalArgumentException if the buffer is not in the binary format
+     */
+    public static long getSourceSize(ByteBuffer buffer) {
+        return checkHeader(buffer).getLong(24);
+    }
+
+    /**
+     * Returns a little-endian view of the buffer after checking the header identifies
+     * the binary format
+     */
+    private static ByteBuffer checkHeader(ByteBuffer buffer) {
+        ByteBuffer buf = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.remaining() < BINARY_HEADER_BYTES
+                || buf.getInt(0) != BINARY_MAGIC
+                || buf.getInt(4) != BINARY_VERSION) {
+            throw new IllegalArgumentException("not a binary tree of version " + BINARY_VERSION);
+        }
+        return buf;
+    }
+
+    /**
+     * Number of bytes in the binary format for n nodes and m leaves
+     */
+    private static int binarySize(int n, int m) {
+        return BINARY_HEADER_BYTES + 8 * (n + m) + 4 * (3 * n);
+    }
+
+    /**
+     * Make a prediction by walking the flattened tree. Does not allocate.
+     *
+     * @param inputs array of pre-processed data
+     * @return prediction value as floating point number
+     */
+    @Override
+    public double predict(double[] inputs) {
+        int i = root;
+        while (i >= 0) {
+            i = inputs[featureIndex[i]] <= threshold[i] ? left[i] : right[i];
+        }
+        return leafValue[~i];
+    }
+
+    /**
+     * Make predictions for a batch of rows stored in a single row-major block.
+     * Rows are processed in blocks that advance one tree level at a time, so each
+     * node is fetched once per block rather than once per row. No allocation is
+     * made per row.
+     *
+     * @param rows row-major block of pre-processed data, numCols values per row
+     * @param numCols number of values in each row
+     * @param out destination for the predictions, one per row
+     * @throws IllegalArgumentException if the array sizes do not match, or the rows
+     * have fewer values than the inputs used by the tree
+     */
+    public void predictAll(double[] rows, int numCols, double[] out) {
+        int numRows = checkBatch(rows, numCols, out, numFeatures);
+        predictRange(rows, numCols, out, 0, numRows, new int[BLOCK_ROWS]);
+    }
+
+    /**
+     * Same as {@link #predictAll(double[], int, double[])} but large batches are split
+     * into tasks that run in parallel on the given pool.
+     *
+     * @param rows row-major block of pre-processed data, numCols values per row
+     * @param numCols number of values in each row
+     * @param out destination for the predictions, one per row
+     * @param pool pool used to run the tasks
+     * @throws IllegalArgumentException if the array sizes do not match, or the rows
+     * have fewer values than the inputs used by the tree
+     */
+    public void predictAll(double[] rows, int numCols, double[] out, ForkJoinPool pool) {
+        int numRows = checkBatch(rows, numCols, out, numFeatures);
+        pool.invoke(new BatchTask(rows, numCols, out, 0, numRows));
+    }
+
+    /**
+     * Evaluates rows from start (inclusive) to stop (exclusive) in blocks, using
+     * cursor as scratch space to hold the current node of each row in the block.
+     */
+    private void predictRange(double[] rows,
+                              int numCols,
+                              double[] out,
+                              int start,
+                              int stop,
+                              int[] cursor) {
+        for (int base = start; base < stop; base += BLOCK_ROWS) {
+            int n = Math.min(BLOCK_ROWS, stop - base);
+            Arrays.fill(cursor, 0, n, root);
+            int active = n;
+            while (active > 0) {
+                active = 0;
+                for (int r = 0; r < n; r++) {
+                    int i = cursor[r];
+                    if (i >= 0) {
+                        double inputValue = rows[(base + r) * numCols + featureIndex[i]];
+                        i = inputValue <= threshold[i] ? left[i] : right[i];
+                        cursor[r] = i;
+                        if (i >= 0) {
+                            active++;
+                        }
+                    }
+                }
+            }
+            for (int r = 0; r < n; r++) {
+                out[base + r] = leafValue[~cursor[r]];
+            }
+        }
+    }
+
+    /**
+     * Helper to check batch arguments are consistent, numFeatures being one more
+     * than the largest input index used by the trees
+     * @return number of rows in the batch
+     */
+    static int checkBatch(double[] rows, int numCols, double[] out, int numFeatures) {
+        if (numCols < numFeatures) {
+            throw new IllegalArgumentException(
+                    "numCols " + numCols + " less than number of inputs used " + numFeatures
+            );
+        }
+        if (numCols <= 0 || rows.length % numCols != 0) {
+            throw new IllegalArgumentException(
+                    "Block length " + rows.length + " is not a multiple of numCols " + numCols
+            );
+        }
+        int numRows = rows.length / numCols;
+        if (out.length < numRows) {
+            throw new IllegalArgumentException(
+                    "Output length " + out.length + " less than number of rows " + numRows
+            );
+        }
+        return numRows;
+    }
+
+    /**
+     * Task that splits a batch in half until it is small enough to run directly
+     */
+    private class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final double[] rows;
+        private final int numCols;
+        private final double[] out;
+        private final int start;
+        private final int stop;
+
+        BatchTask(double[] rows, int numCols, double[] out, int start, int stop) {
+            this.rows = rows;
+            this.numCols = numCols;
+            this.out = out;
+            this.start = start;
+            this.stop = stop;
+        }
+
+        @Override
+        protected void compute() {
+            if (stop - start <= PARALLEL_MIN_ROWS) {
+                predictRange(rows, numCols, out, start, stop, new int[BLOCK_ROWS]);
+            } else {
+                int mid = (start + stop) >>> 1;
+                invokeAll(
+                        new BatchTask(rows, numCols, out, start, mid),
+                        new BatchTask(rows, numCols, out, mid, stop)
+                );
+            }
+        }
+    }
+
+    /**
+     * Package private accessors used when several trees are combined into one
+     * set of arrays, see {@link PfaModelBundle}
+     */
+    int getRoot() {
+        return root;
+    }
+
+    int[] getFeatureIndex() {
+        return featureIndex;
+    }
+
+    double[] getThreshold() {
+        return threshold;
+    }
+
+    int[] getLeft() {
+        return left;
+    }
+
+    int[] getRight() {
+        return right;
+    }
+
+    double[] getLeafValue() {
+        return leafValue;
+    }
+
+    /**
+     * Returns one more than the largest input index used by the tree
+     */
+    int getNumFeatures() {
+        return numFeatures;
+    }
+
+    /**
+     * Returns summary of the size of the tree
+     */
+    @Override
+    public String toString() {
+        return "FlatTree(nodes=%d, leaves=%d)".formatted(getNumNodes(), getNumLeaves());
+    }
+
+    /**
+     * Returns the number of internal (decision) nodes
+     */
+    public int getNumNodes() {
+        return featureIndex.length;
+    }
+
+    /**
+     * Returns the number of leaf nodes
+     */
+    public int getNumLeaves() {
+        return leafValue.length;
+    }
+
+}
@@ -0,0 +1,418 @@
+/**
+ * Autogenerated by GenerateTreeSource from forecasting_01_y0.pfa
+ *
+ * DO NOT EDIT DIRECTLY
+ */
+package pfatool.generated;
+
+public final class Forecasting01Y0Tree {
+
+    private Forecasting01Y0Tree() {}
+
+    /**
+     * Make a prediction using the decision tree hard-coded in this class
+     *
+     * @param inputs array of pre-processed data
+     * @return prediction value as floating point number
+     */
+    public static double predict(double[] inputs) {
+        if (inputs[41] <= 1.0022642612457275) {
+            if (inputs[40] <= 1.0004949569702148) {
+                if (inputs[37] <= 0.9943102598190308) {
+                    if (inputs[37] <= 0.9849271774291992) {
+                        if (inputs[29] <= 0.9861564934253693) {
+                            if (inputs[18] <= 0.975483238697052) {
+                                return 0.5930828727992291;
+                            } else {
+                                if (inputs[17] <= 0.9781478047370911) {
+                                    return 0.6387113595060665;
+                                } else {
+                                    return 0.8050489510204947;
+                                }
+                            }
+                        } else {
+                            if (inputs[30] <= 0.9908760190010071) {
+                                if (inputs[27] <= 0.9795888662338257) {
+                                    return 0.6875480462815073;
+                                } else {
+                                    return 0.8335420695955117;
+                                }
+                            } else {
+                                if (inputs[34] <= 0.9919779300689697) {
+                                    return 0.8692648947565684;
+                                } else {
+                                    return 0.9261670193926045;
+                                }
+                            }
+                        }
+                    } else {
+                        if (inputs[40] <= 0.9907982349395752) {
+                            if (inputs[27] <= 0.9903606474399567) {
+                                return 0.8375421962114046;
+                            } else {
+                                return 0.908023215898979;
+                            }
+                        } else {
+                            if (inputs[41] <= 0.9942489564418793) {
+                                return 0.9159759543650946;
+                            } else {
+                                if (inputs[24] <= 0.9953501224517822) {
+                                    return 0.9208657340368072;
+                                } else {
+                                    if (inputs[31] <= 0.9962494671344757) {
+                                        return 0.9393037639118124;
+                                    } else {
+                                        return 0.9708844438610229;
+                                    }
+                                }
+                            }
+                        }
+                    }
+                } else {
+                    if (inputs[36] <= 0.9963042736053467) {
+                        if (inputs[38] <= 0.9872722923755646) {
+                            if (inputs[28] <= 0.9874491989612579) {
+                                if (inputs[15] <= 0.9743139445781708) {
+                                    return 0.5648094469686845;
+                                } else {
+                                    return 0.7808772029812581;
+                                }
+                            } else {
+                                if (inputs[29] <= 0.9898875951766968) {
+                                    return 0.8067011923146045;
+                                } else {
+                                    if (inputs[30] <= 0.9949831366539001) {
+                                        return 0.8571028680081373;
+                                    } else {
+                                        return 0.9170695662367103;
+                                    }
+                                }
+                            }
+                        } else {
+                            if (inputs[23] <= 0.9942146837711334) {
+                                if (inputs[28] <= 0.9851225912570953) {
+                                    return 0.8410977619718328;
+                                } else {
+                                    return 0.9211697190112087;
+                                }
+                            } else {
+                                if (inputs[30] <= 0.9963935613632202) {
+                                    return 0.9389336165362479;
+                                } else {
+                                    if (inputs[39] <= 0.9958229064941406) {
+                                        return 0.9488787673932868;
+                                    } else {
+                                        if (inputs[29] <= 0.9993264079093933) {
+                                            return 0.9619430804799702;
+                                        } else {
+                                            return 0.984068476297202;
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    } else {
+                        if (inputs[39] <= 1.0000872611999512) {
+                            if (inputs[35] <= 0.998114824295044) {
+                                if (inputs[22] <= 0.993244469165802) {
+                                    if (inputs[27] <= 0.9760566651821136) {
+                                        return 0.7589281361294948;
+                                    } else {
+                                        return 0.9271971326578448;
+                                    }
+                                } else {
+                                    if (inputs[32] <= 0.9969100058078766) {
+                                        if (inputs[41] <= 0.9881160259246826) {
+                                            return 0.8726754179827192;
+                                        } else {
+                                            return 0.9583100333724442;
+                                        }
+                                    } else {
+                                        if (inputs[41] <= 0.9967540800571442) {
+                                            return 0.9634144716576222;
+                                        } else {
+                                            return 0.9822344886584526;
+                                        }
+                                    }
+                                }
+                            } else {
+                                if (inputs[31] <= 0.9991801977157593) {
+                                    if (inputs[41] <= 0.9953267872333527) {
+                                        return 0.9527014666862702;
+                                    } else {
+                                        if (inputs[27] <= 0.9943504333496094) {
+                                            return 0.9516118710616915;
+                                        } else {
+                                            return 0.9852425854192438;
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[32] <= 0.9995603263378143) {
+                                        if (inputs[21] <= 0.9946373701095581) {
+                                            return 0.9540020485806673;
+                                        } else {
+                                            return 0.9879232909567821;
+                                        }
+                                    } else {
+                                        if (inputs[26] <= 1.0020320415496826) {
+                                            if (inputs[25] <= 1.0021594762802124) {
+                                                if (inputs[41] <= 0.9980413615703583) {
+                                                    return 0.9842256072216791;
+                                                } else {
+                                                    if (inputs[40] <= 0.9981116950511932) {
+                                                        return 0.9885254382810047;
+                                                    } else {
+                                                        return 1.0014082800542217;
+                                                    }
+                                                }
+                                            } else {
+                                                return 1.0128952312213302;
+                                            }
+                                        } else {
+                                            return 1.0150943994789234;
+                                        }
+                                    }
+                                }
+                            }
+                        } else {
+                            if (inputs[33] <= 1.0024126768112183) {
+                                if (inputs[32] <= 1.0009102821350098) {
+                                    if (inputs[26] <= 0.9969721436500549) {
+                                        return 0.9794382379649169;
+                                    } else {
+                                        if (inputs[41] <= 1.0004961490631104) {
+                                            return 1.0011659202225263;
+                                        } else {
+                                            return 1.0138366935437366;
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[20] <= 1.0056182146072388) {
+                                        return 1.0182864331734414;
+                                    } else {
+                                        return 1.0576320818761675;
+                                    }
+                                }
+                            } else {
+                                if (inputs[30] <= 1.0115817189216614) {
+                                    return 1.0290694019002757;
+                                } else {
+                                    if (inputs[17] <= 1.033822774887085) {
+                                        return 1.0998983513542302;
+                                    } else {
+                                        return 2.055051572595591;
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            } else {
+                if (inputs[37] <= 1.0056402087211609) {
+                    if (inputs[36] <= 1.0024186372756958) {
+                        if (inputs[35] <= 1.0004961490631104) {
+                            if (inputs[32] <= 0.997292697429657) {
+                                return 0.9815579479642643;
+                            } else {
+                                if (inputs[31] <= 0.999508798122406) {
+                                    return 0.998211270625563;
+                                } else {
+                                    if (inputs[39] <= 1.0007402300834656) {
+                                        return 1.0108589487638266;
+                                    } else {
+                                        return 1.0255684645849077;
+                                    }
+                                }
+                            }
+                        } else {
+                            if (inputs[28] <= 1.0037137866020203) {
+                                if (inputs[32] <= 1.0015882849693298) {
+                                    return 1.0188352131526024;
+                                } else {
+                                    return 1.0375168284248564;
+                                }
+                            } else {
+                                return 1.0581836384866536;
+                            }
+                        }
+                    } else {
+                        if (inputs[33] <= 1.0066778659820557) {
+                            if (inputs[39] <= 1.0057395696640015) {
+                                if (inputs[31] <= 1.0021278858184814) {
+                                    if (inputs[30] <= 1.0009166598320007) {
+                                        return 1.0211022644816639;
+                                    } else {
+                                        return 1.043464519577647;
+                                    }
+                                } else {
+                                    return 1.0532411638069585;
+                                }
+                            } else {
+                                return 1.0744319759477257;
+                            }
+                        } else {
+                            if (inputs[40] <= 1.0085409283638) {
+                                return 1.075429260143392;
+                            } else {
+                                if (inputs[14] <= 1.0346019268035889) {
+                                    return 1.1456276295909296;
+                                } else {
+                                    return 2.04121232604753;
+                                }
+                            }
+                        }
+                    }
+                } else {
+                    if (inputs[40] <= 1.0094718933105469) {
+                        if (inputs[31] <= 1.0081713199615479) {
+                            if (inputs[30] <= 1.0040936470031738) {
+                                return 1.0438738723565983;
+                            } else {
+                                return 1.084557321248521;
+                            }
+                        } else {
+                            return 1.1166439151142178;
+                        }
+                    } else {
+                        if (inputs[31] <= 1.0172830820083618) {
+                            if (inputs[32] <= 0.9999037683010101) {
+                                return 1.0496057062273978;
+                            } else {
+                                if (inputs[19] <= 0.9999740421772003) {
+                                    return 1.0801681303449195;
+                                } else {
+                                    return 1.1418208887453634;
+                                }
+                            }
+                        } else {
+                            if (inputs[34] <= 1.027215301990509) {
+                                return 1.1910140569632852;
+                            } else {
+                                if (inputs[13] <= 1.0170488953590393) {
+                                    return 1.3206177837168709;
+                                } else {
+                                    return 1.9014460137349305;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        } else {
+            if (inputs[38] <= 1.0066994428634644) {
+                if (inputs[37] <= 1.0027698278427124) {
+                    if (inputs[36] <= 1.000867486000061) {
+                        if (inputs[30] <= 0.9981114566326141) {
+                            if (inputs[33] <= 0.9944484233856201) {
+                                return 0.9615870424898988;
+                            } else {
+                                return 1.0005499607300112;
+                            }
+                        } else {
+                            if (inputs[31] <= 0.9986215829849243) {
+                                return 1.0008700171193519;
+                            } else {
+                                if (inputs[27] <= 1.002794623374939) {
+                                    if (inputs[38] <= 0.999977707862854) {
+                                        return 1.01153929539219;
+                                    } else {
+                                        return 1.0290611229609465;
+                                    }
+                                } else {
+                                    return 1.0484912660532517;
+                                }
+                            }
+                        }
+                    } else {
+                        if (inputs[29] <= 1.0045289993286133) {
+                            if (inputs[28] <= 1.0028040409088135) {
+                                if (inputs[33] <= 0.9998131692409515) {
+                                    return 1.0150420346420455;
+                                } else {
+                                    return 1.0403715419544513;
+                                }
+                            } else {
+                                return 1.0658006847219557;
+                            }
+                        } else {
+                            if (inputs[40] <= 1.0163303017616272) {
+                                return 1.0796303954565851;
+                            } else {
+                                return 1.2896610363393888;
+                            }
+                        }
+                    }
+                } else {
+                    if (inputs[39] <= 1.0108356475830078) {
+                        if (inputs[31] <= 1.0065558552742004) {
+                            if (inputs[21] <= 0.9999735653400421) {
+                                return 1.0308796967466212;
+                            } else {
+                                if (inputs[24] <= 1.0027804970741272) {
+                                    return 1.054106660561177;
+                                } else {
+                                    return 1.0847471751599649;
+                                }
+                            }
+                        } else {
+                            if (inputs[22] <= 1.0269607901573181) {
+                                return 1.1015548107453457;
+                            } else {
+                                return 1.5639118870040123;
+                            }
+                        }
+                    } else {
+                        if (inputs[34] <= 0.9998048841953278) {
+                            return 1.0355706001090619;
+                        } else {
+                            if (inputs[30] <= 1.012125015258789) {
+                                return 1.136761184379306;
+                            } else {
+                                return 1.232254235632486;
+                            }
+                        }
+                    }
+                }
+            } else {
+                if (inputs[32] <= 1.0106478333473206) {
+                    if (inputs[41] <= 1.0106478929519653) {
+                        if (inputs[31] <= 1.0041691064834595) {
+                            if (inputs[27] <= 0.9995601773262024) {
+                                return 1.032567498504242;
+                            } else {
+                                return 1.0719954257659743;
+                            }
+                        } else {
+                            return 1.1078941180279223;
+                        }
+                    } else {
+                        if (inputs[33] <= 1.001017153263092) {
+                            if (inputs[33] <= 0.9953179657459259) {
+                                return 1.0333694381930307;
+                            } else {
+                                return 1.1108133374298168;
+                            }
+                        } else {
+                            if (inputs[41] <= 1.0255404710769653) {
+                                return 1.1480028319997566;
+                            } else {
+                                return 1.2694784141744242;
+                            }
+                        }
+                    }
+                } else {
+                    if (inputs[35] <= 1.0218929052352905) {
+                        if (inputs[27] <= 1.0183250308036804) {
+                            return 1.1494001651879653;
+                        } else {
+                            return 1.262934687225041;
+                        }
+                    } else {
+                        return 1.2858622896163436;
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,418 @@
+/**
+ * Autogenerated by GenerateTreeSource from forecasting_01_y1.pfa
+ *
+ * DO NOT EDIT DIRECTLY
+ */
+package pfatool.generated;
+
+public final class Forecasting01Y1Tree {
+
+    private Forecasting01Y1Tree() {}
+
+    /**
+     * Make a prediction using the decision tree hard-coded in this class
+     *
+     * @param inputs array of pre-processed data
+     * @return prediction value as floating point number
+     */
+    public static double predict(double[] inputs) {
+        if (inputs[41] <= 1.006291151046753) {
+            if (inputs[41] <= 0.9927462041378021) {
+                if (inputs[41] <= 0.9821203351020813) {
+                    if (inputs[13] <= 1.036742925643921) {
+                        if (inputs[12] <= 1.0315707921981812) {
+                            if (inputs[15] <= 1.0293430089950562) {
+                                return 0.036895885284444804;
+                            } else {
+                                return 0.08203716157276186;
+                            }
+                        } else {
+                            if (inputs[28] <= 1.0052284598350525) {
+                                return 0.07190648453292402;
+                            } else {
+                                return 0.17448313949657687;
+                            }
+                        }
+                    } else {
+                        return 0.1309253230761593;
+                    }
+                } else {
+                    if (inputs[27] <= 1.027089536190033) {
+                        return 0.02584955542236357;
+                    } else {
+                        if (inputs[23] <= 1.0256414413452148) {
+                            if (inputs[10] <= 1.0263356566429138) {
+                                return 0.04476809224006231;
+                            } else {
+                                return 0.22871615366592168;
+                            }
+                        } else {
+                            if (inputs[27] <= 1.0353742241859436) {
+                                return 0.3850553243553219;
+                            } else {
+                                return 0.01139519258353751;
+                            }
+                        }
+                    }
+                }
+            } else {
+                if (inputs[40] <= 1.0046862363815308) {
+                    if (inputs[40] <= 0.9950025379657745) {
+                        if (inputs[40] <= 0.9849549829959869) {
+                            if (inputs[11] <= 1.0313849449157715) {
+                                if (inputs[14] <= 1.0293318033218384) {
+                                    return 0.033681760144206645;
+                                } else {
+                                    if (inputs[25] <= 1.0084344744682312) {
+                                        return 0.07112714850681953;
+                                    } else {
+                                        return 0.16996279710324022;
+                                    }
+                                }
+                            } else {
+                                if (inputs[20] <= 1.0072525143623352) {
+                                    if (inputs[27] <= 1.0121999382972717) {
+                                        return 0.05591280299107405;
+                                    } else {
+                                        return 0.18572292887086028;
+                                    }
+                                } else {
+                                    if (inputs[37] <= 0.9630253612995148) {
+                                        return 0.022242508557097345;
+                                    } else {
+                                        return 0.2603472226804571;
+                                    }
+                                }
+                            }
+                        } else {
+                            if (inputs[40] <= 0.9927433133125305) {
+                                if (inputs[26] <= 1.0292515754699707) {
+                                    return 0.024446156641878405;
+                                } else {
+                                    if (inputs[39] <= 1.0248718857765198) {
+                                        return 0.057113181394776384;
+                                    } else {
+                                        return 0.4557574249396244;
+                                    }
+                                }
+                            } else {
+                                return 0.019310458877569676;
+                            }
+                        }
+                    } else {
+                        if (inputs[26] <= 1.0046635866165161) {
+                            if (inputs[12] <= 1.0038173198699951) {
+                                if (inputs[27] <= 1.0048891305923462) {
+                                    if (inputs[27] <= 0.9962953925132751) {
+                                        if (inputs[27] <= 0.9914624691009521) {
+                                            return 0.023129626809957657;
+                                        } else {
+                                            return 0.016284939677132397;
+                                        }
+                                    } else {
+                                        if (inputs[26] <= 0.9969843924045563) {
+                                            if (inputs[26] <= 0.9930186867713928) {
+                                                return 0.021166391399506903;
+                                            } else {
+                                                return 0.014677853720067364;
+                                            }
+                                        } else {
+                                            if (inputs[5] <= 1.0034016370773315) {
+                                                if (inputs[11] <= 0.9967399537563324) {
+                                                    return 0.015280935455782553;
+                                                } else {
+                                                    if (inputs[19] <= 1.0034016370773315) {
+                                                        if (inputs[33] <= 1.0034127831459045) {
+                                                            if (inputs[37] <= 1.0023236274719238) {
+                                                                if (inputs[33] <= 0.996984452009201) {
+                                                                    return 0.013684468387514912;
+                                                                } else {
+                                                                    if (inputs[18] <= 0.9963196814060211) {
+                                                                        return 0.013988134195401342;
+                                                                    } else {
+                                                                        if (inputs[20] <= 1.002837061882019) {
+                                                                            if (inputs[41] <= 1.0022806525230408) {
+                                                                                if (inputs[37] <= 0.9971078634262085) {
+                                                                                    return 0.011967367627407372;
+                                                                                } else {
+                                                                                    return 0.006946924553828861;
+                                                                                }
+                                                                            } else {
+                                                                                return 0.011136258633410107;
+                                                                            }
+                                                                        } else {
+                                                                            return 0.012213494547990712;
+                                                                        }
+                                                                    }
+                                                                }
+                                                            } else {
+                                                                if (inputs[38] <= 1.025858759880066) {
+                                                                    return 0.012536527637846202;
+                                                                } else {
+                                                                    return 0.21546104302426092;
+                                                                }
+                                                            }
+                                                        } else {
+                                                            if (inputs[37] <= 1.0286426544189453) {
+                                                                return 0.014409946539845259;
+                                                            } else {
+                                                                return 0.15960538210727288;
+                                                            }
+                                                        }
+                                                    } else {
+                                                        return 0.014874593523816202;
+                                                    }
+                                                }
+                                            } else {
+                                                return 0.015798579500108465;
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[27] <= 1.0119884610176086) {
+                                        return 0.018943435214432248;
+                                    } else {
+                                        if (inputs[14] <= 1.0352753400802612) {
+                                            return 0.02918231688013851;
+                                        } else {
+                                            if (inputs[41] <= 0.9982030987739563) {
+                                                return 0.2910094671853219;
+                                            } else {
+                                                return 0.07378077464731032;
+                                            }
+                                        }
+                                    }
+                                }
+                            } else {
+                                if (inputs[12] <= 1.0113398432731628) {
+                                    if (inputs[6] <= 1.0090008974075317) {
+                                        if (inputs[31] <= 1.040263056755066) {
+                                            return 0.01696651620901627;
+                                        } else {
+                                            return 0.25690724987582564;
+                                        }
+                                    } else {
+                                        return 0.027444706160927892;
+                                    }
+                                } else {
+                                    return 0.029204724856592427;
+                                }
+                            }
+                        } else {
+                            if (inputs[26] <= 1.0120100378990173) {
+                                if (inputs[30] <= 1.004629373550415) {
+                                    if (inputs[29] <= 1.0058589577674866) {
+                                        return 0.017490295353503122;
+                                    } else {
+                                        return 0.025554714391515087;
+                                    }
+                                } else {
+                                    return 0.026466629896723767;
+                                }
+                            } else {
+                                if (inputs[4] <= 1.037152886390686) {
+                                    if (inputs[15] <= 1.0352753400802612) {
+                                        return 0.030348267372578997;
+                                    } else {
+                                        if (inputs[24] <= 1.0319852232933044) {
+                                            return 0.06397810795008466;
+                                        } else {
+                                            return 0.4118107725949495;
+                                        }
+                                    }
+                                } else {
+                                    return 0.17727677010278906;
+                                }
+                            }
+                        }
+                    }
+                } else {
+                    if (inputs[40] <= 1.0245117545127869) {
+                        if (inputs[16] <= 1.0262762904167175) {
+                            if (inputs[40] <= 1.0120014548301697) {
+                                if (inputs[22] <= 1.0279935598373413) {
+                                    if (inputs[36] <= 1.0200209617614746) {
+                                        if (inputs[25] <= 1.0095030069351196) {
+                                            return 0.020654372491864605;
+                                        } else {
+                                            if (inputs[8] <= 1.0319838523864746) {
+                                                return 0.030741466573768247;
+                                            } else {
+                                                return 0.1585293972957678;
+                                            }
+                                        }
+                                    } else {
+                                        return 0.05088373121619493;
+                                    }
+                                } else {
+                                    return 0.07029536556567897;
+                                }
+                            } else {
+                                if (inputs[26] <= 1.0392625331878662) {
+                                    return 0.03027503611042646;
+                                } else {
+                                    return 0.16712387756851513;
+                                }
+                            }
+                        } else {
+                            if (inputs[34] <= 1.0259278416633606) {
+                                return 0.05846843230750105;
+                            } else {
+                                if (inputs[1] <= 1.00180184841156) {
+                                    return 0.43669816178769055;
+                                } else {
+                                    return 0.02433798750678004;
+                                }
+                            }
+                        }
+                    } else {
+                        if (inputs[36] <= 1.03150475025177) {
+                            if (inputs[34] <= 1.0328996181488037) {
+                                return 0.049375886462750145;
+                            } else {
+                                if (inputs[12] <= 1.0038084387779236) {
+                                    return 0.06653956645960582;
+                                } else {
+                                    if (inputs[3] <= 0.9998841285705566) {
+                                        return 0.34298532598683873;
+                                    } else {
+                                        if (inputs[30] <= 1.0361055135726929) {
+                                            return 0.028190853307825302;
+                                        } else {
+                                            return 0.2836470024012368;
+                                        }
+                                    }
+                                }
+                            }
+                        } else {
+                            if (inputs[32] <= 1.0271998643875122) {
+                                if (inputs[0] <= 0.9982732236385345) {
+                                    if (inputs[6] <= 1.0014020800590515) {
+                                        return 0.002857565583347333;
+                                    } else {
+                                        return 0.44952088565996445;
+                                    }
+                                } else {
+                                    return 0.06174799849761365;
+                                }
+                            } else {
+                                if (inputs[11] <= 1.0005909204483032) {
+                                    return 0.1428014358675184;
+                                } else {
+                                    return 0.36619868623205337;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        } else {
+            if (inputs[41] <= 1.0234965682029724) {
+                if (inputs[17] <= 1.0258176922798157) {
+                    if (inputs[38] <= 1.020006775856018) {
+                        if (inputs[41] <= 1.0120014548301697) {
+                            if (inputs[9] <= 1.023347795009613) {
+                                if (inputs[20] <= 0.9770448505878448) {
+                                    return 0.06195649391987263;
+                                } else {
+                                    return 0.023066028827584056;
+                                }
+                            } else {
+                                if (inputs[31] <= 1.0078842639923096) {
+                                    return 0.041049574558954804;
+                                } else {
+                                    return 0.13131203016295767;
+                                }
+                            }
+                        } else {
+                            return 0.02983188228040097;
+                        }
+                    } else {
+                        if (inputs[27] <= 1.0378971695899963) {
+                            return 0.04302172038714011;
+                        } else {
+                            return 0.176590467726197;
+                        }
+                    }
+                } else {
+                    if (inputs[31] <= 1.026936411857605) {
+                        return 0.06156426513118505;
+                    } else {
+                        if (inputs[14] <= 1.0183481574058533) {
+                            return 0.4482541375634311;
+                        } else {
+                            return 0.0635661944357672;
+                        }
+                    }
+                }
+            } else {
+                if (inputs[37] <= 1.0270297527313232) {
+                    if (inputs[20] <= 1.021938443183899) {
+                        if (inputs[35] <= 1.032921850681305) {
+                            return 0.04748225739131175;
+                        } else {
+                            if (inputs[13] <= 1.0038084387779236) {
+                                return 0.060781770245332094;
+                            } else {
+                                if (inputs[4] <= 0.9998841285705566) {
+                                    return 0.3020546397631991;
+                                } else {
+                                    if (inputs[13] <= 1.0380530953407288) {
+                                        return 0.04932585619619571;
+                                    } else {
+                                        return 0.29437531467749306;
+                                    }
+                                }
+                            }
+                        }
+                    } else {
+                        if (inputs[5] <= 0.9767609536647797) {
+                            return 0.2529300246076481;
+                        } else {
+                            if (inputs[33] <= 0.9752985835075378) {
+                                return 0.18296075874814077;
+                            } else {
+                                if (inputs[40] <= 1.0314589738845825) {
+                                    return 0.03131894438393167;
+                                } else {
+                                    if (inputs[38] <= 1.0321620106697083) {
+                                        return 0.08942471815619922;
+                                    } else {
+                                        return 0.4551183886479356;
+                                    }
+                                }
+                            }
+                        }
+                    }
+                } else {
+                    if (inputs[33] <= 1.0271468758583069) {
+                        if (inputs[32] <= 0.9609386622905731) {
+                            return 0.31669522753407164;
+                        } else {
+                            if (inputs[11] <= 0.9712407886981964) {
+                                return 0.1670316180360661;
+                            } else {
+                                if (inputs[4] <= 1.0017645359039307) {
+                                    return 0.04049323707750629;
+                                } else {
+                                    return 0.11407418770732944;
+                                }
+                            }
+                        }
+                    } else {
+                        if (inputs[29] <= 1.0271216034889221) {
+                            if (inputs[28] <= 1.0087847113609314) {
+                                return 0.2659951785397906;
+                            } else {
+                                return 0.06793379191049977;
+                            }
+                        } else {
+                            return 0.3712107711624619;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+package pfatool.generated;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache of loaded models keyed by data file name, used by {@link PfaDecisionTree#getInstance(String)}.
+ * <p>
+ * Lookups of a model that is already loaded do not take any lock and do not write to shared
+ * memory, so request threads do not wait on each other. Each key holds a future, so when several threads
+ * ask for the same model at once only the first one loads it and the others wait for the result.
+ * A failed load is not cached, so the next lookup tries again.
+ * <p>
+ * The cache holds at most maxEntries models. When it is full the least recently used model is
+ * evicted. Access order is only tracked between loads: a lookup marks its model as used since
+ * the last load, so the order is approximate but a model used continuously is only marked once.
+ *
+ * @param <V> type of model
+ */
+final class ModelCache<V> {
+
+    private final ConcurrentHashMap<String, Entry<V>> entries;
+    private final AtomicLong loadCount;
+    private final Function<String, V> loader;
+    private final int maxEntries;
+
+    /**
+     * A cached model, which may still be loading
+     */
+    private static final class Entry<V> {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        volatile long lastAccess;
+
+        Entry(long lastAccess) {
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * @param loader loads the model for a key, called at most once per key while it is cached
+     * @param maxEntries maximum number of models to keep
+     */
+    ModelCache(Function<String, V> loader, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.entries = new ConcurrentHashMap<>();
+        this.loadCount = new AtomicLong();
+        this.loader = loader;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the model for the key, loading it if it is not cached. If another thread
+     * is already loading the model, waits for that thread to finish.
+     *
+     * @param key data file name
+     * @return the model
+     */
+    V get(String key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            Entry<V> created = new Entry<>(loadCount.incrementAndGet());
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                load(key, created);
+                return join(created);
+            }
+        }
+        // mark as used after the latest load, only written on the first use since that load
+        long accessed = loadCount.get() + 1;
+        if (entry.lastAccess != accessed) {
+            entry.lastAccess = accessed;
+        }
+        return join(entry);
+    }
+
+    /**
+     * Wait for the model of the entry to load, throwing the exception of a failed load
+     */
+    private static <V> V join(Entry<V> entry) {
+        try {
+            return entry.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Remove the model for the key, so it is loaded again on the next lookup
+     *
+     * @param key data file name
+     */
+    void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Returns the number of cached models, including models still loading
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Loads a model into a new entry on the calling thread, then evicts if the cache is too big
+     */
+    private void load(String key, Entry<V> entry) {
+        try {
+            entry.future.complete(loader.apply(key));
+        } catch (RuntimeException | Error e) {
+            entry.future.completeExceptionally(e);
+            entries.remove(key, entry);
+            return;
+        }
+        while (entries.size() > maxEntries) {
+            if (!evictOldest(entry)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Evicts the loaded entry with the oldest access time, other than the given entry.
+     * Entries that are still loading are not evicted.
+     *
+     * @return true if an entry was evicted
+     */
+    private boolean evictOldest(Entry<V> keep) {
+        Map.Entry<String, Entry<V>> oldest = null;
+        for (Map.Entry<String, Entry<V>> e : entries.entrySet()) {
+            Entry<V> candidate = e.getValue();
+            if (candidate != keep
+                    && candidate.future.isDone()
+                    && (oldest == null || candidate.lastAccess < oldest.getValue().lastAccess)) {
+                oldest = e;
+            }
+        }
+        return oldest != null && entries.remove(oldest.getKey(), oldest.getValue());
+    }
+
+}
@@ -5,29 +5,56 @@ import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.Decoder;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
 
 /**
  * Implements the decision tree structure that makes predictions
  */
-public class PfaDecisionTree {
+public class PfaDecisionTree implements TreePredictor {
 
+    private static final Log logger = LogFactory.getLog(PfaDecisionTree.class);
     private static final String DATA_FILE_EXT = ".data";
     private static final String SCHEMA_FILE_EXT = "_data.avsc";
-    private static final Class<PfaDecisionTree> myLock = PfaDecisionTree.class;
-    private static final Map<String, PfaDecisionTree> instanceMap = new HashMap<>();
+    public static final String BINARY_FILE_EXT = ".bin";
+    /**
+     * Maximum number of trees kept by {@link #getInstance(String)}
+     */
+    public static final int MAX_CACHED_INSTANCES = 64;
+    private static final ModelCache<PfaDecisionTree> instances =
+            new ModelCache<>(PfaDecisionTree::new, MAX_CACHED_INSTANCES);
 
     private final TreeNode root;
+    private final FlatTree flatTree;
+
+    /**
+     * Finds the URL of a model file from its name, or returns null if not found
+     */
+    private interface Locator {
+        URL find(String name) throws IOException;
+    }
+
+    private static final Locator CLASSPATH = name ->
+            PfaDecisionTree.class.getClassLoader().getResource(name);
+    private static final Locator FILESYSTEM = name -> Files.isRegularFile(Path.of(name))
+            ? Path.of(name).toUri().toURL()
+            : null;
 
     /**
      * Constructor takes name of data file (without extension).
@@ -35,57 +62,242 @@ public class PfaDecisionTree {
      * that follow this naming convention:<br>
      * "####.data" - the data in Avro JSON encoding form<br>
      * "####_data.avsc" - the Avro schema of the data<br>
+     * If the compact binary file "####.bin" also exists it is loaded instead, unless
+     * the size and checksum in its header show it was not written from the current data
+     * and schema files, see {@link #fromBinary(String)}.
      */
     public PfaDecisionTree(String dataFile) {
-        String treeData = readFile(dataFile + DATA_FILE_EXT);
-        String schemaTxt = readFile(dataFile + SCHEMA_FILE_EXT);
+        this(CLASSPATH, dataFile, true, true);
+    }
+
+    /**
+     * Private constructor for the other ways of loading. Loads from the binary file if
+     * allowed, it exists, and it was written from the JSON files when they exist too.
+     * Otherwise loads from the JSON files if allowed.
+     */
+    private PfaDecisionTree(Locator locator, String dataFile, boolean allowJson, boolean allowBinary) {
+        URL dataUrl = find(locator, dataFile + DATA_FILE_EXT);
+        URL binaryUrl = allowBinary ? find(locator, dataFile + BINARY_FILE_EXT) : null;
+        ByteBuffer binary = binaryUrl != null ? readBinary(binaryUrl) : null;
+        if (binary != null && dataUrl != null
+                && !isWrittenFrom(binary, binaryUrl, dataUrl, locator, dataFile + SCHEMA_FILE_EXT)) {
+            if (!allowJson) {
+                throw new IllegalStateException("not written from the current data file: "
+                        + dataFile + BINARY_FILE_EXT);
+            }
+            logger.warn("ignoring " + dataFile + BINARY_FILE_EXT + " not written from the current data file");
+            binary = null;
+        }
+        if (binary != null) {
+            this.root = null;
+            this.flatTree = FlatTree.fromByteBuffer(binary);
+        } else if (allowJson && dataUrl != null) {
+            this.root = parseTreeNode(readFile(locator, dataFile + SCHEMA_FILE_EXT), readFile(dataUrl));
+            this.flatTree = FlatTree.compile(root);
+        } else {
+            throw new IllegalArgumentException("not found: "
+                    + dataFile + (allowJson ? DATA_FILE_EXT : BINARY_FILE_EXT));
+        }
+    }
+
+    /**
+     * Whether the binary file was written from the data and schema files. The size of the
+     * files recorded in the header is compared first, and if it matches and the binary
+     * file is not older than either file it is taken as current without reading them.
+     * Only otherwise, eg. after a fresh checkout, are the files read to compare checksums.
+     */
+    private static boolean isWrittenFrom(ByteBuffer binary, URL binaryUrl, URL dataUrl,
+                                         Locator locator, String schemaFile) {
+        URL schemaUrl = find(locator, schemaFile);
+        Objects.requireNonNull(schemaUrl, "not found: " + schemaFile);
+        FileStat data = FileStat.of(dataUrl);
+        FileStat schema = FileStat.of(schemaUrl);
+        if (data.size() >= 0 && schema.size() >= 0) {
+            if (data.size() + schema.size() != FlatTree.getSourceSize(binary)) {
+                return false;
+            }
+            long written = FileStat.of(binaryUrl).lastModified();
+            if (written > 0 && written >= Math.max(data.lastModified(), schema.lastModified())) {
+                return true;
+            }
+        }
+        return FlatTree.getSourceChecksum(binary) == sourceChecksum(readFile(schemaUrl), readFile(dataUrl));
+    }
+
+    /**
+     * Size and modification time of a file, -1 and 0 respectively when not known
+     */
+    private record FileStat(long size, long lastModified) {
+        static FileStat of(URL url) {
+            try {
+                if (url.getProtocol().equals("file")) {
+                    BasicFileAttributes attrs = Files.readAttributes(Path.of(url.toURI()), BasicFileAttributes.class);
+                    return new FileStat(attrs.size(), attrs.lastModifiedTime().toMillis());
+                }
+                URLConnection connection = url.openConnection();
+                return new FileStat(connection.getContentLengthLong(), connection.getLastModified());
+            } catch (IOException | URISyntaxException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    }
+
+    /**
+     * Load only from the Avro JSON encoded "####.data" and "####_data.avsc" files,
+     * ignoring any binary file.
+     *
+     * @param dataFile name of data file (without extension)
+     * @return PfaDecisionTree instance
+     */
+    public static PfaDecisionTree fromJson(String dataFile) {
+        return new PfaDecisionTree(CLASSPATH, dataFile, true, false);
+    }
+
+    /**
+     * Load only from the compact binary "####.bin" file written by
+     * {@link pfatool.codegen.GenerateBinaryModel}. When the file is on the filesystem
+     * it is memory-mapped rather than read through a stream. Trees loaded this way
+     * do not have the TreeNode structure. If the data file also exists the binary
+     * file must have been written from it.
+     *
+     * @param dataFile name of data file (without extension)
+     * @return PfaDecisionTree instance
+     * @throws IllegalStateException if the binary file was written from other data
+     */
+    public static PfaDecisionTree fromBinary(String dataFile) {
+        return new PfaDecisionTree(CLASSPATH, dataFile, false, true);
+    }
+
+    /**
+     * Load from files on the filesystem rather than the classpath, following the same
+     * naming convention as {@link #PfaDecisionTree(String)}.
+     *
+     * @param dataFile path of data file (without extension)
+     * @return PfaDecisionTree instance
+     */
+    public static PfaDecisionTree fromPath(Path dataFile) {
+        return new PfaDecisionTree(FILESYSTEM, dataFile.toString(), true, true);
+    }
+
+    /**
+     * Decode a tree from Avro JSON encoding.
+     *
+     * @param schemaTxt Avro schema of the tree
+     * @param treeData tree in Avro JSON encoding
+     * @return root node of the tree
+     */
+    public static TreeNode parseTreeNode(String schemaTxt, String treeData) {
         DatumReader<TreeNode> treeReader = new SpecificDatumReader<>(TreeNode.class);
         Schema treeSchema = new Schema.Parser().parse(schemaTxt);
         try {
             Decoder jsonDecoder = DecoderFactory.get().jsonDecoder(treeSchema, treeData);
-            this.root = treeReader.read(null, jsonDecoder);
+            return treeReader.read(null, jsonDecoder);
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
     }
 
+    /**
+     * Checksum of the Avro JSON encoded tree and its schema, which the binary file
+     * records so that it is not loaded after the tree has been regenerated.
+     *
+     * @param schemaTxt Avro schema of the tree
+     * @param treeData tree in Avro JSON encoding
+     * @return CRC-32 of the UTF-8 bytes of the schema followed by the tree
+     */
+    public static int sourceChecksum(String schemaTxt, String treeData) {
+        CRC32 crc = new CRC32();
+        crc.update(schemaTxt.getBytes(StandardCharsets.UTF_8));
+        crc.update(treeData.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Size of the Avro JSON encoded tree and its schema files, which the binary file
+     * records so that loading can tell it is current without reading them.
+     *
+     * @param schemaTxt Avro schema of the tree
+     * @param treeData tree in Avro JSON encoding
+     * @return number of UTF-8 bytes of the schema and the tree
+     */
+    public static long sourceSize(String schemaTxt, String treeData) {
+        return (long) schemaTxt.getBytes(StandardCharsets.UTF_8).length
+                + treeData.getBytes(StandardCharsets.UTF_8).length;
+    }
+
     /**
      * Static method to create and return a decision tree instance by reading
-     * the given dataFile. As reading the dataFile may be slow use the singleton
-     * pattern so the file is only read once.
+     * the given dataFile. As reading the dataFile may be slow the instances are
+     * cached so the file is only read once. Lookups of cached instances do not
+     * lock, see {@link ModelCache}.
      * @param dataFile datafile to build tree
      * @return PfaDecisionTree instance
      */
     public static PfaDecisionTree getInstance(String dataFile) {
-        synchronized (myLock) {
-            return instanceMap.computeIfAbsent(dataFile, PfaDecisionTree::new);
-        }
+        return instances.get(dataFile);
+    }
+
+    /**
+     * Remove the cached instance for the given dataFile, so the next call to
+     * {@link #getInstance(String)} reads the file again.
+     * @param dataFile datafile of the tree
+     */
+    public static void invalidateInstance(String dataFile) {
+        instances.invalidate(dataFile);
     }
 
     /**
-     * Make a prediction based upon the decision tree stored in this class
+     * Make a prediction based upon the decision tree stored in this class.
+     * The TreeNode structure is only used for loading, predictions use the
+     * flattened array form of the tree.
      *
      * @param inputs array of pre-processed data
      * @return prediction value as floating point number
      */
+    @Override
     public double predict(double[] inputs) {
-        Object obj = root;
-        while (true) {
-            if (obj instanceof TreeNode node) {
-                if (node.getOperator().toString().equals("<=")) {
-                    double inputValue = inputs[node.getField().ordinal()];
-                    if (inputValue <= node.getValue()) {
-                        obj = node.getPass();
-                    } else {
-                        obj = node.getFail();
-                    }
-                } else {
-                    throw new IllegalStateException("unknown comparison operator");
-                }
-            } else if (obj instanceof Double dbl) {
-                return dbl;
-            }
-        }
+        return flatTree.predict(inputs);
+    }
+
+    /**
+     * Make predictions for a batch of rows, for example a whole matrix of lag values
+     * used for backtesting. See {@link FlatTree#predictAll(double[], int, double[])}
+     *
+     * @param rows row-major block of pre-processed data, numCols values per row
+     * @param numCols number of values in each row
+     * @param out destination for the predictions, one per row
+     */
+    public void predictAll(double[] rows, int numCols, double[] out) {
+        flatTree.predictAll(rows, numCols, out);
+    }
+
+    /**
+     * Make predictions for a batch of rows, splitting large batches across the given
+     * pool. See {@link FlatTree#predictAll(double[], int, double[], ForkJoinPool)}
+     *
+     * @param rows row-major block of pre-processed data, numCols values per row
+     * @param numCols number of values in each row
+     * @param out destination for the predictions, one per row
+     * @param pool pool used to run the tasks
+     */
+    public void predictAll(double[] rows, int numCols, double[] out, ForkJoinPool pool) {
+        flatTree.predictAll(rows, numCols, out, pool);
+    }
+
+    /**
+     * Package private method to access the compiled form of the tree
+     */
+    FlatTree getFlatTree() {
+        return flatTree;
+    }
+
+    /**
+     * Package private method for testing
+     * @return root node of the tree as loaded from the data file, or null if
+     * loaded from the binary file
+     */
+    TreeNode getRoot() {
+        return root;
     }
 
     /**
@@ -93,15 +305,41 @@ public class PfaDecisionTree {
      */
     @Override
     public String toString() {
-        return root.toString();
+        return root != null ? root.toString() : flatTree.toString();
+    }
+
+    /**
+     * Helper method to read the binary file. Memory-maps the file if it is on the
+     * filesystem, otherwise (eg. inside a jar) reads the bytes.
+     */
+    private static ByteBuffer readBinary(URL url) {
+        try {
+            if (url.getProtocol().equals("file")) {
+                try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                    return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            }
+            try (InputStream stream = url.openStream()) {
+                return ByteBuffer.wrap(stream.readAllBytes());
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalArgumentException(e);
+        }
     }
 
     /**
      * Helper method to read data from file on disk
      */
-    private String readFile(String path) {
-        URL url = getClass().getClassLoader().getResource(path);
+    private static String readFile(Locator locator, String path) {
+        URL url = find(locator, path);
         Objects.requireNonNull(url, "not found: " + path);
+        return readFile(url);
+    }
+
+    /**
+     * Helper method to read data from a file found by a Locator
+     */
+    private static String readFile(URL url) {
         try (InputStream stream = url.openStream()) {
             return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
         } catch (IOException e) {
@@ -109,4 +347,29 @@ public class PfaDecisionTree {
         }
     }
 
+    /**
+     * Package private helper to read a file from the classpath, returns null if not found
+     */
+    static String readResource(String path) {
+        return readFileIfFound(CLASSPATH, path);
+    }
+
+    /**
+     * Helper method to read a file, returns null if not found
+     */
+    private static String readFileIfFound(Locator locator, String path) {
+        return find(locator, path) != null ? readFile(locator, path) : null;
+    }
+
+    /**
+     * Helper method to find a file, returns null if not found
+     */
+    private static URL find(Locator locator, String path) {
+        try {
+            return locator.find(path);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
 }
@@ -0,0 +1,137 @@
+package pfatool.generated;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Group of decision trees that are evaluated together against the same input row,
+ * each tree producing one output. For example the forecasting model has one tree
+ * predicting the mean and another predicting the standard deviation.
+ * <p>
+ * The flattened trees are copied into one shared set of arrays, see {@link FlatForest},
+ * so evaluating all outputs walks a single contiguous structure. Further outputs such as quantiles
+ * can be added by including more trees in the bundle.
+ */
+public final class PfaModelBundle {
+
+    private final FlatForest forest;
+
+    /**
+     * Result of evaluating a bundle with two outputs
+     *
+     * @param first output of the first tree
+     * @param second output of the second tree
+     */
+    public record PredictionPair(double first, double second) {}
+
+    /**
+     * Create a bundle from the given trees. Output i of the bundle is
+     * the prediction of tree i.
+     *
+     * @param trees decision trees in order of output
+     */
+    public PfaModelBundle(List<PfaDecisionTree> trees) {
+        if (trees.isEmpty()) {
+            throw new IllegalArgumentException("bundle needs at least one tree");
+        }
+        this.forest = new FlatForest(trees.stream()
+                .map(PfaDecisionTree::getFlatTree)
+                .toList());
+    }
+
+    /**
+     * Load a bundle from the given data files, see {@link PfaDecisionTree#PfaDecisionTree(String)}
+     *
+     * @param dataFiles names of data files (without extension) in order of output
+     * @return PfaModelBundle instance
+     */
+    public static PfaModelBundle load(String... dataFiles) {
+        return new PfaModelBundle(Arrays.stream(dataFiles)
+                .map(PfaDecisionTree::new)
+                .toList());
+    }
+
+    /**
+     * Load a bundle from data files on the filesystem, see {@link PfaDecisionTree#fromPath(Path)}
+     *
+     * @param dataFiles paths of data files (without extension) in order of output
+     * @return PfaModelBundle instance
+     */
+    public static PfaModelBundle loadPaths(Path... dataFiles) {
+        return new PfaModelBundle(Arrays.stream(dataFiles)
+                .map(PfaDecisionTree::fromPath)
+                .toList());
+    }
+
+    /**
+     * Returns a CRC-32 checksum of the combined trees. Bundles holding the same trees
+     * have the same checksum whichever file format they were loaded from.
+     */
+    public long checksum() {
+        return forest.checksum();
+    }
+
+    /**
+     * Returns the number of outputs, which is the number of trees in the bundle
+     */
+    public int getNumOutputs() {
+        return forest.getNumTrees();
+    }
+
+    /**
+     * Evaluate all the outputs of the bundle against the same inputs.
+     *
+     * @param inputs array of pre-processed data
+     * @param out destination for the outputs, must have length at least getNumOutputs()
+     */
+    public void predict(double[] inputs, double[] out) {
+        for (int t = 0; t < forest.getNumTrees(); t++) {
+            out[t] = forest.predict(t, inputs);
+        }
+    }
+
+    /**
+     * Evaluate a single output of the bundle
+     *
+     * @param output index of output
+     * @param inputs array of pre-processed data
+     * @return prediction value as floating point number
+     */
+    public double predict(int output, double[] inputs) {
+        return forest.predict(output, inputs);
+    }
+
+    /**
+     * Evaluate a bundle with exactly two outputs. Both trees are walked in the same
+     * loop so the two independent chains of comparisons can overlap, and the result
+     * is returned as primitive fields rather than through an array.
+     *
+     * @param inputs array of pre-processed data
+     * @return pair of outputs
+     * @throws IllegalStateException if the bundle does not have two outputs
+     */
+    public PredictionPair predictPair(double[] inputs) {
+        if (forest.getNumTrees() != 2) {
+            throw new IllegalStateException("bundle has " + forest.getNumTrees() + " outputs, expected 2");
+        }
+        int[] featureIndex = forest.featureIndex;
+        double[] threshold = forest.threshold;
+        int[] left = forest.left;
+        int[] right = forest.right;
+        int i = forest.roots[0];
+        int j = forest.roots[1];
+        while (i >= 0 && j >= 0) {
+            i = inputs[featureIndex[i]] <= threshold[i] ? left[i] : right[i];
+            j = inputs[featureIndex[j]] <= threshold[j] ? left[j] : right[j];
+        }
+        while (i >= 0) {
+            i = inputs[featureIndex[i]] <= threshold[i] ? left[i] : right[i];
+        }
+        while (j >= 0) {
+            j = inputs[featureIndex[j]] <= threshold[j] ? left[j] : right[j];
+        }
+        return new PredictionPair(forest.leafValue[~i], forest.leafValue[~j]);
+    }
+
+}
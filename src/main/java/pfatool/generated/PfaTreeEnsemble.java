@@ -0,0 +1,311 @@
+package pfatool.generated;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.specific.SpecificDatumReader;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ensemble of decision trees whose predictions are combined into one output, such as a
+ * scikit-learn RandomForestRegressor (mean of the trees) or GradientBoostingRegressor
+ * (initial value plus the sum of the trees scaled by the learning rate).
+ * <p>
+ * All the trees are copied into one shared set of arrays, see {@link FlatForest}, so an
+ * ensemble of hundreds of trees is a few contiguous arrays rather than hundreds of objects.
+ * Batch predictions step a block of rows through one tree at a time, so each tree is
+ * fetched once per block rather than once per row.
+ */
+public final class PfaTreeEnsemble implements TreePredictor {
+
+    private static final String TREES_CELL = "_trees";
+    private static final String LEARNING_RATE_CELL = "_learningRate";
+    private static final String INIT_VALUE_CELL = "_initValue";
+    private static final String DATA_FILE_EXT = ".data";
+    private static final String SCHEMA_FILE_EXT = "_data.avsc";
+
+    /**
+     * How the predictions of the trees are combined
+     */
+    public enum Aggregation {
+        /** Mean of the trees, as used by random forests */
+        MEAN,
+        /** Initial value plus the sum of each tree times the learning rate, as used by gradient boosting */
+        SUM
+    }
+
+    private final FlatForest forest;
+    private final Aggregation aggregation;
+    private final double learningRate;
+    private final double initValue;
+
+    /**
+     * Private constructor, use one of the static methods to create an instance.
+     */
+    private PfaTreeEnsemble(List<FlatTree> trees,
+                            Aggregation aggregation,
+                            double learningRate,
+                            double initValue) {
+        this.forest = new FlatForest(trees);
+        this.aggregation = aggregation;
+        this.learningRate = learningRate;
+        this.initValue = initValue;
+    }
+
+    /**
+     * Create an ensemble that predicts the mean of the trees
+     *
+     * @param trees decision trees of the ensemble
+     * @return PfaTreeEnsemble instance
+     */
+    public static PfaTreeEnsemble mean(List<PfaDecisionTree> trees) {
+        return new PfaTreeEnsemble(flatTrees(trees), Aggregation.MEAN, 1.0, 0.0);
+    }
+
+    /**
+     * Create an ensemble that predicts initValue plus the sum of each tree times the learning rate.
+     * The trees are added in order, the same as scikit-learn.
+     *
+     * @param trees decision trees of the ensemble
+     * @param learningRate factor applied to the prediction of each tree
+     * @param initValue starting value of the prediction
+     * @return PfaTreeEnsemble instance
+     */
+    public static PfaTreeEnsemble boosted(List<PfaDecisionTree> trees, double learningRate, double initValue) {
+        return new PfaTreeEnsemble(flatTrees(trees), Aggregation.SUM, learningRate, initValue);
+    }
+
+    /**
+     * Load an ensemble from the files written by {@link pfatool.codegen.GenerateJavaCode} for a
+     * PFA document converted from a scikit-learn ensemble. Given the PFA document "####.pfa" the
+     * files follow this naming convention:<br>
+     * "####_trees.data" and "####_trees_data.avsc" - the array of trees<br>
+     * "####_learningRate.data" and "####_initValue.data" - only for gradient boosting<br>
+     * If there is no learning rate the ensemble predicts the mean of the trees.
+     *
+     * @param baseName name of the PFA document (without extension)
+     * @return PfaTreeEnsemble instance
+     */
+    public static PfaTreeEnsemble load(String baseName) {
+        String treesData = PfaDecisionTree.readResource(baseName + TREES_CELL + DATA_FILE_EXT);
+        String schemaTxt = PfaDecisionTree.readResource(baseName + TREES_CELL + SCHEMA_FILE_EXT);
+        Objects.requireNonNull(treesData, "not found: " + baseName + TREES_CELL + DATA_FILE_EXT);
+        Objects.requireNonNull(schemaTxt, "not found: " + baseName + TREES_CELL + SCHEMA_FILE_EXT);
+        List<FlatTree> trees = parseTreeNodes(schemaTxt, treesData).stream()
+                .map(FlatTree::compile)
+                .toList();
+        String learningRate = PfaDecisionTree.readResource(baseName + LEARNING_RATE_CELL + DATA_FILE_EXT);
+        if (learningRate == null) {
+            return new PfaTreeEnsemble(trees, Aggregation.MEAN, 1.0, 0.0);
+        }
+        String initValue = PfaDecisionTree.readResource(baseName + INIT_VALUE_CELL + DATA_FILE_EXT);
+        return new PfaTreeEnsemble(trees, Aggregation.SUM,
+                Double.parseDouble(learningRate.strip()),
+                initValue != null ? Double.parseDouble(initValue.strip()) : 0.0);
+    }
+
+    /**
+     * Decode an array of trees from Avro JSON encoding.
+     *
+     * @param schemaTxt Avro schema of the array of trees
+     * @param treesData array of trees in Avro JSON encoding
+     * @return root nodes of the trees
+     */
+    public static List<TreeNode> parseTreeNodes(String schemaTxt, String treesData) {
+        DatumReader<List<TreeNode>> treesReader = new SpecificDatumReader<>(
+                Schema.createArray(TreeNode.getClassSchema())
+        );
+        Schema treesSchema = new Schema.Parser().parse(schemaTxt);
+        try {
+            Decoder jsonDecoder = DecoderFactory.get().jsonDecoder(treesSchema, treesData);
+            return treesReader.read(null, jsonDecoder);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Make a prediction by combining the predictions of all the trees. Does not allocate.
+     *
+     * @param inputs array of pre-processed data
+     * @return prediction value as floating point number
+     */
+    @Override
+    public double predict(double[] inputs) {
+        int numTrees = forest.getNumTrees();
+        if (aggregation == Aggregation.MEAN) {
+            double sum = 0.0;
+            for (int t = 0; t < numTrees; t++) {
+                sum += forest.predict(t, inputs);
+            }
+            return sum / numTrees;
+        }
+        double acc = initValue;
+        for (int t = 0; t < numTrees; t++) {
+            acc += learningRate * forest.predict(t, inputs);
+        }
+        return acc;
+    }
+
+    /**
+     * Make predictions for a batch of rows stored in a single row-major block. Gives exactly
+     * the same results as {@link #predict(double[])} for each row.
+     *
+     * @param rows row-major block of pre-processed data, numCols values per row
+     * @param numCols number of values in each row
+     * @param out destination for the predictions, one per row
+     * @throws IllegalArgumentException if the array sizes do not match, or the rows
+     * have fewer values than the inputs used by the trees
+     */
+    public void predictAll(double[] rows, int numCols, double[] out) {
+        int numRows = FlatTree.checkBatch(rows, numCols, out, forest.numFeatures);
+        predictRange(rows, numCols, out, 0, numRows, new int[FlatTree.BLOCK_ROWS]);
+    }
+
+    /**
+     * Same as {@link #predictAll(double[], int, double[])} but large batches are split
+     * into tasks that run in parallel on the given pool.
+     *
+     * @param rows row-major block of pre-processed data, numCols values per row
+     * @param numCols number of values in each row
+     * @param out destination for the predictions, one per row
+     * @param pool pool used to run the tasks
+     * @throws IllegalArgumentException if the array sizes do not match, or the rows
+     * have fewer values than the inputs used by the trees
+     */
+    public void predictAll(double[] rows, int numCols, double[] out, ForkJoinPool pool) {
+        int numRows = FlatTree.checkBatch(rows, numCols, out, forest.numFeatures);
+        pool.invoke(new BatchTask(rows, numCols, out, 0, numRows));
+    }
+
+    /**
+     * Evaluates rows from start (inclusive) to stop (exclusive) in blocks. Within a block
+     * each tree is walked for all the rows, one level at a time, before moving to the next
+     * tree, and the results are accumulated into out in the same order as predict().
+     */
+    private void predictRange(double[] rows,
+                              int numCols,
+                              double[] out,
+                              int start,
+                              int stop,
+                              int[] cursor) {
+        int[] featureIndex = forest.featureIndex;
+        double[] threshold = forest.threshold;
+        int[] left = forest.left;
+        int[] right = forest.right;
+        double[] leafValue = forest.leafValue;
+        int numTrees = forest.getNumTrees();
+        boolean isMean = aggregation == Aggregation.MEAN;
+        for (int base = start; base < stop; base += FlatTree.BLOCK_ROWS) {
+            int n = Math.min(FlatTree.BLOCK_ROWS, stop - base);
+            for (int r = 0; r < n; r++) {
+                out[base + r] = isMean ? 0.0 : initValue;
+            }
+            for (int t = 0; t < numTrees; t++) {
+                int root = forest.roots[t];
+                for (int r = 0; r < n; r++) {
+                    cursor[r] = root;
+                }
+                int active = root >= 0 ? n : 0;
+                while (active > 0) {
+                    active = 0;
+                    for (int r = 0; r < n; r++) {
+                        int i = cursor[r];
+                        if (i >= 0) {
+                            double inputValue = rows[(base + r) * numCols + featureIndex[i]];
+                            i = inputValue <= threshold[i] ? left[i] : right[i];
+                            cursor[r] = i;
+                            if (i >= 0) {
+                                active++;
+                            }
+                        }
+                    }
+                }
+                for (int r = 0; r < n; r++) {
+                    out[base + r] += isMean
+                            ? leafValue[~cursor[r]]
+                            : learningRate * leafValue[~cursor[r]];
+                }
+            }
+            if (isMean) {
+                for (int r = 0; r < n; r++) {
+                    out[base + r] /= numTrees;
+                }
+            }
+        }
+    }
+
+    /**
+     * Task that splits a batch in half until it is small enough to run directly
+     */
+    private class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final double[] rows;
+        private final int numCols;
+        private final double[] out;
+        private final int start;
+        private final int stop;
+
+        BatchTask(double[] rows, int numCols, double[] out, int start, int stop) {
+            this.rows = rows;
+            this.numCols = numCols;
+            this.out = out;
+            this.start = start;
+            this.stop = stop;
+        }
+
+        @Override
+        protected void compute() {
+            // each row costs one walk per tree, so split smaller batches than a single tree
+            if ((long) (stop - start) * forest.getNumTrees() <= FlatTree.PARALLEL_MIN_ROWS
+                    || stop - start <= FlatTree.BLOCK_ROWS) {
+                predictRange(rows, numCols, out, start, stop, new int[FlatTree.BLOCK_ROWS]);
+            } else {
+                int mid = (start + stop) >>> 1;
+                invokeAll(
+                        new BatchTask(rows, numCols, out, start, mid),
+                        new BatchTask(rows, numCols, out, mid, stop)
+                );
+            }
+        }
+    }
+
+    /**
+     * Returns the number of trees in the ensemble
+     */
+    public int getNumTrees() {
+        return forest.getNumTrees();
+    }
+
+    /**
+     * Returns how the predictions of the trees are combined
+     */
+    public Aggregation getAggregation() {
+        return aggregation;
+    }
+
+    /**
+     * Returns summary of the ensemble
+     */
+    @Override
+    public String toString() {
+        return "PfaTreeEnsemble(trees=%d, aggregation=%s, learningRate=%s, initValue=%s)".formatted(
+                getNumTrees(), aggregation, learningRate, initValue);
+    }
+
+    /**
+     * Helper to get the flattened form of the trees
+     */
+    private static List<FlatTree> flatTrees(List<PfaDecisionTree> trees) {
+        return trees.stream()
+                .map(PfaDecisionTree::getFlatTree)
+                .toList();
+    }
+
+}
@@ -0,0 +1,217 @@
+package pfatool.generated;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.asm.ClassTooLargeException;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodTooLargeException;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles a decision tree at runtime into a hidden class, with the tree written as
+ * straight-line comparisons of constants in the same way as {@link pfatool.codegen.GenerateTreeSource}.
+ * This gives the speed of generated code for trees loaded from the classpath or disk
+ * without rebuilding the jar.
+ * <p>
+ * Bytecode is written using the copy of ASM that is included in Spring.
+ * If the tree is too big to compile, the flattened tree is used instead.
+ */
+public final class TreeCompiler {
+
+    /**
+     * Maximum number of decision nodes written into a single method. Larger trees are
+     * split into helper methods, keeping each method under the 8000 byte limit above which
+     * HotSpot does not JIT compile a method.
+     */
+    public static final int MAX_METHOD_NODES = 400;
+
+    /**
+     * Maximum number of decision nodes in a compiled tree. Each threshold and leaf value
+     * uses constant pool entries, and the constant pool is limited to 65535 entries, so
+     * larger trees use the flattened tree instead.
+     */
+    public static final int MAX_COMPILED_NODES = 16000;
+
+    private static final Log logger = LogFactory.getLog(TreeCompiler.class);
+    private static final String CLASS_NAME = Type.getInternalName(TreeCompiler.class) + "$Compiled";
+    private static final String PREDICT_DESC = "([D)D";
+
+    private final FlatTree tree;
+    private final int maxMethodNodes;
+    private final int[] subtreeSize;
+    private final List<Integer> methodRoots;
+
+    private TreeCompiler(FlatTree tree, int maxMethodNodes) {
+        this.tree = tree;
+        this.maxMethodNodes = maxMethodNodes;
+        this.subtreeSize = countSubtrees(tree);
+        this.methodRoots = new ArrayList<>();
+    }
+
+    /**
+     * Compile the given decision tree into a hidden class.
+     *
+     * @param decisionTree tree to compile
+     * @return compiled tree, or the flattened tree if the tree cannot be compiled
+     */
+    public static TreePredictor compile(PfaDecisionTree decisionTree) {
+        return compile(decisionTree.getFlatTree(), MAX_METHOD_NODES, MAX_COMPILED_NODES);
+    }
+
+    /**
+     * Package private method for testing, with configurable limits.
+     */
+    static TreePredictor compile(FlatTree tree, int maxMethodNodes, int maxCompiledNodes) {
+        if (tree.getNumNodes() > maxCompiledNodes) {
+            logger.info("tree of %d nodes too large to compile, using flat tree".formatted(tree.getNumNodes()));
+            return tree;
+        }
+        try {
+            byte[] classBytes = new TreeCompiler(tree, maxMethodNodes).writeClass();
+            MethodHandles.Lookup lookup = MethodHandles.lookup()
+                    .defineHiddenClass(classBytes, true);
+            return (TreePredictor) lookup.lookupClass().getDeclaredConstructor().newInstance();
+        } catch (MethodTooLargeException | ClassTooLargeException
+                 | ReflectiveOperationException | LinkageError | IllegalArgumentException e) {
+            // errors such as OutOfMemoryError are not expected here so are not caught
+            logger.warn("failed to compile tree, using flat tree", e);
+            return tree;
+        }
+    }
+
+    /**
+     * Write the bytes of a class implementing TreePredictor.
+     * predict() calls the static method holding the root of the tree.
+     */
+    private byte[] writeClass() {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+        cw.visit(
+                Opcodes.V17,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+                CLASS_NAME,
+                null,
+                Type.getInternalName(Object.class),
+                new String[] {Type.getInternalName(TreePredictor.class)}
+        );
+
+        MethodVisitor init = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        MethodVisitor predict = cw.visitMethod(Opcodes.ACC_PUBLIC, "predict", PREDICT_DESC, null, null);
+        predict.visitCode();
+        predict.visitVarInsn(Opcodes.ALOAD, 1);
+        predict.visitMethodInsn(Opcodes.INVOKESTATIC, CLASS_NAME, methodName(0), PREDICT_DESC, false);
+        predict.visitInsn(Opcodes.DRETURN);
+        predict.visitMaxs(0, 0);
+        predict.visitEnd();
+
+        // methods are written in the order they are created
+        methodRoots.add(tree.getRoot());
+        for (int m = 0; m < methodRoots.size(); m++) {
+            MethodVisitor mv = cw.visitMethod(
+                    Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC,
+                    methodName(m),
+                    PREDICT_DESC,
+                    null,
+                    null
+            );
+            mv.visitCode();
+            int[] budget = {maxMethodNodes};
+            writeBranch(mv, methodRoots.get(m), budget, true);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * Write the code for a node reference, which is either a leaf returning a constant
+     * or a decision node comparing an input with a constant. A decision node that does
+     * not fit in the remaining budget of the current method is moved into a helper method.
+     */
+    private void writeBranch(MethodVisitor mv, int ref, int[] budget, boolean isMethodRoot) {
+        if (ref < 0) {
+            mv.visitLdcInsn(tree.getLeafValue()[~ref]);
+            mv.visitInsn(Opcodes.DRETURN);
+        } else if (isMethodRoot || fitsInMethod(ref, budget[0])) {
+            budget[0]--;
+            Label fail = new Label();
+            // if (inputs[featureIndex] <= threshold) {pass} else {fail}
+            // NaN compares as greater so goes to fail, same as the Java <= operator
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            pushInt(mv, tree.getFeatureIndex()[ref]);
+            mv.visitInsn(Opcodes.DALOAD);
+            mv.visitLdcInsn(tree.getThreshold()[ref]);
+            mv.visitInsn(Opcodes.DCMPG);
+            mv.visitJumpInsn(Opcodes.IFGT, fail);
+            writeBranch(mv, tree.getLeft()[ref], budget, false);
+            mv.visitLabel(fail);
+            writeBranch(mv, tree.getRight()[ref], budget, false);
+        } else {
+            methodRoots.add(ref);
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, CLASS_NAME, methodName(methodRoots.size() - 1),
+                    PREDICT_DESC, false);
+            mv.visitInsn(Opcodes.DRETURN);
+        }
+    }
+
+    /**
+     * A subtree is written inline if it fits within the remaining budget. A subtree too
+     * big for any single method is also written inline, one node at a time, while there
+     * is budget left, so the top of a large tree stays in the first method.
+     */
+    private boolean fitsInMethod(int ref, int budget) {
+        int size = subtreeSize[ref];
+        return size <= budget || (size > maxMethodNodes && budget > 0);
+    }
+
+    /**
+     * Push an int constant using the shortest instruction
+     */
+    private static void pushInt(MethodVisitor mv, int value) {
+        if (value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.BIPUSH, value);
+        } else if (value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.SIPUSH, value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+
+    /**
+     * Count the decision nodes below and including each node. Nodes are numbered
+     * breadth-first so children always come after their parent.
+     */
+    private static int[] countSubtrees(FlatTree tree) {
+        int n = tree.getNumNodes();
+        int[] size = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int l = tree.getLeft()[i];
+            int r = tree.getRight()[i];
+            size[i] = 1 + (l >= 0 ? size[l] : 0) + (r >= 0 ? size[r] : 0);
+        }
+        return size;
+    }
+
+    /**
+     * Name of helper method number m
+     */
+    private static String methodName(int m) {
+        return "predict%02d".formatted(m);
+    }
+
+}
@@ -0,0 +1,17 @@
+package pfatool.generated;
+
+/**
+ * Common interface of the different ways a decision tree can be evaluated.
+ */
+@FunctionalInterface
+public interface TreePredictor {
+
+    /**
+     * Make a prediction for a single row of inputs
+     *
+     * @param inputs array of pre-processed data
+     * @return prediction value as floating point number
+     */
+    double predict(double[] inputs);
+
+}
@@ -0,0 +1,177 @@
+package pfatool.history;
+
+import pfatool.forecaster.CategoryDictionary;
+import pfatool.forecaster.PriceData;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Price records held in columns and sorted by date. Records with the same date are in
+ * the order they were loaded, the same as sorting a list of {@link PriceData} by date.
+ * Each record holds the id of its category in a {@link CategoryDictionary}.
+ * <p>
+ * Dates are held as seconds since the epoch, fractions of a second are rounded up as when
+ * resampling in {@link pfatool.forecaster.PreProcessor}, so each record falls in the same
+ * bucket as the PriceData it was loaded from.
+ * Instances are never modified once created and can be shared between threads.
+ */
+public final class PriceHistory {
+
+    private final CategoryDictionary categories;
+    private final long[] epochSeconds;
+    private final double[] prices;
+    private final int[] categoryIds;
+
+    /**
+     * Package private constructor, use {@link PriceHistoryLoader} to create an instance.
+     * The arrays are not copied.
+     */
+    PriceHistory(CategoryDictionary categories,
+                 long[] epochSeconds,
+                 double[] prices,
+                 int[] categoryIds) {
+        this.categories = categories;
+        this.epochSeconds = epochSeconds;
+        this.prices = prices;
+        this.categoryIds = categoryIds;
+    }
+
+    /**
+     * Returns a date as seconds since 1970-01-01T00:00Z, with fractions of a second rounded up
+     */
+    static long toEpochSecond(OffsetDateTime date) {
+        return date.toEpochSecond() + (date.getNano() > 0 ? 1 : 0);
+    }
+
+    /**
+     * Returns the number of records
+     */
+    public int size() {
+        return epochSeconds.length;
+    }
+
+    /**
+     * Returns the date of record i as seconds since 1970-01-01T00:00Z
+     */
+    public long getEpochSecond(int i) {
+        return epochSeconds[i];
+    }
+
+    /**
+     * Returns the date of record i in UTC
+     */
+    public OffsetDateTime getDate(int i) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSeconds[i]), ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the price of record i
+     */
+    public double getPrice(int i) {
+        return prices[i];
+    }
+
+    /**
+     * Returns the category id of record i, an id of {@link #getCategories()}
+     */
+    public int getCategoryId(int i) {
+        return categoryIds[i];
+    }
+
+    /**
+     * Returns the dictionary of the categories of the records
+     */
+    public CategoryDictionary getCategories() {
+        return categories;
+    }
+
+    /**
+     * Returns the names of the categories in order of id, eg. c5d.xlarge__SUSE Linux__eu-west-1a
+     */
+    public List<String> getCategoryNames() {
+        return categories.getNames();
+    }
+
+    /**
+     * Returns the index of the first record at or after the given time,
+     * or {@link #size()} if there is none
+     */
+    public int lowerBound(long epochSecond) {
+        int lo = 0;
+        int hi = epochSeconds.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochSeconds[mid] < epochSecond) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns record i as PriceData
+     */
+    public PriceData getRecord(int i) {
+        CategoryDictionary.Category c = categories.get(categoryIds[i]);
+        return new PriceData(getDate(i), prices[i], c.instanceType(), c.instanceDescription(), c.regionZone());
+    }
+
+    /**
+     * Returns the records of one category from a start time (inclusive) to a stop time
+     * (exclusive) in date order, such as to pass to {@link pfatool.forecaster.PreProcessor}.
+     *
+     * @param category category name, eg. c5d.xlarge__SUSE Linux__eu-west-1a
+     * @param fromEpochSecond start time inclusive
+     * @param toEpochSecond stop time exclusive
+     * @return list of records, empty if there are no records of the category
+     */
+    public List<PriceData> getRecords(String category,
+                                      long fromEpochSecond,
+                                      long toEpochSecond) {
+        int c = categories.idOf(category);
+        if (c < 0) {
+            return List.of();
+        }
+        List<PriceData> out = new ArrayList<>();
+        for (int i = lowerBound(fromEpochSecond); i < size() && epochSeconds[i] < toEpochSecond; i++) {
+            if (categoryIds[i] == c) {
+                out.add(getRecord(i));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Returns summary of the history
+     */
+    @Override
+    public String toString() {
+        return size() == 0
+                ? "PriceHistory(records=0)"
+                : "PriceHistory(records=%d, categories=%d, from=%s, to=%s)".formatted(
+                        size(), categories.size(), getDate(0), getDate(size() - 1));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PriceHistory other
+                && getCategoryNames().equals(other.getCategoryNames())
+                && Arrays.equals(epochSeconds, other.epochSeconds)
+                && Arrays.equals(prices, other.prices)
+                && Arrays.equals(categoryIds, other.categoryIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getCategoryNames(), Arrays.hashCode(epochSeconds), Arrays.hashCode(prices));
+    }
+
+}
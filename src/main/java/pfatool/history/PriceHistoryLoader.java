@@ -0,0 +1,314 @@
+package pfatool.history;
+
+import pfatool.forecaster.CategoryDictionary;
+import pfatool.forecaster.CategoryDictionary.Category;
+import pfatool.forecaster.PriceTsvParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Loads price history files of any size, in the tab separated format read by
+ * {@link pfatool.forecaster.PriceData#loadFromTsv(String)}, into a {@link PriceHistory}.
+ * <p>
+ * The file is memory mapped rather than read into a String. A single mapping is at most
+ * 2GB, so larger files are mapped in several parts, each ending at a line break.
+ * Each part is split at line breaks into chunks that are parsed and sorted in parallel
+ * on a ForkJoinPool, then the sorted chunks are merged in file order.
+ */
+public final class PriceHistoryLoader {
+
+    /**
+     * Largest size of a single mapping of the file
+     */
+    public static final long MAX_MAPPING_SIZE = Integer.MAX_VALUE;
+
+    /**
+     * Default size of the chunks parsed by each task
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    private final ForkJoinPool pool;
+    private final long mappingSize;
+    private final int chunkSize;
+
+    /**
+     * Create a loader that parses in the common ForkJoinPool
+     */
+    public PriceHistoryLoader() {
+        this(ForkJoinPool.commonPool(), MAX_MAPPING_SIZE, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create a loader with the given pool, size of the mappings and size of the chunks.
+     *
+     * @param pool pool in which to parse the chunks
+     * @param mappingSize largest size of a single mapping of the file, at most {@link #MAX_MAPPING_SIZE}
+     * @param chunkSize approximate size of the chunks parsed by each task
+     */
+    public PriceHistoryLoader(ForkJoinPool pool,
+                              long mappingSize,
+                              int chunkSize) {
+        if (mappingSize <= 0 || mappingSize > MAX_MAPPING_SIZE || chunkSize <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid mappingSize or chunkSize: " + mappingSize + " and " + chunkSize);
+        }
+        this.pool = pool;
+        this.mappingSize = mappingSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Load a price history file
+     *
+     * @param tsvFile UTF-8 tab separated file
+     * @return records sorted by date
+     * @throws IOException if the file cannot be read, or has a line longer than the mapping size
+     * @throws IllegalArgumentException if any row cannot be parsed, see {@link PriceTsvParser}
+     */
+    public PriceHistory load(Path tsvFile) throws IOException {
+        List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(tsvFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            while (start < size) {
+                long length = Math.min(mappingSize, size - start);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                int used = (int) length;
+                if (start + length < size) {
+                    // end the mapping after its last line break, the rest is mapped again next time
+                    used = lastLineEnd(mapped, used);
+                    if (used == 0) {
+                        throw new IOException("Line longer than " + mappingSize + " bytes at position " + start);
+                    }
+                }
+                submitChunks(mapped, used, tasks);
+                start += used;
+            }
+        }
+        // the mappings stay valid after the channel is closed
+        List<Chunk> chunks = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<Chunk> task : tasks) {
+            chunks.add(task.join());
+        }
+        return merge(chunks);
+    }
+
+    /**
+     * Returns the position after the last line break before the end, or 0 if there is none.
+     * A \r\n split after the \r leaves an empty line in the next part, which the parser skips.
+     */
+    private static int lastLineEnd(ByteBuffer bytes, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            if (isLineBreak(bytes.get(i))) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns true for the line breaks accepted by {@link PriceTsvParser}, \n, \r\n and \r
+     */
+    private static boolean isLineBreak(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * Split the first length bytes at line breaks into chunks of about chunkSize bytes
+     * and start parsing each chunk
+     */
+    private void submitChunks(ByteBuffer mapped,
+                              int length,
+                              List<ForkJoinTask<Chunk>> tasks) {
+        int start = 0;
+        while (start < length) {
+            int end = start + Math.min(chunkSize, length - start);
+            while (end < length && !isLineBreak(mapped.get(end - 1))) {
+                end++;
+            }
+            ByteBuffer slice = mapped.slice(start, end - start);
+            tasks.add(pool.submit(() -> Chunk.parse(slice)));
+            start = end;
+        }
+    }
+
+    /**
+     * Records of one chunk in columns, sorted by date with ties in file order
+     */
+    private static final class Chunk {
+        private long[] epochSeconds = new long[1024];
+        private double[] prices = new double[1024];
+        private int[] categoryIds = new int[1024];
+        private int size;
+        private final List<Category> categories = new ArrayList<>();
+
+        static Chunk parse(ByteBuffer bytes) {
+            Chunk chunk = new Chunk();
+            CategoryDictionary.Builder ids = new CategoryDictionary.Builder();
+            new PriceTsvParser().parse(bytes, (date, price, instanceType, instanceDescription, regionZone) ->
+                    chunk.add(PriceHistory.toEpochSecond(date), price,
+                            ids.add(instanceType, instanceDescription, regionZone)));
+            chunk.categories.addAll(ids.getCategories());
+            chunk.sort();
+            return chunk;
+        }
+
+        private void add(long epochSecond, double price, int categoryId) {
+            if (size == epochSeconds.length) {
+                epochSeconds = Arrays.copyOf(epochSeconds, size * 2);
+                prices = Arrays.copyOf(prices, size * 2);
+                categoryIds = Arrays.copyOf(categoryIds, size * 2);
+            }
+            epochSeconds[size] = epochSecond;
+            prices[size] = price;
+            categoryIds[size] = categoryId;
+            size++;
+        }
+
+        /**
+         * Sort by date, keeping records with the same date in file order. The time since the
+         * earliest record and the row number are packed into one long so a primitive sort is
+         * stable. Spans of 2^31 seconds or more use a slower sort of boxed indices.
+         */
+        private void sort() {
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            boolean sorted = true;
+            for (int i = 0; i < size; i++) {
+                min = Math.min(min, epochSeconds[i]);
+                max = Math.max(max, epochSeconds[i]);
+                sorted &= i == 0 || epochSeconds[i - 1] <= epochSeconds[i];
+            }
+            if (sorted) {
+                return;
+            }
+            int[] order = new int[size];
+            if (max - min < (1L << 31)) {
+                long[] keys = new long[size];
+                for (int i = 0; i < size; i++) {
+                    keys[i] = (epochSeconds[i] - min) << 32 | i;
+                }
+                Arrays.sort(keys);
+                for (int i = 0; i < size; i++) {
+                    order[i] = (int) keys[i];
+                }
+            } else {
+                Integer[] boxed = new Integer[size];
+                Arrays.setAll(boxed, i -> i);
+                Arrays.sort(boxed, Comparator.comparingLong(i -> epochSeconds[i]));
+                Arrays.setAll(order, i -> boxed[i]);
+            }
+            long[] sortedSeconds = new long[size];
+            double[] sortedPrices = new double[size];
+            int[] sortedIds = new int[size];
+            for (int i = 0; i < size; i++) {
+                sortedSeconds[i] = epochSeconds[order[i]];
+                sortedPrices[i] = prices[order[i]];
+                sortedIds[i] = categoryIds[order[i]];
+            }
+            epochSeconds = sortedSeconds;
+            prices = sortedPrices;
+            categoryIds = sortedIds;
+        }
+    }
+
+    /**
+     * Number the categories of all chunks in order of name, then merge the chunks
+     */
+    private PriceHistory merge(List<Chunk> chunks) {
+        CategoryDictionary dictionary = CategoryDictionary.ofCategories(chunks.stream()
+                .flatMap(chunk -> chunk.categories.stream())
+                .toList());
+        for (Chunk chunk : chunks) {
+            int[] rename = chunk.categories.stream()
+                    .mapToInt(dictionary::idOf)
+                    .toArray();
+            for (int i = 0; i < chunk.size; i++) {
+                chunk.categoryIds[i] = rename[chunk.categoryIds[i]];
+            }
+        }
+        Sorted merged = chunks.isEmpty()
+                ? new Sorted(new long[0], new double[0], new int[0])
+                : pool.invoke(new MergeTask(chunks, 0, chunks.size()));
+        return new PriceHistory(
+                dictionary,
+                merged.epochSeconds(),
+                merged.prices(),
+                merged.categoryIds()
+        );
+    }
+
+    private record Sorted(long[] epochSeconds, double[] prices, int[] categoryIds) {}
+
+    /**
+     * Merges chunks lo to hi by merging each half in parallel, records of earlier chunks
+     * come first when the dates are the same
+     */
+    private static final class MergeTask extends RecursiveTask<Sorted> {
+        private static final long serialVersionUID = 1L;
+        private final List<Chunk> chunks;
+        private final int lo;
+        private final int hi;
+
+        MergeTask(List<Chunk> chunks, int lo, int hi) {
+            this.chunks = chunks;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Sorted compute() {
+            if (hi - lo == 1) {
+                Chunk c = chunks.get(lo);
+                return new Sorted(
+                        Arrays.copyOf(c.epochSeconds, c.size),
+                        Arrays.copyOf(c.prices, c.size),
+                        Arrays.copyOf(c.categoryIds, c.size)
+                );
+            }
+            int mid = (lo + hi) >>> 1;
+            MergeTask left = new MergeTask(chunks, lo, mid);
+            left.fork();
+            Sorted b = new MergeTask(chunks, mid, hi).compute();
+            Sorted a = left.join();
+            return merge(a, b);
+        }
+
+        private static Sorted merge(Sorted a, Sorted b) {
+            int n = a.epochSeconds().length;
+            int m = b.epochSeconds().length;
+            long[] seconds = new long[n + m];
+            double[] prices = new double[n + m];
+            int[] ids = new int[n + m];
+            int i = 0;
+            int j = 0;
+            for (int k = 0; k < n + m; k++) {
+                if (j == m || (i < n && a.epochSeconds()[i] <= b.epochSeconds()[j])) {
+                    seconds[k] = a.epochSeconds()[i];
+                    prices[k] = a.prices()[i];
+                    ids[k] = a.categoryIds()[i];
+                    i++;
+                } else {
+                    seconds[k] = b.epochSeconds()[j];
+                    prices[k] = b.prices()[j];
+                    ids[k] = b.categoryIds()[j];
+                    j++;
+                }
+            }
+            return new Sorted(seconds, prices, ids);
+        }
+    }
+
+}
@@ -0,0 +1,468 @@
+package pfatool.history;
+
+import pfatool.forecaster.CategoryDictionary;
+import pfatool.forecaster.CategoryDictionary.Category;
+import pfatool.forecaster.PriceData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only store of price records on disk, in a directory holding:<pre>{@literal
+ *     categories.txt     category names, one per line, the id of a category is its line number
+ *     yyyy-MM-dd.prices  records of one UTC day in date order
+ * }</pre>
+ * Each record is 16 bytes, little endian: seconds since the epoch as an unsigned int,
+ * category id as an int and price as a double. Prices are stored exactly, dates to the second
+ * rounded up as in {@link PriceHistory}.
+ * <p>
+ * Every {@value #INDEX_STRIDE}th date of each day is kept in memory as a sparse index, so
+ * reading a range of dates maps the file and starts close to the first record in range.
+ * <p>
+ * Methods can be called from many threads. Appends are made one at a time, reads see
+ * the records appended before the read started.
+ */
+public final class PriceStore {
+
+    static final int RECORD_SIZE = 16;
+    static final int INDEX_STRIDE = 256;
+    private static final String CATEGORIES_FILE = "categories.txt";
+    private static final String PARTITION_SUFFIX = ".prices";
+    private static final long SECONDS_PER_DAY = 86400;
+    private static final long MAX_SECONDS = 0xFFFF_FFFFL;
+
+    private final Path directory;
+    private final List<String> categoryNames = new ArrayList<>();
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private final NavigableMap<Long, Partition> partitions = new TreeMap<>();
+
+    /**
+     * Records of one day, the sparse index holds the date of every INDEX_STRIDE'th record
+     */
+    private static final class Partition {
+        final Path file;
+        int numRecords;
+        long lastSecond = Long.MIN_VALUE;
+        long[] index = new long[16];
+        int indexSize;
+
+        Partition(Path file) {
+            this.file = file;
+        }
+
+        void added(long epochSecond) {
+            if (numRecords % INDEX_STRIDE == 0) {
+                if (indexSize == index.length) {
+                    index = Arrays.copyOf(index, indexSize * 2);
+                }
+                index[indexSize++] = epochSecond;
+            }
+            numRecords++;
+            lastSecond = epochSecond;
+        }
+    }
+
+    private PriceStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Open the store in the given directory, creating it if it does not exist.
+     * A partial record at the end of a file, from an append that did not finish, is removed.
+     *
+     * @param directory directory of the store
+     * @return PriceStore instance
+     * @throws IOException if the files cannot be read
+     */
+    public static PriceStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        PriceStore store = new PriceStore(directory);
+        Path categoriesFile = directory.resolve(CATEGORIES_FILE);
+        if (Files.exists(categoriesFile)) {
+            for (String name : Files.readAllLines(categoriesFile, StandardCharsets.UTF_8)) {
+                if (!name.isEmpty()) {
+                    store.categoryIds.put(name, store.categoryNames.size());
+                    store.categoryNames.add(name);
+                }
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(PARTITION_SUFFIX)).toList()) {
+                String name = file.getFileName().toString();
+                long day = LocalDate.parse(name.substring(0, name.length() - PARTITION_SUFFIX.length())).toEpochDay();
+                store.partitions.put(day, loadPartition(file));
+            }
+        }
+        return store;
+    }
+
+    private static Partition loadPartition(Path file) throws IOException {
+        Partition partition = new Partition(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size % RECORD_SIZE != 0) {
+                size -= size % RECORD_SIZE;
+                channel.truncate(size);
+            }
+            if (size == 0) {
+                return partition;
+            }
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            int numRecords = (int) (size / RECORD_SIZE);
+            // only the dates of the sparse index and the last record are read
+            for (int i = 0; i < numRecords; i += INDEX_STRIDE) {
+                partition.numRecords = i;
+                partition.added(readSeconds(bytes, i));
+            }
+            partition.numRecords = numRecords;
+            partition.lastSecond = readSeconds(bytes, numRecords - 1);
+        }
+        return partition;
+    }
+
+    private static long readSeconds(ByteBuffer bytes, int record) {
+        return Integer.toUnsignedLong(bytes.getInt(record * RECORD_SIZE));
+    }
+
+    /**
+     * Append records to the store. The records are sorted by date before writing, records
+     * with the same date keep their order.
+     *
+     * @param records records to append
+     * @throws IllegalArgumentException if a record is before the last record of its day already
+     * in the store, or its date cannot be stored, in which case no records are written
+     * @throws IOException if the files cannot be written
+     */
+    public synchronized void append(Collection<PriceData> records) throws IOException {
+        List<PriceData> sorted = records.stream()
+                .sorted(Comparator.comparing(PriceData::date))
+                .toList();
+        // check before writing anything
+        for (PriceData d : sorted) {
+            long seconds = PriceHistory.toEpochSecond(d.date());
+            if (seconds < 0 || seconds > MAX_SECONDS) {
+                throw new IllegalArgumentException("Date cannot be stored: " + d);
+            }
+            Partition partition = partitions.get(Math.floorDiv(seconds, SECONDS_PER_DAY));
+            if (partition != null && seconds < partition.lastSecond) {
+                throw new IllegalArgumentException("Record before the last record of its day: " + d);
+            }
+        }
+        // number the categories of the records, then map each to an id of the store once
+        CategoryDictionary.Builder numbering = new CategoryDictionary.Builder();
+        int[] recordIds = new int[sorted.size()];
+        for (int k = 0; k < recordIds.length; k++) {
+            PriceData d = sorted.get(k);
+            recordIds[k] = numbering.add(d.instanceType(), d.instanceDescription(), d.regionZone());
+        }
+        List<Category> seen = numbering.getCategories();
+        int[] storeIds = new int[seen.size()];
+        List<String> newNames = new ArrayList<>();
+        for (int id = 0; id < storeIds.length; id++) {
+            storeIds[id] = addCategory(seen.get(id).name(), newNames);
+        }
+        writeCategories(newNames);
+        int i = 0;
+        while (i < sorted.size()) {
+            long day = Math.floorDiv(PriceHistory.toEpochSecond(sorted.get(i).date()), SECONDS_PER_DAY);
+            int end = i;
+            while (end < sorted.size() && Math.floorDiv(PriceHistory.toEpochSecond(sorted.get(end).date()), SECONDS_PER_DAY) == day) {
+                end++;
+            }
+            ByteBuffer bytes = ByteBuffer.allocate((end - i) * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            for (int k = i; k < end; k++) {
+                PriceData d = sorted.get(k);
+                bytes.putInt((int) PriceHistory.toEpochSecond(d.date()));
+                bytes.putInt(storeIds[recordIds[k]]);
+                bytes.putDouble(d.price());
+            }
+            appendToPartition(day, bytes.flip());
+            i = end;
+        }
+    }
+
+    /**
+     * Append every record of a loaded history, such as to convert a TSV file, see
+     * {@link #importTsv(Path)}. The records are written from the columns of the history
+     * one day at a time, each category id of the history is mapped to an id of the store once.
+     *
+     * @throws IllegalArgumentException if a record is before the last record of its day already
+     * in the store, or its date cannot be stored, in which case no records are written
+     * @throws IOException if the files cannot be written
+     */
+    public synchronized void append(PriceHistory history) throws IOException {
+        int size = history.size();
+        if (size == 0) {
+            return;
+        }
+        // the history is sorted by date, check the first record of each day before writing anything
+        for (int i : new int[]{0, size - 1}) {
+            if (history.getEpochSecond(i) < 0 || history.getEpochSecond(i) > MAX_SECONDS) {
+                throw new IllegalArgumentException("Date cannot be stored: " + history.getRecord(i));
+            }
+        }
+        for (int i = 0; i < size; i = endOfDay(history, i)) {
+            Partition partition = partitions.get(Math.floorDiv(history.getEpochSecond(i), SECONDS_PER_DAY));
+            if (partition != null && history.getEpochSecond(i) < partition.lastSecond) {
+                throw new IllegalArgumentException("Record before the last record of its day: " + history.getRecord(i));
+            }
+        }
+        CategoryDictionary categories = history.getCategories();
+        int[] storeIds = new int[categories.size()];
+        List<String> newNames = new ArrayList<>();
+        for (int id = 0; id < storeIds.length; id++) {
+            storeIds[id] = addCategory(categories.getName(id), newNames);
+        }
+        writeCategories(newNames);
+        for (int i = 0; i < size; ) {
+            int end = endOfDay(history, i);
+            ByteBuffer bytes = ByteBuffer.allocate((end - i) * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            for (int j = i; j < end; j++) {
+                bytes.putInt((int) history.getEpochSecond(j));
+                bytes.putInt(storeIds[history.getCategoryId(j)]);
+                bytes.putDouble(history.getPrice(j));
+            }
+            appendToPartition(Math.floorDiv(history.getEpochSecond(i), SECONDS_PER_DAY), bytes.flip());
+            i = end;
+        }
+    }
+
+    /**
+     * Returns the index after the last record of the day of record i
+     */
+    private static int endOfDay(PriceHistory history, int i) {
+        long day = Math.floorDiv(history.getEpochSecond(i), SECONDS_PER_DAY);
+        return history.lowerBound((day + 1) * SECONDS_PER_DAY);
+    }
+
+    /**
+     * Load a price history file in the tab separated format of
+     * {@link PriceData#loadFromTsv(String)} and append its records
+     *
+     * @param tsvFile UTF-8 tab separated file
+     * @return number of records appended
+     * @throws IOException if the files cannot be read or written
+     */
+    public int importTsv(Path tsvFile) throws IOException {
+        PriceHistory history = new PriceHistoryLoader().load(tsvFile);
+        append(history);
+        return history.size();
+    }
+
+    /**
+     * Returns the id of a category, adding it and its name to newNames if it is new
+     */
+    private int addCategory(String name, List<String> newNames) {
+        Integer id = categoryIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        categoryIds.put(name, categoryNames.size());
+        categoryNames.add(name);
+        newNames.add(name);
+        return categoryNames.size() - 1;
+    }
+
+    private void writeCategories(List<String> newNames) throws IOException {
+        if (!newNames.isEmpty()) {
+            // written before the records that use the ids
+            Files.write(directory.resolve(CATEGORIES_FILE), newNames, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * Append whole records of one day, in date order, from the start to the limit of the buffer
+     */
+    private void appendToPartition(long day, ByteBuffer bytes) throws IOException {
+        Partition partition = partitions.get(day);
+        if (partition == null) {
+            partition = new Partition(directory.resolve(LocalDate.ofEpochDay(day) + PARTITION_SUFFIX));
+        }
+        int numRecords = bytes.limit() / RECORD_SIZE;
+        try (FileChannel channel = FileChannel.open(partition.file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+        for (int i = 0; i < numRecords; i++) {
+            partition.added(readSeconds(bytes, i));
+        }
+        partitions.put(day, partition);
+    }
+
+    /**
+     * Returns the records of one category from a start time (inclusive) to a stop time
+     * (exclusive) in date order. Only the days in range are read, each from close to
+     * the start time.
+     *
+     * @param category category name, eg. c5d.xlarge__SUSE Linux__eu-west-1a
+     * @param fromEpochSecond start time inclusive
+     * @param toEpochSecond stop time exclusive
+     * @return list of records, empty if there are no records of the category
+     * @throws IOException if the files cannot be read
+     */
+    public List<PriceData> getRecords(String category,
+                                      long fromEpochSecond,
+                                      long toEpochSecond) throws IOException {
+        List<PriceData> out = new ArrayList<>();
+        if (fromEpochSecond >= toEpochSecond) {
+            return out;
+        }
+        int id;
+        Category parsed;
+        List<Range> ranges = new ArrayList<>();
+        synchronized (this) {
+            Integer found = categoryIds.get(category);
+            if (found == null) {
+                return out;
+            }
+            id = found;
+            parsed = Category.parse(category);
+            // the records appended so far, and where to start reading each day
+            for (Partition p : partitions.subMap(
+                    Math.floorDiv(fromEpochSecond, SECONDS_PER_DAY), true,
+                    Math.floorDiv(toEpochSecond - 1, SECONDS_PER_DAY), true).values()) {
+                ranges.add(new Range(p.file, startRecord(p, fromEpochSecond), p.numRecords));
+            }
+        }
+        // appends only add to the end of the files, so the ranges can be read without the lock
+        for (Range r : ranges) {
+            if (r.start() < r.stop()) {
+                scan(r.file(), r.start(), r.stop(), id, parsed, fromEpochSecond, toEpochSecond, out);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Returns the records of one category in the days before a given time, such as the
+     * history to make a forecast
+     *
+     * @param category category name, eg. c5d.xlarge__SUSE Linux__eu-west-1a
+     * @param numDays number of days
+     * @param now end of the range, inclusive
+     * @return list of records in date order
+     * @throws IOException if the files cannot be read
+     */
+    public List<PriceData> getLastDays(String category, int numDays, Instant now) throws IOException {
+        long to = now.getEpochSecond() + 1;
+        return getRecords(category, to - numDays * SECONDS_PER_DAY, to);
+    }
+
+    private record Range(Path file, int start, int stop) {}
+
+    /**
+     * Returns the first record of the block of the sparse index that may hold the start time
+     */
+    private static int startRecord(Partition p, long fromEpochSecond) {
+        int lo = 0;
+        int hi = p.indexSize;
+        // find the first index entry at or after the start time
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (p.index[mid] < fromEpochSecond) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        // records with the start time may be in the block before
+        return Math.max(0, lo - 1) * INDEX_STRIDE;
+    }
+
+    private static void scan(Path file,
+                             int start,
+                             int stop,
+                             int id,
+                             Category category,
+                             long fromEpochSecond,
+                             long toEpochSecond,
+                             List<PriceData> out) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                    (long) start * RECORD_SIZE, (long) (stop - start) * RECORD_SIZE);
+        }
+        ByteBuffer bytes = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        OffsetDateTime prevDate = null;
+        long prevSeconds = -1;
+        for (int i = 0; i < stop - start; i++) {
+            long seconds = readSeconds(bytes, i);
+            if (seconds >= toEpochSecond) {
+                break;
+            } else if (seconds < fromEpochSecond || bytes.getInt(i * RECORD_SIZE + 4) != id) {
+                continue;
+            }
+            if (seconds != prevSeconds) {
+                prevDate = OffsetDateTime.ofInstant(Instant.ofEpochSecond(seconds), ZoneOffset.UTC);
+                prevSeconds = seconds;
+            }
+            out.add(new PriceData(prevDate, bytes.getDouble(i * RECORD_SIZE + 8),
+                    category.instanceType(), category.instanceDescription(), category.regionZone()));
+        }
+    }
+
+    /**
+     * Returns the names of the categories in order of id
+     */
+    public synchronized List<String> getCategoryNames() {
+        return List.copyOf(categoryNames);
+    }
+
+    /**
+     * Returns the number of records in the store
+     */
+    public synchronized long size() {
+        return partitions.values().stream()
+                .mapToLong(p -> p.numRecords)
+                .sum();
+    }
+
+    /**
+     * Returns the date of the latest record as seconds since 1970-01-01T00:00Z,
+     * or Long.MIN_VALUE if the store is empty
+     */
+    public synchronized long getLatestEpochSecond() {
+        return partitions.isEmpty() ? Long.MIN_VALUE : partitions.lastEntry().getValue().lastSecond;
+    }
+
+    /**
+     * Convert TSV price history files into a store: PriceStore store-directory file.tsv...
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: PriceStore store-directory file.tsv...");
+            System.exit(1);
+        }
+        PriceStore store = PriceStore.open(Path.of(args[0]));
+        for (int i = 1; i < args.length; i++) {
+            System.out.println(args[i] + ": " + store.importTsv(Path.of(args[i])) + " records");
+        }
+        System.out.println("Store has " + store.size() + " records of "
+                + store.getCategoryNames().size() + " categories");
+    }
+
+}
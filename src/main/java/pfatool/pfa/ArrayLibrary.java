@@ -0,0 +1,345 @@
+package pfatool.pfa;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static pfatool.pfa.PfaCompiler.checkArgs;
+import static pfatool.pfa.PfaCompiler.checkAssignable;
+import static pfatool.pfa.PfaCompiler.checkFunction;
+import static pfatool.pfa.PfaCompiler.requireArray;
+import static pfatool.pfa.PfaCompiler.requireNumeric;
+
+/**
+ * The a.* array functions. Arrays are never modified in place, functions such as
+ * a.append and a.sort return a new array.
+ */
+final class ArrayLibrary {
+
+    private ArrayLibrary() {}
+
+    static void register(Map<String, PfaCompiler.Builtin> table) {
+        table.put("a.len", ArrayLibrary::len);
+        table.put("a.sum", ArrayLibrary::sum);
+        table.put("a.product", ArrayLibrary::product);
+        table.put("a.mean", ArrayLibrary::mean);
+        table.put("a.max", ArrayLibrary::extreme);
+        table.put("a.min", ArrayLibrary::extreme);
+        table.put("a.argmax", ArrayLibrary::argExtreme);
+        table.put("a.argmin", ArrayLibrary::argExtreme);
+        table.put("a.head", ArrayLibrary::headOrLast);
+        table.put("a.last", ArrayLibrary::headOrLast);
+        table.put("a.map", ArrayLibrary::map);
+        table.put("a.filter", ArrayLibrary::filter);
+        table.put("a.fold", ArrayLibrary::fold);
+        table.put("a.reduce", ArrayLibrary::reduce);
+        table.put("a.zipmap", ArrayLibrary::zipmap);
+        table.put("a.subseq", ArrayLibrary::subseq);
+        table.put("a.concat", ArrayLibrary::concat);
+        table.put("a.append", ArrayLibrary::append);
+        table.put("a.sort", ArrayLibrary::sort);
+        table.put("a.reverse", ArrayLibrary::reverse);
+    }
+
+    /**
+     * Helper to get the array argument as a list
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Object> list(Expr expr, Frame frame) {
+        return (List<Object>) expr.eval(frame);
+    }
+
+    /**
+     * Helper for functions that fail on an empty array
+     */
+    private static List<Object> nonEmpty(String name, Expr expr, Frame frame) {
+        List<Object> list = list(expr, frame);
+        if (list.isEmpty()) {
+            throw new IllegalStateException(name + " of empty array");
+        }
+        return list;
+    }
+
+    private static Typed len(String name, List<Typed> args) {
+        checkArgs(name, args, 1);
+        requireArray(name, args.get(0));
+        Expr a = args.get(0).expr();
+        return Typed.of((Expr.OfDouble) frame -> list(a, frame).size(), PfaType.INT);
+    }
+
+    private static PfaType numericItems(String name, Typed arg) {
+        PfaType items = requireArray(name, arg);
+        if (!items.isNumeric()) {
+            throw new IllegalArgumentException(name + " expects an array of numbers, got " + arg.type());
+        }
+        return items;
+    }
+
+    private static Typed sum(String name, List<Typed> args) {
+        checkArgs(name, args, 1);
+        PfaType items = numericItems(name, args.get(0));
+        Expr a = args.get(0).expr();
+        return Typed.of((Expr.OfDouble) frame -> {
+            double sum = 0.0;
+            for (Object x : list(a, frame)) {
+                sum += ((Number) x).doubleValue();
+            }
+            return sum;
+        }, items);
+    }
+
+    private static Typed product(String name, List<Typed> args) {
+        checkArgs(name, args, 1);
+        PfaType items = numericItems(name, args.get(0));
+        Expr a = args.get(0).expr();
+        return Typed.of((Expr.OfDouble) frame -> {
+            double product = 1.0;
+            for (Object x : list(a, frame)) {
+                product *= ((Number) x).doubleValue();
+            }
+            return product;
+        }, items);
+    }
+
+    /**
+     * Sums the items in order and then divides by the number of items, the same as
+     * {@link pfatool.generated.PfaTreeEnsemble} so that forests give identical results
+     */
+    private static Typed mean(String name, List<Typed> args) {
+        checkArgs(name, args, 1);
+        numericItems(name, args.get(0));
+        Expr a = args.get(0).expr();
+        return Typed.of((Expr.OfDouble) frame -> {
+            List<Object> list = nonEmpty(name, a, frame);
+            double sum = 0.0;
+            for (Object x : list) {
+                sum += ((Number) x).doubleValue();
+            }
+            return sum / list.size();
+        }, PfaType.DOUBLE);
+    }
+
+    /**
+     * Index of the largest or smallest item, the first one if there are ties
+     */
+    private static int indexOfExtreme(String name, List<Object> list) {
+        int sign = name.endsWith("max") ? 1 : -1;
+        int best = 0;
+        for (int i = 1; i < list.size(); i++) {
+            if (sign * PfaValues.compare(list.get(i), list.get(best)) > 0) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static Typed extreme(String name, List<Typed> args) {
+        checkArgs(name, args, 1);
+        PfaType items = requireArray(name, args.get(0));
+        Expr a = args.get(0).expr();
+        return Typed.of(frame -> {
+            List<Object> list = nonEmpty(name, a, frame);
+            return list.get(indexOfExtreme(name, list));
+        }, items);
+    }
+
+    private static Typed argExtreme(String name, List<Typed> args) {
+        checkArgs(name, args, 1);
+        requireArray(name, args.get(0));
+        Expr a = args.get(0).expr();
+        return Typed.of((Expr.OfDouble) frame -> indexOfExtreme(name, nonEmpty(name, a, frame)), PfaType.INT);
+    }
+
+    private static Typed headOrLast(String name, List<Typed> args) {
+        checkArgs(name, args, 1);
+        PfaType items = requireArray(name, args.get(0));
+        Expr a = args.get(0).expr();
+        boolean head = name.equals("a.head");
+        return Typed.of(frame -> {
+            List<Object> list = nonEmpty(name, a, frame);
+            return head ? list.get(0) : list.get(list.size() - 1);
+        }, items);
+    }
+
+    private static Typed map(String name, List<Typed> args) {
+        checkArgs(name, args, 2);
+        PfaType items = requireArray(name, args.get(0));
+        Typed.Signature fcn = checkFunction(name, args.get(1), 1);
+        checkAssignable(fcn.params().get(0), items, name);
+        Expr a = args.get(0).expr();
+        Expr f = args.get(1).expr();
+        return Typed.of(frame -> {
+            List<Object> list = list(a, frame);
+            PfaFunction fn = (PfaFunction) f.eval(frame);
+            List<Object> out = new ArrayList<>(list.size());
+            for (Object x : list) {
+                out.add(fn.call(x));
+            }
+            return out;
+        }, PfaType.arrayOf(fcn.ret()));
+    }
+
+    private static Typed filter(String name, List<Typed> args) {
+        checkArgs(name, args, 2);
+        PfaType items = requireArray(name, args.get(0));
+        Typed.Signature fcn = checkFunction(name, args.get(1), 1);
+        checkAssignable(fcn.params().get(0), items, name);
+        checkAssignable(PfaType.BOOLEAN, fcn.ret(), name);
+        Expr a = args.get(0).expr();
+        Expr f = args.get(1).expr();
+        return Typed.of(frame -> {
+            PfaFunction fn = (PfaFunction) f.eval(frame);
+            List<Object> out = new ArrayList<>();
+            for (Object x : list(a, frame)) {
+                if ((Boolean) fn.call(x)) {
+                    out.add(x);
+                }
+            }
+            return out;
+        }, args.get(0).type());
+    }
+
+    /**
+     * Combine the items in order, starting from zero: fcn(...fcn(fcn(zero, a[0]), a[1])..., a[n-1])
+     */
+    private static Typed fold(String name, List<Typed> args) {
+        checkArgs(name, args, 3);
+        PfaType items = requireArray(name, args.get(0));
+        Typed.Signature fcn = checkFunction(name, args.get(2), 2);
+        checkAssignable(fcn.params().get(0), args.get(1).type(), name);
+        checkAssignable(fcn.params().get(1), items, name);
+        checkAssignable(fcn.params().get(0), fcn.ret(), name);
+        Expr a = args.get(0).expr();
+        Expr zero = args.get(1).expr();
+        Expr f = args.get(2).expr();
+        Expr expr = frame -> {
+            PfaFunction fn = (PfaFunction) f.eval(frame);
+            Object acc = zero.eval(frame);
+            for (Object x : list(a, frame)) {
+                acc = fn.call(acc, x);
+            }
+            return acc;
+        };
+        return Typed.of(expr, fcn.ret());
+    }
+
+    private static Typed reduce(String name, List<Typed> args) {
+        checkArgs(name, args, 2);
+        PfaType items = requireArray(name, args.get(0));
+        Typed.Signature fcn = checkFunction(name, args.get(1), 2);
+        checkAssignable(fcn.params().get(0), items, name);
+        checkAssignable(fcn.params().get(1), items, name);
+        checkAssignable(items, fcn.ret(), name);
+        Expr a = args.get(0).expr();
+        Expr f = args.get(1).expr();
+        return Typed.of(frame -> {
+            List<Object> list = nonEmpty(name, a, frame);
+            PfaFunction fn = (PfaFunction) f.eval(frame);
+            Object acc = list.get(0);
+            for (int i = 1; i < list.size(); i++) {
+                acc = fn.call(acc, list.get(i));
+            }
+            return acc;
+        }, items);
+    }
+
+    private static Typed zipmap(String name, List<Typed> args) {
+        checkArgs(name, args, 3);
+        PfaType itemsA = requireArray(name, args.get(0));
+        PfaType itemsB = requireArray(name, args.get(1));
+        Typed.Signature fcn = checkFunction(name, args.get(2), 2);
+        checkAssignable(fcn.params().get(0), itemsA, name);
+        checkAssignable(fcn.params().get(1), itemsB, name);
+        Expr a = args.get(0).expr();
+        Expr b = args.get(1).expr();
+        Expr f = args.get(2).expr();
+        return Typed.of(frame -> {
+            List<Object> listA = list(a, frame);
+            List<Object> listB = list(b, frame);
+            if (listA.size() != listB.size()) {
+                throw new IllegalStateException(name + " of arrays with different lengths");
+            }
+            PfaFunction fn = (PfaFunction) f.eval(frame);
+            List<Object> out = new ArrayList<>(listA.size());
+            for (int i = 0; i < listA.size(); i++) {
+                out.add(fn.call(listA.get(i), listB.get(i)));
+            }
+            return out;
+        }, PfaType.arrayOf(fcn.ret()));
+    }
+
+    /**
+     * Items from start (inclusive) to end (exclusive), negative indexes count from the end
+     */
+    private static Typed subseq(String name, List<Typed> args) {
+        checkArgs(name, args, 3);
+        requireArray(name, args.get(0));
+        Expr a = args.get(0).expr();
+        Expr start = requireNumeric(name, args.get(1)).expr();
+        Expr end = requireNumeric(name, args.get(2)).expr();
+        return Typed.of(frame -> {
+            List<Object> list = list(a, frame);
+            int n = list.size();
+            int from = clampIndex((int) start.evalDouble(frame), n);
+            int to = clampIndex((int) end.evalDouble(frame), n);
+            return from < to ? new ArrayList<>(list.subList(from, to)) : new ArrayList<>();
+        }, args.get(0).type());
+    }
+
+    private static int clampIndex(int i, int n) {
+        return Math.max(0, Math.min(n, i < 0 ? n + i : i));
+    }
+
+    private static Typed concat(String name, List<Typed> args) {
+        checkArgs(name, args, 2);
+        requireArray(name, args.get(0));
+        requireArray(name, args.get(1));
+        checkAssignable(args.get(0).type(), args.get(1).type(), name);
+        Expr a = args.get(0).expr();
+        Expr b = args.get(1).expr();
+        return Typed.of(frame -> {
+            List<Object> out = new ArrayList<>(list(a, frame));
+            out.addAll(list(b, frame));
+            return out;
+        }, args.get(0).type());
+    }
+
+    private static Typed append(String name, List<Typed> args) {
+        checkArgs(name, args, 2);
+        PfaType items = requireArray(name, args.get(0));
+        checkAssignable(items, args.get(1).type(), name);
+        Expr a = args.get(0).expr();
+        Expr item = args.get(1).expr();
+        return Typed.of(frame -> {
+            List<Object> list = list(a, frame);
+            List<Object> out = new ArrayList<>(list.size() + 1);
+            out.addAll(list);
+            out.add(item.eval(frame));
+            return out;
+        }, args.get(0).type());
+    }
+
+    private static Typed sort(String name, List<Typed> args) {
+        checkArgs(name, args, 1);
+        requireArray(name, args.get(0));
+        Expr a = args.get(0).expr();
+        return Typed.of(frame -> {
+            List<Object> out = new ArrayList<>(list(a, frame));
+            out.sort(PfaValues::compare);
+            return out;
+        }, args.get(0).type());
+    }
+
+    private static Typed reverse(String name, List<Typed> args) {
+        checkArgs(name, args, 1);
+        requireArray(name, args.get(0));
+        Expr a = args.get(0).expr();
+        return Typed.of(frame -> {
+            List<Object> out = new ArrayList<>(list(a, frame));
+            Collections.reverse(out);
+            return out;
+        }, args.get(0).type());
+    }
+
+}
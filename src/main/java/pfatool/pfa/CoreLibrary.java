@@ -0,0 +1,207 @@
+package pfatool.pfa;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+import static pfatool.pfa.PfaCompiler.checkArgs;
+import static pfatool.pfa.PfaCompiler.requireBoolean;
+import static pfatool.pfa.PfaCompiler.requireNumeric;
+
+/**
+ * Core operators and the m.* math functions. Numeric results are computed in double
+ * precision, so the int and long types are exact up to 2^53.
+ */
+final class CoreLibrary {
+
+    private CoreLibrary() {}
+
+    static void register(Map<String, PfaCompiler.Builtin> table) {
+        table.put("+", CoreLibrary::arithmetic);
+        table.put("-", CoreLibrary::arithmetic);
+        table.put("*", CoreLibrary::arithmetic);
+        table.put("/", CoreLibrary::arithmetic);
+        table.put("//", CoreLibrary::arithmetic);
+        table.put("%", CoreLibrary::arithmetic);
+        table.put("%%", CoreLibrary::arithmetic);
+        table.put("**", CoreLibrary::arithmetic);
+        table.put("min", CoreLibrary::arithmetic);
+        table.put("max", CoreLibrary::arithmetic);
+        table.put("u-", (name, args) -> unary(name, args, x -> -x, false));
+
+        table.put("==", CoreLibrary::comparison);
+        table.put("!=", CoreLibrary::comparison);
+        table.put("<", CoreLibrary::comparison);
+        table.put("<=", CoreLibrary::comparison);
+        table.put(">", CoreLibrary::comparison);
+        table.put(">=", CoreLibrary::comparison);
+
+        table.put("&&", CoreLibrary::logical);
+        table.put("||", CoreLibrary::logical);
+        table.put("^^", CoreLibrary::logical);
+        table.put("!", CoreLibrary::not);
+
+        table.put("m.abs", (name, args) -> unary(name, args, Math::abs, false));
+        table.put("m.sqrt", (name, args) -> unary(name, args, Math::sqrt, true));
+        table.put("m.exp", (name, args) -> unary(name, args, Math::exp, true));
+        table.put("m.ln", (name, args) -> unary(name, args, Math::log, true));
+        table.put("m.log10", (name, args) -> unary(name, args, Math::log10, true));
+        table.put("m.floor", (name, args) -> unary(name, args, Math::floor, true));
+        table.put("m.ceil", (name, args) -> unary(name, args, Math::ceil, true));
+        table.put("m.sin", (name, args) -> unary(name, args, Math::sin, true));
+        table.put("m.cos", (name, args) -> unary(name, args, Math::cos, true));
+        table.put("m.tan", (name, args) -> unary(name, args, Math::tan, true));
+        table.put("m.tanh", (name, args) -> unary(name, args, Math::tanh, true));
+        table.put("m.signum", (name, args) -> unary(name, args, Math::signum, true));
+        table.put("m.round", CoreLibrary::round);
+        table.put("m.hypot", (name, args) -> binary(name, args, PfaType.DOUBLE, Math::hypot));
+        table.put("m.pi", (name, args) -> constant(name, args, Math.PI));
+        table.put("m.e", (name, args) -> constant(name, args, Math.E));
+    }
+
+    private static Typed arithmetic(String name, List<Typed> args) {
+        checkArgs(name, args, 2);
+        PfaType a = requireNumeric(name, args.get(0)).type();
+        PfaType b = requireNumeric(name, args.get(1)).type();
+        PfaType widest = a.getKind().compareTo(b.getKind()) >= 0 ? a : b;
+        switch (name) {
+            case "+":
+                return binary(name, args, widest, Double::sum);
+            case "-":
+                return binary(name, args, widest, (x, y) -> x - y);
+            case "*":
+                return binary(name, args, widest, (x, y) -> x * y);
+            case "/":
+                return binary(name, args, PfaType.DOUBLE, (x, y) -> x / y);
+            case "//":
+                requireIntegral(name, widest);
+                return binary(name, args, widest, (x, y) -> {
+                    if (y == 0.0) {
+                        throw new IllegalStateException("integer division by zero");
+                    }
+                    return Math.floor(x / y);
+                });
+            case "%":
+                // result has the sign of the divisor
+                return binary(name, args, widest, (x, y) -> {
+                    double r = x % y;
+                    return r != 0.0 && (r < 0.0) != (y < 0.0) ? r + y : r;
+                });
+            case "%%":
+                // result has the sign of the dividend
+                return binary(name, args, widest, (x, y) -> x % y);
+            case "**":
+                return binary(name, args, widest, Math::pow);
+            case "min":
+                return binary(name, args, widest, Math::min);
+            case "max":
+                return binary(name, args, widest, Math::max);
+            default:
+                throw new IllegalArgumentException("unknown function: " + name);
+        }
+    }
+
+    private static void requireIntegral(String name, PfaType type) {
+        if (!type.isIntegral()) {
+            throw new IllegalArgumentException(name + " expects int or long, got " + type);
+        }
+    }
+
+    /**
+     * Function of two numbers. Addition and multiplication are the most common, so they are
+     * written out directly rather than called through the operator.
+     */
+    private static Typed binary(String name, List<Typed> args, PfaType type, DoubleBinaryOperator op) {
+        checkArgs(name, args, 2);
+        Expr a = requireNumeric(name, args.get(0)).expr();
+        Expr b = requireNumeric(name, args.get(1)).expr();
+        Expr.OfDouble expr = switch (name) {
+            case "+" -> frame -> a.evalDouble(frame) + b.evalDouble(frame);
+            case "*" -> frame -> a.evalDouble(frame) * b.evalDouble(frame);
+            default -> frame -> op.applyAsDouble(a.evalDouble(frame), b.evalDouble(frame));
+        };
+        return fold(expr, type, args);
+    }
+
+    private static Typed unary(String name, List<Typed> args, DoubleUnaryOperator op, boolean toDouble) {
+        checkArgs(name, args, 1);
+        Typed arg = requireNumeric(name, args.get(0));
+        Expr x = arg.expr();
+        return fold(frame -> op.applyAsDouble(x.evalDouble(frame)), toDouble ? PfaType.DOUBLE : arg.type(), args);
+    }
+
+    /**
+     * Rounds to the nearest whole number, halves round up
+     */
+    private static Typed round(String name, List<Typed> args) {
+        checkArgs(name, args, 1);
+        Expr x = requireNumeric(name, args.get(0)).expr();
+        return fold(frame -> (double) Math.round(x.evalDouble(frame)), PfaType.LONG, args);
+    }
+
+    private static Typed constant(String name, List<Typed> args, double value) {
+        checkArgs(name, args, 0);
+        return Typed.constant(value, PfaType.DOUBLE);
+    }
+
+    /**
+     * If all the arguments are constant the result is worked out once when compiling
+     */
+    private static Typed fold(Expr.OfDouble expr, PfaType type, List<Typed> args) {
+        if (args.stream().allMatch(Typed::isConstant)) {
+            return Typed.constant(expr.evalDouble(null), type);
+        }
+        return Typed.of(expr, type);
+    }
+
+    private static Typed comparison(String name, List<Typed> args) {
+        checkArgs(name, args, 2);
+        Typed a = args.get(0);
+        Typed b = args.get(1);
+        if (a.isFunction() || b.isFunction()) {
+            throw new IllegalArgumentException(name + " cannot compare functions");
+        }
+        Expr x = a.expr();
+        Expr y = b.expr();
+        if (a.type().isNumeric() && b.type().isNumeric()) {
+            return Typed.of(switch (name) {
+                case "==" -> (Expr.OfBoolean) frame -> x.evalDouble(frame) == y.evalDouble(frame);
+                case "!=" -> (Expr.OfBoolean) frame -> x.evalDouble(frame) != y.evalDouble(frame);
+                case "<" -> (Expr.OfBoolean) frame -> x.evalDouble(frame) < y.evalDouble(frame);
+                case "<=" -> (Expr.OfBoolean) frame -> x.evalDouble(frame) <= y.evalDouble(frame);
+                case ">" -> (Expr.OfBoolean) frame -> x.evalDouble(frame) > y.evalDouble(frame);
+                default -> (Expr.OfBoolean) frame -> x.evalDouble(frame) >= y.evalDouble(frame);
+            }, PfaType.BOOLEAN);
+        }
+        if (a.type().getKind() != b.type().getKind()) {
+            throw new IllegalArgumentException(name + " cannot compare " + a.type() + " with " + b.type());
+        }
+        return Typed.of(switch (name) {
+            case "==" -> (Expr.OfBoolean) frame -> PfaValues.valuesEqual(x.eval(frame), y.eval(frame));
+            case "!=" -> (Expr.OfBoolean) frame -> !PfaValues.valuesEqual(x.eval(frame), y.eval(frame));
+            case "<" -> (Expr.OfBoolean) frame -> PfaValues.compare(x.eval(frame), y.eval(frame)) < 0;
+            case "<=" -> (Expr.OfBoolean) frame -> PfaValues.compare(x.eval(frame), y.eval(frame)) <= 0;
+            case ">" -> (Expr.OfBoolean) frame -> PfaValues.compare(x.eval(frame), y.eval(frame)) > 0;
+            default -> (Expr.OfBoolean) frame -> PfaValues.compare(x.eval(frame), y.eval(frame)) >= 0;
+        }, PfaType.BOOLEAN);
+    }
+
+    private static Typed logical(String name, List<Typed> args) {
+        checkArgs(name, args, 2);
+        Expr a = requireBoolean(name, args.get(0)).expr();
+        Expr b = requireBoolean(name, args.get(1)).expr();
+        return Typed.of(switch (name) {
+            case "&&" -> (Expr.OfBoolean) frame -> a.evalBoolean(frame) && b.evalBoolean(frame);
+            case "||" -> (Expr.OfBoolean) frame -> a.evalBoolean(frame) || b.evalBoolean(frame);
+            default -> (Expr.OfBoolean) frame -> a.evalBoolean(frame) ^ b.evalBoolean(frame);
+        }, PfaType.BOOLEAN);
+    }
+
+    private static Typed not(String name, List<Typed> args) {
+        checkArgs(name, args, 1);
+        Expr a = requireBoolean(name, args.get(0)).expr();
+        return Typed.of((Expr.OfBoolean) frame -> !a.evalBoolean(frame), PfaType.BOOLEAN);
+    }
+
+}
@@ -0,0 +1,65 @@
+package pfatool.pfa;
+
+/**
+ * Compiled PFA expression. The PFA document is parsed once into a tree of these closures,
+ * with variables, cells, record fields and functions already resolved to positions, so
+ * evaluating an expression does not look at the JSON again.
+ * <p>
+ * Numbers are held as Double. Expressions that produce numbers or booleans implement
+ * {@link OfDouble} or {@link OfBoolean}, so that arithmetic and comparisons can be chained
+ * without boxing the intermediate values.
+ */
+@FunctionalInterface
+interface Expr {
+
+    /**
+     * Evaluate the expression
+     *
+     * @param frame variables of the current call
+     * @return value of the expression
+     */
+    Object eval(Frame frame);
+
+    /**
+     * Evaluate an expression of numeric type
+     */
+    default double evalDouble(Frame frame) {
+        return ((Number) eval(frame)).doubleValue();
+    }
+
+    /**
+     * Evaluate an expression of boolean type
+     */
+    default boolean evalBoolean(Frame frame) {
+        return (Boolean) eval(frame);
+    }
+
+    /**
+     * Expression that produces a number without boxing
+     */
+    @FunctionalInterface
+    interface OfDouble extends Expr {
+        @Override
+        double evalDouble(Frame frame);
+
+        @Override
+        default Object eval(Frame frame) {
+            return evalDouble(frame);
+        }
+    }
+
+    /**
+     * Expression that produces a boolean without boxing
+     */
+    @FunctionalInterface
+    interface OfBoolean extends Expr {
+        @Override
+        boolean evalBoolean(Frame frame);
+
+        @Override
+        default Object eval(Frame frame) {
+            return evalBoolean(frame);
+        }
+    }
+
+}
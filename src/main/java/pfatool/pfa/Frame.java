@@ -0,0 +1,29 @@
+package pfatool.pfa;
+
+/**
+ * Variables of one call of the action or of a function. Each variable has a slot number
+ * assigned when the document is compiled. Functions defined inline can read the variables
+ * of the frame they were created in through the parent frame.
+ */
+final class Frame {
+
+    final Object[] slots;
+    final Frame parent;
+
+    Frame(int numSlots, Frame parent) {
+        this.slots = new Object[numSlots];
+        this.parent = parent;
+    }
+
+    /**
+     * Returns the frame depth levels above this one
+     */
+    Frame up(int depth) {
+        Frame f = this;
+        for (int i = 0; i < depth; i++) {
+            f = f.parent;
+        }
+        return f;
+    }
+
+}
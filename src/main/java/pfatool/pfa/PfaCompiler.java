@@ -0,0 +1,944 @@
+package pfatool.pfa;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles a PFA document into closures. Every variable is given a slot in the frame of the
+ * function that declares it, every cell a position in the array of cell values, and every
+ * function name is looked up once, so the resulting {@link Expr} tree never looks at names.
+ * <p>
+ * Supported subset:<br>
+ * literals, variables and dotted paths such as "input.lag_00"<br>
+ * do, let, set, if, cond, while, for, foreach, attr, new, value, error, doc<br>
+ * cells, including updates with "to"<br>
+ * user functions in "fcns", function references {"fcn": "u.name"} and inline functions<br>
+ * the library functions registered by {@link CoreLibrary}, {@link ArrayLibrary} and {@link TreeLibrary}
+ */
+final class PfaCompiler {
+
+    /**
+     * Library function, compiled from the already compiled arguments
+     */
+    @FunctionalInterface
+    interface Builtin {
+        /**
+         * @param name name the function was called by
+         * @param args compiled arguments
+         * @return compiled call
+         * @throws IllegalArgumentException if the arguments do not suit the function
+         */
+        Typed compile(String name, List<Typed> args);
+    }
+
+    private static final Map<String, Builtin> LIBRARY = new HashMap<>();
+
+    static {
+        CoreLibrary.register(LIBRARY);
+        ArrayLibrary.register(LIBRARY);
+        TreeLibrary.register(LIBRARY);
+    }
+
+    private static final Set<String> LITERAL_TYPES = Set.of("int", "long", "float", "double", "string", "boolean");
+
+    /**
+     * Slots of one function, numbered in order of declaration
+     */
+    private static final class FunctionScope {
+        final FunctionScope outer;
+        int numSlots;
+
+        FunctionScope(FunctionScope outer) {
+            this.outer = outer;
+        }
+    }
+
+    private record Var(int slot, PfaType type, FunctionScope owner) {}
+
+    /**
+     * Variables declared in one block
+     */
+    private static final class Scope {
+        final Scope parent;
+        final FunctionScope fn;
+        final Map<String, Var> vars = new HashMap<>();
+
+        Scope(Scope parent, FunctionScope fn) {
+            this.parent = parent;
+            this.fn = fn;
+        }
+    }
+
+    /**
+     * Function defined in "fcns", the body is filled in after all the signatures are known
+     * so that functions can call each other
+     */
+    private static final class UserFunction {
+        final Typed.Signature signature;
+        Expr body;
+        int numSlots;
+
+        UserFunction(Typed.Signature signature) {
+            this.signature = signature;
+        }
+    }
+
+    private final JsonNode doc;
+    private final Map<String, PfaType> names = new HashMap<>();
+    private final Map<String, Integer> cellIndex = new LinkedHashMap<>();
+    private final List<PfaType> cellTypes = new ArrayList<>();
+    private final Set<String> writtenCells = new HashSet<>();
+    private final Map<String, UserFunction> userFunctions = new HashMap<>();
+    private Object[] cellValues;
+    private Scope scope;
+
+    private PfaType inputType;
+    private PfaType outputType;
+    private Expr action;
+    private int actionSlots;
+
+    private PfaCompiler(JsonNode doc) {
+        this.doc = doc;
+    }
+
+    /**
+     * Compile a PFA document
+     *
+     * @param doc PFA document
+     * @return compiler holding the compiled action, types and cells
+     * @throws IllegalArgumentException if the document is not valid or uses unsupported features
+     */
+    static PfaCompiler compile(JsonNode doc) {
+        PfaCompiler compiler = new PfaCompiler(doc);
+        compiler.compileDocument();
+        return compiler;
+    }
+
+    private void compileDocument() {
+        if (!doc.isObject() || !doc.has("input") || !doc.has("output") || !doc.has("action")) {
+            throw new IllegalArgumentException("PFA document needs input, output and action");
+        }
+        String method = doc.path("method").asText("map");
+        if (!method.equals("map")) {
+            throw new IllegalArgumentException("unsupported method: " + method);
+        }
+        inputType = PfaType.parse(doc.get("input"), names);
+        outputType = PfaType.parse(doc.get("output"), names);
+        findWrittenCells(doc.get("action"));
+        findWrittenCells(doc.path("fcns"));
+        compileCells(doc.path("cells"));
+        compileUserFunctions(doc.path("fcns"));
+
+        FunctionScope fn = new FunctionScope(null);
+        scope = new Scope(null, fn);
+        declare("input", inputType);
+        Typed body = compileBlock(doc.get("action"));
+        checkAssignable(outputType, body.type(), "action");
+        action = body.expr();
+        actionSlots = fn.numSlots;
+        scope = null;
+    }
+
+    /**
+     * Cells that are never written hold the same value for the life of the engine, so
+     * reading one is compiled as a constant
+     */
+    private void findWrittenCells(JsonNode json) {
+        if (json.isObject() && json.has("cell") && json.has("to")) {
+            writtenCells.add(json.get("cell").asText());
+        }
+        json.forEach(this::findWrittenCells);
+    }
+
+    private void compileCells(JsonNode cells) {
+        List<Object> values = new ArrayList<>();
+        cells.fields().forEachRemaining(entry -> {
+            PfaType type = PfaType.parse(entry.getValue().get("type"), names);
+            JsonNode init = entry.getValue().get("init");
+            if (init == null) {
+                throw new IllegalArgumentException("cell needs init: " + entry.getKey());
+            }
+            cellIndex.put(entry.getKey(), cellTypes.size());
+            cellTypes.add(type);
+            values.add(PfaValues.fromJson(init, type));
+        });
+        cellValues = values.toArray();
+    }
+
+    private void compileUserFunctions(JsonNode fcns) {
+        Map<String, JsonNode> bodies = new LinkedHashMap<>();
+        fcns.fields().forEachRemaining(entry -> {
+            UserFunction fn = new UserFunction(parseSignature(entry.getValue()));
+            userFunctions.put("u." + entry.getKey(), fn);
+            bodies.put("u." + entry.getKey(), entry.getValue());
+        });
+        bodies.forEach((name, json) -> {
+            UserFunction fn = userFunctions.get(name);
+            FunctionScope fs = new FunctionScope(null);
+            scope = new Scope(null, fs);
+            declareParams(json, fn.signature);
+            Typed body = compileBlock(json.get("do"));
+            checkAssignable(fn.signature.ret(), body.type(), name);
+            fn.body = body.expr();
+            fn.numSlots = fs.numSlots;
+        });
+        scope = null;
+    }
+
+    private Typed.Signature parseSignature(JsonNode json) {
+        if (!json.has("params") || !json.has("ret") || !json.has("do")) {
+            throw new IllegalArgumentException("function needs params, ret and do: " + json);
+        }
+        List<PfaType> params = new ArrayList<>();
+        for (JsonNode param : json.get("params")) {
+            params.add(PfaType.parse(param.fields().next().getValue(), names));
+        }
+        return new Typed.Signature(params, PfaType.parse(json.get("ret"), names));
+    }
+
+    private void declareParams(JsonNode json, Typed.Signature signature) {
+        int i = 0;
+        for (JsonNode param : json.get("params")) {
+            declare(param.fields().next().getKey(), signature.params().get(i++));
+        }
+    }
+
+    /**
+     * Compile an expression
+     *
+     * @param json expression in JSON form
+     * @return compiled expression with its type
+     * @throws IllegalArgumentException if the expression is not valid
+     */
+    Typed compileExpr(JsonNode json) {
+        if (json.isNull()) {
+            return Typed.constant(null, PfaType.NULL);
+        } else if (json.isBoolean()) {
+            return Typed.constant(json.asBoolean(), PfaType.BOOLEAN);
+        } else if (json.isIntegralNumber()) {
+            return Typed.constant(json.asDouble(), json.canConvertToInt() ? PfaType.INT : PfaType.LONG);
+        } else if (json.isNumber()) {
+            return Typed.constant(json.asDouble(), PfaType.DOUBLE);
+        } else if (json.isTextual()) {
+            return compileReference(json.asText());
+        } else if (!json.isObject() || json.isEmpty()) {
+            throw new IllegalArgumentException("not an expression: " + json);
+        }
+        if (json.has("if")) {
+            return compileIf(json);
+        } else if (json.has("cond")) {
+            return compileCond(json);
+        } else if (json.has("for")) {
+            return compileFor(json);
+        } else if (json.has("while")) {
+            return compileWhile(json);
+        } else if (json.has("foreach")) {
+            return compileForeach(json);
+        } else if (json.has("attr")) {
+            return compilePath(compileExpr(json.get("attr")), json.path("path"));
+        } else if (json.has("cell")) {
+            return compileCell(json);
+        } else if (json.has("new")) {
+            return compileNew(json);
+        } else if (json.has("value") && json.has("type")) {
+            PfaType type = PfaType.parse(json.get("type"), names);
+            return Typed.constant(PfaValues.fromJson(json.get("value"), type), type);
+        } else if (json.has("params")) {
+            return compileInlineFunction(json);
+        } else if (json.has("fcn")) {
+            return compileFunctionRef(json.get("fcn").asText());
+        }
+
+        Map.Entry<String, JsonNode> entry = json.fields().next();
+        String key = entry.getKey();
+        JsonNode value = entry.getValue();
+        if (json.size() == 1 && LITERAL_TYPES.contains(key)) {
+            PfaType type = PfaType.parse(TextNode.valueOf(key), names);
+            return Typed.constant(PfaValues.fromJson(value, type), type);
+        }
+        switch (key) {
+            case "do":
+                return compileBlock(value);
+            case "let":
+                return compileLet(value);
+            case "set":
+                return compileSet(value);
+            case "doc":
+                return Typed.constant(null, PfaType.NULL);
+            case "error": {
+                String message = value.asText();
+                return Typed.of(frame -> {
+                    throw new IllegalStateException("PFA error: " + message);
+                }, PfaType.NULL);
+            }
+            default:
+                return compileCall(key, value);
+        }
+    }
+
+    /**
+     * Compile one expression or an array of expressions in a new block. The value of the
+     * block is the value of the last expression.
+     */
+    private Typed compileBlock(JsonNode json) {
+        Scope outer = scope;
+        scope = new Scope(outer, outer.fn);
+        try {
+            if (!json.isArray()) {
+                return compileExpr(json);
+            }
+            if (json.isEmpty()) {
+                throw new IllegalArgumentException("empty block");
+            }
+            Expr[] exprs = new Expr[json.size()];
+            Typed last = null;
+            for (int i = 0; i < exprs.length; i++) {
+                last = compileExpr(json.get(i));
+                exprs[i] = last.expr();
+            }
+            if (exprs.length == 1) {
+                return last;
+            }
+            int n = exprs.length - 1;
+            Expr result = exprs[n];
+            Expr block = frame -> {
+                for (int i = 0; i < n; i++) {
+                    exprs[i].eval(frame);
+                }
+                return result.eval(frame);
+            };
+            return Typed.of(block, last.type());
+        } finally {
+            scope = outer;
+        }
+    }
+
+    /**
+     * Variable name, optionally followed by a dotted path of field names, map keys or array indexes
+     */
+    private Typed compileReference(String text) {
+        String[] parts = text.split("\\.");
+        Var var = lookup(parts[0]);
+        if (var == null) {
+            throw new IllegalArgumentException("unknown variable: " + parts[0]);
+        }
+        int slot = var.slot();
+        int depth = depth(var);
+        Expr expr;
+        if (depth == 0) {
+            expr = var.type().isNumeric()
+                    ? (Expr.OfDouble) frame -> ((Number) frame.slots[slot]).doubleValue()
+                    : frame -> frame.slots[slot];
+        } else {
+            expr = frame -> frame.up(depth).slots[slot];
+        }
+        Typed result = Typed.of(expr, var.type());
+        for (int i = 1; i < parts.length; i++) {
+            String part = parts[i];
+            Typed key = result.type().getKind() == PfaType.Kind.ARRAY && part.matches("\\d+")
+                    ? Typed.constant(Double.parseDouble(part), PfaType.INT)
+                    : Typed.constant(part, PfaType.STRING);
+            result = step(result, key);
+        }
+        return result;
+    }
+
+    private Typed compilePath(Typed base, JsonNode path) {
+        Typed result = base;
+        for (JsonNode key : path) {
+            result = step(result, compileExpr(key));
+        }
+        return result;
+    }
+
+    /**
+     * One step of a path: a record field, a map key or an array index
+     */
+    private static Typed step(Typed base, Typed key) {
+        Expr baseExpr = base.expr();
+        Expr keyExpr = key.expr();
+        PfaType type = base.type();
+        switch (type.getKind()) {
+            case RECORD: {
+                if (!key.isConstant() || !(key.constant() instanceof String fieldName)) {
+                    throw new IllegalArgumentException("record field must be a constant string: " + type);
+                }
+                int i = type.getFieldIndex(fieldName);
+                if (i < 0) {
+                    throw new IllegalArgumentException("no field " + fieldName + " in " + type);
+                }
+                PfaType fieldType = type.getFields().get(i).type();
+                if (type.isDoubleRecord()) {
+                    return Typed.of((Expr.OfDouble) frame -> ((double[]) baseExpr.eval(frame))[i], fieldType);
+                }
+                return Typed.of(frame -> ((Object[]) baseExpr.eval(frame))[i], fieldType);
+            }
+            case ARRAY:
+                if (!key.type().isIntegral()) {
+                    throw new IllegalArgumentException("array index must be an int: " + key.type());
+                }
+                return Typed.of(frame -> {
+                    List<?> list = (List<?>) baseExpr.eval(frame);
+                    int i = (int) keyExpr.evalDouble(frame);
+                    if (i < 0 || i >= list.size()) {
+                        throw new IllegalStateException("array index " + i + " out of range");
+                    }
+                    return list.get(i);
+                }, type.getItems());
+            case MAP:
+                if (key.type().getKind() != PfaType.Kind.STRING) {
+                    throw new IllegalArgumentException("map key must be a string: " + key.type());
+                }
+                return Typed.of(frame -> {
+                    Object k = keyExpr.eval(frame);
+                    Object value = ((Map<?, ?>) baseExpr.eval(frame)).get(k);
+                    if (value == null) {
+                        throw new IllegalStateException("map key not found: " + k);
+                    }
+                    return value;
+                }, type.getItems());
+            default:
+                throw new IllegalArgumentException("cannot take path into " + type);
+        }
+    }
+
+    private Typed compileIf(JsonNode json) {
+        Typed test = requireBoolean("if", compileExpr(json.get("if")));
+        Typed then = compileBlock(json.get("then"));
+        Expr testExpr = test.expr();
+        Expr thenExpr = then.expr();
+        if (!json.has("else")) {
+            return Typed.of(frame -> {
+                if (testExpr.evalBoolean(frame)) {
+                    thenExpr.eval(frame);
+                }
+                return null;
+            }, PfaType.NULL);
+        }
+        Typed otherwise = compileBlock(json.get("else"));
+        Expr elseExpr = otherwise.expr();
+        PfaType type = unify(then.type(), otherwise.type());
+        if (type.isNumeric()) {
+            return Typed.of((Expr.OfDouble) frame -> testExpr.evalBoolean(frame)
+                    ? thenExpr.evalDouble(frame)
+                    : elseExpr.evalDouble(frame), type);
+        }
+        return Typed.of(frame -> testExpr.evalBoolean(frame)
+                ? thenExpr.eval(frame)
+                : elseExpr.eval(frame), type);
+    }
+
+    private Typed compileCond(JsonNode json) {
+        JsonNode cases = json.get("cond");
+        Expr[] tests = new Expr[cases.size()];
+        Expr[] thens = new Expr[cases.size()];
+        PfaType type = null;
+        for (int i = 0; i < tests.length; i++) {
+            tests[i] = requireBoolean("cond", compileExpr(cases.get(i).get("if"))).expr();
+            Typed then = compileBlock(cases.get(i).get("then"));
+            thens[i] = then.expr();
+            type = type == null ? then.type() : unify(type, then.type());
+        }
+        boolean hasElse = json.has("else");
+        Expr otherwise = null;
+        if (hasElse) {
+            Typed elseTyped = compileBlock(json.get("else"));
+            otherwise = elseTyped.expr();
+            type = unify(type, elseTyped.type());
+        }
+        Expr elseExpr = otherwise;
+        Expr expr = frame -> {
+            for (int i = 0; i < tests.length; i++) {
+                if (tests[i].evalBoolean(frame)) {
+                    Object value = thens[i].eval(frame);
+                    return hasElse ? value : null;
+                }
+            }
+            return hasElse ? elseExpr.eval(frame) : null;
+        };
+        return Typed.of(expr, hasElse ? type : PfaType.NULL);
+    }
+
+    private Typed compileWhile(JsonNode json) {
+        Expr test = requireBoolean("while", compileExpr(json.get("while"))).expr();
+        Expr body = compileBlock(json.get("do")).expr();
+        return Typed.of(frame -> {
+            while (test.evalBoolean(frame)) {
+                body.eval(frame);
+            }
+            return null;
+        }, PfaType.NULL);
+    }
+
+    private Typed compileFor(JsonNode json) {
+        Scope outer = scope;
+        scope = new Scope(outer, outer.fn);
+        try {
+            Expr init = compileLet(json.get("for")).expr();
+            Expr test = requireBoolean("for", compileExpr(json.get("while"))).expr();
+            Expr step = compileSet(json.get("step")).expr();
+            Expr body = compileBlock(json.get("do")).expr();
+            return Typed.of(frame -> {
+                init.eval(frame);
+                while (test.evalBoolean(frame)) {
+                    body.eval(frame);
+                    step.eval(frame);
+                }
+                return null;
+            }, PfaType.NULL);
+        } finally {
+            scope = outer;
+        }
+    }
+
+    private Typed compileForeach(JsonNode json) {
+        Typed array = compileExpr(json.get("in"));
+        if (array.type().getKind() != PfaType.Kind.ARRAY) {
+            throw new IllegalArgumentException("foreach needs an array: " + array.type());
+        }
+        Expr arrayExpr = array.expr();
+        Scope outer = scope;
+        scope = new Scope(outer, outer.fn);
+        try {
+            int slot = declare(json.get("foreach").asText(), array.type().getItems()).slot();
+            Expr body = compileBlock(json.get("do")).expr();
+            return Typed.of(frame -> {
+                for (Object item : (List<?>) arrayExpr.eval(frame)) {
+                    frame.slots[slot] = item;
+                    body.eval(frame);
+                }
+                return null;
+            }, PfaType.NULL);
+        } finally {
+            scope = outer;
+        }
+    }
+
+    /**
+     * Declare new variables. The values are all evaluated before any of the variables are assigned.
+     */
+    private Typed compileLet(JsonNode json) {
+        List<String> varNames = new ArrayList<>();
+        List<Typed> values = new ArrayList<>();
+        json.fields().forEachRemaining(entry -> {
+            varNames.add(entry.getKey());
+            values.add(compileExpr(entry.getValue()));
+        });
+        int[] slots = new int[varNames.size()];
+        Expr[] exprs = new Expr[varNames.size()];
+        for (int i = 0; i < slots.length; i++) {
+            if (values.get(i).isFunction()) {
+                throw new IllegalArgumentException("cannot assign a function to " + varNames.get(i));
+            }
+            slots[i] = declare(varNames.get(i), values.get(i).type()).slot();
+            exprs[i] = values.get(i).expr();
+        }
+        return Typed.of(assign(slots, exprs), PfaType.NULL);
+    }
+
+    /**
+     * Change variables of the current function, variables of enclosing functions are read-only
+     */
+    private Typed compileSet(JsonNode json) {
+        List<Integer> slots = new ArrayList<>();
+        List<Expr> exprs = new ArrayList<>();
+        json.fields().forEachRemaining(entry -> {
+            Var var = lookup(entry.getKey());
+            if (var == null) {
+                throw new IllegalArgumentException("unknown variable: " + entry.getKey());
+            } else if (var.owner() != scope.fn) {
+                throw new IllegalArgumentException("cannot set variable of enclosing function: " + entry.getKey());
+            }
+            Typed value = compileExpr(entry.getValue());
+            checkAssignable(var.type(), value.type(), entry.getKey());
+            slots.add(var.slot());
+            exprs.add(value.expr());
+        });
+        return Typed.of(
+                assign(slots.stream().mapToInt(Integer::intValue).toArray(), exprs.toArray(Expr[]::new)),
+                PfaType.NULL);
+    }
+
+    private static Expr assign(int[] slots, Expr[] exprs) {
+        if (slots.length == 1) {
+            int slot = slots[0];
+            Expr value = exprs[0];
+            return frame -> {
+                frame.slots[slot] = value.eval(frame);
+                return null;
+            };
+        }
+        return frame -> {
+            Object[] values = new Object[exprs.length];
+            for (int i = 0; i < exprs.length; i++) {
+                values[i] = exprs[i].eval(frame);
+            }
+            for (int i = 0; i < slots.length; i++) {
+                frame.slots[slots[i]] = values[i];
+            }
+            return null;
+        };
+    }
+
+    private Typed compileCell(JsonNode json) {
+        String name = json.get("cell").asText();
+        Integer index = cellIndex.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("unknown cell: " + name);
+        }
+        int i = index;
+        PfaType type = cellTypes.get(i);
+        Object[] values = cellValues;
+        if (json.has("to")) {
+            if (json.has("path")) {
+                throw new IllegalArgumentException("cell update with path is not supported: " + name);
+            }
+            Typed to = compileExpr(json.get("to"));
+            Expr toExpr = to.expr();
+            if (to.isFunction()) {
+                checkFunction("cell " + name, to, 1);
+                checkAssignable(type, to.fcn().ret(), name);
+                return Typed.of(frame -> {
+                    Object value = ((PfaFunction) toExpr.eval(frame)).call(values[i]);
+                    values[i] = value;
+                    return value;
+                }, type);
+            }
+            checkAssignable(type, to.type(), name);
+            return Typed.of(frame -> {
+                Object value = toExpr.eval(frame);
+                values[i] = value;
+                return value;
+            }, type);
+        }
+        Typed read = writtenCells.contains(name)
+                ? Typed.of(type.isNumeric()
+                        ? (Expr.OfDouble) frame -> ((Number) values[i]).doubleValue()
+                        : frame -> values[i], type)
+                : Typed.constant(values[i], type);
+        return compilePath(read, json.path("path"));
+    }
+
+    private Typed compileNew(JsonNode json) {
+        PfaType type = PfaType.parse(json.get("type"), names);
+        JsonNode content = json.get("new");
+        switch (type.getKind()) {
+            case RECORD: {
+                List<PfaType.Field> fields = type.getFields();
+                Expr[] exprs = new Expr[fields.size()];
+                for (int i = 0; i < exprs.length; i++) {
+                    JsonNode field = content.get(fields.get(i).name());
+                    if (field == null) {
+                        throw new IllegalArgumentException("missing field " + fields.get(i).name() + " of " + type);
+                    }
+                    Typed value = compileExpr(field);
+                    checkAssignable(fields.get(i).type(), value.type(), fields.get(i).name());
+                    exprs[i] = value.expr();
+                }
+                if (type.isDoubleRecord()) {
+                    return Typed.of(frame -> {
+                        double[] record = new double[exprs.length];
+                        for (int i = 0; i < exprs.length; i++) {
+                            record[i] = exprs[i].evalDouble(frame);
+                        }
+                        return record;
+                    }, type);
+                }
+                return Typed.of(frame -> {
+                    Object[] record = new Object[exprs.length];
+                    for (int i = 0; i < exprs.length; i++) {
+                        record[i] = exprs[i].eval(frame);
+                    }
+                    return record;
+                }, type);
+            }
+            case ARRAY: {
+                Expr[] exprs = new Expr[content.size()];
+                for (int i = 0; i < exprs.length; i++) {
+                    Typed value = compileExpr(content.get(i));
+                    checkAssignable(type.getItems(), value.type(), "array item");
+                    exprs[i] = value.expr();
+                }
+                return Typed.of(frame -> {
+                    List<Object> array = new ArrayList<>(exprs.length);
+                    for (Expr expr : exprs) {
+                        array.add(expr.eval(frame));
+                    }
+                    return array;
+                }, type);
+            }
+            case MAP: {
+                Map<String, Expr> exprs = new LinkedHashMap<>();
+                content.fields().forEachRemaining(entry -> {
+                    Typed value = compileExpr(entry.getValue());
+                    checkAssignable(type.getItems(), value.type(), entry.getKey());
+                    exprs.put(entry.getKey(), value.expr());
+                });
+                return Typed.of(frame -> {
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    exprs.forEach((key, expr) -> map.put(key, expr.eval(frame)));
+                    return map;
+                }, type);
+            }
+            default:
+                throw new IllegalArgumentException("new needs a record, array or map type: " + type);
+        }
+    }
+
+    /**
+     * Function defined inline, which can read the variables of the enclosing frame
+     */
+    private Typed compileInlineFunction(JsonNode json) {
+        Typed.Signature signature = parseSignature(json);
+        Scope outer = scope;
+        FunctionScope fs = new FunctionScope(outer.fn);
+        scope = new Scope(outer, fs);
+        try {
+            declareParams(json, signature);
+            Typed body = compileBlock(json.get("do"));
+            checkAssignable(signature.ret(), body.type(), "inline function");
+            Expr bodyExpr = body.expr();
+            int numSlots = fs.numSlots;
+            Expr expr = frame -> (PfaFunction) args -> {
+                Frame callFrame = new Frame(numSlots, frame);
+                System.arraycopy(args, 0, callFrame.slots, 0, args.length);
+                return bodyExpr.eval(callFrame);
+            };
+            return Typed.function(expr, signature);
+        } finally {
+            scope = outer;
+        }
+    }
+
+    private Typed compileFunctionRef(String name) {
+        UserFunction fn = userFunctions.get(name);
+        if (fn == null) {
+            throw new IllegalArgumentException("unknown function: " + name);
+        }
+        PfaFunction function = args -> {
+            Frame callFrame = new Frame(fn.numSlots, null);
+            System.arraycopy(args, 0, callFrame.slots, 0, args.length);
+            return fn.body.eval(callFrame);
+        };
+        return Typed.function(frame -> function, fn.signature);
+    }
+
+    private Typed compileCall(String name, JsonNode argsJson) {
+        List<Typed> args = new ArrayList<>();
+        if (argsJson.isArray()) {
+            argsJson.forEach(arg -> args.add(compileExpr(arg)));
+        } else {
+            args.add(compileExpr(argsJson));
+        }
+        UserFunction fn = userFunctions.get(name);
+        if (fn != null) {
+            return compileUserCall(name, fn, args);
+        }
+        Builtin builtin = LIBRARY.get(name);
+        if (builtin == null) {
+            throw new IllegalArgumentException("unknown function: " + name);
+        }
+        return builtin.compile(name, args);
+    }
+
+    private static Typed compileUserCall(String name, UserFunction fn, List<Typed> args) {
+        List<PfaType> params = fn.signature.params();
+        checkArgs(name, args, params.size());
+        Expr[] exprs = new Expr[args.size()];
+        for (int i = 0; i < exprs.length; i++) {
+            checkAssignable(params.get(i), args.get(i).type(), name);
+            exprs[i] = args.get(i).expr();
+        }
+        return Typed.of(frame -> {
+            Frame callFrame = new Frame(fn.numSlots, null);
+            for (int i = 0; i < exprs.length; i++) {
+                callFrame.slots[i] = exprs[i].eval(frame);
+            }
+            return fn.body.eval(callFrame);
+        }, fn.signature.ret());
+    }
+
+    private Var declare(String name, PfaType type) {
+        if (lookup(name) != null) {
+            throw new IllegalArgumentException("variable already defined: " + name);
+        }
+        Var var = new Var(scope.fn.numSlots++, type, scope.fn);
+        scope.vars.put(name, var);
+        return var;
+    }
+
+    private Var lookup(String name) {
+        for (Scope s = scope; s != null; s = s.parent) {
+            Var var = s.vars.get(name);
+            if (var != null) {
+                return var;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Number of function frames between the current function and the one that declared var
+     */
+    private int depth(Var var) {
+        int depth = 0;
+        for (FunctionScope fn = scope.fn; fn != var.owner(); fn = fn.outer) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * Type of a value that is either of two types, the wider of two numeric types
+     */
+    private static PfaType unify(PfaType a, PfaType b) {
+        if (a == b) {
+            return a;
+        } else if (a.isNumeric() && b.isNumeric()) {
+            return a.getKind().compareTo(b.getKind()) >= 0 ? a : b;
+        }
+        return PfaType.unionOf(List.of(a, b));
+    }
+
+    /**
+     * Check that a value of type source can be stored where type target is expected.
+     * Numeric types can be widened, eg int to double.
+     *
+     * @throws IllegalArgumentException if the types do not match
+     */
+    static void checkAssignable(PfaType target, PfaType source, String what) {
+        if (source == null) {
+            throw new IllegalArgumentException(what + " expects " + target + ", got a function");
+        }
+        if (!isAssignable(target, source)) {
+            throw new IllegalArgumentException(what + " expects " + target + ", got " + source);
+        }
+    }
+
+    private static boolean isAssignable(PfaType target, PfaType source) {
+        if (target == source) {
+            return true;
+        } else if (target.isNumeric() && source.isNumeric()) {
+            return target.getKind().compareTo(source.getKind()) >= 0;
+        } else if (source.getKind() == PfaType.Kind.UNION) {
+            return source.getTypes().stream().allMatch(t -> isAssignable(target, t));
+        } else if (target.getKind() == PfaType.Kind.UNION) {
+            return target.getTypes().stream().anyMatch(t -> isAssignable(t, source));
+        } else if (target.getKind() == source.getKind()) {
+            return switch (target.getKind()) {
+                case ARRAY, MAP -> isAssignable(target.getItems(), source.getItems());
+                case RECORD, ENUM -> target.getName().equals(source.getName());
+                default -> true;
+            };
+        }
+        return false;
+    }
+
+    /**
+     * Check the number of arguments of a function call
+     *
+     * @throws IllegalArgumentException if the number is wrong
+     */
+    static void checkArgs(String name, List<Typed> args, int expected) {
+        if (args.size() != expected) {
+            throw new IllegalArgumentException(
+                    "%s expects %d arguments, got %d".formatted(name, expected, args.size()));
+        }
+    }
+
+    /**
+     * Check that an argument is a number
+     *
+     * @throws IllegalArgumentException if it is not
+     */
+    static Typed requireNumeric(String name, Typed arg) {
+        if (arg.isFunction() || !arg.type().isNumeric()) {
+            throw new IllegalArgumentException(name + " expects a number, got " + arg.type());
+        }
+        return arg;
+    }
+
+    /**
+     * Check that an argument is a boolean
+     *
+     * @throws IllegalArgumentException if it is not
+     */
+    static Typed requireBoolean(String name, Typed arg) {
+        if (arg.isFunction() || arg.type().getKind() != PfaType.Kind.BOOLEAN) {
+            throw new IllegalArgumentException(name + " expects a boolean, got " + arg.type());
+        }
+        return arg;
+    }
+
+    /**
+     * Check that an argument is an array and return the type of its items
+     *
+     * @throws IllegalArgumentException if it is not
+     */
+    static PfaType requireArray(String name, Typed arg) {
+        if (arg.isFunction() || arg.type().getKind() != PfaType.Kind.ARRAY) {
+            throw new IllegalArgumentException(name + " expects an array, got " + arg.type());
+        }
+        return arg.type().getItems();
+    }
+
+    /**
+     * Check that an argument is a function with the given number of parameters
+     *
+     * @throws IllegalArgumentException if it is not
+     */
+    static Typed.Signature checkFunction(String name, Typed arg, int numParams) {
+        if (!arg.isFunction() || arg.fcn().params().size() != numParams) {
+            throw new IllegalArgumentException(
+                    "%s expects a function of %d parameters".formatted(name, numParams));
+        }
+        return arg.fcn();
+    }
+
+    PfaType getInputType() {
+        return inputType;
+    }
+
+    PfaType getOutputType() {
+        return outputType;
+    }
+
+    Expr getAction() {
+        return action;
+    }
+
+    /**
+     * Returns the number of variable slots of the action, including the input
+     */
+    int getActionSlots() {
+        return actionSlots;
+    }
+
+    /**
+     * Returns the current values of the cells, shared with the compiled expressions
+     */
+    Object[] getCellValues() {
+        return cellValues;
+    }
+
+    Map<String, Integer> getCellIndex() {
+        return cellIndex;
+    }
+
+    List<PfaType> getCellTypes() {
+        return cellTypes;
+    }
+
+    boolean writesCells() {
+        return !writtenCells.isEmpty();
+    }
+
+}
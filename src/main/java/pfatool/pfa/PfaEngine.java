@@ -0,0 +1,183 @@
+package pfatool.pfa;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pfatool.generated.TreePredictor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs the action of a PFA document. The document is compiled once into closures, see
+ * {@link PfaCompiler}, so any preprocessing or postprocessing written in PFA runs without
+ * looking at the JSON again.
+ * <p>
+ * Numbers are held as double while running, the declared output type is restored when the
+ * result is returned. For documents whose input is a record of doubles, such as the lags
+ * used by the forecasts, {@link #predict(double[])} takes the row directly.
+ * <p>
+ * Documents that only read their cells can be used from many threads at once. If the
+ * action writes cells, calls are made one at a time.
+ */
+public final class PfaEngine implements TreePredictor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String name;
+    private final PfaType inputType;
+    private final PfaType outputType;
+    private final Expr action;
+    private final int numSlots;
+    private final Object[] cellValues;
+    private final Map<String, Integer> cellIndex;
+    private final List<PfaType> cellTypes;
+    private final UnaryOperator<Object> outputConverter;
+    private final boolean writesCells;
+    private final boolean predictable;
+
+    /**
+     * Private constructor, use one of the static methods to create an instance.
+     */
+    private PfaEngine(String name, PfaCompiler compiler) {
+        this.name = name;
+        this.inputType = compiler.getInputType();
+        this.outputType = compiler.getOutputType();
+        this.action = compiler.getAction();
+        this.numSlots = compiler.getActionSlots();
+        this.cellValues = compiler.getCellValues();
+        this.cellIndex = compiler.getCellIndex();
+        this.cellTypes = compiler.getCellTypes();
+        this.outputConverter = PfaValues.outputConverter(outputType);
+        this.writesCells = compiler.writesCells();
+        this.predictable = inputType.isDoubleRecord() && outputType.isNumeric();
+    }
+
+    /**
+     * Compile a PFA document
+     *
+     * @param pfaJson PFA document in JSON form
+     * @return PfaEngine instance
+     * @throws IllegalArgumentException if the document is not valid or uses unsupported features
+     */
+    public static PfaEngine fromJson(String pfaJson) {
+        JsonNode doc;
+        try {
+            doc = MAPPER.readTree(pfaJson);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("not valid JSON: " + e.getOriginalMessage(), e);
+        }
+        return new PfaEngine(doc.path("name").asText("pfa"), PfaCompiler.compile(doc));
+    }
+
+    /**
+     * Compile a PFA document read from a file
+     *
+     * @param pfaFile path of the PFA document
+     * @return PfaEngine instance
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the document is not valid or uses unsupported features
+     */
+    public static PfaEngine fromPath(Path pfaFile) throws IOException {
+        return fromJson(Files.readString(pfaFile));
+    }
+
+    /**
+     * Run the action for one input
+     *
+     * @param input record as a map of field name to value, or double[] if all the fields are double
+     * @return output of the action, with numbers of the declared output type
+     * @throws IllegalArgumentException if the input does not match the input type
+     * @throws IllegalStateException if the action fails, such as by calling error
+     */
+    public Object action(Object input) {
+        Object value = run(PfaValues.fromJava(input, inputType));
+        return value == null ? null : outputConverter.apply(value);
+    }
+
+    /**
+     * Run the action for one row of doubles. Only for documents whose input is a record of
+     * doubles and whose output is a number. The row is passed to the action without copying.
+     *
+     * @param inputs array of pre-processed data, one value per input field
+     * @return output of the action
+     */
+    @Override
+    public double predict(double[] inputs) {
+        if (!predictable) {
+            throw new IllegalStateException("predict needs double record input and numeric output: " + this);
+        } else if (inputs.length != inputType.getFields().size()) {
+            throw new IllegalArgumentException(
+                    "expected %d inputs, got %d".formatted(inputType.getFields().size(), inputs.length));
+        }
+        if (writesCells) {
+            synchronized (this) {
+                return action.evalDouble(newFrame(inputs));
+            }
+        }
+        return action.evalDouble(newFrame(inputs));
+    }
+
+    private Object run(Object input) {
+        if (writesCells) {
+            synchronized (this) {
+                return action.eval(newFrame(input));
+            }
+        }
+        return action.eval(newFrame(input));
+    }
+
+    private Frame newFrame(Object input) {
+        Frame frame = new Frame(numSlots, null);
+        frame.slots[0] = input;
+        return frame;
+    }
+
+    /**
+     * Returns the current value of a cell, with numbers of the declared type
+     *
+     * @param cellName name of the cell
+     * @throws IllegalArgumentException if there is no such cell
+     */
+    public Object getCell(String cellName) {
+        Integer i = cellIndex.get(cellName);
+        if (i == null) {
+            throw new IllegalArgumentException("unknown cell: " + cellName);
+        }
+        Object value;
+        synchronized (this) {
+            value = cellValues[i];
+        }
+        return value == null ? null : PfaValues.outputConverter(cellTypes.get(i)).apply(value);
+    }
+
+    /**
+     * Returns the names of the fields of the input record, or an empty list if the input is not a record
+     */
+    public List<String> getInputFields() {
+        return inputType.getFields().stream()
+                .map(PfaType.Field::name)
+                .toList();
+    }
+
+    /**
+     * Returns the name of the document
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns summary of the engine
+     */
+    @Override
+    public String toString() {
+        return "PfaEngine(name=%s, input=%s, output=%s, cells=%s)".formatted(
+                name, inputType, outputType, cellIndex.keySet());
+    }
+
+}
@@ -0,0 +1,18 @@
+package pfatool.pfa;
+
+/**
+ * Function value, either a user defined function referred to by {"fcn": "u.name"}
+ * or a function defined inline, passed as an argument to functions such as a.map.
+ */
+@FunctionalInterface
+interface PfaFunction {
+
+    /**
+     * Call the function
+     *
+     * @param args argument values, in the order of the parameters
+     * @return result of the function
+     */
+    Object call(Object... args);
+
+}
@@ -0,0 +1,220 @@
+package pfatool.pfa;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Type of a PFA value. PFA types are Avro schemas, so this follows the Avro JSON form:
+ * primitive names such as "double", and objects for records, enums, arrays, maps and unions.
+ * Named types (records and enums) can be referred to by name once defined, which is how the
+ * recursive TreeNode type refers to itself.
+ */
+final class PfaType {
+
+    enum Kind {NULL, BOOLEAN, INT, LONG, FLOAT, DOUBLE, STRING, BYTES, ENUM, ARRAY, MAP, RECORD, UNION}
+
+    /**
+     * Field of a record type
+     */
+    record Field(String name, PfaType type) {}
+
+    static final PfaType NULL = new PfaType(Kind.NULL, null);
+    static final PfaType BOOLEAN = new PfaType(Kind.BOOLEAN, null);
+    static final PfaType INT = new PfaType(Kind.INT, null);
+    static final PfaType LONG = new PfaType(Kind.LONG, null);
+    static final PfaType FLOAT = new PfaType(Kind.FLOAT, null);
+    static final PfaType DOUBLE = new PfaType(Kind.DOUBLE, null);
+    static final PfaType STRING = new PfaType(Kind.STRING, null);
+    static final PfaType BYTES = new PfaType(Kind.BYTES, null);
+
+    private final Kind kind;
+    private final String name;
+    private List<String> symbols = List.of();
+    private List<Field> fields = List.of();
+    private PfaType items;
+    private List<PfaType> types = List.of();
+
+    private PfaType(Kind kind, String name) {
+        this.kind = kind;
+        this.name = name;
+    }
+
+    static PfaType arrayOf(PfaType items) {
+        PfaType t = new PfaType(Kind.ARRAY, null);
+        t.items = items;
+        return t;
+    }
+
+    static PfaType mapOf(PfaType values) {
+        PfaType t = new PfaType(Kind.MAP, null);
+        t.items = values;
+        return t;
+    }
+
+    static PfaType unionOf(List<PfaType> types) {
+        PfaType t = new PfaType(Kind.UNION, null);
+        t.types = List.copyOf(types);
+        return t;
+    }
+
+    /**
+     * Parse a type from its JSON form, adding any named types it defines to names.
+     *
+     * @param json type in Avro JSON form
+     * @param names named types defined so far
+     * @return the type
+     * @throws IllegalArgumentException if the type is not valid or refers to an unknown name
+     */
+    static PfaType parse(JsonNode json, Map<String, PfaType> names) {
+        if (json.isTextual()) {
+            return named(json.asText(), names);
+        } else if (json.isArray()) {
+            List<PfaType> branches = new ArrayList<>();
+            json.forEach(branch -> branches.add(parse(branch, names)));
+            return unionOf(branches);
+        } else if (!json.isObject() || !json.has("type")) {
+            throw new IllegalArgumentException("not a type: " + json);
+        }
+        String typeName = json.get("type").asText();
+        switch (typeName) {
+            case "array":
+                return arrayOf(parse(json.get("items"), names));
+            case "map":
+                return mapOf(parse(json.get("values"), names));
+            case "enum": {
+                PfaType t = define(Kind.ENUM, json, names);
+                List<String> symbols = new ArrayList<>();
+                json.get("symbols").forEach(symbol -> symbols.add(symbol.asText()));
+                t.symbols = Collections.unmodifiableList(symbols);
+                return t;
+            }
+            case "record": {
+                // defined before the fields are parsed so that fields can refer to the record
+                PfaType t = define(Kind.RECORD, json, names);
+                List<Field> fields = new ArrayList<>();
+                for (JsonNode field : json.get("fields")) {
+                    fields.add(new Field(field.get("name").asText(), parse(field.get("type"), names)));
+                }
+                t.fields = Collections.unmodifiableList(fields);
+                return t;
+            }
+            default:
+                // primitive written as object eg {"type": "double"}
+                return named(typeName, names);
+        }
+    }
+
+    /**
+     * Look up a primitive type or a named type that has already been defined
+     */
+    private static PfaType named(String typeName, Map<String, PfaType> names) {
+        switch (typeName) {
+            case "null": return NULL;
+            case "boolean": return BOOLEAN;
+            case "int": return INT;
+            case "long": return LONG;
+            case "float": return FLOAT;
+            case "double": return DOUBLE;
+            case "string": return STRING;
+            case "bytes": return BYTES;
+            default:
+                PfaType t = names.get(typeName);
+                if (t == null) {
+                    throw new IllegalArgumentException("unknown type: " + typeName);
+                }
+                return t;
+        }
+    }
+
+    /**
+     * Create a named type and add it to names, under both the short and full name
+     */
+    private static PfaType define(Kind kind, JsonNode json, Map<String, PfaType> names) {
+        String shortName = json.get("name").asText();
+        PfaType t = new PfaType(kind, shortName);
+        if (names.containsKey(shortName)) {
+            throw new IllegalArgumentException("type already defined: " + shortName);
+        }
+        names.put(shortName, t);
+        if (json.hasNonNull("namespace")) {
+            names.put(json.get("namespace").asText() + "." + shortName, t);
+        }
+        return t;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the name of a named type, or the lower case kind of other types
+     */
+    String getName() {
+        return name != null ? name : kind.name().toLowerCase(Locale.ROOT);
+    }
+
+    List<String> getSymbols() {
+        return symbols;
+    }
+
+    List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the position of the named field of a record, or -1 if there is no such field
+     */
+    int getFieldIndex(String fieldName) {
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.get(i).name().equals(fieldName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the type of the items of an array, or the values of a map
+     */
+    PfaType getItems() {
+        return items;
+    }
+
+    List<PfaType> getTypes() {
+        return types;
+    }
+
+    boolean isNumeric() {
+        return kind == Kind.INT || kind == Kind.LONG || kind == Kind.FLOAT || kind == Kind.DOUBLE;
+    }
+
+    boolean isIntegral() {
+        return kind == Kind.INT || kind == Kind.LONG;
+    }
+
+    /**
+     * Records with only double fields are held as double[] rather than Object[], so that
+     * numeric inputs such as rows of lags are passed in and read without boxing.
+     */
+    boolean isDoubleRecord() {
+        return kind == Kind.RECORD
+                && !fields.isEmpty()
+                && fields.stream().allMatch(f -> f.type().kind == Kind.DOUBLE);
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case ARRAY -> "array<" + items + ">";
+            case MAP -> "map<" + items + ">";
+            case UNION -> "union" + types;
+            default -> getName();
+        };
+    }
+
+}
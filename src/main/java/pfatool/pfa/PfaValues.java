@@ -0,0 +1,356 @@
+package pfatool.pfa;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Conversions between PFA values in JSON form and the Java objects used by the engine:
+ * <pre>{@literal
+ * null                  -> null
+ * boolean               -> Boolean
+ * int, long, float, double -> Double
+ * string                -> String
+ * enum                  -> Integer position of the symbol
+ * array                 -> List<Object>
+ * map                   -> Map<String, Object>
+ * record of only double -> double[] in field order
+ * other record          -> Object[] in field order
+ * union                 -> value of the branch
+ * }</pre>
+ * Values are never modified once created, so they can be shared between cells and results.
+ */
+final class PfaValues {
+
+    private PfaValues() {}
+
+    /**
+     * Decode a value in the Avro JSON encoding used for cell initial values and literals.
+     *
+     * @param json value in JSON form
+     * @param type type of the value
+     * @return engine representation of the value
+     * @throws IllegalArgumentException if the value does not match the type
+     */
+    static Object fromJson(JsonNode json, PfaType type) {
+        switch (type.getKind()) {
+            case NULL:
+                return null;
+            case BOOLEAN:
+                return json.asBoolean();
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                if (!json.isNumber()) {
+                    throw new IllegalArgumentException("expected number, got: " + json);
+                }
+                return json.asDouble();
+            case STRING:
+                return json.asText();
+            case ENUM: {
+                int ordinal = type.getSymbols().indexOf(json.asText());
+                if (ordinal < 0) {
+                    throw new IllegalArgumentException("unknown symbol " + json + " of " + type);
+                }
+                return ordinal;
+            }
+            case ARRAY: {
+                List<Object> out = new ArrayList<>(json.size());
+                json.forEach(item -> out.add(fromJson(item, type.getItems())));
+                return out;
+            }
+            case MAP: {
+                Map<String, Object> out = new LinkedHashMap<>();
+                json.fields().forEachRemaining(e -> out.put(e.getKey(), fromJson(e.getValue(), type.getItems())));
+                return out;
+            }
+            case RECORD:
+                return recordFromJson(json, type);
+            case UNION:
+                return unionFromJson(json, type);
+            default:
+                throw new IllegalArgumentException("unsupported type: " + type);
+        }
+    }
+
+    private static Object recordFromJson(JsonNode json, PfaType type) {
+        List<PfaType.Field> fields = type.getFields();
+        if (type.isDoubleRecord()) {
+            double[] out = new double[fields.size()];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = requireField(json, fields.get(i)).asDouble();
+            }
+            return out;
+        }
+        Object[] out = new Object[fields.size()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = fromJson(requireField(json, fields.get(i)), fields.get(i).type());
+        }
+        return out;
+    }
+
+    private static JsonNode requireField(JsonNode json, PfaType.Field field) {
+        JsonNode value = json.get(field.name());
+        if (value == null) {
+            throw new IllegalArgumentException("missing field: " + field.name());
+        }
+        return value;
+    }
+
+    /**
+     * Union values other than null are tagged with the name of the branch,
+     * eg {"double": 1.5} or {"TreeNode": {...}}
+     */
+    private static Object unionFromJson(JsonNode json, PfaType type) {
+        if (json.isNull()) {
+            return null;
+        }
+        Iterator<Map.Entry<String, JsonNode>> it = json.fields();
+        if (!it.hasNext()) {
+            throw new IllegalArgumentException("expected tagged union value, got: " + json);
+        }
+        Map.Entry<String, JsonNode> entry = it.next();
+        for (PfaType branch : type.getTypes()) {
+            if (branch.getName().equals(entry.getKey())) {
+                return fromJson(entry.getValue(), branch);
+            }
+        }
+        throw new IllegalArgumentException("no branch " + entry.getKey() + " in " + type);
+    }
+
+    /**
+     * Convert a value given by the caller, such as a map of field name to value for a record
+     * or the symbol of an enum. A record of only double fields can also be given as double[].
+     *
+     * @param value value as plain Java objects
+     * @param type type of the value
+     * @return engine representation of the value
+     * @throws IllegalArgumentException if the value does not match the type
+     */
+    static Object fromJava(Object value, PfaType type) {
+        switch (type.getKind()) {
+            case NULL:
+                return null;
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                if (!(value instanceof Number number)) {
+                    throw new IllegalArgumentException("expected number, got: " + value);
+                }
+                return number.doubleValue();
+            case ENUM: {
+                int ordinal = type.getSymbols().indexOf(String.valueOf(value));
+                if (ordinal < 0) {
+                    throw new IllegalArgumentException("unknown symbol " + value + " of " + type);
+                }
+                return ordinal;
+            }
+            case ARRAY: {
+                List<Object> out = new ArrayList<>();
+                ((List<?>) value).forEach(item -> out.add(fromJava(item, type.getItems())));
+                return out;
+            }
+            case MAP: {
+                Map<String, Object> out = new LinkedHashMap<>();
+                ((Map<?, ?>) value).forEach((k, v) -> out.put((String) k, fromJava(v, type.getItems())));
+                return out;
+            }
+            case RECORD:
+                return recordFromJava(value, type);
+            case UNION:
+                if (value == null) {
+                    return null;
+                }
+                for (PfaType branch : type.getTypes()) {
+                    try {
+                        return fromJava(value, branch);
+                    } catch (IllegalArgumentException | ClassCastException e) {
+                        // try the next branch
+                    }
+                }
+                throw new IllegalArgumentException("value " + value + " does not match " + type);
+            default:
+                if (value == null) {
+                    throw new IllegalArgumentException("expected " + type + ", got null");
+                }
+                return value;
+        }
+    }
+
+    private static Object recordFromJava(Object value, PfaType type) {
+        List<PfaType.Field> fields = type.getFields();
+        if (value instanceof double[] doubles) {
+            if (!type.isDoubleRecord() || doubles.length != fields.size()) {
+                throw new IllegalArgumentException(
+                        "expected %d values for %s, got %d".formatted(fields.size(), type, doubles.length));
+            }
+            return doubles;
+        }
+        if (!(value instanceof Map<?, ?> map)) {
+            throw new IllegalArgumentException("expected map of field values for " + type + ", got: " + value);
+        }
+        if (type.isDoubleRecord()) {
+            double[] out = new double[fields.size()];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = (Double) fromJava(requireField(map, fields.get(i)), PfaType.DOUBLE);
+            }
+            return out;
+        }
+        Object[] out = new Object[fields.size()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = fromJava(requireField(map, fields.get(i)), fields.get(i).type());
+        }
+        return out;
+    }
+
+    private static Object requireField(Map<?, ?> map, PfaType.Field field) {
+        if (!map.containsKey(field.name())) {
+            throw new IllegalArgumentException("missing field: " + field.name());
+        }
+        return map.get(field.name());
+    }
+
+    /**
+     * Make a function that converts an engine value to the value returned to the caller.
+     * Numbers become Integer, Long, Float or Double as declared, enums become the symbol,
+     * and records become maps of field name to value. Returns the identity function when
+     * no conversion is needed.
+     *
+     * @param type declared type of the value
+     * @return conversion function
+     */
+    static UnaryOperator<Object> outputConverter(PfaType type) {
+        switch (type.getKind()) {
+            case INT:
+                return v -> toInt(v);
+            case LONG:
+                return v -> toLong(v);
+            case FLOAT:
+                return v -> ((Number) v).floatValue();
+            case ENUM:
+                return v -> type.getSymbols().get((Integer) v);
+            case ARRAY: {
+                UnaryOperator<Object> items = outputConverter(type.getItems());
+                return v -> ((List<?>) v).stream().map(items).toList();
+            }
+            case MAP: {
+                UnaryOperator<Object> values = outputConverter(type.getItems());
+                return v -> {
+                    Map<String, Object> out = new LinkedHashMap<>();
+                    ((Map<?, ?>) v).forEach((key, value) -> out.put((String) key, values.apply(value)));
+                    return out;
+                };
+            }
+            case RECORD:
+                return v -> recordToMap(v, type);
+            case UNION:
+                // branch is not known until runtime, only needed for numbers and enums
+                return v -> v;
+            default:
+                return UnaryOperator.identity();
+        }
+    }
+
+    /**
+     * Convert a number to int, failing rather than truncating if it does not fit
+     */
+    private static int toInt(Object v) {
+        long value = toLong(v);
+        if ((int) value != value) {
+            throw new IllegalStateException("int output out of range: " + v);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Convert a number to long, failing rather than truncating if it is not a whole
+     * number or does not fit
+     */
+    private static long toLong(Object v) {
+        if (v instanceof Double || v instanceof Float) {
+            double d = ((Number) v).doubleValue();
+            // the cast saturates, so an out of range value does not compare equal
+            if ((double) (long) d != d || d == 0x1p63) {
+                throw new IllegalStateException("long output not a whole number in range: " + v);
+            }
+            return (long) d;
+        }
+        return ((Number) v).longValue();
+    }
+
+    private static Map<String, Object> recordToMap(Object value, PfaType type) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        List<PfaType.Field> fields = type.getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            PfaType.Field field = fields.get(i);
+            Object fieldValue = value instanceof double[] doubles
+                    ? doubles[i]
+                    : ((Object[]) value)[i];
+            out.put(field.name(), outputConverter(field.type()).apply(fieldValue));
+        }
+        return out;
+    }
+
+    /**
+     * Read field i of a record value in either representation
+     */
+    static Object getField(Object record, int i) {
+        return record instanceof double[] doubles
+                ? doubles[i]
+                : ((Object[]) record)[i];
+    }
+
+    /**
+     * Compare two values for PFA equality, numbers compare by value
+     */
+    static boolean valuesEqual(Object a, Object b) {
+        if (a instanceof Number x && b instanceof Number y) {
+            return x.doubleValue() == y.doubleValue();
+        } else if (a instanceof double[] x && b instanceof double[] y) {
+            return java.util.Arrays.equals(x, y);
+        } else if (a instanceof Object[] x && b instanceof Object[] y) {
+            if (x.length != y.length) {
+                return false;
+            }
+            for (int i = 0; i < x.length; i++) {
+                if (!valuesEqual(x[i], y[i])) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (a instanceof List<?> x && b instanceof List<?> y) {
+            if (x.size() != y.size()) {
+                return false;
+            }
+            for (int i = 0; i < x.size(); i++) {
+                if (!valuesEqual(x.get(i), y.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return java.util.Objects.equals(a, b);
+    }
+
+    /**
+     * Order two values of the same type, used by comparisons and sorting.
+     * Numbers, strings, booleans and enums are ordered, other types are not.
+     */
+    @SuppressWarnings("unchecked")
+    static int compare(Object a, Object b) {
+        if (a instanceof Number x && b instanceof Number y) {
+            return Double.compare(x.doubleValue(), y.doubleValue());
+        } else if (a instanceof Comparable<?> x && a.getClass() == b.getClass()) {
+            return ((Comparable<Object>) x).compareTo(b);
+        }
+        throw new IllegalStateException("cannot compare " + a + " with " + b);
+    }
+
+}
@@ -0,0 +1,259 @@
+package pfatool.pfa;
+
+import pfatool.generated.FlatTree;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static pfatool.pfa.PfaCompiler.checkArgs;
+import static pfatool.pfa.PfaCompiler.checkAssignable;
+import static pfatool.pfa.PfaCompiler.checkFunction;
+
+/**
+ * The model.tree.* functions for decision trees made of TreeNode records with the fields
+ * field (enum of the input field names), operator, value, pass and fail.
+ * <p>
+ * When every node tests "<=" on a double input, model.tree.simpleTree flattens the tree into
+ * a {@link FlatTree}, so a prediction is the same loop as {@link pfatool.generated.PfaDecisionTree#predict(double[])}.
+ * A tree in a cell that is never written is flattened when compiling, other trees the first
+ * time they are walked.
+ */
+final class TreeLibrary {
+
+    /**
+     * Most trees flattened by each call of simpleTree, other trees are walked as records
+     */
+    private static final int MAX_FLATTENED = 4096;
+
+    private TreeLibrary() {}
+
+    static void register(Map<String, PfaCompiler.Builtin> table) {
+        table.put("model.tree.simpleTree", TreeLibrary::simpleTree);
+        table.put("model.tree.simpleWalk", TreeLibrary::simpleWalk);
+    }
+
+    /**
+     * Positions of the fields of the TreeNode record, and for each symbol of the field enum
+     * the position of that field in the input record
+     */
+    private record TreeLayout(int field, int operator, int value, int pass, int fail,
+                              int[] inputIndex, PfaType score) {}
+
+    private static TreeLayout layout(String name, PfaType datum, PfaType tree) {
+        if (datum.getKind() != PfaType.Kind.RECORD || tree.getKind() != PfaType.Kind.RECORD) {
+            throw new IllegalArgumentException(name + " expects a record and a tree node record");
+        }
+        int field = tree.getFieldIndex("field");
+        int operator = tree.getFieldIndex("operator");
+        int value = tree.getFieldIndex("value");
+        int pass = tree.getFieldIndex("pass");
+        int fail = tree.getFieldIndex("fail");
+        if (Math.min(Math.min(field, operator), Math.min(value, Math.min(pass, fail))) < 0) {
+            throw new IllegalArgumentException(name + " expects fields field, operator, value, pass and fail in " + tree);
+        }
+        PfaType fieldType = tree.getFields().get(field).type();
+        if (fieldType.getKind() != PfaType.Kind.ENUM) {
+            throw new IllegalArgumentException(name + " expects field to be an enum, got " + fieldType);
+        }
+        List<String> symbols = fieldType.getSymbols();
+        int[] inputIndex = new int[symbols.size()];
+        for (int i = 0; i < inputIndex.length; i++) {
+            inputIndex[i] = datum.getFieldIndex(symbols.get(i));
+            if (inputIndex[i] < 0) {
+                throw new IllegalArgumentException("no field " + symbols.get(i) + " in " + datum);
+            }
+        }
+        // pass and fail are either another node or the score
+        PfaType branch = tree.getFields().get(pass).type();
+        PfaType score = branch.getKind() != PfaType.Kind.UNION
+                ? branch
+                : branch.getTypes().stream()
+                        .filter(t -> t != tree)
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException(name + " needs a score type in " + tree));
+        if (score.getKind() == PfaType.Kind.RECORD || score.getKind() == PfaType.Kind.UNION) {
+            throw new IllegalArgumentException(name + " does not support score type " + score);
+        }
+        return new TreeLayout(field, operator, value, pass, fail, inputIndex, score);
+    }
+
+    /**
+     * model.tree.simpleTree(datum, treeNode): walk from treeNode, following pass when
+     * datum[field] operator value is true and fail otherwise, until reaching a score
+     */
+    private static Typed simpleTree(String name, List<Typed> args) {
+        checkArgs(name, args, 2);
+        Typed datum = args.get(0);
+        Typed tree = args.get(1);
+        if (datum.isFunction() || tree.isFunction()) {
+            throw new IllegalArgumentException(name + " expects a record and a tree node record");
+        }
+        TreeLayout layout = layout(name, datum.type(), tree.type());
+        Expr datumExpr = datum.expr();
+        if (tree.isConstant() && datum.type().isDoubleRecord() && layout.score().isNumeric()) {
+            FlatTree flat = flatten(tree.constant(), layout);
+            if (flat != null) {
+                return Typed.of((Expr.OfDouble) frame -> flat.predict((double[]) datumExpr.eval(frame)), layout.score());
+            }
+        }
+        Expr treeExpr = tree.expr();
+        if (datum.type().isDoubleRecord() && layout.score().isNumeric()) {
+            // trees passed as values, such as the items of an ensemble, are flattened the
+            // first time they are seen, records are compared by identity as they never change
+            Map<Object, Object> flattened = new ConcurrentHashMap<>();
+            return Typed.of((Expr.OfDouble) frame -> {
+                double[] row = (double[]) datumExpr.eval(frame);
+                Object node = treeExpr.eval(frame);
+                Object flat = flattened.get(node);
+                if (flat == null && flattened.size() < MAX_FLATTENED) {
+                    FlatTree compiled = flatten(node, layout);
+                    flat = compiled != null ? compiled : Boolean.FALSE;
+                    flattened.put(node, flat);
+                }
+                return flat instanceof FlatTree f
+                        ? f.predict(row)
+                        : ((Number) walk(row, node, layout)).doubleValue();
+            }, layout.score());
+        }
+        return Typed.of(frame -> walk(datumExpr.eval(frame), treeExpr.eval(frame), layout), layout.score());
+    }
+
+    private static Object walk(Object datum, Object node, TreeLayout layout) {
+        // numeric inputs are read without boxing
+        double[] row = datum instanceof double[] d ? d : null;
+        while (node instanceof Object[] n) {
+            int i = layout.inputIndex()[(Integer) n[layout.field()]];
+            String operator = (String) n[layout.operator()];
+            Object value = n[layout.value()];
+            boolean pass = row != null && value instanceof Double v
+                    ? testNumber(operator, row[i], v)
+                    : test(operator, PfaValues.getField(datum, i), value);
+            node = pass ? n[layout.pass()] : n[layout.fail()];
+        }
+        return node;
+    }
+
+    private static boolean testNumber(String operator, double x, double value) {
+        switch (operator) {
+            case "<=": return x <= value;
+            case "<": return x < value;
+            case ">": return x > value;
+            case ">=": return x >= value;
+            case "==": return x == value;
+            case "!=": return x != value;
+            default: throw new IllegalStateException("unsupported tree operator: " + operator);
+        }
+    }
+
+    private static boolean test(String operator, Object x, Object value) {
+        if (x instanceof Number a && value instanceof Number b) {
+            return testNumber(operator, a.doubleValue(), b.doubleValue());
+        }
+        switch (operator) {
+            case "<=": return PfaValues.compare(x, value) <= 0;
+            case "<": return PfaValues.compare(x, value) < 0;
+            case ">": return PfaValues.compare(x, value) > 0;
+            case ">=": return PfaValues.compare(x, value) >= 0;
+            case "==": return PfaValues.valuesEqual(x, value);
+            case "!=": return !PfaValues.valuesEqual(x, value);
+            default: throw new IllegalStateException("unsupported tree operator: " + operator);
+        }
+    }
+
+    /**
+     * model.tree.simpleWalk(datum, treeNode, test): walk from treeNode, following pass
+     * when test(datum, node) is true and fail otherwise, until reaching a score
+     */
+    private static Typed simpleWalk(String name, List<Typed> args) {
+        checkArgs(name, args, 3);
+        Typed datum = args.get(0);
+        Typed tree = args.get(1);
+        Typed.Signature fcn = checkFunction(name, args.get(2), 2);
+        if (datum.isFunction() || tree.isFunction() || tree.type().getKind() != PfaType.Kind.RECORD) {
+            throw new IllegalArgumentException(name + " expects a record and a tree node record");
+        }
+        checkAssignable(fcn.params().get(0), datum.type(), name);
+        checkAssignable(fcn.params().get(1), tree.type(), name);
+        checkAssignable(PfaType.BOOLEAN, fcn.ret(), name);
+        int pass = tree.type().getFieldIndex("pass");
+        int fail = tree.type().getFieldIndex("fail");
+        if (pass < 0 || fail < 0) {
+            throw new IllegalArgumentException(name + " expects fields pass and fail in " + tree.type());
+        }
+        PfaType branch = tree.type().getFields().get(pass).type();
+        PfaType score = branch.getTypes().stream()
+                .filter(t -> t != tree.type())
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(name + " needs a score type in " + tree.type()));
+        Expr datumExpr = datum.expr();
+        Expr treeExpr = tree.expr();
+        Expr testExpr = args.get(2).expr();
+        return Typed.of(frame -> {
+            Object input = datumExpr.eval(frame);
+            PfaFunction test = (PfaFunction) testExpr.eval(frame);
+            Object node = treeExpr.eval(frame);
+            while (node instanceof Object[] n) {
+                node = (Boolean) test.call(input, n) ? n[pass] : n[fail];
+            }
+            return node;
+        }, score);
+    }
+
+    /**
+     * Reads the TreeNode records of the layout, for flattening into a {@link FlatTree}
+     */
+    private record RecordReader(TreeLayout layout) implements FlatTree.NodeReader<Object[]> {
+        @Override
+        public Object[] asNode(Object branch) {
+            if (!(branch instanceof Object[] node)) {
+                return null;
+            }
+            if (!"<=".equals(node[layout.operator()]) || !(node[layout.value()] instanceof Double)) {
+                throw new IllegalStateException("not a <= comparison with a number");
+            }
+            return node;
+        }
+
+        @Override
+        public double leafValue(Object branch) {
+            if (branch instanceof Number score) {
+                return score.doubleValue();
+            }
+            throw new IllegalStateException("not a numeric score: " + branch);
+        }
+
+        @Override
+        public int featureIndex(Object[] node) {
+            return layout.inputIndex()[(Integer) node[layout.field()]];
+        }
+
+        @Override
+        public double threshold(Object[] node) {
+            return (Double) node[layout.value()];
+        }
+
+        @Override
+        public Object pass(Object[] node) {
+            return node[layout.pass()];
+        }
+
+        @Override
+        public Object fail(Object[] node) {
+            return node[layout.fail()];
+        }
+    }
+
+    /**
+     * Flatten a tree, returns null if any node uses an operator other than "<="
+     * or compares with a value that is not a number
+     */
+    private static FlatTree flatten(Object tree, TreeLayout layout) {
+        try {
+            return FlatTree.compile(tree, new RecordReader(layout));
+        } catch (IllegalStateException | ClassCastException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package pfatool.pfa;
+
+import java.util.List;
+
+/**
+ * Compiled expression together with its type, as needed while compiling the expressions
+ * that use it.
+ *
+ * @param expr compiled expression
+ * @param type type of the value, or null for a function value
+ * @param fcn signature if the expression is a function value, otherwise null
+ * @param constant value of the expression if known when compiling, otherwise {@link #NOT_CONSTANT}
+ */
+record Typed(Expr expr, PfaType type, Signature fcn, Object constant) {
+
+    static final Object NOT_CONSTANT = new Object();
+
+    /**
+     * Parameter and return types of a function
+     */
+    record Signature(List<PfaType> params, PfaType ret) {}
+
+    static Typed of(Expr expr, PfaType type) {
+        return new Typed(expr, type, null, NOT_CONSTANT);
+    }
+
+    static Typed constant(Object value, PfaType type) {
+        Expr expr = value instanceof Double d
+                ? (Expr.OfDouble) frame -> d
+                : frame -> value;
+        return new Typed(expr, type, null, value);
+    }
+
+    static Typed function(Expr expr, Signature fcn) {
+        return new Typed(expr, null, fcn, NOT_CONSTANT);
+    }
+
+    boolean isConstant() {
+        return constant != NOT_CONSTANT;
+    }
+
+    boolean isFunction() {
+        return fcn != null;
+    }
+
+}
@@ -24,6 +24,33 @@ public class ConfigOptions {
     public final String forecastingTreeStd;
     @NotBlank
     public final String forecastingSupportedCategories;
+    /**
+     * Optional directory on the filesystem holding the forecasting trees. If set, the tree
+     * filenames are relative to this directory and the trees are reloaded when it changes.
+     * If not set, the trees are loaded from the classpath.
+     */
+    public final String modelDirectory;
+    /**
+     * Limits of the fetches of price history from EC2, see {@link app.ec2prices.FetchLimiter}.
+     * EC2 allows bursts of 100 Describe calls refilled at 20 per second per account.
+     */
+    public final int ec2MaxConcurrentFetches;
+    public final double ec2FetchesPerSecond;
+    public final int ec2FetchBurst;
+    public final long ec2FetchMaxWaitMillis;
+    /**
+     * Optional EC2 endpoint to use instead of the one of the region, such as a local fake
+     */
+    public final String ec2Endpoint;
+    /**
+     * Maximum number of categories with a cached forecast, more than the supported categories
+     * so that they all stay cached
+     */
+    public final int forecastCacheSize;
+    /**
+     * Maximum age in 4 hour buckets of a cached forecast that is returned while a new one is made
+     */
+    public final int forecastCacheMaxStaleBuckets;
 
     /**
      * Constructor is automatically called by use of the @ConstructorBinding annotation
@@ -32,11 +59,27 @@ public class ConfigOptions {
             @DefaultValue("false") boolean exceptionsIncludeTraceback,
             String forecastingTreeMean,
             String forecastingTreeStd,
-            String forecastingSupportedCategories
+            String forecastingSupportedCategories,
+            String modelDirectory,
+            @DefaultValue("8") int ec2MaxConcurrentFetches,
+            @DefaultValue("10") double ec2FetchesPerSecond,
+            @DefaultValue("20") int ec2FetchBurst,
+            @DefaultValue("5000") long ec2FetchMaxWaitMillis,
+            String ec2Endpoint,
+            @DefaultValue("2048") int forecastCacheSize,
+            @DefaultValue("6") int forecastCacheMaxStaleBuckets
     ) {
         this.exceptionsIncludeTraceback = exceptionsIncludeTraceback;
         this.forecastingTreeMean = forecastingTreeMean;
         this.forecastingTreeStd = forecastingTreeStd;
         this.forecastingSupportedCategories = forecastingSupportedCategories;
+        this.modelDirectory = modelDirectory;
+        this.ec2MaxConcurrentFetches = ec2MaxConcurrentFetches;
+        this.ec2FetchesPerSecond = ec2FetchesPerSecond;
+        this.ec2FetchBurst = ec2FetchBurst;
+        this.ec2FetchMaxWaitMillis = ec2FetchMaxWaitMillis;
+        this.ec2Endpoint = ec2Endpoint;
+        this.forecastCacheSize = forecastCacheSize;
+        this.forecastCacheMaxStaleBuckets = forecastCacheMaxStaleBuckets;
     }
 }
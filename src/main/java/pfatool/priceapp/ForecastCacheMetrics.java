@@ -0,0 +1,57 @@
+package pfatool.priceapp;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import pfatool.forecaster.CachingForecaster;
+
+/**
+ * Publishes the counts of a {@link CachingForecaster} to the actuator metrics, with the
+ * names Micrometer uses for caches and the tag cache=forecasts:<pre>{@literal
+ *     cache.gets       requests, tagged result=hit, stale or miss
+ *     cache.evictions  forecasts evicted to keep within the maximum size
+ *     cache.size       categories with a cached forecast
+ *     priceapp.forecast.cache.refresh.failures  background refreshes that failed
+ * }</pre>
+ */
+public class ForecastCacheMetrics implements MeterBinder {
+
+    private static final Tags TAGS = Tags.of("cache", "forecasts");
+
+    private final CachingForecaster forecaster;
+
+    public ForecastCacheMetrics(CachingForecaster forecaster) {
+        this.forecaster = forecaster;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", forecaster, CachingForecaster::getNumHits)
+                .tags(TAGS).tag("result", "hit")
+                .description("Requests answered with a fresh forecast")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", forecaster, CachingForecaster::getNumStaleHits)
+                .tags(TAGS).tag("result", "stale")
+                .description("Requests answered with a stale forecast while a new one is made")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", forecaster, CachingForecaster::getNumMisses)
+                .tags(TAGS).tag("result", "miss")
+                .description("Requests that waited for a new forecast")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", forecaster, CachingForecaster::getNumEvictions)
+                .tags(TAGS)
+                .description("Forecasts evicted to keep within the maximum size")
+                .register(registry);
+        Gauge.builder("cache.size", forecaster, CachingForecaster::size)
+                .tags(TAGS)
+                .description("Categories with a cached forecast")
+                .register(registry);
+        FunctionCounter.builder("priceapp.forecast.cache.refresh.failures", forecaster,
+                        CachingForecaster::getNumRefreshFailures)
+                .description("Background refreshes of stale forecasts that failed")
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,37 @@
+package pfatool.priceapp;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import pfatool.forecaster.CoalescingForecaster;
+
+/**
+ * Publishes the counts of a {@link CoalescingForecaster} to the actuator metrics:<pre>{@literal
+ *     priceapp.forecast.requests   forecasts requested
+ *     priceapp.forecast.coalesced  requests that shared a forecast already in progress
+ *     priceapp.forecast.in.flight  forecasts in progress
+ * }</pre>
+ */
+public class ForecastMetrics implements MeterBinder {
+
+    private final CoalescingForecaster forecaster;
+
+    public ForecastMetrics(CoalescingForecaster forecaster) {
+        this.forecaster = forecaster;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("priceapp.forecast.requests", forecaster, CoalescingForecaster::getNumRequests)
+                .description("Forecasts requested")
+                .register(registry);
+        FunctionCounter.builder("priceapp.forecast.coalesced", forecaster, CoalescingForecaster::getNumCoalesced)
+                .description("Requests that shared a forecast already in progress")
+                .register(registry);
+        Gauge.builder("priceapp.forecast.in.flight", forecaster, CoalescingForecaster::getNumInFlight)
+                .description("Forecasts in progress")
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,49 @@
+package pfatool.priceapp;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import pfatool.forecaster.ModelRegistry;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Actuator endpoint to show and reload the forecasting models.<br>
+ * GET "/actuator/models" shows the version of the models in use.<br>
+ * POST "/actuator/models" reloads the models, keeping the models in use if loading fails.
+ */
+@Component
+@Endpoint(id = "models")
+public class ModelsEndpoint {
+
+    private final ModelRegistry modelRegistry;
+
+    public ModelsEndpoint(ModelRegistry modelRegistry) {
+        this.modelRegistry = modelRegistry;
+    }
+
+    /**
+     * Information about the models in use
+     *
+     * @param version version of the models
+     * @param numOutputs number of trees in the bundle
+     * @param loadedAt time the models were published
+     */
+    public record ModelsInfo(String version, int numOutputs, OffsetDateTime loadedAt) {
+        static ModelsInfo of(ModelRegistry.LoadedModels loaded) {
+            return new ModelsInfo(loaded.version(), loaded.models().getNumOutputs(), loaded.loadedAt());
+        }
+    }
+
+    @ReadOperation
+    public ModelsInfo models() {
+        return ModelsInfo.of(modelRegistry.current());
+    }
+
+    @WriteOperation
+    public ModelsInfo reload() {
+        return ModelsInfo.of(modelRegistry.reload());
+    }
+
+}
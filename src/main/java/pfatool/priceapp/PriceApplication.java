@@ -1,16 +1,26 @@
 package pfatool.priceapp;
 
-import app.ec2prices.LiveSpotPrices;
+import app.ec2prices.AsyncSpotPrices;
+import app.ec2prices.FetchLimiter;
+import app.ec2prices.IncrementalPriceHistory;
+import app.ec2prices.PriceHistorySource;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import pfatool.forecaster.CachingForecaster;
+import pfatool.forecaster.CoalescingForecaster;
 import pfatool.forecaster.ForecasterImpl;
+import pfatool.forecaster.ModelRegistry;
 import pfatool.forecaster.PriceForecaster;
 import pfatool.forecaster.SupportedCategories;
-import pfatool.generated.PfaDecisionTree;
 
 import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 
 @SpringBootApplication
 @EnableConfigurationProperties(ConfigOptions.class)
@@ -28,17 +38,69 @@ public class PriceApplication {
     }
 
     /**
-     * Provide a PriceForecaster implementation and configure it with the filenames containing
-     * the decision tree data, the supported categories, and provide a fetcher for the historical
-     * price data.
+     * Provide a ModelRegistry holding the decision trees. The trees are loaded from the model
+     * directory if configured, and reloaded when it changes, otherwise from the classpath.
+     */
+    @Bean(destroyMethod = "close")
+    public ModelRegistry modelRegistry(ConfigOptions configOptions) throws IOException {
+        if (configOptions.modelDirectory == null || configOptions.modelDirectory.isBlank()) {
+            return ModelRegistry.fromClasspath(
+                    configOptions.forecastingTreeMean,
+                    configOptions.forecastingTreeStd);
+        }
+        return ModelRegistry.fromDirectory(
+                Path.of(configOptions.modelDirectory),
+                configOptions.forecastingTreeMean,
+                configOptions.forecastingTreeStd);
+    }
+
+    /**
+     * Provide a fetcher for the historical price data, limited so that concurrent requests
+     * fetch in parallel without being throttled by EC2. Fetches do not hold a thread while
+     * waiting for EC2.
+     */
+    @Bean(destroyMethod = "close")
+    public AsyncSpotPrices priceHistorySource(ConfigOptions configOptions) {
+        FetchLimiter limiter = new FetchLimiter(
+                configOptions.ec2MaxConcurrentFetches,
+                configOptions.ec2FetchesPerSecond,
+                configOptions.ec2FetchBurst,
+                Duration.ofMillis(configOptions.ec2FetchMaxWaitMillis));
+        URI endpoint = configOptions.ec2Endpoint == null || configOptions.ec2Endpoint.isBlank()
+                ? null
+                : URI.create(configOptions.ec2Endpoint);
+        return new AsyncSpotPrices(endpoint, limiter);
+    }
+
+    /**
+     * Provide a PriceForecaster implementation and configure it with the registry holding
+     * the decision trees, the supported categories, and provide a fetcher for the historical
+     * price data. The price history of each category is kept so only the prices since the
+     * latest one are fetched. Forecasts are cached until the next resample bucket, and concurrent
+     * requests for the same category share one forecast. Metrics of all three are added to the
+     * registry.
      */
     @Bean
-    public PriceForecaster priceForecaster(ConfigOptions configOptions) {
-        return new ForecasterImpl(
-                new PfaDecisionTree(configOptions.forecastingTreeMean),
-                new PfaDecisionTree(configOptions.forecastingTreeStd),
+    public PriceForecaster priceForecaster(ConfigOptions configOptions,
+                                           ModelRegistry modelRegistry,
+                                           PriceHistorySource priceHistorySource,
+                                           MeterRegistry meterRegistry) {
+        IncrementalPriceHistory history = new IncrementalPriceHistory(priceHistorySource, Clock.systemUTC());
+        CoalescingForecaster coalescing = new CoalescingForecaster(new ForecasterImpl(
+                modelRegistry,
                 new SupportedCategories(configOptions.forecastingSupportedCategories),
-                new LiveSpotPrices());
+                history));
+        CachingForecaster caching = new CachingForecaster(
+                coalescing,
+                () -> modelRegistry.current().version(),
+                Clock.systemUTC(),
+                ForecasterImpl.FREQ_HOURS,
+                configOptions.forecastCacheSize,
+                configOptions.forecastCacheMaxStaleBuckets);
+        new PriceHistoryMetrics(history).bindTo(meterRegistry);
+        new ForecastMetrics(coalescing).bindTo(meterRegistry);
+        new ForecastCacheMetrics(caching).bindTo(meterRegistry);
+        return caching;
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,42 @@
+package pfatool.priceapp;
+
+import app.ec2prices.IncrementalPriceHistory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the counts of an {@link IncrementalPriceHistory} to the actuator metrics:<pre>{@literal
+ *     priceapp.price.history.fetches{type=full|delta}  fetches of the whole window or since the latest price
+ *     priceapp.price.history.prices                    prices fetched from EC2
+ *     priceapp.price.history.size                      categories with a kept history
+ * }</pre>
+ */
+public class PriceHistoryMetrics implements MeterBinder {
+
+    private final IncrementalPriceHistory history;
+
+    public PriceHistoryMetrics(IncrementalPriceHistory history) {
+        this.history = history;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("priceapp.price.history.fetches", history, IncrementalPriceHistory::getNumFullFetches)
+                .tag("type", "full")
+                .description("Fetches of the whole window of price history")
+                .register(registry);
+        FunctionCounter.builder("priceapp.price.history.fetches", history, IncrementalPriceHistory::getNumDeltaFetches)
+                .tag("type", "delta")
+                .description("Fetches of the prices since the latest one kept")
+                .register(registry);
+        FunctionCounter.builder("priceapp.price.history.prices", history, IncrementalPriceHistory::getNumFetchedPrices)
+                .description("Prices fetched from EC2")
+                .register(registry);
+        Gauge.builder("priceapp.price.history.size", history, IncrementalPriceHistory::size)
+                .description("Categories with a kept price history")
+                .register(registry);
+    }
+
+}
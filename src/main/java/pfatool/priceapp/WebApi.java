@@ -9,13 +9,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
-import pfatool.forecaster.PriceForecast;
 import pfatool.forecaster.PriceForecaster;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 
@@ -123,20 +123,23 @@ public class WebApi {
      * Checks that the category is valid then generates a forecast for that category.
      * If an invalid category is given then throw a BasePriceAppException with a JSON
      * list of links to supported categories.
+     * <p>
+     * The forecast is completed asynchronously, so the servlet thread is released while
+     * historical prices are fetched.
      *
      * @param category category for forecast
      * @param request request object for getting base path of URL
-     * @return forecast as a JSON response
+     * @return future of the forecast as a JSON response
      * @throws BasePriceAppException if category is not valid
      */
     @GetMapping(value="/api/forecast", params="category")
-    public JsonResponse makeForecast(@RequestParam String category,
-                                     HttpServletRequest request) {
+    public CompletableFuture<JsonResponse> makeForecast(@RequestParam String category,
+                                                        HttpServletRequest request) {
         if (priceForecaster.isSupportedCategory(category)) {
-            PriceForecast forecast = priceForecaster.makeForecast(category);
-            return new JsonResponse(Map.of(
-                    "forecast", forecast
-            ));
+            return priceForecaster.makeForecastAsync(category)
+                    .thenApply(forecast -> new JsonResponse(Map.of(
+                            "forecast", forecast
+                    )));
         } else {
             // if not supported generate a list of supported categories
             List<String> links = makeQueryLinks(
@@ -1,8 +1,10 @@
-from typing import Any, Sequence, List, Optional, Type, Dict
+from typing import Any, Sequence, List, Optional, Type, Dict, Tuple
 from collections import OrderedDict
 from .pfa import PfaDoc, PfaCells, PfaAction
 from .register_converters import Supported
 from sklearn.tree import DecisionTreeRegressor # type: ignore
+from sklearn.ensemble import RandomForestRegressor, GradientBoostingRegressor # type: ignore
+from sklearn.dummy import DummyRegressor # type: ignore
 from sklearn.tree._tree import TREE_LEAF # type: ignore
 from sklearn.base import BaseEstimator # type: ignore
 import avro.schema # type: ignore
@@ -42,20 +44,8 @@ def sklearn_decision_tree_regressor_2pfa(dt: DecisionTreeRegressor,
         doc.set_output_from_json(output_type)
 
     # define tree nodes schema
-    enum_schema = _make_enums_schema(column_names)
-    treenode_type = '''
-    {"type": "record",
-     "name": "TreeNode",
-     "fields":
-        [{"type": {{enum_schema}}, "name": "field"},
-         {"type": "string", "name": "operator"},
-         {"type": "double", "name": "value"},
-         {"type": ["TreeNode", "double"],
-          "name": "pass"},
-         {"type": ["TreeNode", "double"],
-          "name": "fail"}]}
-    '''.replace('{{enum_schema}}', enum_schema)
-    
+    treenode_type = _make_treenode_schema(column_names)
+
     # create tree nodes
     root_node = _sklearn_regression_tree(dt)
     node_data = root_node.to_json()
@@ -76,6 +66,130 @@ def sklearn_decision_tree_regressor_2pfa(dt: DecisionTreeRegressor,
     return doc
 
 
+def sklearn_random_forest_regressor_2pfa(rf: RandomForestRegressor,
+                                         row_of_data: Any,
+                                         type_info: Optional[Sequence[Type[type]]],
+                                         pfa_version: str,
+                                         options: Sequence[Any]) -> PfaDoc:
+    '''
+    Convert a scikit-learn random forest regressor model to pfa format.
+    The trees are held in a single cell "trees" as an array of tree nodes,
+    and the prediction is the mean of the predictions of the trees.
+    '''
+    doc = _make_ensemble_doc(rf, 'sklearn_RandomForestRegressor', list(rf.estimators_))
+
+    # define action
+    action = '''
+    {"a.mean": [
+        {"a.map": [
+            {"cell": "trees"},
+            {"params": [{"tree": "TreeNode"}],
+             "ret": "double",
+             "do": {"model.tree.simpleTree": ["input", "tree"]}}]}]}
+    '''
+    doc.set_action(PfaAction(action))
+    return doc
+
+
+def sklearn_gradient_boosting_regressor_2pfa(gb: GradientBoostingRegressor,
+                                             row_of_data: Any,
+                                             type_info: Optional[Sequence[Type[type]]],
+                                             pfa_version: str,
+                                             options: Sequence[Any]) -> PfaDoc:
+    '''
+    Convert a scikit-learn gradient boosting regressor model to pfa format.
+    The trees are held in a single cell "trees" as an array of tree nodes.
+    The prediction starts from the cell "initValue" and adds the prediction of
+    each tree multiplied by the cell "learningRate", in the same order as scikit-learn.
+    '''
+    if gb.init_ == 'zero':
+        init_value = 0.0
+    elif isinstance(gb.init_, DummyRegressor):
+        init_value = float(gb.init_.constant_.ravel()[0])
+    else:
+        raise NotImplementedError('only constant init estimators are supported')
+    # estimators_ has shape (n_estimators, 1) for regression
+    doc = _make_ensemble_doc(gb, 'sklearn_GradientBoostingRegressor', list(gb.estimators_[:, 0]),
+                             [('learningRate', '"double"', float(gb.learning_rate)),
+                              ('initValue', '"double"', init_value)])
+
+    # define action
+    action = '''
+    {"a.fold": [
+        {"cell": "trees"},
+        {"cell": "initValue"},
+        {"params": [{"acc": "double"}, {"tree": "TreeNode"}],
+         "ret": "double",
+         "do": {"+": [
+            "acc",
+            {"*": [{"cell": "learningRate"},
+                   {"model.tree.simpleTree": ["input", "tree"]}]}]}}]}
+    '''
+    doc.set_action(PfaAction(action))
+    return doc
+
+
+def _make_ensemble_doc(model: BaseEstimator,
+                       name: str,
+                       trees: Sequence[DecisionTreeRegressor],
+                       extra_cells: Sequence[Tuple[str, str, Any]]=()) -> PfaDoc:
+    '''
+    Create the parts of the pfa document shared by ensembles of trees: the input,
+    the output, a cell "trees" holding an array of tree nodes, and any extra cells
+    given as (name, type, value). The action is left for the caller to set.
+    '''
+    doc = PfaDoc()
+    doc.set_name(name)
+
+    column_names = _get_sklearn_column_names(model)
+    column_types = ["double" for _ in column_names]
+    column_schemas = _make_columns_schema(column_names, column_types)
+    input_type = '''
+    {"type": "record",
+     "name": "SingleRow",
+     "fields": {{column_types}} }
+    '''.replace('{{column_types}}', column_schemas)
+    doc.set_input_from_json(input_type)
+
+    if model.n_outputs_ > 1:
+        raise NotImplementedError('multi-output regression not supported')
+    doc.set_output_from_json('"double"')
+
+    # the trees of an ensemble do not know the column names, so use the names of the ensemble
+    trees_type = '{"type": "array", "items": {{treenode_type}} }'.replace(
+        '{{treenode_type}}', _make_treenode_schema(column_names))
+    trees_data = [_sklearn_regression_tree(tree, column_names=column_names).to_json()
+                  for tree in trees]
+
+    cells = PfaCells()
+    cells.add_cell('trees', trees_type, trees_data)
+    for cell_name, cell_type, value in extra_cells:
+        cells.add_cell(cell_name, cell_type, value)
+    doc.set_cells(cells)
+    return doc
+
+
+def _make_treenode_schema(column_names: Sequence[str]) -> str:
+    '''
+    Create the schema of the tree nodes used by the PFA function "model.tree.simpleTree"
+    as an avro formatted string.
+    '''
+    enum_schema = _make_enums_schema(column_names)
+    treenode_type = '''
+    {"type": "record",
+     "name": "TreeNode",
+     "fields":
+        [{"type": {{enum_schema}}, "name": "field"},
+         {"type": "string", "name": "operator"},
+         {"type": "double", "name": "value"},
+         {"type": ["TreeNode", "double"],
+          "name": "pass"},
+         {"type": ["TreeNode", "double"],
+          "name": "fail"}]}
+    '''.replace('{{enum_schema}}', enum_schema)
+    return treenode_type
+
+
 def _get_sklearn_column_names(model: BaseEstimator) -> List[str]:
     '''
     Get column names from scikit-learn estimator if available,
@@ -157,11 +271,15 @@ class RegressionTreeNode:
 
 
 def _sklearn_regression_tree(dt: DecisionTreeRegressor,
-                             i: int=0) -> RegressionTreeNode:
+                             i: int=0,
+                             column_names: Optional[Sequence[str]]=None) -> RegressionTreeNode:
     '''
     Creates a tree of nodes from the scikit-learn model.
     The root node is at i=0.
+    The column names are taken from the model unless provided.
     '''
+    if column_names is None:
+        column_names = _get_sklearn_column_names(dt)
     if dt.n_outputs_ > 1:
         raise NotImplementedError('multi-output regression not supported')
     else:
@@ -172,7 +290,7 @@ def _sklearn_regression_tree(dt: DecisionTreeRegressor,
         return RegressionTreeNode('', value)
     
     col_number = dt.tree_.feature[i]
-    col_name = _get_sklearn_column_names(dt)[col_number]
+    col_name = column_names[col_number]
     threshold = dt.tree_.threshold[i]
     left_i = dt.tree_.children_left[i]
     right_i = dt.tree_.children_right[i]
@@ -180,8 +298,8 @@ def _sklearn_regression_tree(dt: DecisionTreeRegressor,
     return RegressionTreeNode(
         col_name,
         threshold,
-        _sklearn_regression_tree(dt, left_i),
-        _sklearn_regression_tree(dt, right_i)
+        _sklearn_regression_tree(dt, left_i, column_names),
+        _sklearn_regression_tree(dt, right_i, column_names)
     )
 
 
@@ -190,3 +308,11 @@ def register_converters(supported: Type[Supported]) -> None:
         DecisionTreeRegressor(),
         sklearn_decision_tree_regressor_2pfa
     )
+    supported.register_converter(
+        RandomForestRegressor(),
+        sklearn_random_forest_regressor_2pfa
+    )
+    supported.register_converter(
+        GradientBoostingRegressor(),
+        sklearn_gradient_boosting_regressor_2pfa
+    )
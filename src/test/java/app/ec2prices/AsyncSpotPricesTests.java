@@ -0,0 +1,79 @@
+package app.ec2prices;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import pfatool.forecaster.CategoryDictionary;
+import pfatool.forecaster.PriceData;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fetches asynchronously against a local fake EC2 endpoint
+ */
+public class AsyncSpotPricesTests {
+
+    private static final int NUM_PRICES = 48;
+
+    private static AsyncSpotPrices connect(FakeEc2Server server, FetchLimiter limiter) {
+        return new AsyncSpotPrices(
+                AsyncSpotPrices.buildClient(server.getEndpoint(),
+                        StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test"))),
+                limiter);
+    }
+
+    private static CategoryDictionary.Category category(int i) {
+        return new CategoryDictionary.Category("c5d.xlarge", "Linux/UNIX", "eu-west-1a-" + i);
+    }
+
+    @Test
+    @Timeout(30)
+    void testFetchAllPages() throws IOException {
+        try (FakeEc2Server server = new FakeEc2Server(0, NUM_PRICES, 10);
+             AsyncSpotPrices prices = connect(server, new FetchLimiter(1, 10, 1, Duration.ofSeconds(5)))) {
+            long start = System.nanoTime();
+            List<PriceData> data = prices.fetchPriceHistory(category(0), 8).join();
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            assertEquals(NUM_PRICES, data.size());
+            for (int i = 0; i < NUM_PRICES; i++) {
+                assertEquals(category(0), CategoryDictionary.Category.of(data.get(i)));
+                assertEquals(0.25 + i * 0.001, data.get(i).price());
+            }
+            assertEquals(5, server.getNumRequests());
+            // each page takes a token, a burst of 1 then 10 per second
+            assertTrue(millis >= 4 * 100L - 10, "took " + millis + " ms");
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void testConcurrentFetchesFromOneThreadWithinLimit() throws IOException {
+        int maxConcurrent = 4;
+        int numFetches = 40;
+        try (FakeEc2Server server = new FakeEc2Server(50, NUM_PRICES, 20);
+             AsyncSpotPrices prices = connect(server,
+                     new FetchLimiter(maxConcurrent, 1000, 100, Duration.ofSeconds(20)))) {
+            // all fetches are started without waiting, none holds this thread
+            List<CompletableFuture<List<PriceData>>> results = new ArrayList<>();
+            for (int i = 0; i < numFetches; i++) {
+                results.add(prices.fetchPriceHistory(category(i), 8));
+            }
+            for (int i = 0; i < numFetches; i++) {
+                List<PriceData> data = results.get(i).join();
+                assertEquals(NUM_PRICES, data.size());
+                assertEquals(category(i), CategoryDictionary.Category.of(data.get(0)));
+            }
+            assertEquals(numFetches * 3, server.getNumRequests());
+            assertTrue(server.getMaxInFlight() > 1, "max in flight " + server.getMaxInFlight());
+            assertTrue(server.getMaxInFlight() <= maxConcurrent, "max in flight " + server.getMaxInFlight());
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+package app.ec2prices;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local HTTP server answering DescribeSpotPriceHistory like the EC2 API, with a fixed
+ * number of prices for the requested category split into pages linked by nextToken.
+ * Counts the requests in flight.
+ */
+public class FakeEc2Server implements Closeable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long delayMillis;
+    private final int numPrices;
+    private final int pageSize;
+    private final AtomicInteger numRequests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    /**
+     * Start a server on a free port that returns all prices in one page
+     *
+     * @param delayMillis time to take for each request
+     * @param numPrices number of prices of each category
+     */
+    public FakeEc2Server(long delayMillis, int numPrices) throws IOException {
+        this(delayMillis, numPrices, numPrices);
+    }
+
+    /**
+     * Start a server on a free port
+     *
+     * @param delayMillis time to take for each request
+     * @param numPrices number of prices of each category
+     * @param pageSize number of prices in each response
+     */
+    public FakeEc2Server(long delayMillis, int numPrices, int pageSize) throws IOException {
+        this.delayMillis = delayMillis;
+        this.numPrices = numPrices;
+        this.pageSize = pageSize;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public URI getEndpoint() {
+        return URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    public int getNumRequests() {
+        return numRequests.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        numRequests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Map<String, String> params = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            Thread.sleep(delayMillis);
+            byte[] body = responseXml(params).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/xml;charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private static Map<String, String> parseForm(String form) {
+        Map<String, String> params = new HashMap<>();
+        for (String pair : form.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private String responseXml(Map<String, String> params) {
+        StringBuilder xml = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <DescribeSpotPriceHistoryResponse xmlns="http://ec2.amazonaws.com/doc/2016-11-15/">
+                    <requestId>00000000-0000-0000-0000-000000000000</requestId>
+                    <spotPriceHistorySet>
+                """);
+        Instant now = Instant.parse("2022-06-07T00:00:00Z");
+        int start = params.containsKey("NextToken") ? Integer.parseInt(params.get("NextToken")) : 0;
+        int end = Math.min(start + pageSize, numPrices);
+        for (int i = start; i < end; i++) {
+            xml.append("""
+                        <item>
+                            <instanceType>%s</instanceType>
+                            <productDescription>%s</productDescription>
+                            <spotPrice>%s</spotPrice>
+                            <timestamp>%s</timestamp>
+                            <availabilityZone>%s</availabilityZone>
+                        </item>
+                    """.formatted(
+                    params.get("InstanceType.1"),
+                    params.get("ProductDescription.1"),
+                    0.25 + i * 0.001,
+                    now.minusSeconds(3600L * i),
+                    params.get("AvailabilityZone")));
+        }
+        xml.append("""
+                    </spotPriceHistorySet>
+                    <nextToken>%s</nextToken>
+                </DescribeSpotPriceHistoryResponse>
+                """.formatted(end < numPrices ? String.valueOf(end) : ""));
+        return xml.toString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+}
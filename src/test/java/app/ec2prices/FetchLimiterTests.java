@@ -0,0 +1,163 @@
+package app.ec2prices;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FetchLimiterTests {
+
+    @Test
+    void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new FetchLimiter(0, 1, 1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new FetchLimiter(1, 0, 1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new FetchLimiter(1, Double.NaN, 1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new FetchLimiter(1, 1, 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new FetchLimiter(1, 1, 1, Duration.ofMillis(-1)));
+    }
+
+    @Test
+    @Timeout(10)
+    void testMaxConcurrentCalls() throws Exception {
+        int maxConcurrent = 3;
+        FetchLimiter limiter = new FetchLimiter(maxConcurrent, 1e6, 100, Duration.ofSeconds(5));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 24; i++) {
+                int n = i;
+                results.add(pool.submit(() -> limiter.call(() -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    sleep(20);
+                    inFlight.decrementAndGet();
+                    return n;
+                })));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i, results.get(i).get().intValue());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(maxConcurrent, maxInFlight.get());
+        assertEquals(maxConcurrent, limiter.availablePermits());
+    }
+
+    @Test
+    @Timeout(10)
+    void testRateAfterBurst() {
+        FetchLimiter limiter = new FetchLimiter(1, 50, 5, Duration.ofSeconds(5));
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            limiter.call(() -> null);
+        }
+        // the burst does not wait
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(50));
+        for (int i = 0; i < 10; i++) {
+            limiter.call(() -> null);
+        }
+        // then one call per 20ms
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(190));
+    }
+
+    @Test
+    @Timeout(10)
+    void testTimeoutWaitingForPermit() throws Exception {
+        FetchLimiter limiter = new FetchLimiter(1, 1e6, 100, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> limiter.call(() -> {
+            started.countDown();
+            await(release);
+            return null;
+        }));
+        holder.start();
+        started.await();
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(IllegalStateException.class, () -> limiter.call(calls::incrementAndGet));
+        assertEquals(0, calls.get());
+        release.countDown();
+        holder.join();
+        assertEquals(1, limiter.call(calls::incrementAndGet).intValue());
+    }
+
+    @Test
+    @Timeout(10)
+    void testTimeoutWaitingForToken() {
+        FetchLimiter limiter = new FetchLimiter(4, 1, 1, Duration.ofMillis(50));
+        limiter.call(() -> null);
+        // the next token is a second away, longer than the wait
+        assertThrows(IllegalStateException.class, () -> limiter.call(() -> null));
+        assertEquals(4, limiter.availablePermits());
+    }
+
+    @Test
+    @Timeout(10)
+    void testAsyncCallsHoldPermitUntilComplete() {
+        FetchLimiter limiter = new FetchLimiter(2, 1e6, 100, Duration.ofSeconds(5));
+        List<CompletableFuture<Integer>> calls = new ArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            CompletableFuture<Integer> call = new CompletableFuture<>();
+            calls.add(call);
+            results.add(limiter.callAsync(() -> call));
+        }
+        assertEquals(0, limiter.availablePermits());
+        // completing a call starts the next, in order
+        for (int i = 0; i < 5; i++) {
+            assertFalse(results.get(i).isDone());
+            calls.get(i).complete(i);
+            assertEquals(i, results.get(i).join().intValue());
+        }
+        assertEquals(2, limiter.availablePermits());
+    }
+
+    @Test
+    @Timeout(10)
+    void testAsyncTimeoutWaitingForPermit() {
+        FetchLimiter limiter = new FetchLimiter(1, 1e6, 100, Duration.ofMillis(50));
+        CompletableFuture<Integer> first = new CompletableFuture<>();
+        CompletableFuture<Integer> firstResult = limiter.callAsync(() -> first);
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Integer> second = limiter.callAsync(
+                () -> CompletableFuture.completedFuture(calls.incrementAndGet()));
+        CompletionException e = assertThrows(CompletionException.class, second::join);
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        assertEquals(0, calls.get());
+        // the timed out caller does not take the permit
+        first.complete(1);
+        assertEquals(1, firstResult.join().intValue());
+        assertEquals(1, limiter.availablePermits());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
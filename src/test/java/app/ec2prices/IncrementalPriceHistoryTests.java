@@ -0,0 +1,140 @@
+package app.ec2prices;
+
+import org.junit.jupiter.api.Test;
+import pfatool.forecaster.CategoryDictionary;
+import pfatool.forecaster.ForecasterTestSupport.TestClock;
+import pfatool.forecaster.PriceData;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalPriceHistoryTests {
+
+    private static final CategoryDictionary.Category CATEGORY =
+            new CategoryDictionary.Category("c5d.xlarge", "Linux/UNIX", "eu-west-1a");
+    private static final Instant T0 = Instant.parse("2022-06-01T00:00:00Z");
+
+    /**
+     * Source behaving like EC2: the prices since startTime, newest first, with the price in
+     * effect at startTime. Prices change every hour until the clock.
+     */
+    private static class FakeSource implements PriceHistorySource {
+        final TestClock clock;
+        final List<Instant> startTimes = new ArrayList<>();
+        RuntimeException failure;
+
+        FakeSource(TestClock clock) {
+            this.clock = clock;
+        }
+
+        static PriceData price(Instant time) {
+            return new PriceData(time.atOffset(ZoneOffset.UTC),
+                    0.25 + Duration.between(T0, time).toHours() * 0.001,
+                    CATEGORY.instanceType(), CATEGORY.instanceDescription(), CATEGORY.regionZone());
+        }
+
+        List<PriceData> expected(Instant startTime) {
+            List<PriceData> prices = new ArrayList<>();
+            for (Instant t = T0; !t.isAfter(clock.instant()); t = t.plus(Duration.ofHours(1))) {
+                if (t.plus(Duration.ofHours(1)).isAfter(startTime)) {
+                    prices.add(price(t));
+                }
+            }
+            return prices;
+        }
+
+        @Override
+        public CompletableFuture<List<PriceData>> fetchPriceHistory(CategoryDictionary.Category category,
+                                                                    Instant startTime) {
+            startTimes.add(startTime);
+            if (failure != null) {
+                return CompletableFuture.failedFuture(failure);
+            }
+            List<PriceData> prices = new ArrayList<>(expected(startTime));
+            // newest first, as from EC2, with the price in effect at startTime
+            prices.sort(Comparator.comparing(PriceData::date).reversed());
+            return CompletableFuture.completedFuture(prices);
+        }
+    }
+
+    private final TestClock clock = new TestClock(T0.plus(Duration.ofDays(8)));
+    private final FakeSource source = new FakeSource(clock);
+    private final IncrementalPriceHistory history = new IncrementalPriceHistory(source, clock);
+
+    @Test
+    void testFirstFetchIsWholeWindow() {
+        List<PriceData> prices = history.fetchPriceHistory(CATEGORY, 2).join();
+        Instant start = clock.instant().minus(Duration.ofDays(2));
+        assertEquals(List.of(start), source.startTimes);
+        assertEquals(source.expected(start), prices);
+        assertEquals(49, prices.size());
+        assertEquals(1, history.getNumFullFetches());
+        assertEquals(0, history.getNumDeltaFetches());
+    }
+
+    @Test
+    void testLaterFetchesOnlyDelta() {
+        history.fetchPriceHistory(CATEGORY, 2).join();
+        Instant lastSeen = clock.instant();
+        clock.advance(Duration.ofMinutes(150));
+
+        List<PriceData> prices = history.fetchPriceHistory(CATEGORY, 2).join();
+        assertEquals(lastSeen, source.startTimes.get(1));
+        // the window moved, the price in effect at its start is kept
+        Instant start = clock.instant().minus(Duration.ofDays(2));
+        assertEquals(source.expected(start), prices);
+        assertTrue(prices.get(0).date().toInstant().isBefore(start));
+        assertEquals(1, history.getNumDeltaFetches());
+        // all 49 prices, then the one last seen again and the 2 new ones
+        assertEquals(52, history.getNumFetchedPrices());
+        assertEquals(1, history.size());
+    }
+
+    @Test
+    void testLongerWindowFetchesWholeWindow() {
+        history.fetchPriceHistory(CATEGORY, 2).join();
+        List<PriceData> prices = history.fetchPriceHistory(CATEGORY, 3).join();
+        Instant start = clock.instant().minus(Duration.ofDays(3));
+        assertEquals(start, source.startTimes.get(1));
+        assertEquals(source.expected(start), prices);
+        assertEquals(2, history.getNumFullFetches());
+        // and the shorter window is taken from the kept history again
+        assertEquals(source.expected(clock.instant().minus(Duration.ofDays(2))),
+                history.fetchPriceHistory(CATEGORY, 2).join());
+        assertEquals(1, history.getNumDeltaFetches());
+    }
+
+    @Test
+    void testFailedFetchKeepsHistory() {
+        history.fetchPriceHistory(CATEGORY, 2).join();
+        clock.advance(Duration.ofHours(1));
+        source.failure = new IllegalStateException("throttled");
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> history.fetchPriceHistory(CATEGORY, 2).join());
+        assertTrue(e.getCause() instanceof IllegalStateException);
+
+        source.failure = null;
+        List<PriceData> prices = history.fetchPriceHistory(CATEGORY, 2).join();
+        assertEquals(source.startTimes.get(1), source.startTimes.get(2));
+        assertEquals(source.expected(clock.instant().minus(Duration.ofDays(2))), prices);
+    }
+
+    @Test
+    void testEmptyHistoryNotKept() {
+        IncrementalPriceHistory empty = new IncrementalPriceHistory(
+                (category, startTime) -> CompletableFuture.completedFuture(List.of()), clock);
+        assertEquals(List.of(), empty.fetchPriceHistory(CATEGORY, 2).join());
+        assertEquals(0, empty.size());
+        empty.fetchPriceHistory(CATEGORY, 2).join();
+        assertEquals(2, empty.getNumFullFetches());
+    }
+
+}
@@ -0,0 +1,129 @@
+package app.ec2prices;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import pfatool.forecaster.CategoryDictionary;
+import pfatool.forecaster.PriceData;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fetches from many threads against a local fake EC2 endpoint
+ */
+public class LiveSpotPricesLoadTests {
+
+    private static final int NUM_PRICES = 48;
+
+    private static LiveSpotPrices connect(FakeEc2Server server, FetchLimiter limiter) {
+        return new LiveSpotPrices(
+                LiveSpotPrices.buildClient(server.getEndpoint(),
+                        StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test"))),
+                limiter);
+    }
+
+    private static String category(int i) {
+        return "c5d.xlarge__Linux/UNIX__eu-west-1" + (char) ('a' + i % 3) + "-" + i;
+    }
+
+    @Test
+    @Timeout(30)
+    void testFetchFromEndpoint() throws IOException {
+        try (FakeEc2Server server = new FakeEc2Server(0, NUM_PRICES);
+             LiveSpotPrices prices = connect(server, new FetchLimiter(1, 10, 1, Duration.ofSeconds(5)))) {
+            List<PriceData> data = prices.fetchPriceHistory("c5d.xlarge__SUSE Linux__eu-west-1a", 8);
+            assertEquals(NUM_PRICES, data.size());
+            assertEquals(new CategoryDictionary.Category("c5d.xlarge", "SUSE Linux", "eu-west-1a"),
+                    CategoryDictionary.Category.of(data.get(0)));
+            assertEquals(0.25, data.get(0).price());
+            assertEquals(1, server.getNumRequests());
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void testFetchAllPages() throws IOException {
+        try (FakeEc2Server server = new FakeEc2Server(0, NUM_PRICES, 10);
+             LiveSpotPrices prices = connect(server, new FetchLimiter(1, 10, 1, Duration.ofSeconds(5)))) {
+            long start = System.nanoTime();
+            List<PriceData> data = prices.fetchPriceHistory("c5d.xlarge__SUSE Linux__eu-west-1a", 8);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            assertEquals(NUM_PRICES, data.size());
+            for (int i = 0; i < NUM_PRICES; i++) {
+                assertEquals(0.25 + i * 0.001, data.get(i).price());
+            }
+            assertEquals(5, server.getNumRequests());
+            // each page takes a token, a burst of 1 then 10 per second
+            assertTrue(millis >= 4 * 100L - 10, "took " + millis + " ms");
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void testConcurrentFetchesRunInParallelWithinLimit() throws Exception {
+        int maxConcurrent = 4;
+        int numFetches = 40;
+        try (FakeEc2Server server = new FakeEc2Server(50, NUM_PRICES);
+             LiveSpotPrices prices = connect(server,
+                     new FetchLimiter(maxConcurrent, 1000, 100, Duration.ofSeconds(20)))) {
+            ExecutorService pool = Executors.newFixedThreadPool(16);
+            try {
+                List<Future<List<PriceData>>> results = new ArrayList<>();
+                long start = System.nanoTime();
+                for (int i = 0; i < numFetches; i++) {
+                    String category = category(i);
+                    results.add(pool.submit(() -> prices.fetchPriceHistory(category, 8)));
+                }
+                for (int i = 0; i < numFetches; i++) {
+                    List<PriceData> data = results.get(i).get();
+                    assertEquals(NUM_PRICES, data.size());
+                    assertEquals(category(i), CategoryDictionary.Category.of(data.get(0)).name());
+                }
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                // one at a time would take numFetches * 50ms
+                assertTrue(millis < numFetches * 50L, "took " + millis + " ms");
+            } finally {
+                pool.shutdown();
+            }
+            assertEquals(numFetches, server.getNumRequests());
+            assertTrue(server.getMaxInFlight() > 1, "max in flight " + server.getMaxInFlight());
+            assertTrue(server.getMaxInFlight() <= maxConcurrent, "max in flight " + server.getMaxInFlight());
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void testConcurrentFetchesWithinRate() throws Exception {
+        int numFetches = 20;
+        try (FakeEc2Server server = new FakeEc2Server(0, NUM_PRICES);
+             LiveSpotPrices prices = connect(server, new FetchLimiter(8, 40, 4, Duration.ofSeconds(20)))) {
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<List<PriceData>>> results = new ArrayList<>();
+                long start = System.nanoTime();
+                for (int i = 0; i < numFetches; i++) {
+                    String category = category(i);
+                    results.add(pool.submit(() -> prices.fetchPriceHistory(category, 8)));
+                }
+                for (Future<List<PriceData>> result : results) {
+                    assertEquals(NUM_PRICES, result.get().size());
+                }
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                // a burst of 4 then 40 per second
+                assertTrue(millis >= (numFetches - 4) * 25L - 10, "took " + millis + " ms");
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+}
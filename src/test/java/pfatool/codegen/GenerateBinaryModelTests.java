@@ -0,0 +1,62 @@
+package pfatool.codegen;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pfatool.generated.FlatTree;
+import pfatool.generated.PfaDecisionTree;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenerateBinaryModelTests {
+
+    private static final String TEST_FILES_PATH = "src/test/resources/pfa/example_01/";
+    private GenerateBinaryModel gen;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        gen = new GenerateBinaryModel(TEST_FILES_PATH + "pfa_example_01.pfa");
+    }
+
+    @Test
+    void testMakeOutputFilename() {
+        assertEquals(
+                TEST_FILES_PATH + "pfa_example_01_tree.bin",
+                gen.makeOutputFilename()
+        );
+    }
+
+    @Test
+    void testMakeFlatTreeAsExpected() {
+        FlatTree tree = gen.makeFlatTree();
+        assertEquals(2, tree.getNumNodes());
+        assertEquals(3, tree.getNumLeaves());
+        assertEquals(8.0, tree.predict(new double[] {0.0, 0.0, 0.0, 3.0}));
+        assertEquals(7.0, tree.predict(new double[] {0.0, 0.0, 0.0, 4.0}));
+        assertEquals(9.0, tree.predict(new double[] {0.0, 0.0, 0.0, 5.0}));
+    }
+
+    @Test
+    void testSourceChecksumAndSizeMatchDataFiles() throws IOException {
+        String dataFile = "src/main/resources/pfa/p_01/forecasting_01_y0_tree";
+        GenerateBinaryModel y0Gen = new GenerateBinaryModel("src/main/resources/pfa/p_01/forecasting_01_y0.pfa");
+        assertEquals(
+                PfaDecisionTree.sourceChecksum(
+                        Files.readString(Path.of(dataFile + "_data.avsc")),
+                        Files.readString(Path.of(dataFile + ".data"))),
+                y0Gen.sourceChecksum()
+        );
+        assertEquals(
+                Files.size(Path.of(dataFile + "_data.avsc")) + Files.size(Path.of(dataFile + ".data")),
+                y0Gen.sourceSize()
+        );
+        ByteBuffer binary = y0Gen.makeFlatTree().toByteBuffer(y0Gen.sourceChecksum(), y0Gen.sourceSize());
+        assertEquals(y0Gen.sourceChecksum(), FlatTree.getSourceChecksum(binary));
+        assertEquals(y0Gen.sourceSize(), FlatTree.getSourceSize(binary));
+    }
+
+}
@@ -1,9 +1,12 @@
 package pfatool.codegen;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.nio.file.*;
@@ -172,4 +175,35 @@ class GenerateJavaCodeTests {
         );
     }
 
-}
\ No newline at end of file
+    @Test
+    void testEnsembleNamespaceInsertedIntoArrayItems(@TempDir Path tempDir) throws IOException {
+        Path pfaFile = tempDir.resolve("price_sample_01_boost.pfa");
+        Files.copy(Path.of("src/test/resources/pfa/ensemble_01/price_sample_01_boost.pfa"), pfaFile);
+        GenerateJavaCode ensembleGen = new GenerateJavaCode(
+                pfaFile.toString(),
+                tempDir.resolve("out").toString(),
+                OUTPUT_PACKAGE
+        );
+        ensembleGen.makeSchemaFiles();
+        JsonNode classSchema = new ObjectMapper().readTree(
+                tempDir.resolve("price_sample_01_boost_trees_class.avsc").toFile()
+        );
+        assertEquals("array", classSchema.get("type").asText());
+        assertEquals(OUTPUT_PACKAGE, classSchema.get("items").get("namespace").asText());
+        assertTrue(Files.exists(tempDir.resolve("price_sample_01_boost_learningRate.data")));
+
+        ensembleGen.makeJavaFromSchemaFiles();
+        try (Stream<Path> s = Files.list(tempDir.resolve("out" + OUTPUT_SUB_FOLDER))) {
+            List<String> contents = s
+                    .map(Path::getFileName)
+                    .map(Path::toString)
+                    .sorted()
+                    .toList();
+            assertLinesMatch(
+                    List.of("ColumnNames.java", "TreeNode.java"),
+                    contents
+            );
+        }
+    }
+
+}
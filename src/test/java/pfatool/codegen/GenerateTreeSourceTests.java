@@ -0,0 +1,62 @@
+package pfatool.codegen;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenerateTreeSourceTests {
+
+    private static final String TEST_FILES_PATH = "src/test/resources/pfa/example_01/";
+    private GenerateTreeSource gen;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        gen = new GenerateTreeSource(
+                TEST_FILES_PATH + "pfa_example_01.pfa",
+                "build/generated-tree-source",
+                "dummy.name"
+        );
+    }
+
+    @Test
+    void testMakeClassNameTypical() {
+        assertEquals("Forecasting01Y0Tree", GenerateTreeSource.makeClassName("forecasting_01_y0.pfa"));
+    }
+
+    @Test
+    void testMakeClassNameNoExtension() {
+        assertEquals("ExampleTree", GenerateTreeSource.makeClassName("example"));
+    }
+
+    @Test
+    void testFormatDoubleRoundTrips() {
+        double value = 0.1 + 0.2;
+        assertEquals(value, Double.parseDouble(GenerateTreeSource.formatDouble(value)));
+    }
+
+    @Test
+    void testMakeSourceAsExpected() {
+        String expectedBody = String.join("\n",
+                "    public static double predict(double[] inputs) {",
+                "        if (inputs[3] <= 4.950000047683716) {",
+                "            if (inputs[3] <= 3.3000000715255737) {",
+                "                return 8.0;",
+                "            } else {",
+                "                return 7.0;",
+                "            }",
+                "        } else {",
+                "            return 9.0;",
+                "        }",
+                "    }"
+        );
+        String source = gen.makeSource();
+        assertEquals("PfaExample01Tree", gen.getClassName());
+        assertTrue(source.contains("package dummy.name;"), source);
+        assertTrue(source.contains("public final class PfaExample01Tree {"), source);
+        assertTrue(source.contains(expectedBody), source);
+    }
+
+}
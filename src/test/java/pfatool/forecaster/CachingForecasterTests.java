@@ -0,0 +1,157 @@
+package pfatool.forecaster;
+
+import org.junit.jupiter.api.Test;
+import pfatool.forecaster.ForecasterTestSupport.PendingForecaster;
+import pfatool.forecaster.ForecasterTestSupport.TestClock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingForecasterTests {
+
+    private static final String CATEGORY = "c5d.xlarge__Linux/UNIX__eu-west-1a";
+
+    private final TestClock clock = new TestClock(Instant.parse("2022-06-07T08:30:00Z"));
+    private final PendingForecaster delegate = new PendingForecaster();
+
+    private CachingForecaster create(int maxEntries, int maxStaleBuckets) {
+        return new CachingForecaster(delegate, () -> delegate.version, clock, 4, maxEntries, maxStaleBuckets);
+    }
+
+    @Test
+    void testHitWithinBucket() {
+        CachingForecaster forecaster = create(10, 1);
+        CompletableFuture<PriceForecast> first = forecaster.makeForecastAsync(CATEGORY);
+        assertFalse(first.isDone());
+        delegate.complete(CATEGORY, 1.0);
+        assertEquals(1.0, first.join().mean());
+
+        // until the end of the 08:00 to 12:00 bucket
+        clock.advance(Duration.ofMinutes(209));
+        assertEquals(1.0, forecaster.makeForecast(CATEGORY).mean());
+        assertEquals(1, delegate.numCalls.get());
+        assertEquals(1, forecaster.getNumHits());
+        assertEquals(1, forecaster.getNumMisses());
+        assertEquals(1, forecaster.size());
+    }
+
+    @Test
+    void testStaleWhileRevalidateAtBucketBoundary() {
+        CachingForecaster forecaster = create(10, 1);
+        forecaster.makeForecastAsync(CATEGORY);
+        delegate.complete(CATEGORY, 1.0);
+
+        clock.advance(Duration.ofHours(4));
+        // the stale forecast is returned at once, a new one is made in the background
+        CompletableFuture<PriceForecast> stale = forecaster.makeForecastAsync(CATEGORY);
+        assertTrue(stale.isDone());
+        assertEquals(1.0, stale.join().mean());
+        // only one refresh at a time
+        assertEquals(1.0, forecaster.makeForecast(CATEGORY).mean());
+        assertEquals(2, delegate.numCalls.get());
+        assertEquals(2, forecaster.getNumStaleHits());
+
+        delegate.complete(CATEGORY, 2.0);
+        assertEquals(2.0, forecaster.makeForecast(CATEGORY).mean());
+        assertEquals(1, forecaster.getNumHits());
+    }
+
+    @Test
+    void testTooStaleWaitsForNewForecast() {
+        CachingForecaster forecaster = create(10, 1);
+        forecaster.makeForecastAsync(CATEGORY);
+        delegate.complete(CATEGORY, 1.0);
+
+        clock.advance(Duration.ofHours(8));
+        CompletableFuture<PriceForecast> result = forecaster.makeForecastAsync(CATEGORY);
+        assertFalse(result.isDone());
+        delegate.complete(CATEGORY, 2.0);
+        assertEquals(2.0, result.join().mean());
+        assertEquals(2, forecaster.getNumMisses());
+    }
+
+    @Test
+    void testNewModelVersionWaitsForNewForecast() {
+        CachingForecaster forecaster = create(10, 1);
+        forecaster.makeForecastAsync(CATEGORY);
+        delegate.complete(CATEGORY, 1.0);
+
+        delegate.version = "v2";
+        CompletableFuture<PriceForecast> result = forecaster.makeForecastAsync(CATEGORY);
+        assertFalse(result.isDone());
+        delegate.complete(CATEGORY, 2.0);
+        assertEquals("v2", result.join().modelVersion());
+        assertEquals("v2", forecaster.makeForecast(CATEGORY).modelVersion());
+        assertEquals(2, delegate.numCalls.get());
+        assertEquals(0, forecaster.getNumStaleHits());
+        assertEquals(2, forecaster.getNumMisses());
+    }
+
+    @Test
+    void testNoStaleForecastsWhenMaxStaleBucketsZero() {
+        CachingForecaster forecaster = create(10, 0);
+        forecaster.makeForecastAsync(CATEGORY);
+        delegate.complete(CATEGORY, 1.0);
+
+        clock.advance(Duration.ofHours(4));
+        assertFalse(forecaster.makeForecastAsync(CATEGORY).isDone());
+        assertEquals(0, forecaster.getNumStaleHits());
+    }
+
+    @Test
+    void testFailedRefreshKeepsStaleForecast() {
+        CachingForecaster forecaster = create(10, 1);
+        forecaster.makeForecastAsync(CATEGORY);
+        delegate.complete(CATEGORY, 1.0);
+
+        clock.advance(Duration.ofHours(4));
+        assertEquals(1.0, forecaster.makeForecast(CATEGORY).mean());
+        delegate.fail(CATEGORY, new IllegalStateException("throttled"));
+        assertEquals(1, forecaster.getNumRefreshFailures());
+        // served stale again and retried
+        assertEquals(1.0, forecaster.makeForecast(CATEGORY).mean());
+        assertEquals(3, delegate.numCalls.get());
+    }
+
+    @Test
+    void testFailedMissIsNotCached() {
+        CachingForecaster forecaster = create(10, 1);
+        CompletableFuture<PriceForecast> result = forecaster.makeForecastAsync(CATEGORY);
+        delegate.fail(CATEGORY, new IllegalStateException("throttled"));
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(0, forecaster.size());
+        assertFalse(forecaster.makeForecastAsync(CATEGORY).isDone());
+    }
+
+    @Test
+    void testLeastRecentlyRequestedEvicted() {
+        CachingForecaster forecaster = create(2, 1);
+        for (String category : List.of("a__a__a", "b__b__b")) {
+            forecaster.makeForecastAsync(category);
+            delegate.complete(category, 1.0);
+        }
+        // a is requested again so b is the least recent
+        forecaster.makeForecast("a__a__a");
+        forecaster.makeForecastAsync("c__c__c");
+        delegate.complete("c__c__c", 1.0);
+        assertEquals(2, forecaster.size());
+        assertEquals(1, forecaster.getNumEvictions());
+        assertTrue(forecaster.makeForecastAsync("a__a__a").isDone());
+        assertFalse(forecaster.makeForecastAsync("b__b__b").isDone());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingForecaster(delegate, () -> "v1", clock, 0, 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingForecaster(delegate, () -> "v1", clock, 4, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CachingForecaster(delegate, () -> "v1", clock, 4, 1, -1));
+    }
+
+}
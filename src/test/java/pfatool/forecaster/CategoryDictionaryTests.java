@@ -0,0 +1,87 @@
+package pfatool.forecaster;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CategoryDictionaryTests {
+    private static final String SUPPORTED_CATEGORIES = "pfa/p_01/supported_01.txt";
+
+    private static List<String> names;
+    private static CategoryDictionary dictionary;
+
+    @BeforeAll
+    static void loadCategories() {
+        SupportedCategories supported = new SupportedCategories(SUPPORTED_CATEGORIES);
+        names = supported.getCategories();
+        dictionary = supported.getDictionary();
+    }
+
+    @Test
+    void testEveryCategoryHasId() {
+        assertEquals(names.size(), dictionary.size());
+        for (String name : names) {
+            int id = dictionary.idOf(name);
+            assertTrue(id >= 0, name);
+            assertEquals(name, dictionary.getName(id));
+            assertEquals(id, dictionary.idOf(CategoryDictionary.Category.parse(name)));
+        }
+        assertEquals(-1, dictionary.idOf("no-such-category"));
+        assertEquals(names.stream().sorted().toList(), dictionary.getNames());
+    }
+
+    @Test
+    void testComponentIds() {
+        for (int id = 0; id < dictionary.size(); id++) {
+            CategoryDictionary.Category category = dictionary.get(id);
+            assertEquals(category.instanceType(),
+                    dictionary.getInstanceTypes().get(dictionary.getInstanceTypeId(id)));
+            assertEquals(category.instanceDescription(),
+                    dictionary.getInstanceDescriptions().get(dictionary.getInstanceDescriptionId(id)));
+            assertEquals(category.regionZone(),
+                    dictionary.getRegionZones().get(dictionary.getRegionZoneId(id)));
+        }
+        assertTrue(dictionary.getInstanceTypes().size() < dictionary.size());
+        assertEquals(dictionary.getRegionZones().stream().sorted().toList(), dictionary.getRegionZones());
+    }
+
+    @Test
+    void testBuilderNumbersInOrderOfFirstAppearance() {
+        CategoryDictionary.Builder builder = new CategoryDictionary.Builder();
+        assertEquals(0, builder.add("x", "b", "z"));
+        assertEquals(1, builder.add("x", "a", "z"));
+        // equal but not the same strings
+        assertEquals(0, builder.add(new String("x"), new String("b"), new String("z")));
+        assertEquals(2, builder.add("x", "b", "y"));
+        assertEquals(List.of(new CategoryDictionary.Category("x", "b", "z"),
+                        new CategoryDictionary.Category("x", "a", "z"),
+                        new CategoryDictionary.Category("x", "b", "y")),
+                builder.getCategories());
+
+        CategoryDictionary built = builder.build();
+        assertEquals(List.of("x__a__z", "x__b__y", "x__b__z"), built.getNames());
+        assertArrayEquals(new int[] {2, 0, 1}, builder.idsIn(built));
+    }
+
+    @Test
+    void testMatchesRecord() {
+        CategoryDictionary.Category category = CategoryDictionary.Category.parse("c5d.xlarge__SUSE Linux__eu-west-1a");
+        OffsetDateTime date = OffsetDateTime.parse("2022-06-07T08:30Z");
+        assertTrue(category.matches(new PriceData(date, 1.0, "c5d.xlarge", "SUSE Linux", "eu-west-1a")));
+        assertFalse(category.matches(new PriceData(date, 1.0, "c5d.xlarge", "SUSE Linux", "eu-west-1b")));
+        assertFalse(category.matches(new PriceData(date, 1.0, "c5d.xlarge", "Linux/UNIX", "eu-west-1a")));
+    }
+
+    @Test
+    void testParseInvalidName() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> CategoryDictionary.ofNames(List.of("c5d.xlarge__SUSE Linux"))
+        );
+    }
+
+}
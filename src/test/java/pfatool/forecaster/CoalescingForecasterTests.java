@@ -0,0 +1,145 @@
+package pfatool.forecaster;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import pfatool.forecaster.ForecasterTestSupport.PendingForecaster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoalescingForecasterTests {
+
+    private static final String CATEGORY = "c5d.xlarge__Linux/UNIX__eu-west-1a";
+
+    @Test
+    void testConcurrentRequestsShareOneForecast() {
+        PendingForecaster delegate = new PendingForecaster();
+        CoalescingForecaster forecaster = new CoalescingForecaster(delegate);
+        List<CompletableFuture<PriceForecast>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(forecaster.makeForecastAsync(CATEGORY));
+        }
+        CompletableFuture<PriceForecast> other = forecaster.makeForecastAsync("other__category__x");
+        assertEquals(2, delegate.numCalls.get());
+        assertEquals(2, forecaster.getNumInFlight());
+        assertEquals(6, forecaster.getNumRequests());
+        assertEquals(4, forecaster.getNumCoalesced());
+
+        delegate.complete(CATEGORY, 2.5);
+        for (CompletableFuture<PriceForecast> result : results) {
+            assertEquals(2.5, result.join().mean());
+        }
+        assertFalse(other.isDone());
+        assertEquals(1, forecaster.getNumInFlight());
+    }
+
+    @Test
+    void testRequestAfterCompletionStartsNewForecast() {
+        PendingForecaster delegate = new PendingForecaster();
+        CoalescingForecaster forecaster = new CoalescingForecaster(delegate);
+        CompletableFuture<PriceForecast> first = forecaster.makeForecastAsync(CATEGORY);
+        delegate.complete(CATEGORY, 1.0);
+        assertEquals(1.0, first.join().mean());
+
+        CompletableFuture<PriceForecast> second = forecaster.makeForecastAsync(CATEGORY);
+        assertEquals(2, delegate.numCalls.get());
+        delegate.complete(CATEGORY, 2.0);
+        assertEquals(2.0, second.join().mean());
+        assertEquals(0, forecaster.getNumCoalesced());
+        assertEquals(0, forecaster.getNumInFlight());
+    }
+
+    @Test
+    void testFailureSharedAndNotRemembered() {
+        PendingForecaster delegate = new PendingForecaster();
+        CoalescingForecaster forecaster = new CoalescingForecaster(delegate);
+        CompletableFuture<PriceForecast> a = forecaster.makeForecastAsync(CATEGORY);
+        CompletableFuture<PriceForecast> b = forecaster.makeForecastAsync(CATEGORY);
+        delegate.fail(CATEGORY, new IllegalStateException("throttled"));
+        for (CompletableFuture<PriceForecast> f : List.of(a, b)) {
+            CompletionException e = assertThrows(CompletionException.class, f::join);
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(0, forecaster.getNumInFlight());
+        CompletableFuture<PriceForecast> retry = forecaster.makeForecastAsync(CATEGORY);
+        assertEquals(2, delegate.numCalls.get());
+        delegate.complete(CATEGORY, 4.0);
+        assertEquals(4.0, retry.join().mean());
+    }
+
+    @Test
+    void testCancelOneCallerDoesNotAffectOthers() {
+        PendingForecaster delegate = new PendingForecaster();
+        CoalescingForecaster forecaster = new CoalescingForecaster(delegate);
+        CompletableFuture<PriceForecast> a = forecaster.makeForecastAsync(CATEGORY);
+        CompletableFuture<PriceForecast> b = forecaster.makeForecastAsync(CATEGORY);
+        a.cancel(true);
+        delegate.complete(CATEGORY, 3.0);
+        assertEquals(3.0, b.join().mean());
+    }
+
+    @Test
+    void testSynchronousFailureOfDelegate() {
+        CoalescingForecaster forecaster = new CoalescingForecaster(new DummyForecaster() {
+            @Override
+            public CompletableFuture<PriceForecast> makeForecastAsync(String category) {
+                throw new IllegalArgumentException("Unsupported category: " + category);
+            }
+        });
+        assertThrows(IllegalArgumentException.class, () -> forecaster.makeForecast("x"));
+        assertEquals(0, forecaster.getNumInFlight());
+    }
+
+    @Test
+    @Timeout(10)
+    void testBurstFromManyThreads() throws Exception {
+        AtomicInteger numCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CoalescingForecaster forecaster = new CoalescingForecaster(new DummyForecaster() {
+            @Override
+            public CompletableFuture<PriceForecast> makeForecastAsync(String category) {
+                numCalls.incrementAndGet();
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return makeForecast(category);
+                });
+            }
+        });
+        int numThreads = 16;
+        CountDownLatch started = new CountDownLatch(numThreads);
+        ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<PriceForecast>> results = new ArrayList<>();
+            for (int i = 0; i < numThreads; i++) {
+                results.add(pool.submit(() -> {
+                    CompletableFuture<PriceForecast> f = forecaster.makeForecastAsync(CATEGORY);
+                    started.countDown();
+                    return f.join();
+                }));
+            }
+            started.await();
+            release.countDown();
+            for (Future<PriceForecast> result : results) {
+                assertEquals(CATEGORY, result.get().category());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1, numCalls.get());
+        assertEquals(numThreads - 1, forecaster.getNumCoalesced());
+    }
+
+}
@@ -0,0 +1,107 @@
+package pfatool.forecaster;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clock and forecaster stubs shared by the tests of the forecasters and the price history
+ */
+public final class ForecasterTestSupport {
+
+    private ForecasterTestSupport() {
+    }
+
+    /**
+     * Clock that only moves when the test moves it
+     */
+    public static class TestClock extends Clock {
+        private volatile Instant now;
+
+        public TestClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        public void advance(Duration d) {
+            now = now.plus(d);
+        }
+    }
+
+    /**
+     * Forecaster whose forecasts complete when the test says so, oldest first for each category
+     */
+    static class PendingForecaster implements PriceForecaster {
+        final AtomicInteger numCalls = new AtomicInteger();
+        final Map<String, Queue<CompletableFuture<PriceForecast>>> pending = new ConcurrentHashMap<>();
+        volatile String version = "v1";
+
+        @Override
+        public PriceForecast makeForecast(String category) {
+            return makeForecastAsync(category).join();
+        }
+
+        @Override
+        public CompletableFuture<PriceForecast> makeForecastAsync(String category) {
+            numCalls.incrementAndGet();
+            CompletableFuture<PriceForecast> f = new CompletableFuture<>();
+            synchronized (pending) {
+                pending.computeIfAbsent(category, c -> new ArrayDeque<>()).add(f);
+            }
+            return f;
+        }
+
+        @Override
+        public boolean isSupportedCategory(String category) {
+            return true;
+        }
+
+        @Override
+        public List<String> getSupportedCategories() {
+            return List.copyOf(pending.keySet());
+        }
+
+        void complete(String category, double mean) {
+            next(category).complete(new ForecastInfo(mean, 1.0,
+                    OffsetDateTime.parse("2022-06-07T00:00Z"), 7, category, version));
+        }
+
+        void fail(String category, Throwable e) {
+            next(category).completeExceptionally(e);
+        }
+
+        private CompletableFuture<PriceForecast> next(String category) {
+            synchronized (pending) {
+                Queue<CompletableFuture<PriceForecast>> queue = pending.get(category);
+                if (queue == null || queue.isEmpty()) {
+                    throw new IllegalStateException("No pending forecast: " + category);
+                }
+                return queue.remove();
+            }
+        }
+    }
+}
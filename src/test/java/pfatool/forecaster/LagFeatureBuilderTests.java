@@ -0,0 +1,105 @@
+package pfatool.forecaster;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LagFeatureBuilderTests {
+    private static final String TEST_DATA_FILE = "src/test/resources/data/price_sample_01.tsv";
+    private static final String CHOSEN_CATEGORY = "g4ad.2xlarge__Linux/UNIX__eu-west-1b";
+    private static final int NUM_LAGS = 42;
+    private static final int STEP_HOURS = 4;
+
+    private static List<PriceData> records;
+    private static PreProcessor pp;
+
+    @BeforeAll
+    static void loadFromFile() throws IOException {
+        List<PriceData> data = PriceData.loadFromTsv(Files.readString(Path.of(TEST_DATA_FILE)));
+        records = data.stream()
+                .sorted(Comparator.comparing(PriceData::date))
+                .toList();
+        pp = new PreProcessor(data, STEP_HOURS, NUM_LAGS);
+    }
+
+    @Test
+    void testLatestMatchesPreProcessor() {
+        LagFeatureBuilder builder = new LagFeatureBuilder(CHOSEN_CATEGORY, STEP_HOURS, NUM_LAGS);
+        records.forEach(builder::accept);
+        PreProcessor.LatestLags expected = pp.makeLatestLags(CHOSEN_CATEGORY);
+        PreProcessor.LatestLags actual = builder.latest();
+        assertEquals(expected.date(), actual.date());
+        assertArrayEquals(expected.lags(), actual.lags());
+        assertEquals(expected.rollingMean(), actual.rollingMean(), 1e-12);
+    }
+
+    @Test
+    void testEveryRowMatchesLagWindow() {
+        LagWindow window = pp.lagWindow(CHOSEN_CATEGORY);
+        PriceColumn prices = pp.resampleCategory(CHOSEN_CATEGORY).getColumn(0);
+        LagFeatureBuilder builder = new LagFeatureBuilder(CHOSEN_CATEGORY, STEP_HOURS, NUM_LAGS);
+        long first = window.getEpochSecond(0);
+        int numChecked = 0;
+        for (PriceData d : records) {
+            builder.accept(d);
+            if (!builder.isReady()) {
+                continue;
+            }
+            PreProcessor.LatestLags actual = builder.latest();
+            // the builder starts before every category has been seen, PreProcessor does not
+            if (actual.date().toEpochSecond() < first) {
+                continue;
+            }
+            long i = (actual.date().toEpochSecond() - first) / (STEP_HOURS * 3600L);
+            assertEquals(window.getEpochSecond((int) i), actual.date().toEpochSecond());
+            assertArrayEquals(window.getValues((int) i), actual.lags());
+            double mean = prices.sum((int) i + 1, (int) i + NUM_LAGS + 1) / NUM_LAGS;
+            assertEquals(mean, actual.rollingMean(), 1e-12);
+            numChecked++;
+        }
+        assertTrue(numChecked >= window.getNumRows());
+    }
+
+    @Test
+    void testNotReady() {
+        LagFeatureBuilder builder = new LagFeatureBuilder(CHOSEN_CATEGORY, STEP_HOURS, NUM_LAGS);
+        records.subList(0, 100).forEach(builder::accept);
+        assertFalse(builder.isReady());
+        assertThrows(IllegalStateException.class, builder::latest);
+    }
+
+    @Test
+    void testOutOfOrder() {
+        LagFeatureBuilder builder = new LagFeatureBuilder(CHOSEN_CATEGORY, STEP_HOURS, NUM_LAGS);
+        OffsetDateTime date = OffsetDateTime.parse("2022-06-07T09:05:40+00:00");
+        builder.accept(new PriceData(date, 1.0, "g4ad.2xlarge", "Linux/UNIX", "eu-west-1b"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> builder.accept(new PriceData(date.minusHours(1), 1.0, "g4ad.2xlarge", "Linux/UNIX", "eu-west-1b"))
+        );
+    }
+
+    @Test
+    void testLongGap() {
+        LagFeatureBuilder builder = new LagFeatureBuilder(CHOSEN_CATEGORY, STEP_HOURS, NUM_LAGS);
+        OffsetDateTime date = OffsetDateTime.parse("2022-06-07T09:05:40+00:00");
+        builder.accept(new PriceData(date, 2.0, "g4ad.2xlarge", "Linux/UNIX", "eu-west-1b"));
+        // a year later, closing thousands of steps that all hold the same price
+        builder.accept(new PriceData(date.plusYears(1), 3.0, "g4ad.2xlarge", "Linux/UNIX", "eu-west-1b"));
+        PreProcessor.LatestLags latest = builder.latest();
+        assertEquals(2.0, latest.rollingMean());
+        double[] ones = new double[NUM_LAGS];
+        Arrays.fill(ones, 1.0);
+        assertArrayEquals(ones, latest.lags());
+    }
+
+}
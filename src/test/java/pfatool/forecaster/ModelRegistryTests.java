@@ -0,0 +1,90 @@
+package pfatool.forecaster;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import pfatool.generated.PfaModelBundle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModelRegistryTests {
+
+    private static final String SAMPLE_DIR = "src/test/resources/pfa/sample_01";
+    private static final String Y0_TREE = "pfa/sample_01/price_sample_01_y0_tree";
+    private static final String Y1_TREE = "pfa/sample_01/price_sample_01_y1_tree";
+
+    @Test
+    void testModelsAvailableOnCreation() {
+        ModelRegistry registry = ModelRegistry.fromClasspath(Y0_TREE, Y1_TREE);
+        ModelRegistry.LoadedModels loaded = registry.current();
+        assertEquals(2, loaded.models().getNumOutputs());
+        assertEquals("v1-%08x".formatted(loaded.models().checksum()), loaded.version());
+    }
+
+    @Test
+    void testReloadSameModelsKeepsVersion() {
+        ModelRegistry registry = ModelRegistry.fromClasspath(Y0_TREE, Y1_TREE);
+        ModelRegistry.LoadedModels before = registry.current();
+        assertSame(before, registry.reload());
+        assertSame(before, registry.current());
+    }
+
+    @Test
+    void testReloadChangedModelsPublishesNewVersion() {
+        AtomicInteger calls = new AtomicInteger();
+        ModelRegistry registry = new ModelRegistry(() -> calls.getAndIncrement() == 0
+                ? PfaModelBundle.load(Y0_TREE, Y1_TREE)
+                : PfaModelBundle.load(Y1_TREE, Y0_TREE));
+        ModelRegistry.LoadedModels before = registry.current();
+        ModelRegistry.LoadedModels after = registry.reload();
+        assertNotEquals(before.version(), after.version());
+        assertTrue(after.version().startsWith("v2-"));
+        assertSame(after, registry.current());
+    }
+
+    @Test
+    void testFailedReloadKeepsCurrentModels() {
+        AtomicInteger calls = new AtomicInteger();
+        ModelRegistry registry = new ModelRegistry(() -> calls.getAndIncrement() == 0
+                ? PfaModelBundle.load(Y0_TREE, Y1_TREE)
+                : PfaModelBundle.load(Y0_TREE));
+        ModelRegistry.LoadedModels before = registry.current();
+        assertThrows(IllegalStateException.class, registry::reload);
+        assertSame(before, registry.current());
+    }
+
+    @Test
+    @Timeout(10)
+    void testDirectoryChangeReloadsModels(@TempDir Path dir) throws IOException, InterruptedException {
+        copyTree("price_sample_01_y0_tree", dir, "mean_tree");
+        copyTree("price_sample_01_y1_tree", dir, "std_tree");
+        try (ModelRegistry registry = ModelRegistry.fromDirectory(dir, "mean_tree", "std_tree")) {
+            ModelRegistry.LoadedModels before = registry.current();
+            // replace the mean tree with the std tree
+            copyTree("price_sample_01_y1_tree", dir, "mean_tree");
+            while (registry.current() == before) {
+                Thread.sleep(50);
+            }
+            PfaModelBundle models = registry.current().models();
+            double[] inputs = new double[42];
+            assertEquals(models.predict(1, inputs), models.predict(0, inputs));
+        }
+    }
+
+    /**
+     * Helper to copy the data and schema files of a sample tree to a new name
+     */
+    private static void copyTree(String srcName, Path destDir, String destName) throws IOException {
+        for (String ext : new String[] {".data", "_data.avsc"}) {
+            Files.copy(Path.of(SAMPLE_DIR, srcName + ext), destDir.resolve(destName + ext),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package pfatool.forecaster;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Compares the memory allocated by the pre-processing for one forecast, using the
+ * per-thread allocation counter of the JVM. Run with:
+ * <pre>{@code
+ * ./gradlew runTestClass --class pfatool.forecaster.PreProcessorAllocations
+ * }</pre>
+ */
+public class PreProcessorAllocations {
+
+    private static final String TEST_DATA_FILE = "src/test/resources/data/price_sample_01.tsv";
+    private static final String CHOSEN_CATEGORY = "g4ad.2xlarge__Linux/UNIX__eu-west-1b";
+    private static final int NUM_LAGS = 42;
+    private static final int STEP_HOURS = 4;
+    private static final int WARMUP = 200;
+    private static final int REPEATS = 1000;
+
+    /**
+     * Returns average bytes allocated by the current thread for one run
+     */
+    private static long bytesPerRun(List<PriceData> data, Consumer<List<PriceData>> forecastInputs) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) {
+            forecastInputs.accept(data);
+        }
+        long start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < REPEATS; i++) {
+            forecastInputs.accept(data);
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - start) / REPEATS;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path p = FileSystems.getDefault().getPath("");
+        List<PriceData> data = PriceData.loadFromTsv(Files.readString(p.resolve(TEST_DATA_FILE)));
+
+        // separate instances resample the history once each, as before it was memoised
+        long resampledTwice = bytesPerRun(data, d -> {
+            new PreProcessor(d, STEP_HOURS, NUM_LAGS).makeLags(CHOSEN_CATEGORY);
+            new PreProcessor(d, STEP_HOURS, NUM_LAGS).getRollingMean(CHOSEN_CATEGORY);
+        });
+        long resampledOnce = bytesPerRun(data, d -> {
+            PreProcessor pp = new PreProcessor(d, STEP_HOURS, NUM_LAGS);
+            pp.makeLags(CHOSEN_CATEGORY);
+            pp.getRollingMean(CHOSEN_CATEGORY);
+        });
+        long latestLags = bytesPerRun(data, d ->
+                new PreProcessor(d, STEP_HOURS, NUM_LAGS).makeLatestLags(CHOSEN_CATEGORY));
+
+        System.out.printf("%d price records%n", data.size());
+        System.out.printf("makeLags + getRollingMean, resampled twice: %,12d bytes%n", resampledTwice);
+        System.out.printf("makeLags + getRollingMean, resampled once:  %,12d bytes%n", resampledOnce);
+        System.out.printf("makeLatestLags:                             %,12d bytes%n", latestLags);
+    }
+
+}
@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -68,4 +69,74 @@ public class PreProcessorTests {
         assertArrayEquals(expected, actual);
     }
 
+    @Test
+    void testResampleTimesDoneOnce() {
+        assertSame(pp.resampleTimes(), pp.resampleTimes());
+    }
+
+    @Test
+    void testLatestLagsMatchesMakeLags() {
+        PriceFrame lagFrame = pp.makeLags(CHOSEN_CATEGORY);
+        int last = lagFrame.getNumRows() - 1;
+        PreProcessor.LatestLags latest = pp.makeLatestLags(CHOSEN_CATEGORY);
+        assertArrayEquals(lagFrame.getValues(last), latest.lags());
+        assertEquals(lagFrame.getDate(last), latest.date());
+        assertEquals(pp.getRollingMean(CHOSEN_CATEGORY), latest.rollingMean());
+    }
+
+    @Test
+    void testLatestLagsUnknownCategory() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> pp.makeLatestLags("no-such-category")
+        );
+    }
+
+    @Test
+    void testResampleCategoryMatchesWideFrame() {
+        PriceFrame wide = pp.resampleTimes();
+        List<String> columnNames = wide.getColumnNames();
+        for (int j = 0; j < columnNames.size(); j++) {
+            PriceFrame series = pp.resampleCategory(columnNames.get(j));
+            assertEquals(List.of(columnNames.get(j)), series.getColumnNames());
+            assertEquals(wide.getNumRows(), series.getNumRows());
+            for (int i = 0; i < wide.getNumRows(); i++) {
+                assertEquals(wide.getDate(i), series.getDate(i));
+                assertEquals(wide.getValue(i, j), series.getValue(i, 0));
+            }
+        }
+    }
+
+    @Test
+    void testResampleCategoryUnknown() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> pp.resampleCategory("no-such-category")
+        );
+    }
+
+    @Test
+    void testResampleTimeSteps() {
+        PriceFrame frame = pp.resampleTimes();
+        for (int i = 1; i < frame.getNumRows(); i++) {
+            assertEquals(STEP_HOURS * 3600L, frame.getEpochSecond(i) - frame.getEpochSecond(i - 1));
+        }
+        // first row is a whole number of steps from 00:00 of the first day
+        assertEquals(0, frame.getEpochSecond(0) % (STEP_HOURS * 3600L));
+        assertEquals(frame.getEpochSecond(0), frame.getDate(0).toEpochSecond());
+    }
+
+    @Test
+    void testLagWindowMatchesMakeLags() {
+        PriceFrame lagFrame = pp.makeLags(CHOSEN_CATEGORY);
+        LagWindow window = pp.lagWindow(CHOSEN_CATEGORY);
+        assertEquals(lagFrame.getNumRows(), window.getNumRows());
+        for (int i = 0; i < window.getNumRows(); i++) {
+            assertEquals(lagFrame.getEpochSecond(i), window.getEpochSecond(i));
+            assertArrayEquals(lagFrame.getValues(i), window.getValues(i));
+        }
+        assertEquals(lagFrame.getValue(3, 7), window.getValue(3, 7));
+        assertThrows(IndexOutOfBoundsException.class, () -> window.getValue(0, NUM_LAGS));
+    }
+
 }
@@ -0,0 +1,42 @@
+package pfatool.forecaster;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compares the time taken to parse the sample price history by splitting with regular
+ * expressions and with {@link PriceTsvParser}. Run with:
+ * <pre>{@code
+ * ./gradlew runTestClass --class pfatool.forecaster.PriceDataLoadTiming
+ * }</pre>
+ */
+public class PriceDataLoadTiming {
+
+    private static final String TEST_DATA_FILE = "src/test/resources/data/price_sample_01.tsv";
+    private static final int WARMUP = 50;
+    private static final int REPEATS = 200;
+
+    /**
+     * Returns average time in milliseconds to parse the text
+     */
+    private static double timeLoading(String txtData, Function<String, List<PriceData>> loader) {
+        for (int i = 0; i < WARMUP; i++) {
+            loader.apply(txtData);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < REPEATS; i++) {
+            loader.apply(txtData);
+        }
+        return (System.nanoTime() - start) / 1e6 / REPEATS;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String txtData = Files.readString(Path.of(TEST_DATA_FILE));
+        System.out.printf("%d price records%n", PriceData.loadFromTsv(txtData).size());
+        System.out.printf("split:  %8.2f ms%n", timeLoading(txtData, PriceDataTests::loadWithSplit));
+        System.out.printf("parser: %8.2f ms%n", timeLoading(txtData, PriceData::loadFromTsv));
+    }
+}
@@ -6,8 +6,12 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -62,4 +66,59 @@ public class PriceDataTests {
                 () -> PriceData.loadFromTsv(input)
         );
     }
+
+    /**
+     * Reference parser that splits with regular expressions
+     */
+    static List<PriceData> loadWithSplit(String tsvData) {
+        return Arrays.stream(tsvData.split("\\R"))
+                .map(row -> row.split("\\t"))
+                .map(parts -> new PriceData(
+                        OffsetDateTime.parse(parts[2]),
+                        Double.parseDouble(parts[1]),
+                        parts[3],
+                        parts[4],
+                        parts[5]
+                ))
+                .toList();
+    }
+
+    @Test
+    void testLoadFromTsvMatchesSplit() {
+        assertEquals(loadWithSplit(txtData), PriceData.loadFromTsv(txtData));
+    }
+
+    @Test
+    void testLoadFromTsvPath() throws IOException {
+        Path p = FileSystems.getDefault().getPath("");
+        assertEquals(PriceData.loadFromTsv(txtData), PriceData.loadFromTsv(p.resolve(TEST_DATA_FILE)));
+    }
+
+    @Test
+    void testLoadFromTsvOtherFormats() {
+        String input = "x\t1.5e-3\t2022-06-07T09:05:40.25Z\ta\tb\tc\r\n"
+                + "x\t-12345678901234567890\t2022-06-07T11:05:40-02:30\ta\tb\tc\textra\r"
+                + "x\t0.1234567890123456789\t2022-06-07T09:05Z\t\u00e4\tb\tc";
+        assertEquals(loadWithSplit(input), PriceData.loadFromTsv(input));
+    }
+
+    @Test
+    void testParsePriceSameAsParseDouble() {
+        List<String> prices = List.of(
+                "0.486500", "0", "-0.0", "+7", "1.", ".5", "123456789012345",
+                "1234567890123456", "0.0000000000000000000001234", "9007199254740993", "1e10", "NaN"
+        );
+        for (String price : prices) {
+            ByteBuffer bytes = ByteBuffer.wrap(price.getBytes(StandardCharsets.UTF_8));
+            assertEquals(Double.parseDouble(price), PriceTsvParser.parsePrice(bytes, 0, bytes.limit()), price);
+        }
+    }
+
+    @Test
+    void testLoadFromTsvErrorWithTooFewFields() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> PriceData.loadFromTsv("a\t0.5\t2022-06-07T09:05:40+00:00\tb")
+        );
+    }
 }
@@ -0,0 +1,75 @@
+package pfatool.forecaster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriceFrameTests {
+
+    private static PriceFrame makeFrame(int numRows) {
+        PriceFrame frame = new PriceFrame(List.of("a", "b"));
+        double[] row = new double[2];
+        for (int i = 0; i < numRows; i++) {
+            row[0] = i;
+            row[1] = 100 + i;
+            frame.add(3600L * i, row);
+        }
+        return frame;
+    }
+
+    @Test
+    void testAddCopiesRowAndGrows() {
+        PriceFrame frame = makeFrame(100);
+        assertEquals(100, frame.getNumRows());
+        assertEquals(2, frame.getNumCols());
+        assertArrayEquals(new double[] {57.0, 157.0}, frame.getValues(57));
+        assertEquals(99.0, frame.getValue(99, 0));
+        assertEquals(3600L * 42, frame.getEpochSecond(42));
+    }
+
+    @Test
+    void testSubSetIsReadOnlyView() {
+        PriceFrame frame = makeFrame(20);
+        PriceFrame view = frame.subSet(5, 15);
+        assertEquals(10, view.getNumRows());
+        assertEquals(105.0, view.getValue(0, 1));
+        assertEquals(frame.getEpochSecond(14), view.getEpochSecond(9));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.getValue(10, 0));
+        assertThrows(IllegalStateException.class, () -> view.add(0L, new double[2]));
+
+        // growing the frame leaves the view unchanged
+        frame.add(0L, new double[] {-1.0, -1.0});
+        PriceFrame nested = view.subSet(2, 4);
+        assertArrayEquals(new double[] {7.0, 107.0}, nested.getValues(0));
+    }
+
+    @Test
+    void testColumnViews() {
+        PriceFrame frame = makeFrame(50);
+        PriceFrame onlyB = frame.selectColumns(1, 2);
+        assertEquals(List.of("b"), onlyB.getColumnNames());
+        assertEquals(120.0, onlyB.getValue(20, 0));
+
+        PriceColumn column = frame.subSet(10, 50).getColumn(0);
+        assertEquals(40, column.size());
+        assertEquals(10.0, column.get(0));
+        PriceColumn slice = column.slice(5, 10);
+        assertArrayEquals(new double[] {15.0, 16.0, 17.0, 18.0, 19.0}, slice.toArray());
+        assertEquals(15.0 + 16.0 + 17.0, slice.sum(0, 3));
+    }
+
+    @Test
+    void testRatioColumn() {
+        PriceFrame frame = makeFrame(10);
+        RatioColumn ratios = new RatioColumn(frame.getColumn(1));
+        assertEquals(9, ratios.size());
+        assertEquals(101.0 / 100.0, ratios.get(0));
+        RatioColumn slice = ratios.slice(4, 6);
+        assertEquals(2, slice.size());
+        assertEquals(106.0 / 105.0, slice.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.get(2));
+    }
+
+}
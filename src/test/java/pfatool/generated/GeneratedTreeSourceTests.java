@@ -0,0 +1,56 @@
+package pfatool.generated;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pfatool.tmpgenerated.PriceSample01Y0Tree;
+import pfatool.tmpgenerated.PriceSample01Y1Tree;
+
+import java.io.IOException;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the classes made by GenerateTreeSource give bit-identical results
+ * to the PfaDecisionTree loaded from the same PFA document.
+ */
+public class GeneratedTreeSourceTests {
+
+    private static double[][] inputRows;
+
+    @BeforeAll
+    static void loadData() throws IOException {
+        inputRows = ModelTestData.loadInputRows();
+    }
+
+    private static void assertBitIdentical(String dataFile, ToDoubleFunction<double[]> generated) {
+        PfaDecisionTree tree = PfaDecisionTree.getInstance(dataFile);
+        for (double[] row : inputRows) {
+            assertEquals(
+                    Double.doubleToRawLongBits(tree.predict(row)),
+                    Double.doubleToRawLongBits(generated.applyAsDouble(row))
+            );
+        }
+    }
+
+    @Test
+    void testSample01Y0MatchesDecisionTree() {
+        assertBitIdentical("pfa/sample_01/price_sample_01_y0_tree", PriceSample01Y0Tree::predict);
+    }
+
+    @Test
+    void testSample01Y1MatchesDecisionTree() {
+        assertBitIdentical("pfa/sample_01/price_sample_01_y1_tree", PriceSample01Y1Tree::predict);
+    }
+
+    @Test
+    void testForecasting01Y0MatchesDecisionTree() {
+        assertBitIdentical("pfa/p_01/forecasting_01_y0_tree", Forecasting01Y0Tree::predict);
+    }
+
+    @Test
+    void testForecasting01Y1MatchesDecisionTree() {
+        assertBitIdentical("pfa/p_01/forecasting_01_y1_tree", Forecasting01Y1Tree::predict);
+    }
+
+}
@@ -0,0 +1,103 @@
+package pfatool.generated;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Measures lookups per second of cached trees when many request threads look up the
+ * same trees, comparing the previous class-locked HashMap with {@link ModelCache}.
+ * Run with:
+ * <pre>{@code
+ * ./gradlew runTestClass --class pfatool.generated.InstanceCacheContention
+ * }</pre>
+ * Results on a machine with 1 available processor, so the threads take turns and this shows
+ * the cost of a lookup rather than contention between cores, which was not measured:
+ * <pre>{@code
+ *  threads     locked (ops/s)  lock-free (ops/s)
+ *        1           19868302           27478384
+ *        8           17896762           26348696
+ *       64           16679652           25277800
+ * }</pre>
+ */
+public class InstanceCacheContention {
+
+    private static final List<String> DATA_FILES = List.of(
+            "pfa/p_01/forecasting_01_y0_tree",
+            "pfa/p_01/forecasting_01_y1_tree"
+    );
+    private static final int[] THREAD_COUNTS = {1, 4, 8, 16, 32, 64};
+    private static final long RUN_MILLIS = 1000;
+
+    /**
+     * The previous implementation of getInstance, for comparison
+     */
+    private static final class LockedCache {
+        private final Map<String, PfaDecisionTree> instanceMap = new HashMap<>();
+
+        PfaDecisionTree get(String dataFile) {
+            synchronized (this) {
+                return instanceMap.computeIfAbsent(dataFile, PfaDecisionTree::new);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of lookups per second made by all the threads together
+     */
+    private static double measure(Function<String, PfaDecisionTree> lookup, int numThreads)
+            throws InterruptedException {
+        LongAdder count = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long[] stopAt = new long[1];
+        ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+        for (int t = 0; t < numThreads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long n = 0;
+                while (System.nanoTime() < stopAt[0]) {
+                    for (String dataFile : DATA_FILES) {
+                        if (lookup.apply(dataFile) == null) {
+                            throw new IllegalStateException("no tree for " + dataFile);
+                        }
+                        n++;
+                    }
+                }
+                count.add(n);
+            });
+        }
+        stopAt[0] = System.nanoTime() + RUN_MILLIS * 1_000_000;
+        start.countDown();
+        pool.shutdown();
+        while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+            // wait for all threads
+        }
+        return count.sum() * 1000.0 / RUN_MILLIS;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LockedCache locked = new LockedCache();
+        ModelCache<PfaDecisionTree> lockFree = new ModelCache<>(PfaDecisionTree::new, 64);
+        // warm up both so the trees are loaded and the lookups are JIT compiled
+        measure(locked::get, 4);
+        measure(lockFree::get, 4);
+        System.out.printf("available processors: %d%n", Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %18s %18s%n", "threads", "locked (ops/s)", "lock-free (ops/s)");
+        for (int numThreads : THREAD_COUNTS) {
+            System.out.printf("%8d %18.0f %18.0f%n",
+                    numThreads,
+                    measure(locked::get, numThreads),
+                    measure(lockFree::get, numThreads));
+        }
+    }
+}
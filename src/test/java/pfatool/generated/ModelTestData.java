@@ -0,0 +1,46 @@
+package pfatool.generated;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Sample input rows shared by the tests of the models, and packing of rows into blocks
+ */
+final class ModelTestData {
+
+    static final String INPUT_DATA_FILE = "src/test/resources/pfa/sample_01/price_sample_01_pp.tsv";
+
+    private ModelTestData() {
+    }
+
+    /**
+     * Returns the rows of the sample input file without the header and the date column
+     */
+    static double[][] loadInputRows() throws IOException {
+        // \R matches different types of linebreak
+        String[] lines = Files.readString(Path.of(INPUT_DATA_FILE)).split("\\R");
+        return Arrays.stream(lines, 1, lines.length)
+                .map(line -> line.split("\\t"))
+                .map(fields -> Arrays.stream(fields, 1, fields.length)
+                        .mapToDouble(Double::parseDouble)
+                        .toArray())
+                .toArray(double[][]::new);
+    }
+
+    /**
+     * Pack rows into a single row-major block, repeating the rows the given number of times
+     */
+    static double[] toBlock(double[][] rows, int repeats) {
+        int numCols = rows[0].length;
+        double[] block = new double[rows.length * numCols * repeats];
+        for (int k = 0; k < repeats; k++) {
+            for (int i = 0; i < rows.length; i++) {
+                System.arraycopy(rows[i], 0, block, (k * rows.length + i) * numCols, numCols);
+            }
+        }
+        return block;
+    }
+
+}
@@ -2,13 +2,17 @@ package pfatool.generated;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -18,9 +22,10 @@ public class PfaDecisionTreeTests {
     private static PfaDecisionTree y1Tree;
     private static String inputData;
     private static String outputData;
+    private static double[][] inputRows;
 
     @BeforeAll
-    static void loadData() {
+    static void loadData() throws IOException {
         String y0File = "pfa/sample_01/price_sample_01_y0_tree";
         String y1File = "pfa/sample_01/price_sample_01_y1_tree";
         String xData = "pfa/sample_01/price_sample_01_pp.tsv";
@@ -29,6 +34,7 @@ public class PfaDecisionTreeTests {
         y1Tree = PfaDecisionTree.getInstance(y1File);
         inputData = readFile(xData);
         outputData = readFile(yData);
+        inputRows = ModelTestData.loadInputRows();
     }
 
     private static String readFile(String resourceName) {
@@ -84,4 +90,217 @@ public class PfaDecisionTreeTests {
         assertTrue(Math.abs(y1 - expected) < 0.0001, y1 + " not close to " + expected);
     }
 
+    /**
+     * Reference implementation that walks the Avro TreeNode structure directly.
+     */
+    private static double walkTreeNodes(TreeNode root, double[] inputs) {
+        Object obj = root;
+        while (obj instanceof TreeNode node) {
+            if (inputs[node.getField().ordinal()] <= node.getValue()) {
+                obj = node.getPass();
+            } else {
+                obj = node.getFail();
+            }
+        }
+        return (Double) obj;
+    }
+
+    @Test
+    void testFlatTreeMatchesTreeNodesAllRows() {
+        for (double[] row : inputRows) {
+            assertEquals(walkTreeNodes(y0Tree.getRoot(), row), y0Tree.predict(row));
+            assertEquals(walkTreeNodes(y1Tree.getRoot(), row), y1Tree.predict(row));
+        }
+    }
+
+    @Test
+    void testPredictAllMatchesPredict() {
+        double[][] rows = inputRows;
+        double[] out = new double[rows.length];
+        y1Tree.predictAll(ModelTestData.toBlock(rows, 1), rows[0].length, out);
+        for (int i = 0; i < rows.length; i++) {
+            assertEquals(y1Tree.predict(rows[i]), out[i]);
+        }
+    }
+
+    @Test
+    void testPredictAllParallelMatchesPredict() {
+        double[][] rows = inputRows;
+        int repeats = 20;
+        double[] out = new double[rows.length * repeats];
+        y0Tree.predictAll(ModelTestData.toBlock(rows, repeats), rows[0].length, out, ForkJoinPool.commonPool());
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(y0Tree.predict(rows[i % rows.length]), out[i]);
+        }
+    }
+
+    @Test
+    void testPredictAllMismatchedSizes() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> y0Tree.predictAll(new double[10], 3, new double[5])
+        );
+    }
+
+    @Test
+    void testPredictAllTooFewColumns() {
+        // rows one value short would read the first value of the next row
+        int numCols = inputRows[0].length - 1;
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> y0Tree.predictAll(new double[numCols * 4], numCols, new double[4])
+        );
+    }
+
+    @Test
+    void testBinaryMatchesJsonAllRows() {
+        String dataFile = "pfa/p_01/forecasting_01_y0_tree";
+        PfaDecisionTree jsonTree = PfaDecisionTree.fromJson(dataFile);
+        PfaDecisionTree binaryTree = PfaDecisionTree.fromBinary(dataFile);
+        assertNull(binaryTree.getRoot());
+        for (double[] row : inputRows) {
+            assertEquals(jsonTree.predict(row), binaryTree.predict(row));
+        }
+    }
+
+    @Test
+    void testBinaryWrittenFromDataFileIsLoaded(@TempDir Path dir) throws IOException {
+        Path dataFile = copySample(dir, y0Tree.getFlatTree().toByteBuffer(y0Checksum(), y0Size()));
+        PfaDecisionTree tree = PfaDecisionTree.fromPath(dataFile);
+        assertNull(tree.getRoot());
+    }
+
+    @Test
+    void testStaleBinaryIsIgnored(@TempDir Path dir) throws IOException {
+        // a binary of another tree, as if the data file had been regenerated since
+        Path dataFile = copySample(dir, y1Tree.getFlatTree().toByteBuffer(y0Checksum() + 1, y0Size() + 1));
+        PfaDecisionTree tree = PfaDecisionTree.fromPath(dataFile);
+        assertNotNull(tree.getRoot());
+        for (double[] row : inputRows) {
+            assertEquals(y0Tree.predict(row), tree.predict(row));
+        }
+    }
+
+    @Test
+    void testNewerBinaryOfSameSizeIsNotChecksummed(@TempDir Path dir) throws IOException {
+        // the checksum is wrong, but the size matches and the binary is newer
+        Path dataFile = copySample(dir, y0Tree.getFlatTree().toByteBuffer(y0Checksum() + 1, y0Size()));
+        PfaDecisionTree tree = PfaDecisionTree.fromPath(dataFile);
+        assertNull(tree.getRoot());
+    }
+
+    @Test
+    void testOlderBinaryOfSameSizeIsChecksummed(@TempDir Path dir) throws IOException {
+        Path dataFile = copySample(dir, y0Tree.getFlatTree().toByteBuffer(y0Checksum() + 1, y0Size()));
+        Path binaryFile = Path.of(dataFile + PfaDecisionTree.BINARY_FILE_EXT);
+        Files.setLastModifiedTime(binaryFile, FileTime.fromMillis(
+                Files.getLastModifiedTime(Path.of(dataFile + ".data")).toMillis() - 1000));
+        assertNotNull(PfaDecisionTree.fromPath(dataFile).getRoot());
+
+        // and loaded when the checksum shows it is current
+        Files.write(binaryFile, toBytes(y0Tree.getFlatTree().toByteBuffer(y0Checksum(), y0Size())));
+        Files.setLastModifiedTime(binaryFile, FileTime.fromMillis(
+                Files.getLastModifiedTime(Path.of(dataFile + ".data")).toMillis() - 1000));
+        assertNull(PfaDecisionTree.fromPath(dataFile).getRoot());
+    }
+
+    /**
+     * Copy the y0 sample data and schema files into dir with the given binary file,
+     * returning the path of the data file without extension
+     */
+    private static Path copySample(Path dir, ByteBuffer binary) throws IOException {
+        String name = "price_sample_01_y0_tree";
+        for (String ext : new String[] {".data", "_data.avsc"}) {
+            Files.writeString(dir.resolve(name + ext), readFile("pfa/sample_01/" + name + ext));
+        }
+        Files.write(dir.resolve(name + PfaDecisionTree.BINARY_FILE_EXT), toBytes(binary));
+        return dir.resolve(name);
+    }
+
+    private static byte[] toBytes(ByteBuffer binary) {
+        byte[] bytes = new byte[binary.remaining()];
+        binary.get(bytes);
+        return bytes;
+    }
+
+    private static int y0Checksum() {
+        String name = "pfa/sample_01/price_sample_01_y0_tree";
+        return PfaDecisionTree.sourceChecksum(readFile(name + "_data.avsc"), readFile(name + ".data"));
+    }
+
+    private static long y0Size() {
+        String name = "pfa/sample_01/price_sample_01_y0_tree";
+        return PfaDecisionTree.sourceSize(readFile(name + "_data.avsc"), readFile(name + ".data"));
+    }
+
+    /**
+     * Reads nodes held as {threshold, pass, fail} arrays that all compare input 0
+     */
+    private static final FlatTree.NodeReader<Object[]> ARRAY_NODES = new FlatTree.NodeReader<>() {
+        @Override
+        public Object[] asNode(Object branch) {
+            return branch instanceof Object[] node ? node : null;
+        }
+
+        @Override
+        public double leafValue(Object branch) {
+            return (Double) branch;
+        }
+
+        @Override
+        public int featureIndex(Object[] node) {
+            return 0;
+        }
+
+        @Override
+        public double threshold(Object[] node) {
+            return (Double) node[0];
+        }
+
+        @Override
+        public Object pass(Object[] node) {
+            return node[1];
+        }
+
+        @Override
+        public Object fail(Object[] node) {
+            return node[2];
+        }
+    };
+
+    @Test
+    void testCompileDeepTree() {
+        // node k sends inputs up to k + 0.5 to the leaf k and the rest to node k + 1
+        int depth = 100_000;
+        Object tree = -1.0;
+        for (int k = depth - 1; k >= 0; k--) {
+            tree = new Object[] {k + 0.5, (double) k, tree};
+        }
+        FlatTree flat = FlatTree.compile(tree, ARRAY_NODES);
+        assertEquals(depth, flat.getNumNodes());
+        assertEquals(3.0, flat.predict(new double[] {3.0}));
+        assertEquals(depth - 1.0, flat.predict(new double[] {depth - 1.0}));
+        assertEquals(-1.0, flat.predict(new double[] {depth}));
+        assertEquals(7.0, FlatTree.compile(7.0, ARRAY_NODES).predict(new double[] {0.0}));
+    }
+
+    @Test
+    void testByteBufferRoundTrip() {
+        FlatTree original = y1Tree.getFlatTree();
+        FlatTree copy = FlatTree.fromByteBuffer(original.toByteBuffer());
+        assertEquals(original.getNumNodes(), copy.getNumNodes());
+        assertEquals(original.getNumLeaves(), copy.getNumLeaves());
+        for (double[] row : inputRows) {
+            assertEquals(original.predict(row), copy.predict(row));
+        }
+    }
+
+    @Test
+    void testFromByteBufferBadMagic() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> FlatTree.fromByteBuffer(ByteBuffer.allocate(64))
+        );
+    }
+
 }
@@ -0,0 +1,59 @@
+package pfatool.generated;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PfaModelBundleTests {
+
+    private static PfaDecisionTree y0Tree;
+    private static PfaDecisionTree y1Tree;
+    private static PfaModelBundle bundle;
+    private static double[][] inputRows;
+
+    @BeforeAll
+    static void loadData() throws IOException {
+        y0Tree = PfaDecisionTree.getInstance("pfa/sample_01/price_sample_01_y0_tree");
+        y1Tree = PfaDecisionTree.getInstance("pfa/sample_01/price_sample_01_y1_tree");
+        bundle = new PfaModelBundle(List.of(y0Tree, y1Tree));
+        inputRows = ModelTestData.loadInputRows();
+    }
+
+    @Test
+    void testNumOutputs() {
+        assertEquals(2, bundle.getNumOutputs());
+    }
+
+    @Test
+    void testPredictPairMatchesSeparateTrees() {
+        for (double[] row : inputRows) {
+            PfaModelBundle.PredictionPair pair = bundle.predictPair(row);
+            assertEquals(y0Tree.predict(row), pair.first());
+            assertEquals(y1Tree.predict(row), pair.second());
+        }
+    }
+
+    @Test
+    void testPredictAllOutputsMatchesSeparateTrees() {
+        double[] out = new double[2];
+        for (double[] row : inputRows) {
+            bundle.predict(row, out);
+            assertEquals(y0Tree.predict(row), out[0]);
+            assertEquals(y1Tree.predict(row), out[1]);
+        }
+    }
+
+    @Test
+    void testPredictPairNeedsTwoOutputs() {
+        PfaModelBundle single = new PfaModelBundle(List.of(y0Tree));
+        assertThrows(
+                IllegalStateException.class,
+                () -> single.predictPair(inputRows[0])
+        );
+    }
+
+}
@@ -0,0 +1,138 @@
+package pfatool.generated;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PfaTreeEnsembleTests {
+
+    private static final String FOREST_FILE = "pfa/ensemble_01/price_sample_01_forest";
+    private static final String BOOST_FILE = "pfa/ensemble_01/price_sample_01_boost";
+    /**
+     * Predictions of the forest and boost documents for the sample input rows, which
+     * make_ensemble_01.py writes together with the documents
+     */
+    private static final Path EXPECTED_FILE = Path.of("src/test/resources/pfa/ensemble_01/price_sample_01_expected.tsv");
+    private static final double TOLERANCE = 1e-12;
+    private static PfaDecisionTree y0Tree;
+    private static PfaDecisionTree y1Tree;
+    private static double[][] inputRows;
+
+    @BeforeAll
+    static void loadData() throws IOException {
+        y0Tree = PfaDecisionTree.getInstance("pfa/sample_01/price_sample_01_y0_tree");
+        y1Tree = PfaDecisionTree.getInstance("pfa/sample_01/price_sample_01_y1_tree");
+        inputRows = ModelTestData.loadInputRows();
+    }
+
+    @Test
+    void testMeanOfTrees() {
+        PfaTreeEnsemble ensemble = PfaTreeEnsemble.mean(List.of(y0Tree, y1Tree));
+        for (double[] row : inputRows) {
+            assertEquals((y0Tree.predict(row) + y1Tree.predict(row)) / 2, ensemble.predict(row));
+        }
+    }
+
+    @Test
+    void testBoostedSumOfTrees() {
+        PfaTreeEnsemble ensemble = PfaTreeEnsemble.boosted(List.of(y0Tree, y1Tree), 0.1, 1.0);
+        for (double[] row : inputRows) {
+            double expected = 1.0;
+            expected += 0.1 * y0Tree.predict(row);
+            expected += 0.1 * y1Tree.predict(row);
+            assertEquals(expected, ensemble.predict(row));
+        }
+    }
+
+    /**
+     * Returns the predictions in the named column of the expected file
+     */
+    private static double[] loadExpected(String column) throws IOException {
+        // \R matches different types of linebreak
+        String[] lines = Files.readString(EXPECTED_FILE).split("\\R");
+        int j = Arrays.asList(lines[0].split("\\t")).indexOf(column);
+        assertTrue(j > 0, "no column: " + column);
+        return Arrays.stream(lines, 1, lines.length)
+                .mapToDouble(line -> Double.parseDouble(line.split("\\t")[j]))
+                .toArray();
+    }
+
+    @Test
+    void testLoadForest() throws IOException {
+        PfaTreeEnsemble forest = PfaTreeEnsemble.load(FOREST_FILE);
+        assertEquals(PfaTreeEnsemble.Aggregation.MEAN, forest.getAggregation());
+        double[] expected = loadExpected("forest");
+        assertEquals(inputRows.length, expected.length);
+        for (int i = 0; i < inputRows.length; i++) {
+            assertEquals(expected[i], forest.predict(inputRows[i]), TOLERANCE);
+        }
+    }
+
+    @Test
+    void testLoadBoosted() throws IOException {
+        PfaTreeEnsemble boost = PfaTreeEnsemble.load(BOOST_FILE);
+        assertEquals(PfaTreeEnsemble.Aggregation.SUM, boost.getAggregation());
+        double[] expected = loadExpected("boost");
+        assertEquals(inputRows.length, expected.length);
+        for (int i = 0; i < inputRows.length; i++) {
+            assertEquals(expected[i], boost.predict(inputRows[i]), TOLERANCE);
+        }
+    }
+
+    @Test
+    void testPredictAllMatchesPredict() {
+        PfaTreeEnsemble boost = PfaTreeEnsemble.load(BOOST_FILE);
+        double[] out = new double[inputRows.length];
+        boost.predictAll(ModelTestData.toBlock(inputRows, 1), inputRows[0].length, out);
+        for (int i = 0; i < inputRows.length; i++) {
+            assertEquals(boost.predict(inputRows[i]), out[i]);
+        }
+    }
+
+    @Test
+    void testPredictAllParallelMatchesPredict() {
+        PfaTreeEnsemble forest = PfaTreeEnsemble.load(FOREST_FILE);
+        int repeats = 20;
+        double[] out = new double[inputRows.length * repeats];
+        forest.predictAll(ModelTestData.toBlock(inputRows, repeats), inputRows[0].length, out, ForkJoinPool.commonPool());
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(forest.predict(inputRows[i % inputRows.length]), out[i]);
+        }
+    }
+
+    @Test
+    void testPredictAllMismatchedSizes() {
+        PfaTreeEnsemble forest = PfaTreeEnsemble.mean(List.of(y0Tree));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> forest.predictAll(new double[10], 3, new double[5])
+        );
+    }
+
+    @Test
+    void testPredictAllTooFewColumns() {
+        PfaTreeEnsemble forest = PfaTreeEnsemble.mean(List.of(y0Tree, y1Tree));
+        int numCols = inputRows[0].length - 1;
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> forest.predictAll(new double[numCols * 4], numCols, new double[4], ForkJoinPool.commonPool())
+        );
+    }
+
+    @Test
+    void testEmptyEnsemble() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> PfaTreeEnsemble.mean(List.of())
+        );
+    }
+
+}
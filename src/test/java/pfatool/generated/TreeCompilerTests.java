@@ -0,0 +1,86 @@
+package pfatool.generated;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TreeCompilerTests {
+
+    private static PfaDecisionTree y0Tree;
+    private static PfaDecisionTree y1Tree;
+    private static double[][] inputRows;
+
+    @BeforeAll
+    static void loadData() throws IOException {
+        y0Tree = PfaDecisionTree.getInstance("pfa/sample_01/price_sample_01_y0_tree");
+        y1Tree = PfaDecisionTree.getInstance("pfa/sample_01/price_sample_01_y1_tree");
+        inputRows = ModelTestData.loadInputRows();
+    }
+
+    private static void assertBitIdentical(PfaDecisionTree expected, TreePredictor actual) {
+        for (double[] row : inputRows) {
+            assertEquals(
+                    Double.doubleToRawLongBits(expected.predict(row)),
+                    Double.doubleToRawLongBits(actual.predict(row))
+            );
+        }
+    }
+
+    @Test
+    void testCompiledIsHiddenClass() {
+        TreePredictor compiled = TreeCompiler.compile(y0Tree);
+        assertTrue(compiled.getClass().isHidden());
+    }
+
+    @Test
+    void testCompiledMatchesDecisionTree() {
+        assertBitIdentical(y0Tree, TreeCompiler.compile(y0Tree));
+        assertBitIdentical(y1Tree, TreeCompiler.compile(y1Tree));
+    }
+
+    @Test
+    void testCompiledWithHelperMethodsMatchesDecisionTree() {
+        // only a few nodes per method forces many helper methods
+        TreePredictor compiled = TreeCompiler.compile(y1Tree.getFlatTree(), 3, TreeCompiler.MAX_COMPILED_NODES);
+        assertTrue(compiled.getClass().isHidden());
+        assertBitIdentical(y1Tree, compiled);
+    }
+
+    @Test
+    void testCompiledNaNInputsMatchDecisionTree() {
+        double[] inputs = new double[inputRows[0].length];
+        Arrays.fill(inputs, Double.NaN);
+        assertEquals(y0Tree.predict(inputs), TreeCompiler.compile(y0Tree).predict(inputs));
+    }
+
+    @Test
+    void testMethodTooLargeFallsBackToFlatTree() {
+        // a balanced tree numbered breadth-first, written into one method that is larger
+        // than the 64KB limit
+        int n = 8191;
+        int[] featureIndex = new int[n];
+        double[] threshold = new double[n];
+        int[] left = new int[n];
+        int[] right = new int[n];
+        double[] leafValue = new double[n + 1];
+        for (int i = 0; i < n; i++) {
+            threshold[i] = i;
+            left[i] = 2 * i + 1 < n ? 2 * i + 1 : ~(2 * i + 1 - n);
+            right[i] = 2 * i + 2 < n ? 2 * i + 2 : ~(2 * i + 2 - n);
+        }
+        FlatTree flatTree = new FlatTree(0, featureIndex, threshold, left, right, leafValue);
+        assertSame(flatTree, TreeCompiler.compile(flatTree, n, n));
+    }
+
+    @Test
+    void testTooLargeFallsBackToFlatTree() {
+        FlatTree flatTree = y0Tree.getFlatTree();
+        TreePredictor compiled = TreeCompiler.compile(flatTree, TreeCompiler.MAX_METHOD_NODES, 10);
+        assertSame(flatTree, compiled);
+    }
+
+}
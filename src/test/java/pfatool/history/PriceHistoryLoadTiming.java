@@ -0,0 +1,49 @@
+package pfatool.history;
+
+import pfatool.forecaster.PriceData;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compares the time taken to load a large price history with {@link PriceHistoryLoader}
+ * and with {@link PriceData#loadFromTsv(Path)}. The file is the sample price history
+ * repeated, given the number of copies as argument, default 50. Run with:
+ * <pre>{@code
+ * ./gradlew runTestClass --class pfatool.history.PriceHistoryLoadTiming
+ * }</pre>
+ */
+public class PriceHistoryLoadTiming {
+
+    private static final Path TEST_DATA_FILE = Path.of("src/test/resources/data/price_sample_01.tsv");
+    private static final int REPEATS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int copies = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        byte[] sample = Files.readAllBytes(TEST_DATA_FILE);
+        Path file = Files.createTempFile("price_history", ".tsv");
+        try {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                for (int i = 0; i < copies; i++) {
+                    out.write(sample);
+                }
+            }
+            System.out.printf("file size: %d MB%n", Files.size(file) >> 20);
+            PriceHistoryLoader loader = new PriceHistoryLoader();
+            for (int i = 0; i < REPEATS; i++) {
+                long start = System.nanoTime();
+                int numLoaded = loader.load(file).size();
+                long loaderTime = System.nanoTime() - start;
+                start = System.nanoTime();
+                int numParsed = PriceData.loadFromTsv(file).size();
+                long listTime = System.nanoTime() - start;
+                System.out.printf("loader: %8.1f ms (%d records), PriceData list: %8.1f ms (%d records)%n",
+                        loaderTime / 1e6, numLoaded, listTime / 1e6, numParsed);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
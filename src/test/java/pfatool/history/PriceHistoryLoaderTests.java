@@ -0,0 +1,117 @@
+package pfatool.history;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pfatool.forecaster.PriceData;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriceHistoryLoaderTests {
+    private static final Path TEST_DATA_FILE = Path.of("src/test/resources/data/price_sample_01.tsv");
+    private static final String CHOSEN_CATEGORY = "g4ad.2xlarge__Linux/UNIX__eu-west-1b";
+
+    private static List<PriceData> expected;
+    private static PriceHistory history;
+
+    @BeforeAll
+    static void loadFromFile() throws IOException {
+        expected = PriceData.loadFromTsv(TEST_DATA_FILE).stream()
+                .sorted(Comparator.comparing(PriceData::date))
+                .toList();
+        history = new PriceHistoryLoader().load(TEST_DATA_FILE);
+    }
+
+    @Test
+    void testLoadMatchesSortedPriceData() {
+        assertEquals(expected.size(), history.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), history.getRecord(i));
+        }
+        assertEquals(history.getCategoryNames().stream().sorted().toList(), history.getCategoryNames());
+    }
+
+    @Test
+    void testManyMappingsAndChunks() throws IOException {
+        // mappings of 64kB split into chunks of 4kB, many lines cross the nominal boundaries
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            PriceHistory small = new PriceHistoryLoader(pool, 64 * 1024, 4 * 1024).load(TEST_DATA_FILE);
+            assertEquals(history, small);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testGetRecordsOfCategory() {
+        long from = history.getEpochSecond(history.size() / 2);
+        long to = history.getEpochSecond(history.size() - 1);
+        List<PriceData> expectedRange = expected.stream()
+                .filter(d -> d.date().toEpochSecond() >= from && d.date().toEpochSecond() < to)
+                .filter(d -> CHOSEN_CATEGORY.equals(
+                        String.join("__", d.instanceType(), d.instanceDescription(), d.regionZone())))
+                .toList();
+        assertFalse(expectedRange.isEmpty());
+        assertEquals(expectedRange, history.getRecords(CHOSEN_CATEGORY, from, to));
+        assertEquals(List.of(), history.getRecords("no-such-category", from, to));
+    }
+
+    @Test
+    void testNoTrailingLineBreakAndEmptyFile(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("prices.tsv");
+        Files.writeString(file, "x\t0.5\t2022-06-07T09:05:40+00:00\ta\tb\tc\r\n"
+                + "x\t0.25\t2022-06-07T08:05:40+00:00\ta\tb\td");
+        PriceHistory loaded = new PriceHistoryLoader(ForkJoinPool.commonPool(), 64, 8).load(file);
+        assertEquals(2, loaded.size());
+        assertEquals(List.of("a__b__c", "a__b__d"), loaded.getCategoryNames());
+        assertEquals(0.25, loaded.getPrice(0));
+        assertEquals(1, loaded.getCategoryId(0));
+
+        Files.writeString(file, "");
+        assertEquals(0, new PriceHistoryLoader().load(file).size());
+    }
+
+    @Test
+    void testCarriageReturnLineBreaks(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("prices.tsv");
+        Files.writeString(file, Files.readString(TEST_DATA_FILE).replace("\r\n", "\r").replace('\n', '\r'));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(history, new PriceHistoryLoader(pool, 64 * 1024, 4 * 1024).load(file));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testFractionsOfSecondRoundedUp(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("prices.tsv");
+        Files.writeString(file, "x\t0.5\t2022-06-07T09:05:40.250+00:00\ta\tb\tc\n"
+                + "x\t0.25\t2022-06-07T09:05:40+00:00\ta\tb\tc\n");
+        PriceHistory loaded = new PriceHistoryLoader().load(file);
+        long seconds = OffsetDateTime.parse("2022-06-07T09:05:40Z").toEpochSecond();
+        assertEquals(seconds, loaded.getEpochSecond(0));
+        assertEquals(seconds + 1, loaded.getEpochSecond(1));
+    }
+
+    @Test
+    void testLineLongerThanMapping(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("prices.tsv");
+        Files.writeString(file, "x\t0.5\t2022-06-07T09:05:40+00:00\ta\tb\tc\n"
+                + "x\t0.25\t2022-06-07T08:05:40+00:00\ta\tb\td\n");
+        assertThrows(
+                IOException.class,
+                () -> new PriceHistoryLoader(ForkJoinPool.commonPool(), 16, 8).load(file)
+        );
+    }
+
+}
@@ -0,0 +1,140 @@
+package pfatool.history;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pfatool.forecaster.PriceData;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriceStoreTests {
+    private static final Path TEST_DATA_FILE = Path.of("src/test/resources/data/price_sample_01.tsv");
+    private static final String CHOSEN_CATEGORY = "g4ad.2xlarge__Linux/UNIX__eu-west-1b";
+
+    private static PriceHistory history;
+
+    @BeforeAll
+    static void loadFromFile() throws IOException {
+        history = new PriceHistoryLoader().load(TEST_DATA_FILE);
+    }
+
+    @Test
+    void testImportTsvMatchesHistory(@TempDir Path dir) throws IOException {
+        PriceStore store = PriceStore.open(dir);
+        assertEquals(history.size(), store.importTsv(TEST_DATA_FILE));
+        assertEquals(history.size(), store.size());
+        assertEquals(history.getEpochSecond(history.size() - 1), store.getLatestEpochSecond());
+        assertEquals(history.getCategoryNames().size(), store.getCategoryNames().size());
+        assertRangesMatch(store);
+
+        // a store opened again reads the same records
+        PriceStore reopened = PriceStore.open(dir);
+        assertEquals(store.size(), reopened.size());
+        assertEquals(store.getCategoryNames(), reopened.getCategoryNames());
+        assertEquals(store.getLatestEpochSecond(), reopened.getLatestEpochSecond());
+        assertRangesMatch(reopened);
+    }
+
+    private static void assertRangesMatch(PriceStore store) throws IOException {
+        long first = history.getEpochSecond(0);
+        long last = history.getEpochSecond(history.size() - 1);
+        long[][] ranges = {
+                {first, last + 1},
+                {first + 3600, last - 86400},
+                {(first + last) / 2, last},
+                {last, last + 1},
+                {last + 1, last + 86400}
+        };
+        for (long[] r : ranges) {
+            assertEquals(history.getRecords(CHOSEN_CATEGORY, r[0], r[1]),
+                    store.getRecords(CHOSEN_CATEGORY, r[0], r[1]));
+        }
+        assertEquals(List.of(), store.getRecords("a__b__c", first, last + 1));
+    }
+
+    @Test
+    void testGetLastDays(@TempDir Path dir) throws IOException {
+        PriceStore store = PriceStore.open(dir);
+        store.append(history);
+        long last = history.getEpochSecond(history.size() - 1);
+        assertEquals(history.getRecords(CHOSEN_CATEGORY, last + 1 - 2 * 86400, last + 1),
+                store.getLastDays(CHOSEN_CATEGORY, 2, Instant.ofEpochSecond(last)));
+    }
+
+    @Test
+    void testAppendHistoryAfterOtherCategories(@TempDir Path dir) throws IOException {
+        PriceStore store = PriceStore.open(dir);
+        store.append(List.of(new PriceData(history.getDate(0).minusDays(2), 1.0, "x", "a", "z")));
+        store.append(history);
+        assertEquals(history.size() + 1, store.size());
+        assertEquals("x__a__z", store.getCategoryNames().get(0));
+        assertEquals(history.getCategoryNames().size() + 1, store.getCategoryNames().size());
+        assertRangesMatch(store);
+        assertRangesMatch(PriceStore.open(dir));
+
+        // the same records again are before the last record of their days, nothing is written
+        assertThrows(IllegalArgumentException.class, () -> store.append(history));
+        assertEquals(history.size() + 1, store.size());
+    }
+
+    @Test
+    void testAppendInBatches(@TempDir Path dir) throws IOException {
+        PriceStore store = PriceStore.open(dir);
+        List<PriceData> records = history.getRecords(CHOSEN_CATEGORY, Long.MIN_VALUE, Long.MAX_VALUE);
+        int half = records.size() / 2;
+        List<PriceData> firstHalf = new ArrayList<>(records.subList(0, half));
+        Collections.reverse(firstHalf);
+        store.append(firstHalf);
+        store.append(records.subList(half, records.size()));
+        assertEquals(records, store.getRecords(CHOSEN_CATEGORY, Long.MIN_VALUE + 1, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testAppendBeforeLastRecordOfDay(@TempDir Path dir) throws IOException {
+        PriceStore store = PriceStore.open(dir);
+        store.append(List.of(record(12, 1.0, "a"), record(10, 2.0, "a")));
+        long size = store.size();
+        // a record of a new category and one before the last of the day, nothing is written
+        assertThrows(IllegalArgumentException.class,
+                () -> store.append(List.of(record(13, 3.0, "b"), record(11, 4.0, "a"))));
+        assertEquals(size, store.size());
+        assertEquals(List.of("x__a__z"), store.getCategoryNames());
+        assertEquals(List.of("x__a__z"), PriceStore.open(dir).getCategoryNames());
+        // the same time as the last record and later days are fine
+        store.append(List.of(record(12, 5.0, "a"), record(36, 6.0, "a")));
+        assertEquals(List.of(record(10, 2.0, "a"), record(12, 1.0, "a"), record(12, 5.0, "a"), record(36, 6.0, "a")),
+                store.getRecords("x__a__z", 0, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testPartialRecordRemovedOnOpen(@TempDir Path dir) throws IOException {
+        PriceStore store = PriceStore.open(dir);
+        store.append(List.of(record(10, 1.0, "a"), record(11, 2.0, "a")));
+        Path file = dir.resolve("2022-06-07.prices");
+        assertEquals(2 * PriceStore.RECORD_SIZE, Files.size(file));
+        Files.write(file, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+
+        PriceStore reopened = PriceStore.open(dir);
+        assertEquals(2 * PriceStore.RECORD_SIZE, Files.size(file));
+        reopened.append(List.of(record(12, 3.0, "a")));
+        assertEquals(List.of(record(10, 1.0, "a"), record(11, 2.0, "a"), record(12, 3.0, "a")),
+                reopened.getRecords("x__a__z", 0, Long.MAX_VALUE));
+    }
+
+    private static PriceData record(int hour, double price, String description) {
+        OffsetDateTime date = OffsetDateTime.of(2022, 6, 7, 0, 0, 0, 0, ZoneOffset.UTC).plusHours(hour);
+        return new PriceData(date, price, "x", description, "z");
+    }
+
+}
@@ -0,0 +1,242 @@
+package pfatool.pfa;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pfatool.generated.PfaDecisionTree;
+import pfatool.generated.PfaTreeEnsemble;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PfaEngineTests {
+
+    private static final String RESOURCES = "src/test/resources/";
+    private static final String INPUT_DATA_FILE = RESOURCES + "pfa/sample_01/price_sample_01_pp.tsv";
+    private static double[][] inputRows;
+
+    @BeforeAll
+    static void loadData() throws IOException {
+        Path p = FileSystems.getDefault().getPath("");
+        // \R matches different types of linebreak
+        String[] lines = Files.readString(p.resolve(INPUT_DATA_FILE)).split("\\R");
+        inputRows = Arrays.stream(lines, 1, lines.length)
+                .map(line -> line.split("\\t"))
+                .map(fields -> Arrays.stream(fields, 1, fields.length)
+                        .mapToDouble(Double::parseDouble)
+                        .toArray())
+                .toArray(double[][]::new);
+    }
+
+    private static PfaEngine load(String pfaFile) throws IOException {
+        return PfaEngine.fromPath(Path.of(RESOURCES + pfaFile));
+    }
+
+    @Test
+    void testSingleTreeMatchesDecisionTree() throws IOException {
+        PfaEngine engine = load("pfa/sample_01/price_sample_01_y0.pfa");
+        PfaDecisionTree tree = PfaDecisionTree.getInstance("pfa/sample_01/price_sample_01_y0_tree");
+        for (double[] row : inputRows) {
+            assertEquals(tree.predict(row), engine.predict(row));
+        }
+    }
+
+    @Test
+    void testForestMatchesEnsemble() throws IOException {
+        PfaEngine engine = load("pfa/ensemble_01/price_sample_01_forest.pfa");
+        PfaTreeEnsemble forest = PfaTreeEnsemble.load("pfa/ensemble_01/price_sample_01_forest");
+        for (double[] row : inputRows) {
+            assertEquals(forest.predict(row), engine.predict(row));
+        }
+    }
+
+    @Test
+    void testBoostMatchesEnsemble() throws IOException {
+        PfaEngine engine = load("pfa/ensemble_01/price_sample_01_boost.pfa");
+        PfaTreeEnsemble boost = PfaTreeEnsemble.load("pfa/ensemble_01/price_sample_01_boost");
+        for (double[] row : inputRows) {
+            assertEquals(boost.predict(row), engine.predict(row));
+            assertEquals(boost.predict(row), engine.action(row));
+        }
+    }
+
+    @Test
+    void testActionWithMapInput() throws IOException {
+        PfaEngine engine = load("pfa/example_01/pfa_example_01.pfa");
+        assertEquals(List.of("x0", "x1", "x2", "x3"), engine.getInputFields());
+        assertEquals(8.0, engine.action(Map.of("x0", 0, "x1", 0, "x2", 0, "x3", 1.0)));
+        assertEquals(7.0, engine.action(Map.of("x0", 0, "x1", 0, "x2", 0, "x3", 4.0)));
+        assertEquals(9.0, engine.action(Map.of("x0", 0, "x1", 0, "x2", 0, "x3", 10.0)));
+    }
+
+    @Test
+    void testLetSetWhile() {
+        PfaEngine engine = PfaEngine.fromJson("""
+                {"input": "int", "output": "int", "action": [
+                  {"let": {"i": 0, "total": 0}},
+                  {"while": {"<": ["i", "input"]}, "do": [
+                    {"set": {"i": {"+": ["i", 1]}}},
+                    {"set": {"total": {"+": ["total", "i"]}}}
+                  ]},
+                  "total"
+                ]}""");
+        assertEquals(55, engine.action(10));
+        assertEquals(0, engine.action(0));
+    }
+
+    @Test
+    void testIntOutputOutOfRangeFails() {
+        PfaEngine engine = PfaEngine.fromJson("""
+                {"input": "int", "output": "int", "action": {"*": ["input", "input"]}}""");
+        assertEquals(10000, engine.action(100));
+        assertThrows(IllegalStateException.class, () -> engine.action(100000));
+    }
+
+    @Test
+    void testCellsUpdatedBetweenCalls() {
+        PfaEngine engine = PfaEngine.fromJson("""
+                {"input": "double", "output": "double",
+                 "cells": {"count": {"type": "int", "init": 0},
+                           "total": {"type": "double", "init": 0.0}},
+                 "action": [
+                   {"cell": "count", "to": {"params": [{"old": "int"}], "ret": "int",
+                                            "do": {"+": ["old", 1]}}},
+                   {"cell": "total", "to": {"+": [{"cell": "total"}, "input"]}},
+                   {"/": [{"cell": "total"}, {"cell": "count"}]}
+                 ]}""");
+        assertEquals(2.0, engine.action(2.0));
+        assertEquals(3.0, engine.action(4.0));
+        assertEquals(2, engine.getCell("count"));
+        assertEquals(6.0, engine.getCell("total"));
+    }
+
+    @Test
+    void testUserFunctionsAndArrays() {
+        PfaEngine engine = PfaEngine.fromJson("""
+                {"input": {"type": "array", "items": "double"}, "output": "double",
+                 "fcns": {"square": {"params": [{"x": "double"}], "ret": "double",
+                                     "do": {"*": ["x", "x"]}}},
+                 "action": {"m.sqrt": {"a.sum": {"a.map": ["input", {"fcn": "u.square"}]}}}}""");
+        assertEquals(5.0, engine.action(List.of(3.0, 4.0)));
+    }
+
+    @Test
+    void testArrayFunctions() {
+        PfaEngine engine = PfaEngine.fromJson("""
+                {"input": {"type": "array", "items": "double"},
+                 "output": {"type": "array", "items": "double"},
+                 "action": [
+                   {"let": {"big": {"a.filter": ["input", {"params": [{"x": "double"}], "ret": "boolean",
+                                                           "do": {">": ["x", 1]}}]}}},
+                   {"a.append": [{"a.reverse": {"a.sort": "big"}}, {"a.fold": ["input", 0.0,
+                       {"params": [{"acc": "double"}, {"x": "double"}], "ret": "double",
+                        "do": {"max": ["acc", "x"]}}]}]}
+                 ]}""");
+        assertEquals(List.of(5.0, 3.0, 2.0, 5.0), engine.action(List.of(3.0, 0.5, 5.0, 2.0)));
+    }
+
+    @Test
+    void testCondAndRecords() {
+        PfaEngine engine = PfaEngine.fromJson("""
+                {"input": {"type": "record", "name": "Point", "fields": [
+                   {"name": "x", "type": "double"}, {"name": "y", "type": "double"}]},
+                 "output": "string",
+                 "action": {"cond": [
+                   {"if": {"&&": [{">": ["input.x", 0]}, {">": ["input.y", 0]}]}, "then": {"string": "first"}},
+                   {"if": {">": [{"attr": "input", "path": [{"string": "x"}]}, 0]}, "then": {"string": "fourth"}}
+                 ], "else": {"string": "other"}}}""");
+        assertEquals("first", engine.action(new double[] {1.0, 1.0}));
+        assertEquals("fourth", engine.action(Map.of("x", 1.0, "y", -1.0)));
+        assertEquals("other", engine.action(Map.of("x", -1.0, "y", 1.0)));
+    }
+
+    @Test
+    void testSimpleWalk() {
+        PfaEngine engine = PfaEngine.fromJson("""
+                {"input": {"type": "record", "name": "Row", "fields": [{"name": "a", "type": "double"}]},
+                 "output": "string",
+                 "cells": {"tree": {"type": {"type": "record", "name": "Node", "fields": [
+                     {"name": "limit", "type": "double"},
+                     {"name": "pass", "type": ["Node", "string"]},
+                     {"name": "fail", "type": ["Node", "string"]}]},
+                   "init": {"limit": 1.0, "pass": {"string": "small"},
+                            "fail": {"Node": {"limit": 10.0, "pass": {"string": "medium"},
+                                              "fail": {"string": "large"}}}}}},
+                 "action": {"model.tree.simpleWalk": ["input", {"cell": "tree"},
+                   {"params": [{"d": "Row"}, {"t": "Node"}], "ret": "boolean",
+                    "do": {"<": ["d.a", "t.limit"]}}]}}""");
+        assertEquals("small", engine.action(new double[] {0.5}));
+        assertEquals("medium", engine.action(new double[] {5.0}));
+        assertEquals("large", engine.action(new double[] {50.0}));
+    }
+
+    @Test
+    void testSimpleTreeOtherOperators() {
+        PfaEngine engine = PfaEngine.fromJson("""
+                {"input": {"type": "record", "name": "Row", "fields": [{"name": "a", "type": "double"}]},
+                 "output": "double",
+                 "cells": {"tree": {"type": {"type": "record", "name": "TreeNode", "fields": [
+                     {"name": "field", "type": {"type": "enum", "name": "Cols", "symbols": ["a"]}},
+                     {"name": "operator", "type": "string"},
+                     {"name": "value", "type": "double"},
+                     {"name": "pass", "type": ["TreeNode", "double"]},
+                     {"name": "fail", "type": ["TreeNode", "double"]}]},
+                   "init": {"field": "a", "operator": ">", "value": 2.0, "pass": {"double": 1.0},
+                            "fail": {"TreeNode": {"field": "a", "operator": "==", "value": 2.0,
+                                                  "pass": {"double": 2.0}, "fail": {"double": 3.0}}}}}},
+                 "action": {"model.tree.simpleTree": ["input", {"cell": "tree"}]}}""");
+        assertEquals(1.0, engine.predict(new double[] {5.0}));
+        assertEquals(2.0, engine.predict(new double[] {2.0}));
+        assertEquals(3.0, engine.predict(new double[] {1.0}));
+    }
+
+    @Test
+    void testUnknownFunction() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> PfaEngine.fromJson("""
+                        {"input": "double", "output": "double", "action": {"m.nothing": "input"}}""")
+        );
+    }
+
+    @Test
+    void testSetVariableOfEnclosingFunction() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> PfaEngine.fromJson("""
+                        {"input": {"type": "array", "items": "double"}, "output": "double", "action": [
+                          {"let": {"total": 0.0}},
+                          {"a.map": ["input", {"params": [{"x": "double"}], "ret": "double",
+                                               "do": [{"set": {"total": "x"}}, "x"]}]},
+                          "total"
+                        ]}""")
+        );
+    }
+
+    @Test
+    void testOutputTypeMismatch() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> PfaEngine.fromJson("""
+                        {"input": "double", "output": "string", "action": {"+": ["input", 1]}}""")
+        );
+    }
+
+    @Test
+    void testErrorExpression() {
+        PfaEngine engine = PfaEngine.fromJson("""
+                {"input": "double", "output": "double", "action": [
+                  {"if": {"<": ["input", 0]}, "then": {"error": "negative input"}},
+                  {"m.sqrt": "input"}
+                ]}""");
+        assertEquals(2.0, engine.action(4.0));
+        assertThrows(IllegalStateException.class, () -> engine.action(-1.0));
+    }
+
+}
@@ -0,0 +1,25 @@
+package pfatool.priceapp;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import pfatool.forecaster.CoalescingForecaster;
+import pfatool.forecaster.DummyForecaster;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ForecastMetricsTests {
+
+    @Test
+    void testMetricsFollowForecaster() {
+        CoalescingForecaster forecaster = new CoalescingForecaster(new DummyForecaster());
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new ForecastMetrics(forecaster).bindTo(registry);
+        forecaster.makeForecast("dummy__category");
+        forecaster.makeForecast("dummy__category");
+        assertEquals(2.0, registry.get("priceapp.forecast.requests").functionCounter().count());
+        assertEquals(0.0, registry.get("priceapp.forecast.coalesced").functionCounter().count());
+        assertEquals(0.0, registry.get("priceapp.forecast.in.flight").gauge().value());
+    }
+
+}
@@ -1,10 +1,18 @@
 package pfatool.priceapp;
 
+import app.ec2prices.AsyncSpotPrices;
+import app.ec2prices.FetchLimiter;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.annotation.Order;
 import pfatool.forecaster.DummyForecaster;
+import pfatool.forecaster.ModelRegistry;
 import pfatool.forecaster.PriceForecaster;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+
+import java.net.URI;
+import java.time.Duration;
 
 @TestConfiguration
 public class PriceApplicationTestConfig {
@@ -15,4 +23,22 @@ public class PriceApplicationTestConfig {
         return new DummyForecaster();
     }
 
+    @Bean(destroyMethod = "close")
+    @Order(100)
+    public AsyncSpotPrices priceHistorySource() {
+        // never called by the tests, the endpoint does not exist
+        return new AsyncSpotPrices(
+                AsyncSpotPrices.buildClient(URI.create("http://localhost:1"),
+                        StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test"))),
+                new FetchLimiter(1, 1, 1, Duration.ZERO));
+    }
+
+    @Bean
+    @Order(100)
+    public ModelRegistry modelRegistry() {
+        return ModelRegistry.fromClasspath(
+                "pfa/sample_01/price_sample_01_y0_tree",
+                "pfa/sample_01/price_sample_01_y1_tree");
+    }
+
 }
@@ -9,16 +9,20 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import pfatool.forecaster.ForecastInfo;
+import pfatool.forecaster.PriceForecast;
 import pfatool.forecaster.PriceForecaster;
 
 import java.time.OffsetDateTime;
+import java.util.concurrent.CompletableFuture;
 
 import org.hamcrest.Matchers;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest(classes = PriceApplicationTestConfig.class)
 @AutoConfigureMockMvc
@@ -58,7 +62,7 @@ public class WebApiTests {
                 "/api/forecast?category={cat}",
                 "unsupported__category"));
         verify(mockForecaster).isSupportedCategory("unsupported__category");
-        verify(mockForecaster, never()).makeForecast("unsupported__category");
+        verify(mockForecaster, never()).makeForecastAsync("unsupported__category");
     }
 
     @Test
@@ -67,14 +71,36 @@ public class WebApiTests {
                 .isSupportedCategory("valid__category")
         ).thenReturn(true);
         when(mockForecaster
-                .makeForecast("valid__category")
-        ).thenReturn(new ForecastInfo(1.1, 2.2, OffsetDateTime.parse("2022-04-04T00:00+00:00"),
-                7, "valid__category"));
+                .makeForecastAsync("valid__category")
+        ).thenReturn(CompletableFuture.completedFuture(new ForecastInfo(1.1, 2.2,
+                OffsetDateTime.parse("2022-04-04T00:00+00:00"), 7, "valid__category", "v1-00000000")));
         mockMvc.perform(get(
                 "/api/forecast?category={cat}",
                 "valid__category"));
         verify(mockForecaster).isSupportedCategory("valid__category");
-        verify(mockForecaster).makeForecast("valid__category");
+        verify(mockForecaster).makeForecastAsync("valid__category");
+    }
+
+    @Test
+    void testForecastCompletesAsynchronously() throws Exception {
+        CompletableFuture<PriceForecast> pending = new CompletableFuture<>();
+        when(mockForecaster
+                .isSupportedCategory("valid__category")
+        ).thenReturn(true);
+        when(mockForecaster
+                .makeForecastAsync("valid__category")
+        ).thenReturn(pending);
+        MvcResult result = mockMvc.perform(get(
+                        "/api/forecast?category={cat}",
+                        "valid__category"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // the request thread has returned before the forecast is made
+        pending.complete(new ForecastInfo(1.1, 2.2,
+                OffsetDateTime.parse("2022-04-04T00:00+00:00"), 7, "valid__category", "v1-00000000"));
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString("v1-00000000")));
     }
 
     @Test
@@ -0,0 +1,1834 @@
+/**
+ * Autogenerated by GenerateTreeSource from price_sample_01_y0.pfa
+ *
+ * DO NOT EDIT DIRECTLY
+ */
+package pfatool.tmpgenerated;
+
+public final class PriceSample01Y0Tree {
+
+    private PriceSample01Y0Tree() {}
+
+    /**
+     * Make a prediction using the decision tree hard-coded in this class
+     *
+     * @param inputs array of pre-processed data
+     * @return prediction value as floating point number
+     */
+    public static double predict(double[] inputs) {
+        if (inputs[41] <= 1.0040798783302307) {
+            if (inputs[40] <= 1.0036637783050537) {
+                if (inputs[38] <= 1.0026329159736633) {
+                    if (inputs[41] <= 0.9709568619728088) {
+                        if (inputs[14] <= 1.0048639178276062) {
+                            if (inputs[13] <= 1.0167351365089417) {
+                                if (inputs[20] <= 1.0217984914779663) {
+                                    if (inputs[17] <= 1.0042275786399841) {
+                                        if (inputs[41] <= 0.9678957760334015) {
+                                            if (inputs[27] <= 1.028294563293457) {
+                                                return 0.8442302599372429;
+                                            } else {
+                                                return 0.8443050107528616;
+                                            }
+                                        } else {
+                                            if (inputs[3] <= 0.9976570308208466) {
+                                                return 0.8459883010655254;
+                                            } else {
+                                                return 0.8464459684655813;
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[1] <= 0.9918993413448334) {
+                                            return 0.8489721750824498;
+                                        } else {
+                                            return 0.8493503329543608;
+                                        }
+                                    }
+                                } else {
+                                    return 0.8580124030245684;
+                                }
+                            } else {
+                                return 0.8933837557339934;
+                            }
+                        } else {
+                            if (inputs[0] <= 0.9731175601482391) {
+                                if (inputs[20] <= 0.9999592900276184) {
+                                    return 0.9496730856294551;
+                                } else {
+                                    return 0.972077555973893;
+                                }
+                            } else {
+                                if (inputs[12] <= 1.0195807814598083) {
+                                    return 0.9956680243940861;
+                                } else {
+                                    return 1.0009575414840768;
+                                }
+                            }
+                        }
+                    } else {
+                        if (inputs[0] <= 1.0002045631408691) {
+                            if (inputs[35] <= 1.0016643404960632) {
+                                if (inputs[40] <= 0.9722557067871094) {
+                                    if (inputs[24] <= 1.0158455967903137) {
+                                        if (inputs[14] <= 1.021435558795929) {
+                                            if (inputs[13] <= 1.0018409490585327) {
+                                                if (inputs[3] <= 1.0064294934272766) {
+                                                    return 0.8528109945467439;
+                                                } else {
+                                                    return 0.8444154053360696;
+                                                }
+                                            } else {
+                                                return 0.8632744637931744;
+                                            }
+                                        } else {
+                                            if (inputs[25] <= 0.9797435998916626) {
+                                                return 0.8993850693822549;
+                                            } else {
+                                                return 0.9528793601890735;
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[35] <= 0.9855013191699982) {
+                                            return 0.987166975152841;
+                                        } else {
+                                            if (inputs[38] <= 0.9651905000209808) {
+                                                return 1.0034258925351605;
+                                            } else {
+                                                return 0.9975578189184627;
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[1] <= 1.0002045631408691) {
+                                        if (inputs[13] <= 0.9892360866069794) {
+                                            if (inputs[10] <= 1.0160114169120789) {
+                                                if (inputs[37] <= 0.9974382817745209) {
+                                                    if (inputs[33] <= 0.9997716844081879) {
+                                                        return 0.9876955895450997;
+                                                    } else {
+                                                        return 0.98551535701353;
+                                                    }
+                                                } else {
+                                                    if (inputs[2] <= 0.9985948503017426) {
+                                                        if (inputs[6] <= 0.9929742515087128) {
+                                                            return 0.9446909384604089;
+                                                        } else {
+                                                            if (inputs[22] <= 1.0077311396598816) {
+                                                                return 0.9467462460726933;
+                                                            } else {
+                                                                return 0.9481191583406233;
+                                                            }
+                                                        }
+                                                    } else {
+                                                        if (inputs[2] <= 1.0192494988441467) {
+                                                            return 0.9598509715347188;
+                                                        } else {
+                                                            return 0.9529391973588758;
+                                                        }
+                                                    }
+                                                }
+                                            } else {
+                                                return 0.8531123188115799;
+                                            }
+                                        } else {
+                                            if (inputs[10] <= 1.000719964504242) {
+                                                if (inputs[9] <= 1.0044056177139282) {
+                                                    if (inputs[2] <= 0.9953941106796265) {
+                                                        if (inputs[39] <= 1.004993200302124) {
+                                                            if (inputs[7] <= 0.9988992810249329) {
+                                                                if (inputs[16] <= 0.9847460091114044) {
+                                                                    return 0.9653334834454486;
+                                                                } else {
+                                                                    if (inputs[38] <= 1.001124083995819) {
+                                                                        if (inputs[1] <= 0.9987415969371796) {
+                                                                            return 0.9843816481771672;
+                                                                        } else {
+                                                                            if (inputs[41] <= 0.9939759075641632) {
+                                                                                return 0.9900506451359333;
+                                                                            } else {
+                                                                                if (inputs[34] <= 0.9774580001831055) {
+                                                                                    return 0.9929863999100822;
+                                                                                } else {
+                                                                                    return 0.9925304793953769;
+                                                                                }
+                                                                            }
+                                                                        }
+                                                                    } else {
+                                                                        return 1.002624424926809;
+                                                                    }
+                                                                }
+                                                            } else {
+                                                                if (inputs[36] <= 1.003571093082428) {
+                                                                    if (inputs[36] <= 0.9988134801387787) {
+                                                                        if (inputs[36] <= 0.9956856966018677) {
+                                                                            return 1.006302872937432;
+                                                                        } else {
+                                                                            return 1.0076706497882812;
+                                                                        }
+                                                                    } else {
+                                                                        if (inputs[19] <= 1.0047147274017334) {
+                                                                            return 1.015259805118416;
+                                                                        } else {
+                                                                            if (inputs[5] <= 0.9966607391834259) {
+                                                                                return 1.0167142917174437;
+                                                                            } else {
+                                                                                return 1.0177499028695123;
+                                                                            }
+                                                                        }
+                                                                    }
+                                                                } else {
+                                                                    return 1.034470055783602;
+                                                                }
+                                                            }
+                                                        } else {
+                                                            return 1.0829673118944092;
+                                                        }
+                                                    } else {
+                                                        if (inputs[2] <= 1.0031633973121643) {
+                                                            if (inputs[15] <= 1.0254116654396057) {
+                                                                if (inputs[14] <= 1.00105619430542) {
+                                                                    if (inputs[3] <= 0.9963702261447906) {
+                                                                        if (inputs[14] <= 0.9929221570491791) {
+                                                                            if (inputs[30] <= 1.001216471195221) {
+                                                                                return 0.9769629653686681;
+                                                                            } else {
+                                                                                return 0.9836386932857317;
+                                                                            }
+                                                                        } else {
+                                                                            if (inputs[40] <= 0.9950750470161438) {
+                                                                                if (inputs[5] <= 0.9956581294536591) {
+                                                                                    if (inputs[5] <= 0.9824411571025848) {
+                                                                                        return 0.9887099489366478;
+                                                                                    } else {
+                                                                                        return 0.9899327010981507;
+                                                                                    }
+                                                                                } else {
+                                                                                    return 0.9922563387879877;
+                                                                                }
+                                                                            } else {
+                                                                                if (inputs[13] <= 0.996536135673523) {
+                                                                                    return 0.9990289133226826;
+                                                                                } else {
+                                                                                    return 0.9949850878161934;
+                                                                                }
+                                                                            }
+                                                                        }
+                                                                    } else {
+                                                                        if (inputs[30] <= 1.0018277764320374) {
+                                                                            if (inputs[34] <= 1.0030580759048462) {
+                                                                                return 0.9737098971350117;
+                                                                            } else {
+                                                                                return 0.9751479977909329;
+                                                                            }
+                                                                        } else {
+                                                                            return 0.970100983433437;
+                                                                        }
+                                                                    }
+                                                                } else {
+                                                                    if (inputs[35] <= 0.997953325510025) {
+                                                                        return 0.9415791875855772;
+                                                                    } else {
+                                                                        if (inputs[19] <= 1.000211477279663) {
+                                                                            return 0.95966651434753;
+                                                                        } else {
+                                                                            if (inputs[1] <= 0.9853889048099518) {
+                                                                                return 0.9510822016813116;
+                                                                            } else {
+                                                                                return 0.9515315623647362;
+                                                                            }
+                                                                        }
+                                                                    }
+                                                                }
+                                                            } else {
+                                                                return 1.022486376097404;
+                                                            }
+                                                        } else {
+                                                            if (inputs[12] <= 1.0019091963768005) {
+                                                                return 0.9236600417901745;
+                                                            } else {
+                                                                if (inputs[31] <= 0.9901539385318756) {
+                                                                    return 0.9421982599683087;
+                                                                } else {
+                                                                    return 0.9576570666779525;
+                                                                }
+                                                            }
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[28] <= 0.9981350898742676) {
+                                                        if (inputs[9] <= 1.0422393679618835) {
+                                                            if (inputs[19] <= 1.0309874415397644) {
+                                                                if (inputs[16] <= 1.0309874415397644) {
+                                                                    return 1.022187891814437;
+                                                                } else {
+                                                                    return 1.0172181413841905;
+                                                                }
+                                                            } else {
+                                                                return 1.0094866825904727;
+                                                            }
+                                                        } else {
+                                                            return 0.9668998872130146;
+                                                        }
+                                                    } else {
+                                                        if (inputs[28] <= 1.0041481256484985) {
+                                                            if (inputs[21] <= 1.002694308757782) {
+                                                                if (inputs[6] <= 1.00995534658432) {
+                                                                    return 1.0737497094804453;
+                                                                } else {
+                                                                    return 1.0593726267825498;
+                                                                }
+                                                            } else {
+                                                                return 1.0894302063611265;
+                                                            }
+                                                        } else {
+                                                            return 1.1280375159869265;
+                                                        }
+                                                    }
+                                                }
+                                            } else {
+                                                if (inputs[26] <= 0.9990138113498688) {
+                                                    if (inputs[5] <= 0.9993203580379486) {
+                                                        return 0.9821512498497119;
+                                                    } else {
+                                                        if (inputs[39] <= 0.980005294084549) {
+                                                            return 1.00600549846764;
+                                                        } else {
+                                                            if (inputs[21] <= 0.991525411605835) {
+                                                                if (inputs[12] <= 1.0283408164978027) {
+                                                                    if (inputs[29] <= 0.9808427095413208) {
+                                                                        return 1.020980901999462;
+                                                                    } else {
+                                                                        return 1.0193546215470235;
+                                                                    }
+                                                                } else {
+                                                                    return 1.0233920744252616;
+                                                                }
+                                                            } else {
+                                                                return 1.0145375638056262;
+                                                            }
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[35] <= 0.9981518089771271) {
+                                                        if (inputs[29] <= 1.000234842300415) {
+                                                            if (inputs[40] <= 0.9971083402633667) {
+                                                                return 1.0119190986955395;
+                                                            } else {
+                                                                return 1.0103137372325912;
+                                                            }
+                                                        } else {
+                                                            return 1.0374312088493818;
+                                                        }
+                                                    } else {
+                                                        if (inputs[30] <= 1.0011175870895386) {
+                                                            if (inputs[13] <= 1.0015729069709778) {
+                                                                return 1.1108864921303134;
+                                                            } else {
+                                                                if (inputs[17] <= 1.0126121938228607) {
+                                                                    return 1.0812659217995202;
+                                                                } else {
+                                                                    return 1.0735215830190175;
+                                                                }
+                                                            }
+                                                        } else {
+                                                            if (inputs[19] <= 1.0002150535583496) {
+                                                                if (inputs[16] <= 1.0017793774604797) {
+                                                                    return 1.0534933001591935;
+                                                                } else {
+                                                                    if (inputs[14] <= 1.0166015625) {
+                                                                        return 1.0666342925912633;
+                                                                    } else {
+                                                                        return 1.0648029062027573;
+                                                                    }
+                                                                }
+                                                            } else {
+                                                                if (inputs[41] <= 0.9924931824207306) {
+                                                                    return 1.0479296175323989;
+                                                                } else {
+                                                                    return 1.0314780092120817;
+                                                                }
+                                                            }
+                                                        }
+                                                    }
+                                                }
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[3] <= 1.0193261504173279) {
+                                            if (inputs[25] <= 0.9979986250400543) {
+                                                if (inputs[15] <= 1.0120379328727722) {
+                                                    if (inputs[33] <= 0.9979291260242462) {
+                                                        if (inputs[20] <= 1.0034812688827515) {
+                                                            if (inputs[27] <= 0.9939810931682587) {
+                                                                return 0.9431134277430633;
+                                                            } else {
+                                                                return 0.9450582412638104;
+                                                            }
+                                                        } else {
+                                                            return 0.9596639189675996;
+                                                        }
+                                                    } else {
+                                                        if (inputs[1] <= 1.0020711421966553) {
+                                                            return 0.9323353352271052;
+                                                        } else {
+                                                            if (inputs[24] <= 1.0004506409168243) {
+                                                                return 0.9255424158553813;
+                                                            } else {
+                                                                return 0.9250425894378194;
+                                                            }
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[34] <= 0.9930229783058167) {
+                                                        return 0.8779534790522149;
+                                                    } else {
+                                                        return 0.8878503917925517;
+                                                    }
+                                                }
+                                            } else {
+                                                if (inputs[39] <= 0.9934333562850952) {
+                                                    if (inputs[1] <= 1.0084556937217712) {
+                                                        if (inputs[19] <= 0.998941570520401) {
+                                                            if (inputs[8] <= 0.9997954964637756) {
+                                                                return 0.9277090781222529;
+                                                            } else {
+                                                                return 0.9215982784191703;
+                                                            }
+                                                        } else {
+                                                            if (inputs[4] <= 1.0022445321083069) {
+                                                                return 0.9385493397040282;
+                                                            } else {
+                                                                return 0.941800707468464;
+                                                            }
+                                                        }
+                                                    } else {
+                                                        if (inputs[17] <= 1.0039425492286682) {
+                                                            if (inputs[36] <= 0.984817236661911) {
+                                                                if (inputs[7] <= 0.9856687784194946) {
+                                                                    return 0.942852365126147;
+                                                                } else {
+                                                                    return 0.9436218208259657;
+                                                                }
+                                                            } else {
+                                                                if (inputs[2] <= 1.032349407672882) {
+                                                                    return 0.9456710545591529;
+                                                                } else {
+                                                                    return 0.9457708275934141;
+                                                                }
+                                                            }
+                                                        } else {
+                                                            if (inputs[27] <= 1.0211529731750488) {
+                                                                return 0.9474729575791802;
+                                                            } else {
+                                                                return 0.9503065166274773;
+                                                            }
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[18] <= 0.9971482157707214) {
+                                                        if (inputs[31] <= 1.001640260219574) {
+                                                            if (inputs[31] <= 1.0002011060714722) {
+                                                                return 0.922406362465011;
+                                                            } else {
+                                                                return 0.9375397616673786;
+                                                            }
+                                                        } else {
+                                                            if (inputs[36] <= 1.009981095790863) {
+                                                                return 0.9696524670306925;
+                                                            } else {
+                                                                if (inputs[27] <= 0.9992614388465881) {
+                                                                    return 0.9794322920636304;
+                                                                } else {
+                                                                    return 0.9763994417739184;
+                                                                }
+                                                            }
+                                                        }
+                                                    } else {
+                                                        if (inputs[29] <= 0.9927100241184235) {
+                                                            if (inputs[14] <= 1.0057157278060913) {
+                                                                return 0.937699981178242;
+                                                            } else {
+                                                                return 0.9779971189243984;
+                                                            }
+                                                        } else {
+                                                            if (inputs[10] <= 1.001502275466919) {
+                                                                if (inputs[25] <= 0.9985657334327698) {
+                                                                    return 1.0273074158048994;
+                                                                } else {
+                                                                    if (inputs[35] <= 0.9983059167861938) {
+                                                                        if (inputs[36] <= 1.0024283528327942) {
+                                                                            return 1.0576033243486074;
+                                                                        } else {
+                                                                            return 1.0603864202154614;
+                                                                        }
+                                                                    } else {
+                                                                        return 1.048003613767573;
+                                                                    }
+                                                                }
+                                                            } else {
+                                                                if (inputs[36] <= 1.0018184781074524) {
+                                                                    if (inputs[20] <= 1.0036927461624146) {
+                                                                        return 0.9896298214854956;
+                                                                    } else {
+                                                                        return 1.0022034236109572;
+                                                                    }
+                                                                } else {
+                                                                    if (inputs[24] <= 0.9980956315994263) {
+                                                                        return 1.0109005551022054;
+                                                                    } else {
+                                                                        return 1.0240468297874699;
+                                                                    }
+                                                                }
+                                                            }
+                                                        }
+                                                    }
+                                                }
+                                            }
+                                        } else {
+                                            if (inputs[20] <= 0.9783236980438232) {
+                                                return 1.0338911995410567;
+                                            } else {
+                                                return 1.1391555616710944;
+                                            }
+                                        }
+                                    }
+                                }
+                            } else {
+                                if (inputs[3] <= 1.003778874874115) {
+                                    if (inputs[21] <= 0.99500373005867) {
+                                        if (inputs[25] <= 0.998103678226471) {
+                                            return 0.917551365340939;
+                                        } else {
+                                            if (inputs[10] <= 0.9944958090782166) {
+                                                return 0.9916498344543241;
+                                            } else {
+                                                if (inputs[8] <= 0.9970563352108002) {
+                                                    return 0.9711781126711235;
+                                                } else {
+                                                    return 0.9538114586406069;
+                                                }
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[19] <= 0.994683712720871) {
+                                            if (inputs[24] <= 1.0027269124984741) {
+                                                if (inputs[2] <= 1.0036927461624146) {
+                                                    return 0.987910728578705;
+                                                } else {
+                                                    return 0.9783421355762754;
+                                                }
+                                            } else {
+                                                return 0.9539165809494686;
+                                            }
+                                        } else {
+                                            if (inputs[21] <= 1.011877179145813) {
+                                                if (inputs[41] <= 1.000724971294403) {
+                                                    if (inputs[24] <= 1.0064611434936523) {
+                                                        if (inputs[19] <= 0.9986911118030548) {
+                                                            if (inputs[35] <= 1.0130953192710876) {
+                                                                return 1.0942258321529743;
+                                                            } else {
+                                                                return 1.0769213432499436;
+                                                            }
+                                                        } else {
+                                                            if (inputs[38] <= 0.9743308424949646) {
+                                                                if (inputs[33] <= 1.0038065314292908) {
+                                                                    return 1.0680875589056267;
+                                                                } else {
+                                                                    return 1.0607400904855155;
+                                                                }
+                                                            } else {
+                                                                if (inputs[32] <= 0.9980956315994263) {
+                                                                    return 1.0635128396908502;
+                                                                } else {
+                                                                    if (inputs[28] <= 1.003699779510498) {
+                                                                        if (inputs[38] <= 0.9920503497123718) {
+                                                                            if (inputs[12] <= 0.9892625212669373) {
+                                                                                return 1.043125670726985;
+                                                                            } else {
+                                                                                return 1.042754844144903;
+                                                                            }
+                                                                        } else {
+                                                                            return 1.038567232066711;
+                                                                        }
+                                                                    } else {
+                                                                        if (inputs[23] <= 1.00912743806839) {
+                                                                            return 1.0512339442921057;
+                                                                        } else {
+                                                                            return 1.0467843347825334;
+                                                                        }
+                                                                    }
+                                                                }
+                                                            }
+                                                        }
+                                                    } else {
+                                                        if (inputs[2] <= 1.0104070901870728) {
+                                                            return 1.1095685971354334;
+                                                        } else {
+                                                            return 1.1259086917554613;
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[10] <= 0.9970631301403046) {
+                                                        if (inputs[16] <= 1.0034229755401611) {
+                                                            return 1.1240899742091344;
+                                                        } else {
+                                                            return 1.1261288774486278;
+                                                        }
+                                                    } else {
+                                                        if (inputs[25] <= 1.0024283528327942) {
+                                                            return 1.10539512076062;
+                                                        } else {
+                                                            return 1.1159481512773195;
+                                                        }
+                                                    }
+                                                }
+                                            } else {
+                                                if (inputs[27] <= 1.0017793774604797) {
+                                                    if (inputs[31] <= 1.0036803483963013) {
+                                                        if (inputs[15] <= 0.9958935678005219) {
+                                                            return 1.013318500015743;
+                                                        } else {
+                                                            return 1.0128364435174295;
+                                                        }
+                                                    } else {
+                                                        return 1.0097045228183976;
+                                                    }
+                                                } else {
+                                                    return 1.0196896747471775;
+                                                }
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[1] <= 1.0098780989646912) {
+                                        if (inputs[8] <= 1.0006145238876343) {
+                                            if (inputs[7] <= 1.000211477279663) {
+                                                return 0.9754058729357157;
+                                            } else {
+                                                return 0.974290404848685;
+                                            }
+                                        } else {
+                                            if (inputs[7] <= 1.0095024704933167) {
+                                                return 0.9487754791603286;
+                                            } else {
+                                                return 0.9516121007065378;
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[31] <= 0.9917823076248169) {
+                                            return 0.9154458445345405;
+                                        } else {
+                                            return 0.9230717126462361;
+                                        }
+                                    }
+                                }
+                            }
+                        } else {
+                            if (inputs[37] <= 1.0020429491996765) {
+                                if (inputs[37] <= 0.9692062735557556) {
+                                    if (inputs[29] <= 0.9840425550937653) {
+                                        return 0.8684929013469238;
+                                    } else {
+                                        if (inputs[31] <= 1.0082165598869324) {
+                                            if (inputs[12] <= 0.9977962076663971) {
+                                                return 0.8444994996610609;
+                                            } else {
+                                                return 0.8440447307958032;
+                                            }
+                                        } else {
+                                            return 0.8434577748474299;
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[33] <= 0.9749612808227539) {
+                                        if (inputs[22] <= 1.0082165598869324) {
+                                            if (inputs[19] <= 1.0065878331661224) {
+                                                return 0.8823050790588433;
+                                            } else {
+                                                return 0.8874134776707051;
+                                            }
+                                        } else {
+                                            return 0.8733711189415596;
+                                        }
+                                    } else {
+                                        if (inputs[11] <= 1.0039964318275452) {
+                                            if (inputs[18] <= 0.9953916072845459) {
+                                                if (inputs[2] <= 1.0027269124984741) {
+                                                    if (inputs[18] <= 0.9940252006053925) {
+                                                        if (inputs[9] <= 1.0046926140785217) {
+                                                            if (inputs[32] <= 1.0019550323486328) {
+                                                                return 0.9954534552697163;
+                                                            } else {
+                                                                return 0.9809389763564748;
+                                                            }
+                                                        } else {
+                                                            if (inputs[25] <= 0.9993203580379486) {
+                                                                return 0.9616555792511483;
+                                                            } else {
+                                                                return 0.9733913524555283;
+                                                            }
+                                                        }
+                                                    } else {
+                                                        if (inputs[3] <= 1.0040019750595093) {
+                                                            return 1.0315981231024014;
+                                                        } else {
+                                                            return 1.025566923553902;
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[10] <= 1.001409113407135) {
+                                                        if (inputs[10] <= 0.9811756908893585) {
+                                                            return 0.9204332117176153;
+                                                        } else {
+                                                            return 0.9264297206377063;
+                                                        }
+                                                    } else {
+                                                        if (inputs[33] <= 1.0003411769866943) {
+                                                            if (inputs[7] <= 1.0010229349136353) {
+                                                                return 0.943290133779264;
+                                                            } else {
+                                                                return 0.9403330425217162;
+                                                            }
+                                                        } else {
+                                                            return 0.9476903973509934;
+                                                        }
+                                                    }
+                                                }
+                                            } else {
+                                                if (inputs[36] <= 1.0185758471488953) {
+                                                    if (inputs[16] <= 1.0039882063865662) {
+                                                        if (inputs[26] <= 1.0051599144935608) {
+                                                            if (inputs[32] <= 0.9904720783233643) {
+                                                                if (inputs[39] <= 0.995033860206604) {
+                                                                    return 0.9358334732911155;
+                                                                } else {
+                                                                    if (inputs[11] <= 0.9841626882553101) {
+                                                                        return 0.9397389640432965;
+                                                                    } else {
+                                                                        return 0.9399672114859157;
+                                                                    }
+                                                                }
+                                                            } else {
+                                                                if (inputs[33] <= 0.9930326044559479) {
+                                                                    if (inputs[0] <= 1.0027267336845398) {
+                                                                        if (inputs[21] <= 1.0016707181930542) {
+                                                                            return 0.9337849099753859;
+                                                                        } else {
+                                                                            return 0.934262261157481;
+                                                                        }
+                                                                    } else {
+                                                                        if (inputs[30] <= 0.9991543292999268) {
+                                                                            return 0.9307091864752493;
+                                                                        } else {
+                                                                            return 0.9293676659130724;
+                                                                        }
+                                                                    }
+                                                                } else {
+                                                                    if (inputs[23] <= 1.000421941280365) {
+                                                                        if (inputs[32] <= 1.0251880884170532) {
+                                                                            if (inputs[8] <= 1.0018491744995117) {
+                                                                                if (inputs[2] <= 1.0004233717918396) {
+                                                                                    return 0.922437135453566;
+                                                                                } else {
+                                                                                    return 0.9220236309621731;
+                                                                                }
+                                                                            } else {
+                                                                                if (inputs[22] <= 0.9942457973957062) {
+                                                                                    return 0.9213287390142861;
+                                                                                } else {
+                                                                                    return 0.9213528853418049;
+                                                                                }
+                                                                            }
+                                                                        } else {
+                                                                            return 0.9189807252531853;
+                                                                        }
+                                                                    } else {
+                                                                        if (inputs[20] <= 1.0002045631408691) {
+                                                                            return 0.9250530937126337;
+                                                                        } else {
+                                                                            return 0.9281462626184416;
+                                                                        }
+                                                                    }
+                                                                }
+                                                            }
+                                                        } else {
+                                                            if (inputs[6] <= 1.0008295774459839) {
+                                                                return 0.9501989312322032;
+                                                            } else {
+                                                                if (inputs[9] <= 1.0040560364723206) {
+                                                                    if (inputs[30] <= 0.9755576848983765) {
+                                                                        return 0.9428072473259114;
+                                                                    } else {
+                                                                        return 0.9444798845466053;
+                                                                    }
+                                                                } else {
+                                                                    return 0.9382878001482916;
+                                                                }
+                                                            }
+                                                        }
+                                                    } else {
+                                                        if (inputs[36] <= 1.0006145238876343) {
+                                                            if (inputs[12] <= 1.0070290565490723) {
+                                                                if (inputs[32] <= 0.9964141547679901) {
+                                                                    if (inputs[34] <= 0.995033860206604) {
+                                                                        if (inputs[21] <= 0.989271342754364) {
+                                                                            return 0.9479950531368564;
+                                                                        } else {
+                                                                            return 0.9481080972634621;
+                                                                        }
+                                                                    } else {
+                                                                        return 0.9469117970595831;
+                                                                    }
+                                                                } else {
+                                                                    if (inputs[32] <= 1.0018412470817566) {
+                                                                        if (inputs[15] <= 1.0052854418754578) {
+                                                                            return 0.9443521277408512;
+                                                                        } else {
+                                                                            return 0.9453014063685345;
+                                                                        }
+                                                                    } else {
+                                                                        return 0.9432288529177437;
+                                                                    }
+                                                                }
+                                                            } else {
+                                                                return 0.955357142857143;
+                                                            }
+                                                        } else {
+                                                            return 0.9827492084288676;
+                                                        }
+                                                    }
+                                                } else {
+                                                    return 0.8661519074717671;
+                                                }
+                                            }
+                                        } else {
+                                            if (inputs[25] <= 1.0008598566055298) {
+                                                if (inputs[33] <= 1.0022628903388977) {
+                                                    if (inputs[5] <= 1.0060017704963684) {
+                                                        if (inputs[15] <= 1.000821590423584) {
+                                                            if (inputs[6] <= 1.0010208487510681) {
+                                                                if (inputs[9] <= 1.0129389762878418) {
+                                                                    if (inputs[1] <= 1.0038065314292908) {
+                                                                        return 0.9427256563121014;
+                                                                    } else {
+                                                                        return 0.942757668904084;
+                                                                    }
+                                                                } else {
+                                                                    return 0.9439013401230104;
+                                                                }
+                                                            } else {
+                                                                if (inputs[38] <= 0.9916498959064484) {
+                                                                    return 0.9378836611353049;
+                                                                } else {
+                                                                    return 0.938582447969728;
+                                                                }
+                                                            }
+                                                        } else {
+                                                            return 0.9242858248819384;
+                                                        }
+                                                    } else {
+                                                        if (inputs[28] <= 1.012182593345642) {
+                                                            return 0.9723720353745144;
+                                                        } else {
+                                                            return 0.9556013425941312;
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[8] <= 1.0105420351028442) {
+                                                        return 1.0290127275941312;
+                                                    } else {
+                                                        return 1.0037937713901461;
+                                                    }
+                                                }
+                                            } else {
+                                                if (inputs[41] <= 0.9997954964637756) {
+                                                    if (inputs[41] <= 0.9940412938594818) {
+                                                        return 0.9541399157651979;
+                                                    } else {
+                                                        return 0.9967603887533497;
+                                                    }
+                                                } else {
+                                                    if (inputs[5] <= 1.0014873445034027) {
+                                                        return 1.057349821493248;
+                                                    } else {
+                                                        if (inputs[40] <= 0.9861069917678833) {
+                                                            return 1.0341913346646516;
+                                                        } else {
+                                                            return 1.0139307722564572;
+                                                        }
+                                                    }
+                                                }
+                                            }
+                                        }
+                                    }
+                                }
+                            } else {
+                                if (inputs[28] <= 1.0112900137901306) {
+                                    if (inputs[3] <= 1.018212914466858) {
+                                        if (inputs[17] <= 1.0028990507125854) {
+                                            if (inputs[27] <= 0.9836934506893158) {
+                                                return 0.9139717480153027;
+                                            } else {
+                                                if (inputs[40] <= 0.9870986640453339) {
+                                                    return 0.9429068277503204;
+                                                } else {
+                                                    if (inputs[10] <= 1.0031380653381348) {
+                                                        return 0.9339347763138847;
+                                                    } else {
+                                                        return 0.9355004459611432;
+                                                    }
+                                                }
+                                            }
+                                        } else {
+                                            if (inputs[9] <= 1.0024772882461548) {
+                                                return 0.9583978214446641;
+                                            } else {
+                                                if (inputs[39] <= 0.9992717206478119) {
+                                                    return 0.9606745783885074;
+                                                } else {
+                                                    return 0.9609247584621692;
+                                                }
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[32] <= 0.9962251782417297) {
+                                            return 1.0563242195245544;
+                                        } else {
+                                            if (inputs[8] <= 1.007088840007782) {
+                                                return 1.0171503668820503;
+                                            } else {
+                                                return 1.0244356143575746;
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[39] <= 0.9980027377605438) {
+                                        if (inputs[22] <= 1.006167471408844) {
+                                            return 1.0710805774454997;
+                                        } else {
+                                            return 1.133793002942007;
+                                        }
+                                    } else {
+                                        return 1.240662868979803;
+                                    }
+                                }
+                            }
+                        }
+                    }
+                } else {
+                    if (inputs[18] <= 1.0039587020874023) {
+                        if (inputs[22] <= 0.9965187013149261) {
+                            if (inputs[33] <= 1.021601378917694) {
+                                if (inputs[17] <= 0.9832609593868256) {
+                                    return 1.0246811552120791;
+                                } else {
+                                    if (inputs[3] <= 0.9864429831504822) {
+                                        if (inputs[18] <= 1.0012690424919128) {
+                                            return 0.9575128842654778;
+                                        } else {
+                                            return 0.9380749178851212;
+                                        }
+                                    } else {
+                                        if (inputs[8] <= 1.000211477279663) {
+                                            if (inputs[4] <= 1.000211477279663) {
+                                                if (inputs[3] <= 0.9945818483829498) {
+                                                    return 0.9787004975703437;
+                                                } else {
+                                                    if (inputs[25] <= 0.9797322750091553) {
+                                                        return 0.978297179926508;
+                                                    } else {
+                                                        return 0.9784629077661864;
+                                                    }
+                                                }
+                                            } else {
+                                                return 0.9812736411213017;
+                                            }
+                                        } else {
+                                            if (inputs[3] <= 0.9944328963756561) {
+                                                return 0.9676207219651671;
+                                            } else {
+                                                if (inputs[28] <= 0.9904674589633942) {
+                                                    return 0.9728138117387403;
+                                                } else {
+                                                    if (inputs[2] <= 0.9905000329017639) {
+                                                        return 0.9714154234712441;
+                                                    } else {
+                                                        return 0.971048558715419;
+                                                    }
+                                                }
+                                            }
+                                        }
+                                    }
+                                }
+                            } else {
+                                if (inputs[28] <= 1.0051908493041992) {
+                                    return 0.9164764346421296;
+                                } else {
+                                    return 0.8591539139492028;
+                                }
+                            }
+                        } else {
+                            if (inputs[30] <= 1.0042341947555542) {
+                                if (inputs[23] <= 1.0037723183631897) {
+                                    if (inputs[9] <= 0.9981338381767273) {
+                                        if (inputs[0] <= 0.9818712174892426) {
+                                            return 0.9720385793194241;
+                                        } else {
+                                            if (inputs[1] <= 0.9895239472389221) {
+                                                return 1.0999058119563412;
+                                            } else {
+                                                if (inputs[30] <= 0.9985895752906799) {
+                                                    return 1.052164237476727;
+                                                } else {
+                                                    if (inputs[28] <= 0.996872216463089) {
+                                                        return 1.0311917916337805;
+                                                    } else {
+                                                        return 1.03841352262056;
+                                                    }
+                                                }
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[22] <= 1.0101342797279358) {
+                                            if (inputs[38] <= 1.0057802200317383) {
+                                                if (inputs[24] <= 0.979288786649704) {
+                                                    return 0.9146670626566854;
+                                                } else {
+                                                    if (inputs[34] <= 1.0012679696083069) {
+                                                        return 0.937123570659606;
+                                                    } else {
+                                                        return 0.9268087330159099;
+                                                    }
+                                                }
+                                            } else {
+                                                if (inputs[6] <= 0.998103678226471) {
+                                                    if (inputs[2] <= 0.9939810931682587) {
+                                                        if (inputs[29] <= 1.0000659227371216) {
+                                                            return 0.9776777482509899;
+                                                        } else {
+                                                            return 0.9736606291706389;
+                                                        }
+                                                    } else {
+                                                        if (inputs[17] <= 1.0013333559036255) {
+                                                            return 0.9868840152286985;
+                                                        } else {
+                                                            return 0.9824882327770645;
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[19] <= 1.0158420205116272) {
+                                                        if (inputs[37] <= 0.9809136986732483) {
+                                                            return 0.9639184608774528;
+                                                        } else {
+                                                            return 0.9691313864716246;
+                                                        }
+                                                    } else {
+                                                        return 0.9564690637477481;
+                                                    }
+                                                }
+                                            }
+                                        } else {
+                                            if (inputs[33] <= 0.9990636706352234) {
+                                                if (inputs[41] <= 1.0011175870895386) {
+                                                    return 1.0050524076495224;
+                                                } else {
+                                                    return 1.0098434895642239;
+                                                }
+                                            } else {
+                                                return 1.0204729077017651;
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[6] <= 1.0064377784729004) {
+                                        if (inputs[41] <= 0.9997634887695312) {
+                                            return 1.1213644106351235;
+                                        } else {
+                                            return 1.1301385082586473;
+                                        }
+                                    } else {
+                                        return 1.017819038661853;
+                                    }
+                                }
+                            } else {
+                                if (inputs[33] <= 1.0143110752105713) {
+                                    if (inputs[0] <= 0.9995297789573669) {
+                                        return 1.0247802164335165;
+                                    } else {
+                                        if (inputs[16] <= 1.0002349615097046) {
+                                            if (inputs[31] <= 1.0166015625) {
+                                                return 1.0653306792511912;
+                                            } else {
+                                                return 1.0600869371377617;
+                                            }
+                                        } else {
+                                            return 1.0885723442110269;
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[14] <= 0.998085230588913) {
+                                        return 1.1317877959627227;
+                                    } else {
+                                        return 1.1508709772660173;
+                                    }
+                                }
+                            }
+                        }
+                    } else {
+                        if (inputs[11] <= 0.9988020956516266) {
+                            if (inputs[12] <= 1.0028818249702454) {
+                                if (inputs[14] <= 0.9913389384746552) {
+                                    return 1.2352462692014892;
+                                } else {
+                                    return 1.2374471981189004;
+                                }
+                            } else {
+                                return 1.2404131007241606;
+                            }
+                        } else {
+                            if (inputs[35] <= 1.0034540295600891) {
+                                if (inputs[36] <= 1.0002349615097046) {
+                                    if (inputs[20] <= 1.0189104080200195) {
+                                        if (inputs[37] <= 1.0003411769866943) {
+                                            return 0.9639112962653645;
+                                        } else {
+                                            return 0.9657722939241651;
+                                        }
+                                    } else {
+                                        return 0.9998643527506721;
+                                    }
+                                } else {
+                                    if (inputs[8] <= 1.000726044178009) {
+                                        if (inputs[1] <= 0.999024897813797) {
+                                            if (inputs[13] <= 1.0089333653450012) {
+                                                return 1.0203077811334165;
+                                            } else {
+                                                return 1.0279145622895625;
+                                            }
+                                        } else {
+                                            return 1.0375786841424508;
+                                        }
+                                    } else {
+                                        return 1.0694955730986226;
+                                    }
+                                }
+                            } else {
+                                if (inputs[18] <= 1.0105118155479431) {
+                                    if (inputs[15] <= 1.0028207302093506) {
+                                        return 1.1298813683714715;
+                                    } else {
+                                        return 1.1421670623390192;
+                                    }
+                                } else {
+                                    if (inputs[9] <= 1.0023008584976196) {
+                                        if (inputs[30] <= 0.9958957135677338) {
+                                            return 1.0802279254021043;
+                                        } else {
+                                            if (inputs[17] <= 1.029654324054718) {
+                                                return 1.0755868741230918;
+                                            } else {
+                                                return 1.0772869052345033;
+                                            }
+                                        }
+                                    } else {
+                                        return 1.0712426142666336;
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            } else {
+                if (inputs[28] <= 1.0034009218215942) {
+                    if (inputs[31] <= 1.006775140762329) {
+                        if (inputs[8] <= 0.9955733716487885) {
+                            if (inputs[24] <= 1.0013380646705627) {
+                                if (inputs[16] <= 1.0068264603614807) {
+                                    if (inputs[13] <= 1.0002236366271973) {
+                                        return 1.1393999778589614;
+                                    } else {
+                                        if (inputs[35] <= 1.0038244724273682) {
+                                            return 1.1709439762548364;
+                                        } else {
+                                            return 1.1554070512481072;
+                                        }
+                                    }
+                                } else {
+                                    return 1.0685833884115445;
+                                }
+                            } else {
+                                if (inputs[28] <= 0.9823023676872253) {
+                                    return 0.8948847303086006;
+                                } else {
+                                    if (inputs[35] <= 0.9992873072624207) {
+                                        return 0.9995131343085402;
+                                    } else {
+                                        return 1.0253137921238966;
+                                    }
+                                }
+                            }
+                        } else {
+                            if (inputs[11] <= 0.9987234175205231) {
+                                if (inputs[2] <= 1.0015009343624115) {
+                                    if (inputs[28] <= 1.000724971294403) {
+                                        return 1.0778755402663844;
+                                    } else {
+                                        return 1.133753547620619;
+                                    }
+                                } else {
+                                    if (inputs[30] <= 0.9921249151229858) {
+                                        return 0.9681243008589814;
+                                    } else {
+                                        if (inputs[19] <= 0.9859193861484528) {
+                                            return 1.031503448275862;
+                                        } else {
+                                            return 1.0440776206900355;
+                                        }
+                                    }
+                                }
+                            } else {
+                                if (inputs[24] <= 1.0038421154022217) {
+                                    if (inputs[1] <= 1.0197985172271729) {
+                                        if (inputs[2] <= 1.0027450919151306) {
+                                            if (inputs[10] <= 0.9931777119636536) {
+                                                return 1.0225405740851767;
+                                            } else {
+                                                if (inputs[21] <= 1.0004056096076965) {
+                                                    if (inputs[13] <= 1.002529501914978) {
+                                                        if (inputs[33] <= 1.0052406191825867) {
+                                                            if (inputs[7] <= 1.0258455872535706) {
+                                                                if (inputs[1] <= 0.9958148896694183) {
+                                                                    return 0.9650854976032053;
+                                                                } else {
+                                                                    if (inputs[17] <= 1.0034812688827515) {
+                                                                        return 0.964318442705972;
+                                                                    } else {
+                                                                        return 0.9646412012420774;
+                                                                    }
+                                                                }
+                                                            } else {
+                                                                return 0.9669888222319307;
+                                                            }
+                                                        } else {
+                                                            return 0.9698849723233944;
+                                                        }
+                                                    } else {
+                                                        return 0.9576632720271573;
+                                                    }
+                                                } else {
+                                                    if (inputs[0] <= 0.9833642840385437) {
+                                                        return 0.9690789662392796;
+                                                    } else {
+                                                        if (inputs[37] <= 0.993956446647644) {
+                                                            if (inputs[21] <= 1.0102702379226685) {
+                                                                return 0.9401366751441496;
+                                                            } else {
+                                                                return 0.9351784773445734;
+                                                            }
+                                                        } else {
+                                                            if (inputs[9] <= 0.9829847514629364) {
+                                                                return 0.930848190167477;
+                                                            } else {
+                                                                return 0.9298133519206939;
+                                                            }
+                                                        }
+                                                    }
+                                                }
+                                            }
+                                        } else {
+                                            if (inputs[19] <= 1.0032507181167603) {
+                                                if (inputs[24] <= 0.9851637184619904) {
+                                                    return 0.8731747716454394;
+                                                } else {
+                                                    if (inputs[23] <= 0.9838532209396362) {
+                                                        return 0.9132585637280473;
+                                                    } else {
+                                                        if (inputs[1] <= 0.9965608716011047) {
+                                                            return 0.9103521601576682;
+                                                        } else {
+                                                            return 0.9087667016781066;
+                                                        }
+                                                    }
+                                                }
+                                            } else {
+                                                if (inputs[31] <= 0.9974550306797028) {
+                                                    return 0.92613035241243;
+                                                } else {
+                                                    return 0.955246394634948;
+                                                }
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[20] <= 0.9896340370178223) {
+                                            if (inputs[36] <= 1.0031397342681885) {
+                                                return 1.029487917146145;
+                                            } else {
+                                                return 1.027470448120033;
+                                            }
+                                        } else {
+                                            if (inputs[20] <= 0.9935872554779053) {
+                                                return 0.9774322752917867;
+                                            } else {
+                                                return 0.9774762141054129;
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[1] <= 1.0062845945358276) {
+                                        if (inputs[14] <= 1.0063302516937256) {
+                                            return 0.9760355263678442;
+                                        } else {
+                                            if (inputs[27] <= 0.999026745557785) {
+                                                return 1.0190535619646794;
+                                            } else {
+                                                return 1.029392604370245;
+                                            }
+                                        }
+                                    } else {
+                                        return 1.1128871868652677;
+                                    }
+                                }
+                            }
+                        }
+                    } else {
+                        if (inputs[18] <= 0.9993383288383484) {
+                            if (inputs[25] <= 0.9937167763710022) {
+                                return 1.1251975338867992;
+                            } else {
+                                if (inputs[7] <= 1.0022416710853577) {
+                                    if (inputs[12] <= 0.9924931824207306) {
+                                        return 1.2328379112839165;
+                                    } else {
+                                        return 1.2152988587203706;
+                                    }
+                                } else {
+                                    return 1.185568650747345;
+                                }
+                            }
+                        } else {
+                            if (inputs[33] <= 1.0059537887573242) {
+                                if (inputs[20] <= 1.0070643424987793) {
+                                    if (inputs[24] <= 1.0036386847496033) {
+                                        return 1.0546660592660082;
+                                    } else {
+                                        return 1.0380527624055074;
+                                    }
+                                } else {
+                                    if (inputs[37] <= 1.0192494988441467) {
+                                        return 1.081727483941506;
+                                    } else {
+                                        return 1.088121820478678;
+                                    }
+                                }
+                            } else {
+                                if (inputs[30] <= 1.0187068581581116) {
+                                    return 0.9639921722113503;
+                                } else {
+                                    return 1.003683241252302;
+                                }
+                            }
+                        }
+                    }
+                } else {
+                    if (inputs[34] <= 0.9981350898742676) {
+                        if (inputs[26] <= 1.0109552145004272) {
+                            if (inputs[17] <= 1.0062838196754456) {
+                                if (inputs[40] <= 1.0209866166114807) {
+                                    return 0.9805189345530371;
+                                } else {
+                                    return 0.9740065673630612;
+                                }
+                            } else {
+                                return 0.9909072344450296;
+                            }
+                        } else {
+                            if (inputs[36] <= 0.9979052543640137) {
+                                return 1.0797116755557903;
+                            } else {
+                                if (inputs[38] <= 0.9999332129955292) {
+                                    return 1.0416759354006317;
+                                } else {
+                                    return 1.0570680081463562;
+                                }
+                            }
+                        }
+                    } else {
+                        if (inputs[31] <= 0.9992614388465881) {
+                            if (inputs[31] <= 0.9951571524143219) {
+                                if (inputs[22] <= 1.0086537599563599) {
+                                    return 1.0847457627118648;
+                                } else {
+                                    return 1.0833626890603514;
+                                }
+                            } else {
+                                return 0.9765396211327118;
+                            }
+                        } else {
+                            if (inputs[34] <= 1.0027103424072266) {
+                                if (inputs[35] <= 1.0085429549217224) {
+                                    if (inputs[1] <= 0.9988134801387787) {
+                                        return 1.1365114000712504;
+                                    } else {
+                                        if (inputs[22] <= 1.008903682231903) {
+                                            if (inputs[27] <= 1.014853060245514) {
+                                                return 1.1125274535980365;
+                                            } else {
+                                                return 1.1186991165771696;
+                                            }
+                                        } else {
+                                            if (inputs[7] <= 1.0022587180137634) {
+                                                return 1.1022019288213705;
+                                            } else {
+                                                return 1.0998683016248731;
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[0] <= 0.9988020956516266) {
+                                        return 1.2150158895699483;
+                                    } else {
+                                        return 1.2041203463295218;
+                                    }
+                                }
+                            } else {
+                                if (inputs[40] <= 1.0102168917655945) {
+                                    if (inputs[39] <= 1.006318986415863) {
+                                        if (inputs[37] <= 1.0030466318130493) {
+                                            return 1.2359159586915602;
+                                        } else {
+                                            if (inputs[2] <= 0.9927120208740234) {
+                                                return 1.2408787719461025;
+                                            } else {
+                                                if (inputs[33] <= 1.0076693892478943) {
+                                                    return 1.2387990951245225;
+                                                } else {
+                                                    return 1.23954656811859;
+                                                }
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[31] <= 1.0022294521331787) {
+                                            return 1.225720238220501;
+                                        } else {
+                                            return 1.2261250713020506;
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[2] <= 1.000236988067627) {
+                                        return 1.1597413216382964;
+                                    } else {
+                                        if (inputs[1] <= 0.9995265007019043) {
+                                            return 1.1993866509793332;
+                                        } else {
+                                            return 1.1864181218452647;
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        } else {
+            return predict01(inputs);
+        }
+    }
+
+    private static double predict01(double[] inputs) {
+        if (inputs[26] <= 1.003329873085022) {
+            if (inputs[37] <= 1.0096731781959534) {
+                if (inputs[29] <= 1.0019068121910095) {
+                    if (inputs[33] <= 1.004269301891327) {
+                        if (inputs[41] <= 1.004934310913086) {
+                            if (inputs[28] <= 1.0026720762252808) {
+                                if (inputs[10] <= 0.9997580945491791) {
+                                    return 1.0874943271169086;
+                                } else {
+                                    return 1.0644848591665654;
+                                }
+                            } else {
+                                return 1.129582827686792;
+                            }
+                        } else {
+                            if (inputs[2] <= 1.0181016325950623) {
+                                if (inputs[14] <= 0.9851621389389038) {
+                                    if (inputs[7] <= 0.9836934506893158) {
+                                        return 0.9756382382819546;
+                                    } else {
+                                        if (inputs[11] <= 1.0255301594734192) {
+                                            if (inputs[9] <= 1.0176056623458862) {
+                                                return 1.0300128137150935;
+                                            } else {
+                                                return 1.0284092171633001;
+                                            }
+                                        } else {
+                                            return 1.0532116256930057;
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[29] <= 0.9787004292011261) {
+                                        if (inputs[29] <= 0.9689039289951324) {
+                                            if (inputs[15] <= 1.0082165598869324) {
+                                                return 0.9119658786507503;
+                                            } else {
+                                                return 0.9077590884427562;
+                                            }
+                                        } else {
+                                            if (inputs[18] <= 1.0012995600700378) {
+                                                return 0.9017904266980635;
+                                            } else {
+                                                return 0.9045095567617626;
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[8] <= 1.0197657346725464) {
+                                            if (inputs[13] <= 0.9970859587192535) {
+                                                if (inputs[14] <= 1.0050132870674133) {
+                                                    if (inputs[22] <= 1.0006265044212341) {
+                                                        return 0.9317468619246863;
+                                                    } else {
+                                                        return 0.927525714080923;
+                                                    }
+                                                } else {
+                                                    return 0.9146527590738065;
+                                                }
+                                            } else {
+                                                if (inputs[1] <= 1.007931411266327) {
+                                                    if (inputs[10] <= 0.9949012696743011) {
+                                                        if (inputs[10] <= 0.9774302542209625) {
+                                                            return 0.9812952573236782;
+                                                        } else {
+                                                            return 0.9972471587140137;
+                                                        }
+                                                    } else {
+                                                        if (inputs[14] <= 1.0038628578186035) {
+                                                            if (inputs[40] <= 0.9939810931682587) {
+                                                                if (inputs[24] <= 1.0030351877212524) {
+                                                                    return 0.9684785490799173;
+                                                                } else {
+                                                                    return 0.9710897527853487;
+                                                                }
+                                                            } else {
+                                                                if (inputs[35] <= 0.9948711097240448) {
+                                                                    if (inputs[3] <= 1.0019091963768005) {
+                                                                        if (inputs[15] <= 0.9951050877571106) {
+                                                                            return 0.9628752561883421;
+                                                                        } else {
+                                                                            return 0.9627538122808446;
+                                                                        }
+                                                                    } else {
+                                                                        return 0.9666018025399428;
+                                                                    }
+                                                                } else {
+                                                                    if (inputs[29] <= 0.9964059293270111) {
+                                                                        return 0.9579561088715495;
+                                                                    } else {
+                                                                        if (inputs[17] <= 1.0032507181167603) {
+                                                                            return 0.9603370638042673;
+                                                                        } else {
+                                                                            return 0.9610319547604597;
+                                                                        }
+                                                                    }
+                                                                }
+                                                            }
+                                                        } else {
+                                                            if (inputs[21] <= 1.0032507181167603) {
+                                                                if (inputs[30] <= 0.9891224801540375) {
+                                                                    return 0.9522987182439175;
+                                                                } else {
+                                                                    return 0.9546111038167477;
+                                                                }
+                                                            } else {
+                                                                return 0.9495799124378492;
+                                                            }
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[14] <= 0.9964961409568787) {
+                                                        return 0.9210063263685988;
+                                                    } else {
+                                                        return 0.939371695794535;
+                                                    }
+                                                }
+                                            }
+                                        } else {
+                                            if (inputs[14] <= 0.9995131492614746) {
+                                                return 1.007291021503624;
+                                            } else {
+                                                return 1.0355405330525849;
+                                            }
+                                        }
+                                    }
+                                }
+                            } else {
+                                if (inputs[3] <= 0.997338056564331) {
+                                    return 1.1475277924827954;
+                                } else {
+                                    if (inputs[8] <= 1.009763240814209) {
+                                        if (inputs[34] <= 1.0040019750595093) {
+                                            return 0.9773697142118193;
+                                        } else {
+                                            return 0.9765493056227882;
+                                        }
+                                    } else {
+                                        if (inputs[19] <= 0.9788486659526825) {
+                                            return 1.0260781340587788;
+                                        } else {
+                                            return 1.0284137503047495;
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    } else {
+                        if (inputs[27] <= 0.9933025538921356) {
+                            return 1.1632778478263173;
+                        } else {
+                            if (inputs[19] <= 1.0002349615097046) {
+                                if (inputs[6] <= 0.992250382900238) {
+                                    return 1.0471891442813623;
+                                } else {
+                                    return 1.0447529754875282;
+                                }
+                            } else {
+                                if (inputs[10] <= 0.9821955859661102) {
+                                    return 1.0868014538845978;
+                                } else {
+                                    return 1.0726331442418902;
+                                }
+                            }
+                        }
+                    }
+                } else {
+                    if (inputs[8] <= 0.998103678226471) {
+                        if (inputs[35] <= 1.0187167525291443) {
+                            if (inputs[10] <= 0.9810607433319092) {
+                                return 1.0505732597077153;
+                            } else {
+                                if (inputs[38] <= 1.0231080055236816) {
+                                    if (inputs[2] <= 0.9989384412765503) {
+                                        return 0.9766972477064219;
+                                    } else {
+                                        if (inputs[41] <= 1.0248919129371643) {
+                                            return 0.9736772361571226;
+                                        } else {
+                                            return 0.9749707691283972;
+                                        }
+                                    }
+                                } else {
+                                    return 0.9953772548005433;
+                                }
+                            }
+                        } else {
+                            return 0.8805680252097455;
+                        }
+                    } else {
+                        if (inputs[16] <= 1.0087921023368835) {
+                            if (inputs[33] <= 0.9985895752906799) {
+                                if (inputs[31] <= 0.9978932440280914) {
+                                    return 1.0407006867965296;
+                                } else {
+                                    if (inputs[18] <= 1.0064611434936523) {
+                                        return 1.087658382759759;
+                                    } else {
+                                        return 1.0683266234902853;
+                                    }
+                                }
+                            } else {
+                                if (inputs[23] <= 0.9983059167861938) {
+                                    if (inputs[9] <= 1.0014084577560425) {
+                                        return 1.120603741685761;
+                                    } else {
+                                        return 1.1332353497901149;
+                                    }
+                                } else {
+                                    if (inputs[16] <= 0.9843979477882385) {
+                                        return 1.1386147426981919;
+                                    } else {
+                                        if (inputs[32] <= 1.000236988067627) {
+                                            if (inputs[35] <= 1.0094850659370422) {
+                                                if (inputs[19] <= 1.0066265761852264) {
+                                                    return 1.228276846835496;
+                                                } else {
+                                                    return 1.2339213300892133;
+                                                }
+                                            } else {
+                                                return 1.2225900312051952;
+                                            }
+                                        } else {
+                                            if (inputs[5] <= 1.001124083995819) {
+                                                return 1.2101748931968601;
+                                            } else {
+                                                if (inputs[27] <= 1.0028278529644012) {
+                                                    return 1.1979856877816062;
+                                                } else {
+                                                    return 1.1928556383202804;
+                                                }
+                                            }
+                                        }
+                                    }
+                                }
+                            }
+                        } else {
+                            if (inputs[25] <= 0.9790447354316711) {
+                                return 1.0113784985613392;
+                            } else {
+                                if (inputs[11] <= 1.0050426721572876) {
+                                    return 0.9997407171331958;
+                                } else {
+                                    return 0.9898690575690803;
+                                }
+                            }
+                        }
+                    }
+                }
+            } else {
+                if (inputs[26] <= 0.9970221221446991) {
+                    if (inputs[1] <= 0.9958851039409637) {
+                        return 1.0856567586936492;
+                    } else {
+                        return 0.9689767145528905;
+                    }
+                } else {
+                    if (inputs[16] <= 0.9983059167861938) {
+                        if (inputs[33] <= 1.0028801560401917) {
+                            return 1.1402482348239265;
+                        } else {
+                            if (inputs[23] <= 1.0016998648643494) {
+                                return 1.1377039762244099;
+                            } else {
+                                return 1.1356851504795502;
+                            }
+                        }
+                    } else {
+                        if (inputs[12] <= 1.0002236366271973) {
+                            if (inputs[25] <= 1.0053200721740723) {
+                                return 1.2228262492906001;
+                            } else {
+                                return 1.219436465021967;
+                            }
+                        } else {
+                            if (inputs[25] <= 0.9846414923667908) {
+                                return 1.1919474761616866;
+                            } else {
+                                if (inputs[17] <= 1.0030150413513184) {
+                                    return 1.1788032607465;
+                                } else {
+                                    return 1.1782172967813778;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        } else {
+            if (inputs[10] <= 1.010837972164154) {
+                if (inputs[37] <= 0.9995131492614746) {
+                    if (inputs[14] <= 1.0026333928108215) {
+                        if (inputs[30] <= 0.9798974692821503) {
+                            return 1.0810722199611087;
+                        } else {
+                            if (inputs[8] <= 1.0016998648643494) {
+                                if (inputs[18] <= 1.0015698671340942) {
+                                    return 1.0897345132743363;
+                                } else {
+                                    return 1.087912462891136;
+                                }
+                            } else {
+                                if (inputs[34] <= 0.9924931824207306) {
+                                    return 1.0970482437579347;
+                                } else {
+                                    return 1.0927724754509918;
+                                }
+                            }
+                        }
+                    } else {
+                        if (inputs[38] <= 0.9918993413448334) {
+                            return 1.1174887488748875;
+                        } else {
+                            return 1.1087687902648533;
+                        }
+                    }
+                } else {
+                    if (inputs[28] <= 0.9993383288383484) {
+                        if (inputs[14] <= 1.0009068548679352) {
+                            return 1.1050732687933131;
+                        } else {
+                            return 1.028191261052451;
+                        }
+                    } else {
+                        if (inputs[4] <= 1.0002349615097046) {
+                            if (inputs[28] <= 1.0156731605529785) {
+                                if (inputs[38] <= 1.0098685026168823) {
+                                    if (inputs[6] <= 1.00199294090271) {
+                                        if (inputs[2] <= 0.9850974082946777) {
+                                            return 1.2373531722948496;
+                                        } else {
+                                            if (inputs[13] <= 0.9988020956516266) {
+                                                return 1.2407133779022304;
+                                            } else {
+                                                return 1.239571896196115;
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[25] <= 1.0060266256332397) {
+                                            if (inputs[21] <= 1.0162962079048157) {
+                                                return 1.2305653617707757;
+                                            } else {
+                                                return 1.2313774994950517;
+                                            }
+                                        } else {
+                                            return 1.2285162730371308;
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[10] <= 1.0049042701721191) {
+                                        if (inputs[19] <= 0.9985198080539703) {
+                                            return 1.2097149875068818;
+                                        } else {
+                                            return 1.2046738771626633;
+                                        }
+                                    } else {
+                                        return 1.2188978404164768;
+                                    }
+                                }
+                            } else {
+                                if (inputs[40] <= 0.9993832111358643) {
+                                    return 1.1059751490308978;
+                                } else {
+                                    return 1.1215305291723203;
+                                }
+                            }
+                        } else {
+                            if (inputs[2] <= 1.0002349615097046) {
+                                if (inputs[35] <= 1.0002150535583496) {
+                                    return 1.097579384906503;
+                                } else {
+                                    return 1.1156649140043835;
+                                }
+                            } else {
+                                if (inputs[23] <= 1.0021953582763672) {
+                                    if (inputs[36] <= 1.0064377784729004) {
+                                        return 1.1399542008492853;
+                                    } else {
+                                        return 1.139851224460384;
+                                    }
+                                } else {
+                                    return 1.1696346647192108;
+                                }
+                            }
+                        }
+                    }
+                }
+            } else {
+                if (inputs[34] <= 0.9862917363643646) {
+                    return 0.9305174425292077;
+                } else {
+                    return 1.047422933547624;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,1834 @@
+/**
+ * Autogenerated by GenerateTreeSource from price_sample_01_y1.pfa
+ *
+ * DO NOT EDIT DIRECTLY
+ */
+package pfatool.tmpgenerated;
+
+public final class PriceSample01Y1Tree {
+
+    private PriceSample01Y1Tree() {}
+
+    /**
+     * Make a prediction using the decision tree hard-coded in this class
+     *
+     * @param inputs array of pre-processed data
+     * @return prediction value as floating point number
+     */
+    public static double predict(double[] inputs) {
+        if (inputs[1] <= 1.0078867673873901) {
+            if (inputs[14] <= 1.0079054832458496) {
+                if (inputs[41] <= 1.0076353549957275) {
+                    if (inputs[9] <= 1.0084214806556702) {
+                        if (inputs[10] <= 1.0085757374763489) {
+                            if (inputs[40] <= 1.0004386901855469) {
+                                if (inputs[27] <= 1.015244960784912) {
+                                    if (inputs[2] <= 1.017210602760315) {
+                                        if (inputs[13] <= 1.0039882063865662) {
+                                            if (inputs[21] <= 1.0095094442367554) {
+                                                if (inputs[1] <= 1.0073314309120178) {
+                                                    if (inputs[3] <= 1.0440351366996765) {
+                                                        if (inputs[22] <= 0.9884774684906006) {
+                                                            if (inputs[12] <= 1.000234842300415) {
+                                                                if (inputs[6] <= 1.0009821057319641) {
+                                                                    if (inputs[16] <= 0.9914480149745941) {
+                                                                        if (inputs[8] <= 0.9829847514629364) {
+                                                                            return 0.008916386547178119;
+                                                                        } else {
+                                                                            return 0.008799059901461181;
+                                                                        }
+                                                                    } else {
+                                                                        return 0.007662647605612357;
+                                                                    }
+                                                                } else {
+                                                                    if (inputs[3] <= 0.9864097535610199) {
+                                                                        return 0.004930680050316509;
+                                                                    } else {
+                                                                        if (inputs[19] <= 1.0216416120529175) {
+                                                                            if (inputs[15] <= 0.9929742515087128) {
+                                                                                return 0.006916865132110946;
+                                                                            } else {
+                                                                                return 0.006960496825485437;
+                                                                            }
+                                                                        } else {
+                                                                            return 0.006813917260911322;
+                                                                        }
+                                                                    }
+                                                                }
+                                                            } else {
+                                                                if (inputs[20] <= 0.9896677136421204) {
+                                                                    return 0.011871374599587333;
+                                                                } else {
+                                                                    if (inputs[24] <= 0.9983059167861938) {
+                                                                        return 0.010980076591219832;
+                                                                    } else {
+                                                                        return 0.010992926347376572;
+                                                                    }
+                                                                }
+                                                            }
+                                                        } else {
+                                                            if (inputs[39] <= 0.9808609485626221) {
+                                                                if (inputs[10] <= 0.9793449342250824) {
+                                                                    if (inputs[34] <= 1.0018277764320374) {
+                                                                        return 0.007310479590929428;
+                                                                    } else {
+                                                                        return 0.00901507473823689;
+                                                                    }
+                                                                } else {
+                                                                    if (inputs[40] <= 0.9785430133342743) {
+                                                                        return 0.010675057089019483;
+                                                                    } else {
+                                                                        return 0.01107378405265066;
+                                                                    }
+                                                                }
+                                                            } else {
+                                                                if (inputs[19] <= 1.0166258215904236) {
+                                                                    if (inputs[1] <= 0.9973311722278595) {
+                                                                        if (inputs[0] <= 1.0052213668823242) {
+                                                                            if (inputs[4] <= 1.0057396292686462) {
+                                                                                if (inputs[17] <= 1.001977264881134) {
+                                                                                    if (inputs[13] <= 1.0011640787124634) {
+                                                                                        if (inputs[32] <= 1.0030289888381958) {
+                                                                                            if (inputs[22] <= 1.0084150433540344) {
+                                                                                                if (inputs[33] <= 1.0095482170581818) {
+                                                                                                    return 0.003278820588538788;
+                                                                                                } else {
+                                                                                                    return 0.0032745232887472155;
+                                                                                                }
+                                                                                            } else {
+                                                                                                return 0.003285735471065582;
+                                                                                            }
+                                                                                        } else {
+                                                                                            if (inputs[39] <= 0.9967484772205353) {
+                                                                                                return 0.0033508581403654666;
+                                                                                            } else {
+                                                                                                return 0.00331448547341543;
+                                                                                            }
+                                                                                        }
+                                                                                    } else {
+                                                                                        if (inputs[2] <= 1.0034812688827515) {
+                                                                                            return 0.003556563971984094;
+                                                                                        } else {
+                                                                                            return 0.003576479706007662;
+                                                                                        }
+                                                                                    }
+                                                                                } else {
+                                                                                    if (inputs[2] <= 0.9974068701267242) {
+                                                                                        return 0.0037104473735743064;
+                                                                                    } else {
+                                                                                        if (inputs[17] <= 1.0044342875480652) {
+                                                                                            return 0.0042262534426702044;
+                                                                                        } else {
+                                                                                            return 0.003985146841564417;
+                                                                                        }
+                                                                                    }
+                                                                                }
+                                                                            } else {
+                                                                                if (inputs[34] <= 1.0069434642791748) {
+                                                                                    if (inputs[8] <= 1.0131719708442688) {
+                                                                                        if (inputs[29] <= 1.0203422904014587) {
+                                                                                            return 0.004929446854378716;
+                                                                                        } else {
+                                                                                            if (inputs[7] <= 1.0024772882461548) {
+                                                                                                return 0.004761781449123903;
+                                                                                            } else {
+                                                                                                return 0.004716829744118524;
+                                                                                            }
+                                                                                        }
+                                                                                    } else {
+                                                                                        return 0.004486325969961014;
+                                                                                    }
+                                                                                } else {
+                                                                                    return 0.003942945815684605;
+                                                                                }
+                                                                            }
+                                                                        } else {
+                                                                            return 0.00757487687622157;
+                                                                        }
+                                                                    } else {
+                                                                        if (inputs[21] <= 0.9884774684906006) {
+                                                                            if (inputs[40] <= 0.9959946274757385) {
+                                                                                if (inputs[36] <= 1.0013380646705627) {
+                                                                                    if (inputs[17] <= 1.0012690424919128) {
+                                                                                        return 0.009441284425636106;
+                                                                                    } else {
+                                                                                        return 0.008994669887146683;
+                                                                                    }
+                                                                                } else {
+                                                                                    return 0.008255674916552658;
+                                                                                }
+                                                                            } else {
+                                                                                return 0.007063518960882669;
+                                                                            }
+                                                                        } else {
+                                                                            if (inputs[39] <= 1.0046085119247437) {
+                                                                                if (inputs[5] <= 0.9955836534500122) {
+                                                                                    if (inputs[16] <= 1.0049865245819092) {
+                                                                                        if (inputs[5] <= 0.9931290745735168) {
+                                                                                            if (inputs[8] <= 0.9988512098789215) {
+                                                                                                if (inputs[39] <= 0.9990636706352234) {
+                                                                                                    return 0.00343429547098941;
+                                                                                                } else {
+                                                                                                    return 0.0034241391154813065;
+                                                                                                }
+                                                                                            } else {
+                                                                                                return 0.0032515947190652266;
+                                                                                            }
+                                                                                        } else {
+                                                                                            if (inputs[30] <= 1.0054515898227692) {
+                                                                                                return 0.003772744241803659;
+                                                                                            } else {
+                                                                                                return 0.0038561366145727157;
+                                                                                            }
+                                                                                        }
+                                                                                    } else {
+                                                                                        return 0.006090683297818946;
+                                                                                    }
+                                                                                } else {
+                                                                                    if (inputs[1] <= 1.0071199536323547) {
+                                                                                        if (inputs[17] <= 0.982304185628891) {
+                                                                                            if (inputs[8] <= 0.9989384412765503) {
+                                                                                                return 0.004438444501202275;
+                                                                                            } else {
+                                                                                                return 0.003492233116119052;
+                                                                                            }
+                                                                                        } else {
+                                                                                            if (inputs[28] <= 0.9903135597705841) {
+                                                                                                if (inputs[6] <= 0.9937520027160645) {
+                                                                                                    if (inputs[1] <= 1.0018412470817566) {
+                                                                                                        return 0.00604340336668771;
+                                                                                                    } else {
+                                                                                                        return 0.006074324630119099;
+                                                                                                    }
+                                                                                                } else {
+                                                                                                    if (inputs[34] <= 0.9989460408687592) {
+                                                                                                        return 0.00687913532128487;
+                                                                                                    } else {
+                                                                                                        if (inputs[16] <= 0.9952027797698975) {
+                                                                                                            return 0.006375367012213618;
+                                                                                                        } else {
+                                                                                                            if (inputs[23] <= 1.019640564918518) {
+                                                                                                                return 0.006469103672502687;
+                                                                                                            } else {
+                                                                                                                return 0.0065566354510941975;
+                                                                                                            }
+                                                                                                        }
+                                                                                                    }
+                                                                                                }
+                                                                                            } else {
+                                                                                                if (inputs[27] <= 0.991724967956543) {
+                                                                                                    if (inputs[2] <= 1.0018412470817566) {
+                                                                                                        return 0.007149216438258374;
+                                                                                                    } else {
+                                                                                                        if (inputs[33] <= 0.9956067800521851) {
+                                                                                                            return 0.00598998056003817;
+                                                                                                        } else {
+                                                                                                            return 0.0065230199746938245;
+                                                                                                        }
+                                                                                                    }
+                                                                                                } else {
+                                                                                                    if (inputs[13] <= 1.0008190870285034) {
+                                                                                                        if (inputs[5] <= 0.9985724985599518) {
+                                                                                                            if (inputs[41] <= 0.9927667379379272) {
+                                                                                                                return 0.005446087321154033;
+                                                                                                            } else {
+                                                                                                                return 0.0055790374541428945;
+                                                                                                            }
+                                                                                                        } else {
+                                                                                                            if (inputs[23] <= 0.9976831674575806) {
+                                                                                                                if (inputs[4] <= 1.0016611218452454) {
+                                                                                                                    if (inputs[12] <= 0.9950104057788849) {
+                                                                                                                        return 0.005374649284187594;
+                                                                                                                    } else {
+                                                                                                                        if (inputs[24] <= 0.9960100650787354) {
+                                                                                                                            return 0.0052359033972546;
+                                                                                                                        } else {
+                                                                                                                            return 0.00524615030505822;
+                                                                                                                        }
+                                                                                                                    }
+                                                                                                                } else {
+                                                                                                                    return 0.005034689189820508;
+                                                                                                                }
+                                                                                                            } else {
+                                                                                                                if (inputs[22] <= 1.0044386982917786) {
+                                                                                                                    if (inputs[17] <= 1.0019091963768005) {
+                                                                                                                        if (inputs[14] <= 0.9991826713085175) {
+                                                                                                                            if (inputs[23] <= 1.0012679696083069) {
+                                                                                                                                if (inputs[31] <= 0.9991543292999268) {
+                                                                                                                                    return 0.00488091634916342;
+                                                                                                                                } else {
+                                                                                                                                    return 0.004879199642081386;
+                                                                                                                                }
+                                                                                                                            } else {
+                                                                                                                                return 0.004887805469066182;
+                                                                                                                            }
+                                                                                                                        } else {
+                                                                                                                            if (inputs[36] <= 0.9951305985450745) {
+                                                                                                                                if (inputs[13] <= 0.9930227994918823) {
+                                                                                                                                    return 0.004924117428270564;
+                                                                                                                                } else {
+                                                                                                                                    return 0.004908797219682723;
+                                                                                                                                }
+                                                                                                                            } else {
+                                                                                                                                return 0.004948743926006171;
+                                                                                                                            }
+                                                                                                                        }
+                                                                                                                    } else {
+                                                                                                                        return 0.005038669954052332;
+                                                                                                                    }
+                                                                                                                } else {
+                                                                                                                    if (inputs[34] <= 0.9932984113693237) {
+                                                                                                                        return 0.005137348316961779;
+                                                                                                                    } else {
+                                                                                                                        return 0.005042247868350517;
+                                                                                                                    }
+                                                                                                                }
+                                                                                                            }
+                                                                                                        }
+                                                                                                    } else {
+                                                                                                        if (inputs[12] <= 0.9993515908718109) {
+                                                                                                            return 0.005777847488008399;
+                                                                                                        } else {
+                                                                                                            return 0.0057650395543415835;
+                                                                                                        }
+                                                                                                    }
+                                                                                                }
+                                                                                            }
+                                                                                        }
+                                                                                    } else {
+                                                                                        return 0.008457961971346751;
+                                                                                    }
+                                                                                }
+                                                                            } else {
+                                                                                if (inputs[2] <= 0.9989460408687592) {
+                                                                                    if (inputs[17] <= 0.9956128001213074) {
+                                                                                        return 0.006247713202907248;
+                                                                                    } else {
+                                                                                        return 0.007501045331360325;
+                                                                                    }
+                                                                                } else {
+                                                                                    if (inputs[20] <= 1.0007866024971008) {
+                                                                                        return 0.009009713596552912;
+                                                                                    } else {
+                                                                                        return 0.00835085422782812;
+                                                                                    }
+                                                                                }
+                                                                            }
+                                                                        }
+                                                                    }
+                                                                } else {
+                                                                    if (inputs[12] <= 0.9944014847278595) {
+                                                                        if (inputs[2] <= 0.9981079995632172) {
+                                                                            if (inputs[5] <= 0.9929742515087128) {
+                                                                                return 0.006141029886103305;
+                                                                            } else {
+                                                                                return 0.00612937393264598;
+                                                                            }
+                                                                        } else {
+                                                                            if (inputs[24] <= 0.9925220608711243) {
+                                                                                return 0.007612240245183119;
+                                                                            } else {
+                                                                                return 0.006846500023312698;
+                                                                            }
+                                                                        }
+                                                                    } else {
+                                                                        if (inputs[39] <= 1.0014084577560425) {
+                                                                            if (inputs[8] <= 0.979288786649704) {
+                                                                                return 0.00902725846250361;
+                                                                            } else {
+                                                                                return 0.009029120478280346;
+                                                                            }
+                                                                        } else {
+                                                                            return 0.010022860912124105;
+                                                                        }
+                                                                    }
+                                                                }
+                                                            }
+                                                        }
+                                                    } else {
+                                                        return 0.01398772401194442;
+                                                    }
+                                                } else {
+                                                    return 0.01400112912706601;
+                                                }
+                                            } else {
+                                                if (inputs[11] <= 1.0011456608772278) {
+                                                    if (inputs[8] <= 1.0007866024971008) {
+                                                        if (inputs[9] <= 0.9972267150878906) {
+                                                            if (inputs[9] <= 0.9566928744316101) {
+                                                                return 0.010732823461060493;
+                                                            } else {
+                                                                if (inputs[39] <= 0.9815082848072052) {
+                                                                    return 0.007328431110890663;
+                                                                } else {
+                                                                    if (inputs[9] <= 0.9644992649555206) {
+                                                                        return 0.009021348495772479;
+                                                                    } else {
+                                                                        return 0.009015461678704146;
+                                                                    }
+                                                                }
+                                                            }
+                                                        } else {
+                                                            if (inputs[37] <= 0.994500458240509) {
+                                                                return 0.011517735854006112;
+                                                            } else {
+                                                                if (inputs[16] <= 1.00430428981781) {
+                                                                    return 0.01395583525852211;
+                                                                } else {
+                                                                    return 0.013654103833464002;
+                                                                }
+                                                            }
+                                                        }
+                                                    } else {
+                                                        if (inputs[31] <= 1.0071181058883667) {
+                                                            if (inputs[31] <= 1.0002011060714722) {
+                                                                if (inputs[2] <= 0.9726285636425018) {
+                                                                    return 0.0073911870241312495;
+                                                                } else {
+                                                                    return 0.007288854338212657;
+                                                                }
+                                                            } else {
+                                                                return 0.006823229166379246;
+                                                            }
+                                                        } else {
+                                                            return 0.00845214396124042;
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[32] <= 1.0004161596298218) {
+                                                        if (inputs[18] <= 1.0036927461624146) {
+                                                            if (inputs[9] <= 1.0018277764320374) {
+                                                                return 0.006337379659794682;
+                                                            } else {
+                                                                if (inputs[0] <= 1.003915250301361) {
+                                                                    return 0.006817113342905348;
+                                                                } else {
+                                                                    return 0.006754476797697825;
+                                                                }
+                                                            }
+                                                        } else {
+                                                            return 0.00781438886357616;
+                                                        }
+                                                    } else {
+                                                        return 0.003297389819762115;
+                                                    }
+                                                }
+                                            }
+                                        } else {
+                                            if (inputs[5] <= 0.9955419600009918) {
+                                                if (inputs[26] <= 0.9976303279399872) {
+                                                    return 0.013292041682639245;
+                                                } else {
+                                                    return 0.015014285187444727;
+                                                }
+                                            } else {
+                                                if (inputs[20] <= 0.9995671808719635) {
+                                                    if (inputs[0] <= 0.9817833304405212) {
+                                                        return 0.010492853656255937;
+                                                    } else {
+                                                        if (inputs[40] <= 0.9976203739643097) {
+                                                            return 0.011879363626776676;
+                                                        } else {
+                                                            return 0.011302531101586584;
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[3] <= 1.0029874444007874) {
+                                                        if (inputs[16] <= 1.0035480856895447) {
+                                                            if (inputs[41] <= 1.0017383098602295) {
+                                                                if (inputs[4] <= 1.0038245916366577) {
+                                                                    if (inputs[31] <= 0.9937360882759094) {
+                                                                        return 0.006529429077286226;
+                                                                    } else {
+                                                                        if (inputs[28] <= 0.9972590208053589) {
+                                                                            return 0.0062551294565556925;
+                                                                        } else {
+                                                                            return 0.006347176105818981;
+                                                                        }
+                                                                    }
+                                                                } else {
+                                                                    if (inputs[4] <= 1.0076720714569092) {
+                                                                        return 0.007228246089352789;
+                                                                    } else {
+                                                                        return 0.007205429692548756;
+                                                                    }
+                                                                }
+                                                            } else {
+                                                                if (inputs[7] <= 0.9981350898742676) {
+                                                                    return 0.008278236018839823;
+                                                                } else {
+                                                                    if (inputs[28] <= 1.0002045631408691) {
+                                                                        return 0.00907518552141282;
+                                                                    } else {
+                                                                        return 0.009425719978903862;
+                                                                    }
+                                                                }
+                                                            }
+                                                        } else {
+                                                            if (inputs[41] <= 0.9960100650787354) {
+                                                                if (inputs[21] <= 0.9816059470176697) {
+                                                                    return 0.009143938802987157;
+                                                                } else {
+                                                                    return 0.00969085776660096;
+                                                                }
+                                                            } else {
+                                                                return 0.011524237062257506;
+                                                            }
+                                                        }
+                                                    } else {
+                                                        if (inputs[4] <= 1.0340919494628906) {
+                                                            if (inputs[4] <= 1.0131809711456299) {
+                                                                return 0.005941629137755512;
+                                                            } else {
+                                                                return 0.0055614626771770025;
+                                                            }
+                                                        } else {
+                                                            return 0.004455184743233833;
+                                                        }
+                                                    }
+                                                }
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[2] <= 1.019164264202118) {
+                                            return 0.02181549887443878;
+                                        } else {
+                                            if (inputs[1] <= 1.0015649199485779) {
+                                                if (inputs[41] <= 1.0035850405693054) {
+                                                    if (inputs[21] <= 1.0040358901023865) {
+                                                        if (inputs[27] <= 1.0027081966400146) {
+                                                            if (inputs[25] <= 1.000421941280365) {
+                                                                return 0.00841615148144254;
+                                                            } else {
+                                                                if (inputs[11] <= 0.9683907628059387) {
+                                                                    return 0.00890265492273605;
+                                                                } else {
+                                                                    return 0.00899538456774304;
+                                                                }
+                                                            }
+                                                        } else {
+                                                            return 0.00997065683820072;
+                                                        }
+                                                    } else {
+                                                        if (inputs[17] <= 0.9944513738155365) {
+                                                            return 0.0072449180264030875;
+                                                        } else {
+                                                            return 0.007488749775526471;
+                                                        }
+                                                    }
+                                                } else {
+                                                    return 0.0044308080302200474;
+                                                }
+                                            } else {
+                                                if (inputs[41] <= 0.9934470355510712) {
+                                                    return 0.012027987388592953;
+                                                } else {
+                                                    return 0.01390583185100535;
+                                                }
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[27] <= 1.0248634219169617) {
+                                        if (inputs[6] <= 0.9874835908412933) {
+                                            if (inputs[3] <= 0.9919425547122955) {
+                                                return 0.014730063576881032;
+                                            } else {
+                                                if (inputs[5] <= 0.9993383288383484) {
+                                                    return 0.018033658391864344;
+                                                } else {
+                                                    return 0.016902596666973278;
+                                                }
+                                            }
+                                        } else {
+                                            if (inputs[38] <= 0.996872216463089) {
+                                                if (inputs[17] <= 0.9793953895568848) {
+                                                    return 0.010034566503688542;
+                                                } else {
+                                                    return 0.010673498296785034;
+                                                }
+                                            } else {
+                                                if (inputs[14] <= 0.9967904686927795) {
+                                                    return 0.011751728507908446;
+                                                } else {
+                                                    return 0.012068031132512327;
+                                                }
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[21] <= 0.9990138113498688) {
+                                            if (inputs[12] <= 0.9967661798000336) {
+                                                return 0.003750171646126857;
+                                            } else {
+                                                return 0.005089107426304055;
+                                            }
+                                        } else {
+                                            if (inputs[8] <= 0.9928751885890961) {
+                                                if (inputs[39] <= 0.9958957135677338) {
+                                                    return 0.007118231081666149;
+                                                } else {
+                                                    if (inputs[16] <= 0.9644525051116943) {
+                                                        return 0.008964091649013933;
+                                                    } else {
+                                                        return 0.009339981218901876;
+                                                    }
+                                                }
+                                            } else {
+                                                if (inputs[24] <= 1.0062819719314575) {
+                                                    return 0.011236375532403904;
+                                                } else {
+                                                    return 0.011454594748998655;
+                                                }
+                                            }
+                                        }
+                                    }
+                                }
+                            } else {
+                                if (inputs[16] <= 0.9874668717384338) {
+                                    if (inputs[11] <= 0.9755889773368835) {
+                                        return 0.008982485110463324;
+                                    } else {
+                                        if (inputs[32] <= 1.0094850659370422) {
+                                            if (inputs[13] <= 1.0013312697410583) {
+                                                return 0.019927463144500113;
+                                            } else {
+                                                return 0.01979298845618249;
+                                            }
+                                        } else {
+                                            if (inputs[30] <= 1.0169301629066467) {
+                                                return 0.019412286184991523;
+                                            } else {
+                                                return 0.018989473391007174;
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[31] <= 1.0151018500328064) {
+                                        if (inputs[6] <= 0.9937455952167511) {
+                                            if (inputs[23] <= 0.9899422824382782) {
+                                                if (inputs[8] <= 0.996872216463089) {
+                                                    return 0.021132299599871604;
+                                                } else {
+                                                    return 0.02046112917971454;
+                                                }
+                                            } else {
+                                                if (inputs[6] <= 0.9776306748390198) {
+                                                    if (inputs[39] <= 1.008446753025055) {
+                                                        if (inputs[4] <= 0.975778728723526) {
+                                                            return 0.007079257833478164;
+                                                        } else {
+                                                            if (inputs[6] <= 0.9680750668048859) {
+                                                                return 0.007093234497516952;
+                                                            } else {
+                                                                return 0.007087862599879993;
+                                                            }
+                                                        }
+                                                    } else {
+                                                        return 0.006947468606930898;
+                                                    }
+                                                } else {
+                                                    if (inputs[26] <= 1.02536541223526) {
+                                                        if (inputs[20] <= 1.0004634261131287) {
+                                                            return 0.011215942912447553;
+                                                        } else {
+                                                            if (inputs[12] <= 0.9883959889411926) {
+                                                                return 0.014090556280758325;
+                                                            } else {
+                                                                if (inputs[34] <= 0.9979963004589081) {
+                                                                    return 0.012720753266871948;
+                                                                } else {
+                                                                    if (inputs[4] <= 0.9933025538921356) {
+                                                                        return 0.01327743070450588;
+                                                                    } else {
+                                                                        return 0.0132064868788434;
+                                                                    }
+                                                                }
+                                                            }
+                                                        }
+                                                    } else {
+                                                        return 0.006868707832395786;
+                                                    }
+                                                }
+                                            }
+                                        } else {
+                                            if (inputs[33] <= 0.9977550506591797) {
+                                                if (inputs[17] <= 1.0016739964485168) {
+                                                    if (inputs[10] <= 0.9948055446147919) {
+                                                        return 0.012241738236000622;
+                                                    } else {
+                                                        if (inputs[13] <= 0.9990525841712952) {
+                                                            if (inputs[4] <= 0.9997716844081879) {
+                                                                return 0.013690402503533079;
+                                                            } else {
+                                                                return 0.013820573843044609;
+                                                            }
+                                                        } else {
+                                                            return 0.013072579995157242;
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[18] <= 1.0228821635246277) {
+                                                        return 0.008160381562312162;
+                                                    } else {
+                                                        return 0.0095351567229911;
+                                                    }
+                                                }
+                                            } else {
+                                                if (inputs[40] <= 1.0016643404960632) {
+                                                    if (inputs[5] <= 0.9830951392650604) {
+                                                        return 0.008983623589720218;
+                                                    } else {
+                                                        if (inputs[7] <= 0.9938885271549225) {
+                                                            return 0.012796933031652814;
+                                                        } else {
+                                                            return 0.011547697799733539;
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[5] <= 1.0071199536323547) {
+                                                        if (inputs[31] <= 0.9995131492614746) {
+                                                            if (inputs[2] <= 0.9951643943786621) {
+                                                                if (inputs[40] <= 1.016081988811493) {
+                                                                    if (inputs[24] <= 0.9941810369491577) {
+                                                                        return 0.0061111502398157255;
+                                                                    } else {
+                                                                        return 0.006280741892117034;
+                                                                    }
+                                                                } else {
+                                                                    return 0.004141096735231011;
+                                                                }
+                                                            } else {
+                                                                if (inputs[28] <= 1.014335572719574) {
+                                                                    if (inputs[3] <= 0.9614556133747101) {
+                                                                        return 0.007145247551289429;
+                                                                    } else {
+                                                                        if (inputs[28] <= 0.9941200613975525) {
+                                                                            return 0.008013032712071875;
+                                                                        } else {
+                                                                            return 0.007832381601427952;
+                                                                        }
+                                                                    }
+                                                                } else {
+                                                                    return 0.010076599208351935;
+                                                                }
+                                                            }
+                                                        } else {
+                                                            if (inputs[2] <= 1.0020409226417542) {
+                                                                if (inputs[7] <= 1.0152658820152283) {
+                                                                    if (inputs[37] <= 1.004461407661438) {
+                                                                        if (inputs[25] <= 1.0208755135536194) {
+                                                                            if (inputs[17] <= 1.0024259090423584) {
+                                                                                if (inputs[2] <= 0.9983059167861938) {
+                                                                                    if (inputs[13] <= 1.0051228404045105) {
+                                                                                        return 0.003308857537878233;
+                                                                                    } else {
+                                                                                        return 0.003320097198005162;
+                                                                                    }
+                                                                                } else {
+                                                                                    return 0.003354971848149571;
+                                                                                }
+                                                                            } else {
+                                                                                if (inputs[39] <= 0.9980956315994263) {
+                                                                                    return 0.003378541167547472;
+                                                                                } else {
+                                                                                    return 0.003420027652999368;
+                                                                                }
+                                                                            }
+                                                                        } else {
+                                                                            return 0.0038076873341948737;
+                                                                        }
+                                                                    } else {
+                                                                        if (inputs[18] <= 0.9970631301403046) {
+                                                                            return 0.004517603074808804;
+                                                                        } else {
+                                                                            if (inputs[20] <= 1.0034229755401611) {
+                                                                                return 0.004240105412508663;
+                                                                            } else {
+                                                                                if (inputs[5] <= 1.0008298456668854) {
+                                                                                    return 0.004111979096860404;
+                                                                                } else {
+                                                                                    return 0.004127439712763401;
+                                                                                }
+                                                                            }
+                                                                        }
+                                                                    }
+                                                                } else {
+                                                                    return 0.00560043602953706;
+                                                                }
+                                                            } else {
+                                                                if (inputs[21] <= 1.007432460784912) {
+                                                                    if (inputs[24] <= 0.9967904686927795) {
+                                                                        if (inputs[24] <= 0.9892655313014984) {
+                                                                            return 0.00682712734421199;
+                                                                        } else {
+                                                                            if (inputs[30] <= 0.9994722902774811) {
+                                                                                if (inputs[35] <= 1.00995534658432) {
+                                                                                    return 0.006217452127958523;
+                                                                                } else {
+                                                                                    return 0.006316868205073346;
+                                                                                }
+                                                                            } else {
+                                                                                return 0.006482000805365099;
+                                                                            }
+                                                                        }
+                                                                    } else {
+                                                                        return 0.007451935317610174;
+                                                                    }
+                                                                } else {
+                                                                    return 0.0045357213923778355;
+                                                                }
+                                                            }
+                                                        }
+                                                    } else {
+                                                        if (inputs[0] <= 1.0064377784729004) {
+                                                            if (inputs[28] <= 1.0007802248001099) {
+                                                                return 0.009264933472403392;
+                                                            } else {
+                                                                return 0.009750796883696448;
+                                                            }
+                                                        } else {
+                                                            return 0.010578099568267805;
+                                                        }
+                                                    }
+                                                }
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[36] <= 0.9962423145771027) {
+                                            return 0.012644683377559009;
+                                        } else {
+                                            if (inputs[27] <= 1.0128830075263977) {
+                                                if (inputs[0] <= 1.0002236366271973) {
+                                                    return 0.017557231522581755;
+                                                } else {
+                                                    if (inputs[34] <= 1.0119982361793518) {
+                                                        return 0.018395186006590156;
+                                                    } else {
+                                                        return 0.018712547534099747;
+                                                    }
+                                                }
+                                            } else {
+                                                return 0.016210274553733424;
+                                            }
+                                        }
+                                    }
+                                }
+                            }
+                        } else {
+                            if (inputs[39] <= 0.9872836470603943) {
+                                if (inputs[2] <= 0.9961633086204529) {
+                                    if (inputs[15] <= 1.0101019144058228) {
+                                        if (inputs[21] <= 0.996872216463089) {
+                                            return 0.018519800543786;
+                                        } else {
+                                            return 0.019188086350840405;
+                                        }
+                                    } else {
+                                        if (inputs[27] <= 1.002694308757782) {
+                                            return 0.0163754309792557;
+                                        } else {
+                                            return 0.017331680324110015;
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[29] <= 0.982943058013916) {
+                                        return 0.01096679272329236;
+                                    } else {
+                                        if (inputs[19] <= 1.0075104236602783) {
+                                            return 0.013293538343243115;
+                                        } else {
+                                            return 0.01224914397985422;
+                                        }
+                                    }
+                                }
+                            } else {
+                                if (inputs[26] <= 1.0026454329490662) {
+                                    if (inputs[5] <= 0.9905000329017639) {
+                                        if (inputs[25] <= 0.9953086674213409) {
+                                            return 0.004693323643400643;
+                                        } else {
+                                            if (inputs[37] <= 0.9976392686367035) {
+                                                return 0.006256333225328957;
+                                            } else {
+                                                return 0.00629438657262055;
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[14] <= 1.0004420280456543) {
+                                            if (inputs[27] <= 0.9806149303913116) {
+                                                if (inputs[29] <= 0.962017148733139) {
+                                                    return 0.008242929115227697;
+                                                } else {
+                                                    if (inputs[39] <= 1.0226585865020752) {
+                                                        return 0.006319670814422553;
+                                                    } else {
+                                                        return 0.006426483480293492;
+                                                    }
+                                                }
+                                            } else {
+                                                if (inputs[10] <= 1.0174888372421265) {
+                                                    if (inputs[10] <= 1.0132089257240295) {
+                                                        if (inputs[12] <= 1.0020790100097656) {
+                                                            if (inputs[31] <= 1.0202166438102722) {
+                                                                return 0.008448950998730973;
+                                                            } else {
+                                                                return 0.008426537472550566;
+                                                            }
+                                                        } else {
+                                                            if (inputs[24] <= 0.9897508025169373) {
+                                                                return 0.008864883999681158;
+                                                            } else {
+                                                                return 0.00888941037599112;
+                                                            }
+                                                        }
+                                                    } else {
+                                                        if (inputs[35] <= 1.012837529182434) {
+                                                            return 0.008099808591861976;
+                                                        } else {
+                                                            return 0.007765366646744107;
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[39] <= 1.0072222352027893) {
+                                                        if (inputs[5] <= 1.0195807814598083) {
+                                                            return 0.010361517844829563;
+                                                        } else {
+                                                            return 0.009889803691391532;
+                                                        }
+                                                    } else {
+                                                        return 0.009390986701579227;
+                                                    }
+                                                }
+                                            }
+                                        } else {
+                                            return 0.012447549759555362;
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[4] <= 0.9990138113498688) {
+                                        if (inputs[29] <= 1.0078125) {
+                                            return 0.012834847532594076;
+                                        } else {
+                                            return 0.014844188171827522;
+                                        }
+                                    } else {
+                                        if (inputs[25] <= 1.0101816654205322) {
+                                            if (inputs[27] <= 1.0129389762878418) {
+                                                return 0.011158552778507793;
+                                            } else {
+                                                return 0.010591482505349591;
+                                            }
+                                        } else {
+                                            return 0.00997460396469393;
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    } else {
+                        if (inputs[15] <= 1.0135042071342468) {
+                            if (inputs[40] <= 0.9950706362724304) {
+                                if (inputs[21] <= 0.9950750470161438) {
+                                    if (inputs[2] <= 0.9954281747341156) {
+                                        return 0.008933545723991975;
+                                    } else {
+                                        if (inputs[28] <= 1.0078125) {
+                                            return 0.01304975485910025;
+                                        } else {
+                                            return 0.013260131837410937;
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[7] <= 1.006305456161499) {
+                                        return 0.018075859895547282;
+                                    } else {
+                                        if (inputs[6] <= 1.0047147274017334) {
+                                            return 0.019608253059359107;
+                                        } else {
+                                            return 0.01884752775102296;
+                                        }
+                                    }
+                                }
+                            } else {
+                                if (inputs[22] <= 0.9981338381767273) {
+                                    if (inputs[6] <= 1.0053071975708008) {
+                                        if (inputs[9] <= 1.0275893211364746) {
+                                            if (inputs[9] <= 1.015485405921936) {
+                                                return 0.01203978684741195;
+                                            } else {
+                                                return 0.013564523626657832;
+                                            }
+                                        } else {
+                                            if (inputs[11] <= 0.9936367273330688) {
+                                                return 0.010668740108554642;
+                                            } else {
+                                                return 0.010079146371772601;
+                                            }
+                                        }
+                                    } else {
+                                        return 0.016962845856013882;
+                                    }
+                                } else {
+                                    if (inputs[33] <= 0.9951105415821075) {
+                                        if (inputs[32] <= 0.9855679571628571) {
+                                            if (inputs[11] <= 0.9989384412765503) {
+                                                return 0.004517192456104878;
+                                            } else {
+                                                return 0.004576196295613768;
+                                            }
+                                        } else {
+                                            return 0.0061983243547107155;
+                                        }
+                                    } else {
+                                        if (inputs[30] <= 0.9964480400085449) {
+                                            if (inputs[8] <= 1.012837529182434) {
+                                                return 0.006914256541494488;
+                                            } else {
+                                                if (inputs[32] <= 0.9943503141403198) {
+                                                    return 0.00616414362800423;
+                                                } else {
+                                                    return 0.005889229428016918;
+                                                }
+                                            }
+                                        } else {
+                                            if (inputs[0] <= 0.9924698770046234) {
+                                                if (inputs[39] <= 0.9841453433036804) {
+                                                    return 0.006146575273833851;
+                                                } else {
+                                                    return 0.007946126744053103;
+                                                }
+                                            } else {
+                                                if (inputs[9] <= 1.0151018500328064) {
+                                                    if (inputs[36] <= 1.0014391541481018) {
+                                                        if (inputs[22] <= 1.0006145238876343) {
+                                                            if (inputs[26] <= 0.9992098212242126) {
+                                                                if (inputs[4] <= 1.0188250243663788) {
+                                                                    return 0.009019527848701867;
+                                                                } else {
+                                                                    return 0.008967107976970545;
+                                                                }
+                                                            } else {
+                                                                return 0.00889154849008261;
+                                                            }
+                                                        } else {
+                                                            return 0.00869048180342355;
+                                                        }
+                                                    } else {
+                                                        if (inputs[1] <= 1.0015294551849365) {
+                                                            return 0.009241065242800802;
+                                                        } else {
+                                                            if (inputs[18] <= 1.0031042695045471) {
+                                                                return 0.009644203671212213;
+                                                            } else {
+                                                                return 0.009505084610043301;
+                                                            }
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[26] <= 1.014835238456726) {
+                                                        if (inputs[18] <= 1.0014227628707886) {
+                                                            return 0.01032116491403566;
+                                                        } else {
+                                                            if (inputs[12] <= 1.0258360505104065) {
+                                                                return 0.010545297535429914;
+                                                            } else {
+                                                                return 0.010546007416328117;
+                                                            }
+                                                        }
+                                                    } else {
+                                                        return 0.011337831496116243;
+                                                    }
+                                                }
+                                            }
+                                        }
+                                    }
+                                }
+                            }
+                        } else {
+                            if (inputs[21] <= 1.0187991857528687) {
+                                return 0.025948377280659515;
+                            } else {
+                                return 0.023544417390428403;
+                            }
+                        }
+                    }
+                } else {
+                    if (inputs[3] <= 1.0120143294334412) {
+                        if (inputs[17] <= 0.9872836470603943) {
+                            if (inputs[15] <= 1.0052213668823242) {
+                                if (inputs[21] <= 1.0028818249702454) {
+                                    if (inputs[12] <= 0.9920503497123718) {
+                                        return 0.019646997691057537;
+                                    } else {
+                                        if (inputs[21] <= 0.9924931824207306) {
+                                            return 0.020032019772562203;
+                                        } else {
+                                            if (inputs[9] <= 1.0035619735717773) {
+                                                return 0.019917001090711237;
+                                            } else {
+                                                return 0.01984823481444041;
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    return 0.019217627566958436;
+                                }
+                            } else {
+                                return 0.007289885132782704;
+                            }
+                        } else {
+                            if (inputs[24] <= 0.98720782995224) {
+                                if (inputs[5] <= 1.0031790137290955) {
+                                    if (inputs[37] <= 1.0073426365852356) {
+                                        if (inputs[3] <= 0.9986761212348938) {
+                                            return 0.022127953688507885;
+                                        } else {
+                                            return 0.021604373865022425;
+                                        }
+                                    } else {
+                                        return 0.02082194727618166;
+                                    }
+                                } else {
+                                    return 0.0056195159066840476;
+                                }
+                            } else {
+                                if (inputs[35] <= 1.0141944885253906) {
+                                    if (inputs[17] <= 1.0070210099220276) {
+                                        if (inputs[4] <= 1.0029733777046204) {
+                                            if (inputs[6] <= 1.0091901421546936) {
+                                                if (inputs[30] <= 1.0002150535583496) {
+                                                    if (inputs[29] <= 1.0039572715759277) {
+                                                        if (inputs[32] <= 0.9930936098098755) {
+                                                            if (inputs[25] <= 0.9941810369491577) {
+                                                                return 0.006079136661325028;
+                                                            } else {
+                                                                if (inputs[35] <= 0.9817833304405212) {
+                                                                    return 0.004805934869177431;
+                                                                } else {
+                                                                    return 0.004847635310778927;
+                                                                }
+                                                            }
+                                                        } else {
+                                                            if (inputs[2] <= 0.9895108640193939) {
+                                                                if (inputs[33] <= 1.005571722984314) {
+                                                                    return 0.006906750353310985;
+                                                                } else {
+                                                                    return 0.006864745347218938;
+                                                                }
+                                                            } else {
+                                                                if (inputs[23] <= 1.0034417510032654) {
+                                                                    if (inputs[2] <= 1.0004703402519226) {
+                                                                        if (inputs[20] <= 0.9897989630699158) {
+                                                                            if (inputs[31] <= 0.9883959889411926) {
+                                                                                return 0.006255314462556736;
+                                                                            } else {
+                                                                                return 0.0062996818285246;
+                                                                            }
+                                                                        } else {
+                                                                            if (inputs[34] <= 0.9942316710948944) {
+                                                                                return 0.006194143985416513;
+                                                                            } else {
+                                                                                return 0.006237916780350889;
+                                                                            }
+                                                                        }
+                                                                    } else {
+                                                                        return 0.00596800717447168;
+                                                                    }
+                                                                } else {
+                                                                    return 0.005385882452262035;
+                                                                }
+                                                            }
+                                                        }
+                                                    } else {
+                                                        if (inputs[35] <= 1.006297767162323) {
+                                                            if (inputs[32] <= 0.9883946180343628) {
+                                                                return 0.008279738842774354;
+                                                            } else {
+                                                                return 0.008310745022859795;
+                                                            }
+                                                        } else {
+                                                            return 0.006995868105005212;
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[25] <= 0.9871854484081268) {
+                                                        return 0.007004427487644688;
+                                                    } else {
+                                                        if (inputs[15] <= 1.000724971294403) {
+                                                            if (inputs[16] <= 0.9980864822864532) {
+                                                                if (inputs[37] <= 1.0074142813682556) {
+                                                                    return 0.0043175887409512914;
+                                                                } else {
+                                                                    return 0.004353228457896301;
+                                                                }
+                                                            } else {
+                                                                return 0.004973271860767437;
+                                                            }
+                                                        } else {
+                                                            return 0.0036024062955873643;
+                                                        }
+                                                    }
+                                                }
+                                            } else {
+                                                return 0.01042586070444864;
+                                            }
+                                        } else {
+                                            if (inputs[3] <= 1.0014771223068237) {
+                                                if (inputs[18] <= 0.9728827178478241) {
+                                                    return 0.008734611844569792;
+                                                } else {
+                                                    if (inputs[37] <= 1.000093787908554) {
+                                                        if (inputs[35] <= 1.001409113407135) {
+                                                            return 0.010866291462314074;
+                                                        } else {
+                                                            return 0.011537565876587002;
+                                                        }
+                                                    } else {
+                                                        return 0.012239727539147448;
+                                                    }
+                                                }
+                                            } else {
+                                                if (inputs[10] <= 1.0139859914779663) {
+                                                    return 0.008467263518694639;
+                                                } else {
+                                                    return 0.005870571538467594;
+                                                }
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[21] <= 1.006480634212494) {
+                                            if (inputs[27] <= 1.0076566338539124) {
+                                                if (inputs[11] <= 1.0083746910095215) {
+                                                    if (inputs[8] <= 0.9836934506893158) {
+                                                        return 0.009023290891690428;
+                                                    } else {
+                                                        return 0.008865474236840417;
+                                                    }
+                                                } else {
+                                                    return 0.009582257968458489;
+                                                }
+                                            } else {
+                                                if (inputs[32] <= 1.0013333559036255) {
+                                                    return 0.010952588350869834;
+                                                } else {
+                                                    return 0.011108691837025925;
+                                                }
+                                            }
+                                        } else {
+                                            if (inputs[24] <= 1.0222023129463196) {
+                                                if (inputs[9] <= 0.9989775121212006) {
+                                                    return 0.014039358533774454;
+                                                } else {
+                                                    return 0.01499560769948508;
+                                                }
+                                            } else {
+                                                return 0.012540477982910622;
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    return 0.020162262041527598;
+                                }
+                            }
+                        }
+                    } else {
+                        if (inputs[37] <= 1.0030420422554016) {
+                            if (inputs[7] <= 1.0168130993843079) {
+                                if (inputs[3] <= 1.0193315148353577) {
+                                    return 0.02718572153078713;
+                                } else {
+                                    return 0.027711276794340177;
+                                }
+                            } else {
+                                return 0.020532442254614768;
+                            }
+                        } else {
+                            return 0.007733053848006257;
+                        }
+                    }
+                }
+            } else {
+                if (inputs[0] <= 1.0036637783050537) {
+                    if (inputs[30] <= 1.020629346370697) {
+                        if (inputs[33] <= 1.020629346370697) {
+                            if (inputs[6] <= 0.995367705821991) {
+                                if (inputs[30] <= 0.9895805418491364) {
+                                    if (inputs[37] <= 1.0131579041481018) {
+                                        if (inputs[40] <= 1.0011805891990662) {
+                                            return 0.007175171754111627;
+                                        } else {
+                                            return 0.007567380601598029;
+                                        }
+                                    } else {
+                                        return 0.010187275193016399;
+                                    }
+                                } else {
+                                    if (inputs[29] <= 1.0033828020095825) {
+                                        if (inputs[12] <= 1.0115460753440857) {
+                                            if (inputs[24] <= 1.0013380646705627) {
+                                                if (inputs[18] <= 1.010879397392273) {
+                                                    if (inputs[33] <= 1.006250262260437) {
+                                                        return 0.015493074579030661;
+                                                    } else {
+                                                        return 0.015457143982985342;
+                                                    }
+                                                } else {
+                                                    return 0.015927073908221873;
+                                                }
+                                            } else {
+                                                return 0.014570581642162362;
+                                            }
+                                        } else {
+                                            if (inputs[31] <= 1.0011175870895386) {
+                                                return 0.017660046504041727;
+                                            } else {
+                                                return 0.016863366298683888;
+                                            }
+                                        }
+                                    } else {
+                                        return 0.011733557803903326;
+                                    }
+                                }
+                            } else {
+                                if (inputs[36] <= 1.0223866701126099) {
+                                    if (inputs[9] <= 0.9962926805019379) {
+                                        if (inputs[29] <= 0.9887789189815521) {
+                                            if (inputs[12] <= 0.997317373752594) {
+                                                return 0.007269676396228123;
+                                            } else {
+                                                return 0.007284356484338468;
+                                            }
+                                        } else {
+                                            if (inputs[33] <= 0.9956581294536591) {
+                                                return 0.0057903583893273184;
+                                            } else {
+                                                if (inputs[14] <= 1.017898440361023) {
+                                                    return 0.005381384796275003;
+                                                } else {
+                                                    return 0.0053398499777764135;
+                                                }
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[28] <= 0.9682014286518097) {
+                                            if (inputs[30] <= 0.9852104783058167) {
+                                                if (inputs[14] <= 1.0235836505889893) {
+                                                    return 0.006104926028722444;
+                                                } else {
+                                                    return 0.005775276668525159;
+                                                }
+                                            } else {
+                                                return 0.007031378019629766;
+                                            }
+                                        } else {
+                                            if (inputs[11] <= 0.9924623072147369) {
+                                                if (inputs[26] <= 0.9967588484287262) {
+                                                    return 0.00599789184078662;
+                                                } else {
+                                                    if (inputs[22] <= 1.0020437836647034) {
+                                                        return 0.007086953996148685;
+                                                    } else {
+                                                        return 0.007622228814003774;
+                                                    }
+                                                }
+                                            } else {
+                                                if (inputs[41] <= 0.9962251782417297) {
+                                                    if (inputs[9] <= 1.0140931606292725) {
+                                                        if (inputs[27] <= 0.9978660643100739) {
+                                                            return 0.012265608403241094;
+                                                        } else {
+                                                            if (inputs[19] <= 1.0198094248771667) {
+                                                                if (inputs[7] <= 0.9992614388465881) {
+                                                                    return 0.011437778129920067;
+                                                                } else {
+                                                                    return 0.0113585508644749;
+                                                                }
+                                                            } else {
+                                                                return 0.011521516296174397;
+                                                            }
+                                                        }
+                                                    } else {
+                                                        if (inputs[23] <= 0.9958957135677338) {
+                                                            return 0.0105979892156615;
+                                                        } else {
+                                                            return 0.010853849896963938;
+                                                        }
+                                                    }
+                                                } else {
+                                                    if (inputs[33] <= 0.9985948503017426) {
+                                                        if (inputs[23] <= 0.9889228641986847) {
+                                                            if (inputs[20] <= 0.991525411605835) {
+                                                                return 0.00939268641760879;
+                                                            } else {
+                                                                return 0.010308354405172238;
+                                                            }
+                                                        } else {
+                                                            if (inputs[12] <= 0.9832615852355957) {
+                                                                return 0.011712472174125953;
+                                                            } else {
+                                                                if (inputs[14] <= 1.02802175283432) {
+                                                                    if (inputs[26] <= 0.998195618391037) {
+                                                                        return 0.011053687067452078;
+                                                                    } else {
+                                                                        return 0.011135946404575632;
+                                                                    }
+                                                                } else {
+                                                                    return 0.010701272939464525;
+                                                                }
+                                                            }
+                                                        }
+                                                    } else {
+                                                        if (inputs[23] <= 1.0027103424072266) {
+                                                            if (inputs[36] <= 1.0009936690330505) {
+                                                                if (inputs[34] <= 1.0020790100097656) {
+                                                                    if (inputs[34] <= 0.9955089688301086) {
+                                                                        return 0.00793896149597404;
+                                                                    } else {
+                                                                        return 0.00773533907811237;
+                                                                    }
+                                                                } else {
+                                                                    if (inputs[39] <= 1.0000054836273193) {
+                                                                        return 0.0068501424676598414;
+                                                                    } else {
+                                                                        return 0.007302526906817989;
+                                                                    }
+                                                                }
+                                                            } else {
+                                                                if (inputs[22] <= 1.0103975534439087) {
+                                                                    if (inputs[8] <= 1.000236988067627) {
+                                                                        if (inputs[22] <= 1.0058974027633667) {
+                                                                            if (inputs[2] <= 0.9874298870563507) {
+                                                                                return 0.00863940533103813;
+                                                                            } else {
+                                                                                return 0.00856046826013512;
+                                                                            }
+                                                                        } else {
+                                                                            return 0.008468292106858536;
+                                                                        }
+                                                                    } else {
+                                                                        if (inputs[3] <= 1.018382877111435) {
+                                                                            return 0.008947918706014009;
+                                                                        } else {
+                                                                            return 0.00885086415186509;
+                                                                        }
+                                                                    }
+                                                                } else {
+                                                                    return 0.009981563847051948;
+                                                                }
+                                                            }
+                                                        } else {
+                                                            if (inputs[35] <= 1.001210629940033) {
+                                                                return 0.008551062182666437;
+                                                            } else {
+                                                                if (inputs[28] <= 1.0010221004486084) {
+                                                                    if (inputs[33] <= 1.0050426721572876) {
+                                                                        return 0.009571808805524613;
+                                                                    } else {
+                                                                        return 0.009832507614035629;
+                                                                    }
+                                                                } else {
+                                                                    if (inputs[16] <= 1.0180525183677673) {
+                                                                        return 0.010228631671407803;
+                                                                    } else {
+                                                                        return 0.010237795045690416;
+                                                                    }
+                                                                }
+                                                            }
+                                                        }
+                                                    }
+                                                }
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[14] <= 1.0106143951416016) {
+                                        return 0.022695880707904254;
+                                    } else {
+                                        return 0.011891860007616514;
+                                    }
+                                }
+                            }
+                        } else {
+                            return 0.025438153998438726;
+                        }
+                    } else {
+                        return 0.02632188138499272;
+                    }
+                } else {
+                    if (inputs[28] <= 0.995434582233429) {
+                        if (inputs[41] <= 1.004226267337799) {
+                            if (inputs[6] <= 1.012090265750885) {
+                                if (inputs[37] <= 1.00468111038208) {
+                                    return 0.0245753004688447;
+                                } else {
+                                    return 0.024909053178163155;
+                                }
+                            } else {
+                                return 0.02724576755004196;
+                            }
+                        } else {
+                            if (inputs[22] <= 1.0023866295814514) {
+                                return 0.02193579703552189;
+                            } else {
+                                return 0.022535795815174984;
+                            }
+                        }
+                    } else {
+                        if (inputs[22] <= 0.9943893849849701) {
+                            if (inputs[20] <= 0.9970735609531403) {
+                                return 0.026812081581171453;
+                            } else {
+                                return 0.026084382831217102;
+                            }
+                        } else {
+                            if (inputs[24] <= 1.0131531953811646) {
+                                if (inputs[40] <= 1.0036300420761108) {
+                                    if (inputs[11] <= 0.9980956315994263) {
+                                        return 0.009575710435434997;
+                                    } else {
+                                        if (inputs[18] <= 1.0068492889404297) {
+                                            if (inputs[32] <= 0.9875469207763672) {
+                                                return 0.006821881120007034;
+                                            } else {
+                                                if (inputs[16] <= 1.0106781125068665) {
+                                                    return 0.006498512479931512;
+                                                } else {
+                                                    return 0.006429417441562491;
+                                                }
+                                            }
+                                        } else {
+                                            return 0.00547318136787995;
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[3] <= 0.9972590208053589) {
+                                        if (inputs[40] <= 1.016580879688263) {
+                                            return 0.013460035180687073;
+                                        } else {
+                                            if (inputs[19] <= 1.0054323077201843) {
+                                                return 0.011504068806907443;
+                                            } else {
+                                                return 0.012118028358428505;
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[20] <= 1.003681480884552) {
+                                            return 0.01040005856530076;
+                                        } else {
+                                            return 0.00905844258467218;
+                                        }
+                                    }
+                                }
+                            } else {
+                                if (inputs[20] <= 1.0080645084381104) {
+                                    return 0.02105908604866017;
+                                } else {
+                                    return 0.018877920446878464;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        } else {
+            return predict01(inputs);
+        }
+    }
+
+    private static double predict01(double[] inputs) {
+        if (inputs[32] <= 0.9872836470603943) {
+            if (inputs[13] <= 0.9825020730495453) {
+                if (inputs[20] <= 0.9916657209396362) {
+                    return 0.008138293877867141;
+                } else {
+                    return 0.007262955354899926;
+                }
+            } else {
+                if (inputs[37] <= 1.0006430447101593) {
+                    if (inputs[20] <= 1.0002236366271973) {
+                        return 0.013826126423244349;
+                    } else {
+                        if (inputs[17] <= 0.996872216463089) {
+                            return 0.01992732449053436;
+                        } else {
+                            if (inputs[14] <= 0.996872216463089) {
+                                return 0.02140405980885906;
+                            } else {
+                                return 0.02097105002358999;
+                            }
+                        }
+                    }
+                } else {
+                    if (inputs[36] <= 1.004722774028778) {
+                        if (inputs[1] <= 1.0152867436408997) {
+                            if (inputs[26] <= 1.0023866295814514) {
+                                return 0.02657966483051976;
+                            } else {
+                                return 0.02673630511260295;
+                            }
+                        } else {
+                            if (inputs[13] <= 0.9918993413448334) {
+                                return 0.02771560142896442;
+                            } else {
+                                return 0.027568562271038696;
+                            }
+                        }
+                    } else {
+                        return 0.02205194310952816;
+                    }
+                }
+            }
+        } else {
+            if (inputs[23] <= 1.0123912692070007) {
+                if (inputs[13] <= 1.0028697848320007) {
+                    if (inputs[20] <= 1.0002070665359497) {
+                        if (inputs[21] <= 1.0032585263252258) {
+                            if (inputs[12] <= 0.9912593066692352) {
+                                if (inputs[33] <= 0.9992614388465881) {
+                                    return 0.004468436121642399;
+                                } else {
+                                    if (inputs[13] <= 0.9848284721374512) {
+                                        if (inputs[7] <= 1.0245226621627808) {
+                                            if (inputs[38] <= 1.0006145238876343) {
+                                                return 0.008584186702946662;
+                                            } else {
+                                                return 0.008615655738800668;
+                                            }
+                                        } else {
+                                            return 0.008263346866714564;
+                                        }
+                                    } else {
+                                        if (inputs[1] <= 1.0202679634094238) {
+                                            return 0.009163468686093386;
+                                        } else {
+                                            if (inputs[26] <= 0.9892054498195648) {
+                                                return 0.008948383423360792;
+                                            } else {
+                                                if (inputs[10] <= 1.0052213668823242) {
+                                                    if (inputs[31] <= 1.0119653344154358) {
+                                                        return 0.008824957059931186;
+                                                    } else {
+                                                        if (inputs[23] <= 1.0007866024971008) {
+                                                            return 0.008796302580739306;
+                                                        } else {
+                                                            return 0.008780453727646364;
+                                                        }
+                                                    }
+                                                } else {
+                                                    return 0.008731398515947626;
+                                                }
+                                            }
+                                        }
+                                    }
+                                }
+                            } else {
+                                if (inputs[40] <= 1.0017292499542236) {
+                                    if (inputs[33] <= 0.9968733787536621) {
+                                        if (inputs[25] <= 1.0211529731750488) {
+                                            if (inputs[23] <= 1.0015748143196106) {
+                                                if (inputs[25] <= 0.9732646942138672) {
+                                                    return 0.007352123566034325;
+                                                } else {
+                                                    return 0.007597864274138907;
+                                                }
+                                            } else {
+                                                return 0.007979834773488454;
+                                            }
+                                        } else {
+                                            return 0.006747321358505792;
+                                        }
+                                    } else {
+                                        if (inputs[31] <= 1.0012679696083069) {
+                                            if (inputs[18] <= 0.9983059167861938) {
+                                                return 0.006656036652562834;
+                                            } else {
+                                                return 0.00662558967475381;
+                                            }
+                                        } else {
+                                            if (inputs[29] <= 1.0019091963768005) {
+                                                return 0.006015809735805776;
+                                            } else {
+                                                return 0.0061580494099991705;
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[7] <= 1.0052204132080078) {
+                                        if (inputs[25] <= 0.9780864715576172) {
+                                            return 0.004462945756823403;
+                                        } else {
+                                            if (inputs[30] <= 1.001502275466919) {
+                                                return 0.004441967379114655;
+                                            } else {
+                                                return 0.004445486219727557;
+                                            }
+                                        }
+                                    } else {
+                                        return 0.006906177118494948;
+                                    }
+                                }
+                            }
+                        } else {
+                            if (inputs[10] <= 1.0057867765426636) {
+                                if (inputs[14] <= 1.004498541355133) {
+                                    return 0.010469007151681958;
+                                } else {
+                                    return 0.010560465567440894;
+                                }
+                            } else {
+                                return 0.012249644377507926;
+                            }
+                        }
+                    } else {
+                        if (inputs[36] <= 1.0201479196548462) {
+                            if (inputs[27] <= 1.0268707275390625) {
+                                if (inputs[2] <= 1.0030289888381958) {
+                                    if (inputs[3] <= 1.0068605244159698) {
+                                        return 0.013594116781688804;
+                                    } else {
+                                        if (inputs[20] <= 1.0058032870292664) {
+                                            return 0.010860499204359206;
+                                        } else {
+                                            if (inputs[32] <= 1.0265639424324036) {
+                                                if (inputs[21] <= 1.0134973526000977) {
+                                                    return 0.012179932390838652;
+                                                } else {
+                                                    return 0.01214918797900816;
+                                                }
+                                            } else {
+                                                return 0.01205515747327376;
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[21] <= 1.0020790100097656) {
+                                        return 0.009808893178236683;
+                                    } else {
+                                        return 0.010296109319040488;
+                                    }
+                                }
+                            } else {
+                                if (inputs[36] <= 1.0034812688827515) {
+                                    if (inputs[25] <= 1.0139859914779663) {
+                                        return 0.008931172157219242;
+                                    } else {
+                                        return 0.008097974262365621;
+                                    }
+                                } else {
+                                    return 0.007077593205419022;
+                                }
+                            }
+                        } else {
+                            return 0.019151005687068717;
+                        }
+                    }
+                } else {
+                    if (inputs[38] <= 0.9845588505268097) {
+                        if (inputs[39] <= 0.9877688586711884) {
+                            return 0.027041746570549495;
+                        } else {
+                            return 0.027563520517967365;
+                        }
+                    } else {
+                        if (inputs[9] <= 0.9964961409568787) {
+                            if (inputs[24] <= 0.9856687784194946) {
+                                return 0.011915384120435983;
+                            } else {
+                                if (inputs[13] <= 1.0106393098831177) {
+                                    return 0.025872973195425544;
+                                } else {
+                                    return 0.023902804063162784;
+                                }
+                            }
+                        } else {
+                            if (inputs[40] <= 1.0120912194252014) {
+                                if (inputs[7] <= 1.002343773841858) {
+                                    if (inputs[1] <= 1.0234758257865906) {
+                                        if (inputs[9] <= 1.0022689700126648) {
+                                            if (inputs[38] <= 1.009905755519867) {
+                                                if (inputs[10] <= 1.0161161422729492) {
+                                                    if (inputs[5] <= 1.0094850659370422) {
+                                                        return 0.010145501815459113;
+                                                    } else {
+                                                        if (inputs[33] <= 1.0006145238876343) {
+                                                            return 0.01047140175461414;
+                                                        } else {
+                                                            return 0.010430618209615888;
+                                                        }
+                                                    }
+                                                } else {
+                                                    return 0.009745508094384608;
+                                                }
+                                            } else {
+                                                return 0.008659977186612456;
+                                            }
+                                        } else {
+                                            if (inputs[18] <= 0.9924623072147369) {
+                                                return 0.006424024847250641;
+                                            } else {
+                                                return 0.007119323913052092;
+                                            }
+                                        }
+                                    } else {
+                                        if (inputs[18] <= 0.9821337163448334) {
+                                            return 0.005547621281470139;
+                                        } else {
+                                            if (inputs[1] <= 1.0269532203674316) {
+                                                return 0.0049244255276536305;
+                                            } else {
+                                                return 0.005136060169451726;
+                                            }
+                                        }
+                                    }
+                                } else {
+                                    if (inputs[19] <= 1.0090684294700623) {
+                                        if (inputs[10] <= 1.0042137503623962) {
+                                            if (inputs[8] <= 1.004714846611023) {
+                                                return 0.01356940364913416;
+                                            } else {
+                                                return 0.012576981998495248;
+                                            }
+                                        } else {
+                                            if (inputs[34] <= 1.0102040767669678) {
+                                                return 0.01142077336393404;
+                                            } else {
+                                                return 0.010405591498841162;
+                                            }
+                                        }
+                                    } else {
+                                        return 0.017660378537836294;
+                                    }
+                                }
+                            } else {
+                                if (inputs[24] <= 0.9851637184619904) {
+                                    return 0.020991260639985795;
+                                } else {
+                                    return 0.021886129347312773;
+                                }
+                            }
+                        }
+                    }
+                }
+            } else {
+                if (inputs[1] <= 1.0107161402702332) {
+                    if (inputs[4] <= 1.0102040767669678) {
+                        return 0.027427693322968783;
+                    } else {
+                        return 0.027672138780248115;
+                    }
+                } else {
+                    if (inputs[12] <= 1.0054323077201843) {
+                        if (inputs[23] <= 1.0193315148353577) {
+                            return 0.020028933943319855;
+                        } else {
+                            return 0.01622511281052575;
+                        }
+                    } else {
+                        return 0.009393146814964805;
+                    }
+                }
+            }
+        }
+    }
+
+}
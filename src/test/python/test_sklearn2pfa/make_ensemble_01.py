@@ -0,0 +1,76 @@
+'''
+Script is intended to be manually run (not automated) to generate the
+random forest and gradient boosting examples used by the Java tests of
+PfaTreeEnsemble and PfaEngine, and the predictions scikit-learn makes
+for the sample input rows.
+
+Run from the root of the repository:
+    python src/test/python/test_sklearn2pfa/make_ensemble_01.py
+
+Then write the cell files of each PFA document next to it, for example:
+    java ... pfatool.codegen.GenerateJavaCode \
+        src/test/resources/pfa/ensemble_01/price_sample_01_forest.pfa \
+        build/tmp pfatool.tmpgenerated
+'''
+import pandas as pd # type: ignore
+from sklearn.ensemble import RandomForestRegressor, GradientBoostingRegressor # type: ignore
+from sklearn2pfa import convert, utils
+
+INPUT_FILE = 'src/test/resources/pfa/sample_01/price_sample_01_pp.tsv'
+Y_FILE = 'src/test/resources/pfa/sample_01/price_sample_01_y.tsv'
+OUTPUT_FOREST = 'src/test/resources/pfa/ensemble_01/price_sample_01_forest.pfa'
+OUTPUT_BOOST = 'src/test/resources/pfa/ensemble_01/price_sample_01_boost.pfa'
+OUTPUT_EXPECTED = 'src/test/resources/pfa/ensemble_01/price_sample_01_expected.tsv'
+NUM_TREES = 10
+MAX_LEAF_NODES = 20
+LEARNING_RATE = 0.1
+RANDOM_STATE = 666
+
+
+def load_tsv(fname: str) -> pd.DataFrame:
+    '''
+    Load a sample file, with the columns named by the last part of their
+    name: lag_00, lag_01 ... the same as the trees of the forecasting model
+    for the input rows, and growth, spread for the targets.
+    '''
+    df = pd.read_csv(fname, sep='\t', index_col=0)
+    df.columns = [x.split('__')[-1] for x in df.columns]
+    return df
+
+
+def save_text(fname: str, txt: str) -> None:
+    with open(fname, mode='wt') as fp:
+        print(f'writing to: {fname}')
+        fp.write(txt)
+
+
+if __name__ == '__main__':
+    df_x = load_tsv(INPUT_FILE)
+    df_y = load_tsv(Y_FILE)
+    df = df_x.join(df_y, how='inner')
+    lag_cols = list(df_x.columns)
+
+    rf = RandomForestRegressor(
+        n_estimators=NUM_TREES,
+        max_leaf_nodes=MAX_LEAF_NODES,
+        random_state=RANDOM_STATE
+    )
+    rf.fit(df[lag_cols], df['growth'])
+
+    gb = GradientBoostingRegressor(
+        n_estimators=NUM_TREES,
+        max_leaf_nodes=MAX_LEAF_NODES,
+        learning_rate=LEARNING_RATE,
+        random_state=RANDOM_STATE
+    )
+    gb.fit(df[lag_cols], df['growth'])
+
+    save_text(OUTPUT_FOREST, utils.pretty_json(convert.to_pfa(rf).to_json_str()))
+    save_text(OUTPUT_BOOST, utils.pretty_json(convert.to_pfa(gb).to_json_str()))
+
+    # predictions for every input row, in the same order as the input file
+    expected = pd.DataFrame({
+        'forest': rf.predict(df_x[lag_cols]),
+        'boost': gb.predict(df_x[lag_cols])
+    }, index=df_x.index)
+    save_text(OUTPUT_EXPECTED, expected.to_csv(sep='\t', float_format='%.17g'))
@@ -1,6 +1,7 @@
 import unittest
 import numpy as np
 from sklearn.tree import DecisionTreeRegressor
+from sklearn.ensemble import RandomForestRegressor, GradientBoostingRegressor
 from sklearn2pfa.converters import sklearn_decision_tree_regressor_2pfa
 from sklearn2pfa.convert import to_pfa
 from titus.genpy import PFAEngine
@@ -89,3 +90,41 @@ class TestConverters(unittest.TestCase):
         self.assertAlmostEqual(result0, sklearn_val[0])
         self.assertAlmostEqual(result1, sklearn_val[1])
         self.assertAlmostEqual(result2, sklearn_val[2])
+
+    def test_random_forest_cell_is_array_of_trees(self) -> None:
+        rf = RandomForestRegressor(n_estimators=3, random_state=0)
+        rf.fit(self.data_unlabelled, self.y_values)
+        json_doc = to_pfa(rf).to_json_str()
+        self.assertIn(
+            '"type": "array"',
+            json_doc
+        )
+        self.assertIn(
+            '"a.mean"',
+            json_doc
+        )
+
+    def test_using_titus_engine_matches_sklearn_random_forest(self) -> None:
+        rf = RandomForestRegressor(n_estimators=5, random_state=0)
+        data = self.data_unlabelled
+        rf.fit(data, self.y_values)
+        engine, = PFAEngine.fromJson(to_pfa(rf).to_json_str())
+        names = ['x0', 'x1', 'x2', 'x3', 'x4']
+        sklearn_val = rf.predict(data)
+        for row, expected in zip(data, sklearn_val):
+            self.assertAlmostEqual(engine.action(dict(zip(names, row))), expected)
+
+    def test_using_titus_engine_matches_sklearn_gradient_boosting(self) -> None:
+        gb = GradientBoostingRegressor(n_estimators=5, learning_rate=0.3, random_state=0)
+        data = self.data_unlabelled
+        gb.fit(data, self.y_values)
+        json_doc = to_pfa(gb).to_json_str()
+        self.assertIn(
+            '"learningRate"',
+            json_doc
+        )
+        engine, = PFAEngine.fromJson(json_doc)
+        names = ['x0', 'x1', 'x2', 'x3', 'x4']
+        sklearn_val = gb.predict(data)
+        for row, expected in zip(data, sklearn_val):
+            self.assertAlmostEqual(engine.action(dict(zip(names, row))), expected)